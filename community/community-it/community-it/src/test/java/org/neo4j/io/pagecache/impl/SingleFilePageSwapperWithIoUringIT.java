@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageSwapper;
+import org.neo4j.io.pagecache.PageSwapperFactory;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.util.concurrent.Futures;
+
+@EnabledOnOs(OS.LINUX)
+public class SingleFilePageSwapperWithIoUringIT extends SingleFilePageSwapperWithRealFileSystemIT {
+    @BeforeAll
+    static void requireIoUring() {
+        assumeTrue(SingleFilePageSwapperFactory.isIoUringAvailable(), "io_uring is not available");
+    }
+
+    @Override
+    protected PageSwapperFactory swapperFactory(FileSystemAbstraction fileSystem) {
+        return new SingleFilePageSwapperFactory(
+                fileSystem, new DefaultPageCacheTracer(), EmptyMemoryTracker.INSTANCE, true);
+    }
+
+    @Test
+    void concurrentVectoredIoSharingRingsMustCompleteEveryCaller() throws Exception {
+        Path file = testDir.file("file");
+        mkdirs(file.getParent());
+        PageSwapper swapper = createSwapper(createSwapperFactory(getFs()), file, 4, NO_CALLBACK, true);
+        // More threads than rings, with vectors that take several entries, and some too large for a single batch
+        int threads = 4 * Runtime.getRuntime().availableProcessors();
+        int regionPages = 2200;
+        CountDownLatch startLatch = new CountDownLatch(1);
+
+        List<Callable<Void>> work = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            work.add(() -> {
+                int length = thread % 4 == 0 ? 2100 : 1 + thread * 37 % 500;
+                long startFilePageId = (long) thread * regionPages;
+                long[] pages = new long[length];
+                int[] sizes = new int[length];
+                for (int i = 0; i < length; i++) {
+                    pages[i] = createPage(4);
+                    sizes[i] = 4 + RESERVED_BYTES;
+                }
+
+                startLatch.await();
+                for (int round = 0; round < 20; round++) {
+                    for (int i = 0; i < length; i++) {
+                        putInt(pages[i], 0, round * regionPages + i);
+                    }
+                    assertThat(swapper.write(startFilePageId, pages, sizes, length, length))
+                            .isEqualTo(length * (4L + RESERVED_BYTES));
+                    for (int i = 0; i < length; i++) {
+                        putInt(pages[i], 0, -1);
+                    }
+                    assertThat(swapper.read(startFilePageId, pages, sizes, length))
+                            .isEqualTo(length * (4L + RESERVED_BYTES));
+                    for (int i = 0; i < length; i++) {
+                        assertThat(getInt(pages[i], 0)).isEqualTo(round * regionPages + i);
+                    }
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>(threads);
+            for (Callable<Void> callable : work) {
+                futures.add(executor.submit(callable));
+            }
+            startLatch.countDown();
+            Futures.getAll(futures);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -33,6 +33,7 @@ import org.neo4j.scheduler.JobScheduler;
 public class MuninnPageCacheFixture extends PageCacheTestSupport.Fixture<MuninnPageCache> {
     CountDownLatch backgroundFlushLatch;
     private MemoryAllocator allocator;
+    private EvictionPolicy evictionPolicy = EvictionPolicy.CLOCK;
 
     @Override
     public MuninnPageCache createPageCache(
@@ -57,10 +58,16 @@ public class MuninnPageCacheFixture extends PageCacheTestSupport.Fixture<MuninnP
         MuninnPageCache.Configuration configuration = MuninnPageCache.config(allocator)
                 .pageCacheTracer(tracer)
                 .bufferFactory(selectBufferFactory(bufferFactory, memoryTracker))
-                .reservedPageBytes(reservedBytes);
+                .reservedPageBytes(reservedBytes)
+                .evictionPolicy(evictionPolicy);
         return new MuninnPageCache(swapperFactory, jobScheduler, configuration);
     }
 
+    public MuninnPageCacheFixture withEvictionPolicy(EvictionPolicy evictionPolicy) {
+        this.evictionPolicy = evictionPolicy;
+        return this;
+    }
+
     private static IOBufferFactory selectBufferFactory(
             IOBufferFactory bufferFactory, LocalMemoryTracker memoryTracker) {
         return bufferFactory != null
@@ -41,6 +41,8 @@ import static org.neo4j.io.pagecache.PageCacheOpenOptions.MULTI_VERSIONED;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_GROW;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_LOAD;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
+import static org.neo4j.io.pagecache.PagedFile.PF_SEQUENTIAL_SCAN;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
@@ -51,6 +53,7 @@ import static org.neo4j.io.pagecache.impl.muninn.PageList.getPageHorizon;
 import static org.neo4j.io.pagecache.tracing.PageCacheTracer.NULL;
 import static org.neo4j.io.pagecache.tracing.recording.RecordingPageCacheTracer.Evict;
 import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+import static org.neo4j.test.DoubleLatch.awaitLatch;
 import static org.neo4j.test.assertion.Assert.assertEventually;
 
 import java.io.IOException;
@@ -65,6 +68,8 @@ import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -123,7 +128,10 @@ import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer.Fault;
 import org.neo4j.io.pagecache.tracing.version.FileTruncateEvent;
 import org.neo4j.memory.DefaultScopedMemoryTracker;
 import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobMonitoringParams;
 import org.neo4j.test.Race;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
 
 public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
     private static final long X = 0xCAFEBABEDEADBEEFL;
@@ -231,6 +239,40 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
         }
     }
 
+    @Test
+    void countPagesDirtiedSinceLastFlush() throws IOException {
+        try (var pageCache = createPageCache(fs, 20, new DefaultPageCacheTracer())) {
+            Path file = file("a");
+            try (PagedFile pf = map(pageCache, file, filePageSize)) {
+                assertEquals(0, pf.dirtyPages());
+
+                // Dirtying an already dirty page should not count it again.
+                for (int iteration = 0; iteration < 2; iteration++) {
+                    for (int i = 0; i < 5; i++) {
+                        try (PageCursor cursor = pf.io(i, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+                            assertTrue(cursor.next());
+                            cursor.putLong(i);
+                        }
+                    }
+                }
+                assertEquals(5, pf.dirtyPages());
+
+                pf.flush(FileFlushEvent.NULL, IOController.DISABLED);
+                assertEquals(0, pf.dirtyPages());
+                assertEquals(5L * filePageSize, fs.getFileSize(file));
+
+                try (PageCursor cursor = pf.io(2, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+                    assertTrue(cursor.next());
+                    cursor.putLong(X);
+                }
+                assertEquals(1, pf.dirtyPages());
+
+                pf.flushAndForce(FileFlushEvent.NULL);
+                assertEquals(0, pf.dirtyPages());
+            }
+        }
+    }
+
     @Test
     void reusePagesOverPageListOnFileTruncation() throws IOException {
         int pageCachePages = 20;
@@ -1978,6 +2020,131 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
         }
     }
 
+    @Test
+    void sequentialScanCursorShouldPromotePagesWithClockEviction() throws IOException {
+        try (MuninnPageCache pageCache = createPageCache(fs, 40, PageCacheTracer.NULL);
+                PagedFile pagedFile = map(pageCache, file("a"), 8 + reservedBytes)) {
+            long zeroPageRef = pageCache.pages.deref(0);
+
+            try (PageCursor cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+                assertTrue(cursor.next());
+                assertThat(PageList.getUsage(zeroPageRef)).isEqualTo(1);
+            }
+            try (PageCursor cursor = pagedFile.io(0, PF_SHARED_READ_LOCK | PF_SEQUENTIAL_SCAN, NULL_CONTEXT)) {
+                assertTrue(cursor.next());
+                assertThat(PageList.getUsage(zeroPageRef)).isEqualTo(2);
+            }
+        }
+    }
+
+    @Test
+    void sequentialScanCursorShouldNotPromotePagesWithScanResistantEviction() throws IOException {
+        var customFixture = new MuninnPageCacheFixture().withEvictionPolicy(EvictionPolicy.SCAN_RESISTANT);
+        try (MuninnPageCache pageCache = customFixture.createPageCache(
+                        new SingleFilePageSwapperFactory(fs, PageCacheTracer.NULL, EmptyMemoryTracker.INSTANCE),
+                        40,
+                        PageCacheTracer.NULL,
+                        jobScheduler,
+                        DISABLED_BUFFER_FACTORY);
+                PagedFile pagedFile = map(pageCache, file("a"), 8 + reservedBytes)) {
+            long zeroPageRef = pageCache.pages.deref(0);
+
+            // Pages faulted in by a scan stay cold
+            try (PageCursor cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK | PF_SEQUENTIAL_SCAN, NULL_CONTEXT)) {
+                assertTrue(cursor.next());
+                assertThat(PageList.getUsage(zeroPageRef)).isZero();
+            }
+
+            // Re-referenced pages climb above the clock ceiling
+            for (int i = 1; i <= 10; i++) {
+                try (PageCursor cursor = pagedFile.io(0, PF_SHARED_READ_LOCK, NULL_CONTEXT)) {
+                    assertTrue(cursor.next());
+                    assertThat(PageList.getUsage(zeroPageRef)).isEqualTo(Math.min(i, 7));
+                }
+            }
+
+            // and scans do not change the usage of pages that are already warm
+            try (PageCursor cursor = pagedFile.io(0, PF_SHARED_READ_LOCK | PF_SEQUENTIAL_SCAN, NULL_CONTEXT)) {
+                assertTrue(cursor.next());
+                assertThat(PageList.getUsage(zeroPageRef)).isEqualTo(7);
+            }
+        }
+    }
+
+    @Test
+    void readAheadLoadsPagesAheadOfSequentialScan() throws IOException {
+        Path file = file("a");
+        try (var pageCache = createPageCache(fs, 100, PageCacheTracer.NULL);
+                var pagedFile = map(pageCache, file, pageCache.pageSize());
+                var cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+            for (int i = 0; i < 64; i++) {
+                assertTrue(cursor.next());
+                cursor.putLong(i);
+            }
+        }
+
+        var cacheTracer = new DefaultPageCacheTracer();
+        try (var pageCache = createPageCache(fs, 100, cacheTracer);
+                var pagedFile = map(pageCache, file, pageCache.pageSize())) {
+            try (var cursor = pagedFile.io(0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, NULL_CONTEXT)) {
+                for (int i = 0; i < 16; i++) {
+                    assertTrue(cursor.next());
+                    assertEquals(i, cursor.getLong());
+                }
+            }
+            assertEventually(
+                    cacheTracer::readAheadPages, pages -> pages > 0, SHORT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            assertThat(cacheTracer.readAheadHits()).isPositive();
+        }
+    }
+
+    @Test
+    void readAheadCarriesOnAfterSaturatedPoolDiscardsLoads() throws Exception {
+        Path file = file("a");
+        try (var pageCache = createPageCache(fs, 300, PageCacheTracer.NULL);
+                var pagedFile = map(pageCache, file, pageCache.pageSize());
+                var cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+            for (int i = 0; i < 256; i++) {
+                assertTrue(cursor.next());
+                cursor.putLong(i);
+            }
+        }
+
+        // A single read-ahead thread that discards jobs while it is busy, like the page cache pre-fetcher pool.
+        var executor = new ThreadPoolExecutor(
+                0, 1, 1, TimeUnit.MINUTES, new SynchronousQueue<>(), new ThreadPoolExecutor.DiscardPolicy());
+        var cacheTracer = new DefaultPageCacheTracer();
+        var release = new CountDownLatch(1);
+        try (var scheduler = new ThreadPoolJobScheduler(executor);
+                var pageCache = new MuninnPageCacheFixture()
+                        .createPageCache(
+                                new SingleFilePageSwapperFactory(fs, cacheTracer, EmptyMemoryTracker.INSTANCE),
+                                300,
+                                cacheTracer,
+                                scheduler,
+                                DISABLED_BUFFER_FACTORY);
+                var pagedFile = map(pageCache, file, pageCache.pageSize())) {
+            var busy = scheduler.schedule(
+                    Group.PAGE_CACHE_PRE_FETCHER, JobMonitoringParams.NOT_MONITORED, () -> awaitLatch(release));
+            try (var cursor = pagedFile.io(0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, NULL_CONTEXT)) {
+                for (int i = 0; i < 32; i++) {
+                    assertTrue(cursor.next());
+                    assertEquals(i, cursor.getLong());
+                }
+                assertThat(cacheTracer.readAheadPages()).isZero();
+
+                release.countDown();
+                busy.waitTermination();
+                for (int i = 32; i < 256; i++) {
+                    assertTrue(cursor.next());
+                    assertEquals(i, cursor.getLong());
+                }
+            }
+            assertEventually(
+                    cacheTracer::readAheadPages, pages -> pages > 0, SHORT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
     @Test
     void pageHorizonIsZeroAfterFlushOrEviction() throws IOException {
         int maxPages = 40;
@@ -169,6 +169,21 @@ public class DelegatingPageCacheTracer implements PageCacheTracer {
         return delegate.snapshotsLoaded();
     }
 
+    @Override
+    public long readAheadPages() {
+        return delegate.readAheadPages();
+    }
+
+    @Override
+    public long readAheadHits() {
+        return delegate.readAheadHits();
+    }
+
+    @Override
+    public long readAheadWaste() {
+        return delegate.readAheadWaste();
+    }
+
     @Override
     public long closedCursors() {
         return delegate.closedCursors();
@@ -259,6 +274,21 @@ public class DelegatingPageCacheTracer implements PageCacheTracer {
         delegate.snapshotsLoaded(snapshotsLoaded);
     }
 
+    @Override
+    public void readAheadPages(long pages) {
+        delegate.readAheadPages(pages);
+    }
+
+    @Override
+    public void readAheadHits(long hits) {
+        delegate.readAheadHits(hits);
+    }
+
+    @Override
+    public void readAheadWaste(long pages) {
+        delegate.readAheadWaste(pages);
+    }
+
     @Override
     public void merges(long merges) {
         delegate.merges(merges);
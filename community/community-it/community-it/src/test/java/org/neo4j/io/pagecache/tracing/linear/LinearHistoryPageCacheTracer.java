@@ -253,6 +253,21 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer {
         return 0;
     }
 
+    @Override
+    public long readAheadPages() {
+        return 0;
+    }
+
+    @Override
+    public long readAheadHits() {
+        return 0;
+    }
+
+    @Override
+    public long readAheadWaste() {
+        return 0;
+    }
+
     @Override
     public void pins(long pins) {}
 
@@ -307,6 +322,15 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer {
     @Override
     public void snapshotsLoaded(long snapshotsLoaded) {}
 
+    @Override
+    public void readAheadPages(long pages) {}
+
+    @Override
+    public void readAheadHits(long hits) {}
+
+    @Override
+    public void readAheadWaste(long pages) {}
+
     @Override
     public void maxPages(long maxPages, long pageSize) {}
 
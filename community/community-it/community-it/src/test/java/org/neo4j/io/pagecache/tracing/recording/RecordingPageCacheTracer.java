@@ -264,6 +264,21 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
         return 0;
     }
 
+    @Override
+    public long readAheadPages() {
+        return 0;
+    }
+
+    @Override
+    public long readAheadHits() {
+        return 0;
+    }
+
+    @Override
+    public long readAheadWaste() {
+        return 0;
+    }
+
     @Override
     public void pins(long pins) {
         this.pins.getAndAdd(pins);
@@ -321,6 +336,15 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
     @Override
     public void snapshotsLoaded(long snapshotsLoaded) {}
 
+    @Override
+    public void readAheadPages(long pages) {}
+
+    @Override
+    public void readAheadHits(long hits) {}
+
+    @Override
+    public void readAheadWaste(long pages) {}
+
     @Override
     public void merges(long merges) {}
 
@@ -52,11 +52,13 @@ import org.neo4j.cypher.util.CacheCountsTestSupport
 import org.neo4j.cypher.util.CacheCountsTestSupport.CacheCounts
 import org.neo4j.graphdb.config.Setting
 import org.neo4j.kernel.impl.util.ValueUtils
+import org.neo4j.kernel.impl.util.collection.CachingOffHeapBlockAllocator
 import org.neo4j.logging.AssertableLogProvider
 import org.neo4j.logging.AssertableLogProvider.Level
 import org.neo4j.logging.InternalLogProvider
 import org.neo4j.logging.LogAssertions.assertThat
 import org.neo4j.logging.NullLogProvider
+import org.neo4j.scheduler.JobScheduler
 
 import java.time.Clock
 import java.time.Duration
@@ -113,7 +115,9 @@ class LogicalPlanCacheAcceptanceTest extends CypherFunSuite with GraphDatabaseTe
       CommunityRuntimeFactory.getRuntime(CypherRuntimeOption.default, disallowFallback = true),
       CommunityRuntimeContextManager(
         log,
-        CypherRuntimeConfiguration.fromCypherConfiguration(CypherConfiguration.fromConfig(Config.defaults()))
+        CypherRuntimeConfiguration.fromCypherConfiguration(CypherConfiguration.fromConfig(Config.defaults())),
+        graph.getDependencyResolver.resolveDependency(classOf[JobScheduler]),
+        new CachingOffHeapBlockAllocator()
       ),
       kernelMonitors,
       caches
@@ -524,7 +528,8 @@ class LogicalPlanCacheAcceptanceTest extends CypherFunSuite with GraphDatabaseTe
         nullLogProvider,
         CypherPlannerConfiguration.fromCypherConfiguration(cypherConfig, config, planSystemCommands = false, false),
         CypherRuntimeConfiguration.fromCypherConfiguration(cypherConfig),
-        queryCaches
+        queryCaches,
+        new CachingOffHeapBlockAllocator()
       )
     (new CompilerLibrary(compilerFactory, () => null), queryCaches)
   }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings
+import org.neo4j.cypher.ExecutionEngineFunSuite
+import org.neo4j.graphdb.config.Setting
+
+class CompiledExpressionsAcceptanceTest extends ExecutionEngineFunSuite {
+
+  override def databaseConfig(): Map[Setting[_], Object] =
+    super.databaseConfig() ++ Map(
+      GraphDatabaseInternalSettings.cypher_slotted_compiled_expressions -> java.lang.Boolean.TRUE
+    )
+
+  private val filterHeavyQuery =
+    "MATCH (n:R) WHERE n.a + n.b * 2 > 5000 AND n.a - n.b < 15000 AND n.b % 2 = 1 AND NOT n.a IN [6001, 6003] " +
+      "RETURN count(*) AS c, sum(n.a - n.b) AS s"
+
+  Seq(
+    filterHeavyQuery,
+    "MATCH (n:R) WHERE n.b IN [1, 2, 3, 5, 8, 13] OR n.c STARTS WITH '99' RETURN n.a AS a, n.b * 3 AS b",
+    "MATCH (n:R) WHERE n.a % 3 <> 0 AND n.b <> 0 AND n.a / n.b >= 100 RETURN n.a AS a, n.a / n.b AS q"
+  ).foreach { query =>
+    test(s"should filter with compiled expressions like with interpreted expressions: $query") {
+      // given
+      createNodes()
+
+      // when
+      val compiled = execute(s"CYPHER runtime=slotted expressionEngine=compiled $query").toList
+      val interpreted = execute(s"CYPHER runtime=slotted expressionEngine=interpreted $query").toList
+
+      // then
+      compiled should not be empty
+      compiled should contain theSameElementsAs interpreted
+    }
+  }
+
+  // A coarse comparison of the two expression engines on the same query, only meant to catch compiled expressions
+  // that got a lot slower than interpreting them. Timings are the best of several runs of an already planned query.
+  test("should not filter slower with compiled expressions than with interpreted expressions") {
+    // given
+    createNodes()
+    val compiledQuery = s"CYPHER runtime=slotted expressionEngine=compiled $filterHeavyQuery"
+    val interpretedQuery = s"CYPHER runtime=slotted expressionEngine=interpreted $filterHeavyQuery"
+
+    // when
+    val compiledNanos = bestOf(compiledQuery)
+    val interpretedNanos = bestOf(interpretedQuery)
+
+    // then
+    withClue(s"compiled: ${compiledNanos / 1000} us, interpreted: ${interpretedNanos / 1000} us") {
+      compiledNanos should be <= interpretedNanos * 2
+    }
+  }
+
+  private def createNodes(): Unit =
+    execute("UNWIND range(0, 19999) AS i CREATE (:R {a: i, b: i % 97, c: toString(i)})")
+
+  private def bestOf(query: String): Long = {
+    (0 until 5).foreach(_ => execute(query).toList)
+    (0 until 10).map { _ =>
+      val start = System.nanoTime()
+      execute(query).toList
+      System.nanoTime() - start
+    }.min
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings
+import org.neo4j.cypher.ExecutionEngineFunSuite
+import org.neo4j.graphdb.config.Setting
+
+class NodeHashJoinSpillingAcceptanceTest extends ExecutionEngineFunSuite {
+
+  override def databaseConfig(): Map[Setting[_], Object] =
+    super.databaseConfig() ++ Map(
+      GraphDatabaseInternalSettings.cypher_slotted_spill_threshold -> Long.box(1024),
+      GraphDatabaseInternalSettings.cypher_slotted_off_heap_hash_joins -> java.lang.Boolean.TRUE
+    )
+
+  test("should spill single node hash join that would otherwise use the single node or off-heap pipe") {
+    // given
+    execute("UNWIND range(0, 999) AS i CREATE (:A {p: i})-[:R]->(:B {p: i % 10})")
+
+    // when
+    val result = execute("CYPHER runtime=slotted MATCH (a:A)-->(b:B) USING JOIN ON b RETURN a.p AS a, b.p AS b")
+
+    // then
+    result.executionPlanDescription().toString should include("NodeHashJoin")
+    result.toList should contain theSameElementsAs (0L until 1000L).map(i => Map("a" -> i, "b" -> i % 10))
+  }
+}
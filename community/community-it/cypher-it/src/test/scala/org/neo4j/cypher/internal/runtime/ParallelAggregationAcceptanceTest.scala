@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings
+import org.neo4j.cypher.ExecutionEngineFunSuite
+import org.neo4j.graphdb.config.Setting
+import org.neo4j.scheduler.Group
+import org.neo4j.scheduler.JobScheduler
+
+import scala.jdk.CollectionConverters.IteratorHasAsScala
+
+class ParallelAggregationAcceptanceTest extends ExecutionEngineFunSuite {
+
+  override def databaseConfig(): Map[Setting[_], Object] =
+    super.databaseConfig() ++ Map(
+      GraphDatabaseInternalSettings.cypher_slotted_parallel_aggregation_workers -> Int.box(4)
+    )
+
+  Seq(
+    "MATCH (n:L) WHERE n.p > 1234 RETURN count(*) AS c",
+    "MATCH (n) WHERE n.p % 3 = 0 RETURN count(n.p) AS c, sum(n.p) AS s, min(n.p) AS min, max(n.p) AS max",
+    "MATCH (n:L) WHERE n.p < 5000 RETURN n.g AS g, count(*) AS c, sum(n.p) AS s"
+  ).foreach { query =>
+    test(s"should aggregate in parallel as sequentially: $query") {
+      // given
+      execute("UNWIND range(0, 9999) AS i CREATE (:L {p: i, g: i % 7})")
+
+      // when
+      val parallel = execute(s"CYPHER runtime=slotted parallelAggregation=enabled $query").toList
+      val sequential = execute(s"CYPHER runtime=slotted parallelAggregation=disabled $query").toList
+
+      // then
+      parallel should not be empty
+      parallel should contain theSameElementsAs sequential
+      val jobScheduler = graph.getDependencyResolver.resolveDependency(classOf[JobScheduler])
+      jobScheduler.activeGroups().iterator().asScala.map(_.group).toSeq should contain(Group.CYPHER_WORKER)
+    }
+  }
+}
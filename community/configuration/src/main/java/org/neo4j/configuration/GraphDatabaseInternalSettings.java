@@ -96,6 +96,43 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
             .dynamic()
             .build();
 
+    @Internal
+    @Description("Let lock clients that have spun for a while on a contended lock wait in a first in, first out queue "
+            + "for that lock, and wake the first waiter up directly when the lock is released, instead of polling "
+            + "the lock with sleeps. Makes every lock release look up the wait queue of its lock.")
+    public static final Setting<Boolean> lock_manager_wait_queues =
+            newBuilder("internal.dbms.lock_manager.wait_queues", BOOL, false).build();
+
+    @Internal
+    @Description("Use a lock service that keeps the record level locks taken while applying transactions to the record "
+            + "stores in a fixed table of lock stripes, instead of in a map that gets a new entry for every lock.")
+    public static final Setting<Boolean> striped_lock_service =
+            newBuilder("internal.dbms.lock_service.striped", BOOL, false).build();
+
+    @Internal
+    @Description("Let relationship traversal over record storage ask the page cache to load the page of the next "
+            + "relationship in the chain, and of the next relationship group of dense nodes, in the background while "
+            + "the current relationship is being processed.")
+    public static final Setting<Boolean> relationship_chain_prefetch =
+            newBuilder("internal.dbms.storage.relationship_chain_prefetch", BOOL, false).build();
+
+    @Internal
+    @Description("Dense nodes with at least this many relationships get their relationships cached in compact arrays "
+            + "the first time they are traversed, so that later traversals do not have to follow the relationship "
+            + "group and relationship chains in the store. The cached relationships of a node are dropped when a "
+            + "transaction that changes them is applied. A value of 0 disables the cache.")
+    public static final Setting<Integer> relationship_adjacency_cache_degree_threshold = newBuilder(
+                    "internal.dbms.storage.relationship_adjacency_cache.degree_threshold", INT, 0)
+            .addConstraint(min(0))
+            .build();
+
+    @Internal
+    @Description("Maximum amount of heap that the cached relationships of dense nodes may use, see "
+            + "`internal.dbms.storage.relationship_adjacency_cache.degree_threshold`.")
+    public static final Setting<Long> relationship_adjacency_cache_max_size = newBuilder(
+                    "internal.dbms.storage.relationship_adjacency_cache.max_size", BYTES, mebiBytes(256))
+            .build();
+
     @Internal
     @Description("Name of the tracer factory to be used. Current implementations are: null, default & verbose.")
     public static final Setting<String> tracer =
@@ -487,6 +524,45 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.cypher.free_memory_of_unused_columns", BOOL, true)
             .build();
 
+    @Internal
+    @Description("Tracked heap usage of a Sort, Eager, EagerAggregation or NodeHashJoin operator of the slotted "
+            + "runtime above which the operator spills rows to temporary files. A value of 0 disables spilling.")
+    public static final Setting<Long> cypher_slotted_spill_threshold = newBuilder(
+                    "internal.cypher.slotted.spill_threshold", BYTES, 0L)
+            .addConstraint(min(0L))
+            .build();
+
+    @Internal
+    @Description("Absolute path of the directory of the temporary files that operators of the slotted runtime spill "
+            + "rows to, see `internal.cypher.slotted.spill_threshold`. If not set, the temporary directory of the "
+            + "JVM is used.")
+    public static final Setting<Path> cypher_slotted_spill_directory =
+            newBuilder("internal.cypher.slotted.spill_directory", PATH, null).build();
+
+    @Internal
+    @Description("Use off-heap probe tables for node hash joins of the slotted runtime whose left-hand side rows only "
+            + "have node and relationship slots. Not used when `internal.cypher.slotted.spill_threshold` enables "
+            + "spilling, since only on-heap node hash joins spill.")
+    public static final Setting<Boolean> cypher_slotted_off_heap_hash_joins = newBuilder(
+                    "internal.cypher.slotted.off_heap_hash_joins", BOOL, false)
+            .build();
+
+    @Internal
+    @Description("Compile expressions of the slotted runtime to bytecode when the expression engine asks for compiled "
+            + "expressions. If disabled, the slotted runtime always interprets expressions.")
+    public static final Setting<Boolean> cypher_slotted_compiled_expressions = newBuilder(
+                    "internal.cypher.slotted.compiled_expressions", BOOL, false)
+            .build();
+
+    @Internal
+    @Description("Number of threads that aggregate partitions of a scan when parallel aggregation is enabled in the "
+            + "slotted runtime. The threads are taken from the Cypher worker pool of the database. If set to 0, one "
+            + "thread is used for every logical processor available to the Java Virtual Machine.")
+    public static final Setting<Integer> cypher_slotted_parallel_aggregation_workers = newBuilder(
+                    "internal.cypher.slotted.parallel_aggregation_workers", INT, 0)
+            .addConstraint(min(0))
+            .build();
+
     @Internal
     @Description("Max number of recent queries to collect in the data collector module. Will round down to the"
             + " nearest power of two. The default number (8192 query invocations) "
@@ -742,6 +818,12 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
     public static final Setting<Boolean> archive_failed_index =
             newBuilder("internal.dbms.index.archive_failed", BOOL, false).build();
 
+    @Internal
+    @Description("Store the keys of newly created range indexes in prefix compressed leaves. Existing range indexes "
+            + "keep the leaf format they were created with.")
+    public static final Setting<Boolean> range_index_prefix_compressed_leaves =
+            newBuilder("internal.dbms.index.range.prefix_compressed_leaves", BOOL, false).build();
+
     @Internal
     @Description("Forces smaller ID cache, in order to preserve memory.")
     public static final Setting<Boolean> force_small_id_cache = newBuilder(
@@ -804,6 +886,20 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
             .addConstraint(range(2, 100))
             .build();
 
+    @Internal
+    @Description("Write dirty pages out gradually in the background between check points, at a pace derived from "
+            + "the transaction log growth, so that each check point only has to flush what was dirtied since.")
+    public static final Setting<Boolean> checkpoint_incremental_flush =
+            newBuilder("internal.db.checkpoint.incremental_flush.enabled", BOOL, false).build();
+
+    @Internal
+    @Description("How often the background check point flusher re-evaluates how many pages are dirty and at which "
+            + "pace they should be written out.")
+    public static final Setting<Duration> checkpoint_incremental_flush_interval = newBuilder(
+                    "internal.db.checkpoint.incremental_flush.interval", DURATION, ofSeconds(1))
+            .addConstraint(min(ofMillis(10)))
+            .build();
+
     @Internal
     @Description(
             "Whether or not to dump system and database diagnostics. This takes a non-negligible amount of time to do and therefore "
@@ -906,6 +1002,17 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.dbms.strictly_prioritize_id_freelist", BOOL, true)
             .build();
 
+    @Internal
+    @Description("Maximum number of ids a transaction reserves at a time from an id generator, in record stores that "
+            + "are not multi-versioned. A transaction hands out ids from its reserved chunk with a local increment and "
+            + "returns the ids it didn't use when it closes. Chunks start at a single id and double in size for every "
+            + "new chunk a transaction reserves, so that small transactions reserve no more than they need. "
+            + "A value of 0 or 1 lets transactions allocate every id from the id generator directly.")
+    public static final Setting<Integer> transaction_id_chunk_size = newBuilder(
+                    "internal.dbms.idgenerator.transaction_id_chunk_size", INT, 0)
+            .addConstraint(range(0, 1024))
+            .build();
+
     @Internal
     @Description("Block/buffer size for index population")
     public static final Setting<Long> index_populator_block_size = newBuilder(
@@ -998,6 +1105,22 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
     public static final Setting<Boolean> do_parallel_recovery =
             newBuilder("internal.dbms.recovery.enable_parallelism", BOOL, false).build();
 
+    @Internal
+    @Description(
+            "Number of threads applying recovered transactions when recovery is done with multiple threads. Zero means one less than the number of available processors.")
+    public static final Setting<Integer> recovery_parallelism = newBuilder(
+                    "internal.dbms.recovery.parallelism", INT, 0)
+            .addConstraint(min(0))
+            .build();
+
+    @Internal
+    @Description(
+            "Number of transactions that are read and decoded from the transaction log ahead of being applied when recovery is done with multiple threads. Zero disables reading ahead.")
+    public static final Setting<Integer> recovery_read_ahead_transactions = newBuilder(
+                    "internal.dbms.recovery.read_ahead_transactions", INT, 256)
+            .addConstraint(min(0))
+            .build();
+
     @Internal
     @Description("Whether or not to log contents of data that is inconsistent when deleting it.")
     public static final Setting<Boolean> log_inconsistent_data_deletion = newBuilder(
@@ -1034,6 +1157,39 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.dbms.tx.logs.dedicated.appender", BOOL, Boolean.FALSE)
             .build();
 
+    @Description("Maximum time the dedicated transaction appender waits for more transactions to join a group commit "
+            + "before it forces the transaction log. Zero disables group commit, and the log is forced for the "
+            + "transactions that happened to be queued. Waiting trades commit latency for fewer log forces.")
+    @Internal
+    public static final Setting<Duration> dedicated_transaction_appender_group_commit_delay = newBuilder(
+                    "internal.dbms.tx.logs.dedicated.appender.group_commit.max_delay", DURATION, Duration.ZERO)
+            .addConstraint(min(Duration.ZERO))
+            .build();
+
+    @Description("Number of transactions that completes a group commit of the dedicated transaction appender "
+            + "without waiting for the rest of the group commit delay.")
+    @Internal
+    public static final Setting<Integer> dedicated_transaction_appender_group_commit_transactions = newBuilder(
+                    "internal.dbms.tx.logs.dedicated.appender.group_commit.max_transactions", INT, 256)
+            .addConstraint(min(1))
+            .build();
+
+    @Description("Number of appended bytes that completes a group commit of the dedicated transaction appender "
+            + "without waiting for the rest of the group commit delay.")
+    @Internal
+    public static final Setting<Long> dedicated_transaction_appender_group_commit_bytes = newBuilder(
+                    "internal.dbms.tx.logs.dedicated.appender.group_commit.max_bytes", BYTES, mebiBytes(1))
+            .addConstraint(min(1L))
+            .build();
+
+    @Description("Tune the group commit delay of the dedicated transaction appender from observed log force latency "
+            + "and batch sizes. The delay is kept below half of the average log force time, and is skipped "
+            + "altogether while transactions are not committed concurrently. The configured delay is an upper bound.")
+    @Internal
+    public static final Setting<Boolean> dedicated_transaction_appender_group_commit_adaptive = newBuilder(
+                    "internal.dbms.tx.logs.dedicated.appender.group_commit.adaptive", BOOL, true)
+            .build();
+
     @Internal
     @Description("Enable per page file metrics collection in a default page cache and cursor tracer.")
     public static final Setting<Boolean> per_file_metrics_counters =
@@ -1044,6 +1200,13 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
     public static final Setting<Boolean> pre_sketch_transaction_logs =
             newBuilder("internal.dbms.tx_log.presketch", BOOL, false).build();
 
+    @Internal
+    @Description(
+            "Read transaction log files that have been rotated away from directly from a memory mapping of them, instead of copying them through a read buffer. "
+                    + "The log file that is currently being appended to is always read through a read buffer.")
+    public static final Setting<Boolean> transaction_log_mapped_reads =
+            newBuilder("internal.dbms.tx_log.mapped_reads", BOOL, true).build();
+
     @Internal
     @Description(
             "Enables using format versions that are still under development, which will trigger migration to them on start up. "
@@ -1192,6 +1355,29 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.dbms.page_cache_close_allocator_on_shutdown", BOOL, false)
             .build();
 
+    public enum PageCacheEvictionPolicy {
+        CLOCK,
+        SCAN_RESISTANT
+    }
+
+    @Internal
+    @Description(
+            "Page cache eviction policy. `CLOCK` treats every page access the same. `SCAN_RESISTANT` does not promote "
+                    + "pages read by sequential scans, such as label scans or consistency checks, and lets pages that are "
+                    + "re-referenced by other readers stay in the cache longer, so a large scan does not evict the working set.")
+    public static final Setting<PageCacheEvictionPolicy> page_cache_eviction_policy = newBuilder(
+                    "internal.dbms.page_cache_eviction_policy",
+                    ofEnum(PageCacheEvictionPolicy.class),
+                    PageCacheEvictionPolicy.CLOCK)
+            .build();
+
+    @Internal
+    @Description("Use io_uring for vectored page cache reads and writes, so that a batch of page faults or flushes "
+            + "is submitted to the kernel with a single system call. Only has an effect on Linux kernels that "
+            + "support io_uring, page cache io falls back to regular file channels everywhere else.")
+    public static final Setting<Boolean> page_cache_io_uring =
+            newBuilder("internal.dbms.page_cache_io_uring", BOOL, false).build();
+
     @Internal
     @Description(
             "Size of the memory block used to allocate page cache memory. Default value calculated based on page cache size.")
@@ -1200,6 +1386,41 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
             .addConstraint(min(1L))
             .build();
 
+    public enum PageCacheHugePages {
+        DISABLED,
+        TRANSPARENT,
+        HUGETLB_2M,
+        HUGETLB_1G
+    }
+
+    @Internal
+    @Description("Page size used to back page cache memory. `TRANSPARENT` aligns page cache memory to 2 MiB and "
+            + "advises the kernel to use transparent huge pages. `HUGETLB_2M` and `HUGETLB_1G` use huge pages "
+            + "reserved by the operator, and fall back to transparent huge pages when not enough are reserved. "
+            + "Huge pages reduce TLB misses on large page caches. Only has an effect on Linux.")
+    public static final Setting<PageCacheHugePages> page_cache_huge_pages = newBuilder(
+                    "internal.dbms.page_cache_huge_pages",
+                    ofEnum(PageCacheHugePages.class),
+                    PageCacheHugePages.DISABLED)
+            .build();
+
+    public enum PageCacheNumaPolicy {
+        DEFAULT,
+        INTERLEAVE,
+        SPREAD
+    }
+
+    @Internal
+    @Description("How page cache memory is placed on the NUMA nodes of the system. `DEFAULT` leaves the placement to "
+            + "the operating system. `INTERLEAVE` interleaves the pages of every allocation block over all nodes. "
+            + "`SPREAD` places every allocation block on a single node and assigns the blocks to the nodes "
+            + "round-robin. Only has an effect on Linux systems with more than one NUMA node.")
+    public static final Setting<PageCacheNumaPolicy> page_cache_numa_policy = newBuilder(
+                    "internal.dbms.page_cache_numa_policy",
+                    ofEnum(PageCacheNumaPolicy.class),
+                    PageCacheNumaPolicy.DEFAULT)
+            .build();
+
     @Internal
     @Description(
             "Whether to allow a system graph upgrade to happen automatically (and the procedures becomes no-ops), or should "
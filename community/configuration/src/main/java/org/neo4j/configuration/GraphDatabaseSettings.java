@@ -611,8 +611,7 @@ public class GraphDatabaseSettings implements SettingsDeclaration {
             .build();
 
     @Description("The profiling frequency for the page cache. "
-            + "Accurate profiles allow the page cache to do active warmup after a restart, reducing the mean time to performance.\n"
-            + "This feature is available in Neo4j Enterprise Edition.")
+            + "Accurate profiles allow the page cache to do active warmup after a restart, reducing the mean time to performance.")
     public static final Setting<Duration> pagecache_warmup_profiling_interval = newBuilder(
                     "db.memory.pagecache.warmup.profile.interval", DURATION, ofMinutes(1))
             .build();
@@ -620,8 +619,7 @@ public class GraphDatabaseSettings implements SettingsDeclaration {
     @Description(
             "Page cache can be configured to perform usage sampling of loaded pages that can be used to construct active load profile. "
                     + "According to that profile pages can be reloaded on the restart, replication, etc. "
-                    + "This setting allows disabling that behavior.\n"
-                    + "This feature is available in Neo4j Enterprise Edition.")
+                    + "This setting allows disabling that behavior.")
     public static final Setting<Boolean> pagecache_warmup_enabled =
             newBuilder("db.memory.pagecache.warmup.enable", BOOL, true).build();
 
@@ -36,6 +36,7 @@ import org.neo4j.cypher.internal.options.LabelInferenceOption
 import org.neo4j.graphdb.config.Setting
 
 import java.io.File
+import java.nio.file.Path
 
 import scala.jdk.CollectionConverters.SetHasAsScala
 
@@ -151,6 +152,23 @@ class CypherConfiguration private (val config: Config) {
   val freeMemoryOfUnusedColumns: Boolean =
     config.get(GraphDatabaseInternalSettings.cypher_free_memory_of_unused_columns)
 
+  val slottedSpillThreshold: Long = config.get(GraphDatabaseInternalSettings.cypher_slotted_spill_threshold)
+
+  val slottedSpillDirectory: Path =
+    Option(config.get(GraphDatabaseInternalSettings.cypher_slotted_spill_directory))
+      .getOrElse(Path.of(System.getProperty("java.io.tmpdir")))
+
+  val slottedOffHeapHashJoins: Boolean = config.get(GraphDatabaseInternalSettings.cypher_slotted_off_heap_hash_joins)
+
+  val slottedCompiledExpressions: Boolean =
+    config.get(GraphDatabaseInternalSettings.cypher_slotted_compiled_expressions)
+
+  val slottedParallelAggregationWorkers: Int =
+    config.get(GraphDatabaseInternalSettings.cypher_slotted_parallel_aggregation_workers) match {
+      case 0       => Runtime.getRuntime.availableProcessors()
+      case workers => workers
+    }
+
   // dynamic configurations
   private var _obfuscateLiterals: Boolean = config.get(GraphDatabaseSettings.log_queries_obfuscate_literals)
   private var _renderPlanDescription: Boolean = config.get(GraphDatabaseSettings.cypher_render_plan_descriptions)
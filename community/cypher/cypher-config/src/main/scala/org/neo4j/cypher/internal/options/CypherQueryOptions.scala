@@ -25,7 +25,9 @@ import org.neo4j.cypher.internal.config.CypherConfiguration
 import org.neo4j.cypher.internal.options.CypherQueryOptions.ILLEGAL_EXPRESSION_ENGINE_RUNTIME_COMBINATIONS
 import org.neo4j.cypher.internal.options.CypherQueryOptions.ILLEGAL_INTERPRETED_PIPES_FALLBACK_RUNTIME_COMBINATIONS
 import org.neo4j.cypher.internal.options.CypherQueryOptions.ILLEGAL_OPERATOR_ENGINE_RUNTIME_COMBINATIONS
+import org.neo4j.cypher.internal.options.CypherQueryOptions.ILLEGAL_PARALLEL_AGGREGATION_RUNTIME_COMBINATIONS
 import org.neo4j.cypher.internal.options.CypherQueryOptions.ILLEGAL_PARALLEL_RUNTIME_COMBINATIONS
+import org.neo4j.cypher.internal.options.CypherQueryOptions.ILLEGAL_ROW_BATCHING_RUNTIME_COMBINATIONS
 
 import java.util.Locale
 
@@ -46,7 +48,9 @@ case class CypherQueryOptions(
   parallelRuntimeSupportOption: CypherParallelRuntimeSupportOption,
   eagerAnalyzer: CypherEagerAnalyzerOption,
   labelInference: LabelInferenceOption,
-  statefulShortestPlanningModeOption: CypherStatefulShortestPlanningModeOption
+  statefulShortestPlanningModeOption: CypherStatefulShortestPlanningModeOption,
+  rowBatching: CypherRowBatchingOption,
+  parallelAggregation: CypherParallelAggregationOption
 ) {
 
   if (ILLEGAL_EXPRESSION_ENGINE_RUNTIME_COMBINATIONS((expressionEngine, runtime)))
@@ -70,6 +74,16 @@ case class CypherQueryOptions(
     )
   }
 
+  if (ILLEGAL_ROW_BATCHING_RUNTIME_COMBINATIONS((rowBatching, runtime)))
+    throw new InvalidCypherOption(
+      s"Cannot combine ROW BATCHING '${rowBatching.name}' with RUNTIME '${runtime.name}'"
+    )
+
+  if (ILLEGAL_PARALLEL_AGGREGATION_RUNTIME_COMBINATIONS((parallelAggregation, runtime)))
+    throw new InvalidCypherOption(
+      s"Cannot combine PARALLEL AGGREGATION '${parallelAggregation.name}' with RUNTIME '${runtime.name}'"
+    )
+
   def render: String = CypherQueryOptions.renderer.render(this)
 
   def cacheKey: String = CypherQueryOptions.cacheKey.cacheKey(this)
@@ -133,6 +147,20 @@ object CypherQueryOptions {
     Set(
       (CypherParallelRuntimeSupportOption.disabled, CypherRuntimeOption.parallel)
     )
+
+  final private def ILLEGAL_ROW_BATCHING_RUNTIME_COMBINATIONS
+    : Set[(CypherRowBatchingOption, CypherRuntimeOption)] =
+    Set(
+      (CypherRowBatchingOption.enabled, CypherRuntimeOption.interpreted),
+      (CypherRowBatchingOption.enabled, CypherRuntimeOption.legacy)
+    )
+
+  final private def ILLEGAL_PARALLEL_AGGREGATION_RUNTIME_COMBINATIONS
+    : Set[(CypherParallelAggregationOption, CypherRuntimeOption)] =
+    Set(
+      (CypherParallelAggregationOption.enabled, CypherRuntimeOption.interpreted),
+      (CypherParallelAggregationOption.enabled, CypherRuntimeOption.legacy)
+    )
 }
 
 sealed abstract class CypherExecutionMode(val modeName: String) extends CypherOption(modeName) {
@@ -408,6 +436,54 @@ case object CypherEagerAnalyzerOption extends CypherOptionCompanion[CypherEagerA
   implicit val reader: OptionReader[CypherEagerAnalyzerOption] = singleOptionReader()
 }
 
+sealed abstract class CypherRowBatchingOption(mode: String) extends CypherKeyValueOption(mode) {
+  override def companion: CypherRowBatchingOption.type = CypherRowBatchingOption
+}
+
+/**
+ * Whether the slotted runtime executes scans followed by filters, projections and expands on batches of reused rows.
+ */
+case object CypherRowBatchingOption extends CypherOptionCompanion[CypherRowBatchingOption](
+      name = "rowBatching"
+    ) {
+
+  case object disabled extends CypherRowBatchingOption("disabled")
+  case object enabled extends CypherRowBatchingOption("enabled")
+
+  override def default: CypherRowBatchingOption = disabled
+
+  def values: Set[CypherRowBatchingOption] = Set(disabled, enabled)
+
+  implicit val hasDefault: OptionDefault[CypherRowBatchingOption] = OptionDefault.create(default)
+  implicit val renderer: OptionRenderer[CypherRowBatchingOption] = OptionRenderer.create(_.render)
+  implicit val cacheKey: OptionCacheKey[CypherRowBatchingOption] = OptionCacheKey.create(_.cacheKey)
+  implicit val reader: OptionReader[CypherRowBatchingOption] = singleOptionReader()
+}
+
+sealed abstract class CypherParallelAggregationOption(mode: String) extends CypherKeyValueOption(mode) {
+  override def companion: CypherParallelAggregationOption.type = CypherParallelAggregationOption
+}
+
+/**
+ * Whether the slotted runtime aggregates over scans followed by filters, projections and expands on several threads.
+ */
+case object CypherParallelAggregationOption extends CypherOptionCompanion[CypherParallelAggregationOption](
+      name = "parallelAggregation"
+    ) {
+
+  case object disabled extends CypherParallelAggregationOption("disabled")
+  case object enabled extends CypherParallelAggregationOption("enabled")
+
+  override def default: CypherParallelAggregationOption = disabled
+
+  def values: Set[CypherParallelAggregationOption] = Set(disabled, enabled)
+
+  implicit val hasDefault: OptionDefault[CypherParallelAggregationOption] = OptionDefault.create(default)
+  implicit val renderer: OptionRenderer[CypherParallelAggregationOption] = OptionRenderer.create(_.render)
+  implicit val cacheKey: OptionCacheKey[CypherParallelAggregationOption] = OptionCacheKey.create(_.cacheKey)
+  implicit val reader: OptionReader[CypherParallelAggregationOption] = singleOptionReader()
+}
+
 sealed abstract class CypherStatefulShortestPlanningModeOption(name: String) extends CypherKeyValueOption(name) {
   override def companion: CypherStatefulShortestPlanningModeOption.type = CypherStatefulShortestPlanningModeOption
 }
@@ -38,6 +38,7 @@ import org.neo4j.cypher.internal.compiler.CypherPlannerConfiguration;
 import org.neo4j.cypher.internal.config.CypherConfiguration;
 import org.neo4j.cypher.internal.config.ObservableSetting;
 import org.neo4j.cypher.internal.runtime.CypherRuntimeConfiguration;
+import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinOffHeapSlottedPipe;
 import org.neo4j.function.Observable;
 import org.neo4j.kernel.impl.query.Neo4jTransactionalContextFactory;
 import org.neo4j.kernel.impl.query.QueryCacheStatistics;
@@ -59,7 +60,13 @@ public class CommunityCypherEngineProvider extends QueryEngineProvider {
             CypherRuntimeConfiguration runtimeConfig,
             CypherQueryCaches queryCaches) {
         return new CommunityCompilerFactory(
-                queryService, spi.monitors(), spi.logProvider(), plannerConfig, runtimeConfig, queryCaches);
+                queryService,
+                spi.monitors(),
+                spi.logProvider(),
+                plannerConfig,
+                runtimeConfig,
+                queryCaches,
+                NodeHashJoinOffHeapSlottedPipe.createBlockAllocator(spi.lifeSupport()));
     }
 
     protected CacheFactory getCacheFactory(Dependencies deps, SPI spi) {
@@ -29,9 +29,11 @@ import org.neo4j.cypher.internal.runtime.CypherRuntimeConfiguration
 import org.neo4j.cypher.internal.util.InternalNotificationStats
 import org.neo4j.kernel.GraphDatabaseQueryService
 import org.neo4j.kernel.database.DatabaseReferenceRepository
+import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator
 import org.neo4j.logging.InternalLog
 import org.neo4j.logging.InternalLogProvider
 import org.neo4j.monitoring
+import org.neo4j.scheduler.JobScheduler
 
 /**
  * Factory which creates cypher compilers.
@@ -42,7 +44,8 @@ class CommunityCompilerFactory(
   logProvider: InternalLogProvider,
   plannerConfig: CypherPlannerConfiguration,
   runtimeConfig: CypherRuntimeConfiguration,
-  queryCaches: CypherQueryCaches
+  queryCaches: CypherQueryCaches,
+  offHeapBlockAllocator: OffHeapBlockAllocator
 ) extends CompilerFactory {
 
   private val log: InternalLog = logProvider.getLog(getClass)
@@ -80,7 +83,12 @@ class CommunityCompilerFactory(
     CypherCurrentCompiler(
       planner,
       runtime,
-      CommunityRuntimeContextManager(log, runtimeConfig),
+      CommunityRuntimeContextManager(
+        log,
+        runtimeConfig,
+        dependencies.resolveDependency(classOf[JobScheduler]),
+        offHeapBlockAllocator
+      ),
       kernelMonitors,
       queryCaches
     )
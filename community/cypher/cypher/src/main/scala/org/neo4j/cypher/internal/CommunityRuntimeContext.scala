@@ -22,12 +22,18 @@ package org.neo4j.cypher.internal
 import org.neo4j.cypher.internal.options.CypherDebugOptions
 import org.neo4j.cypher.internal.options.CypherInterpretedPipesFallbackOption
 import org.neo4j.cypher.internal.options.CypherOperatorEngineOption
+import org.neo4j.cypher.internal.options.CypherParallelAggregationOption
+import org.neo4j.cypher.internal.options.CypherRowBatchingOption
 import org.neo4j.cypher.internal.planner.spi.ReadTokenContext
 import org.neo4j.cypher.internal.runtime.CypherRuntimeConfiguration
 import org.neo4j.cypher.internal.util.AnonymousVariableNameGenerator
 import org.neo4j.internal.kernel.api.Procedures
 import org.neo4j.internal.kernel.api.SchemaRead
+import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator
 import org.neo4j.logging.InternalLog
+import org.neo4j.scheduler.CallableExecutor
+import org.neo4j.scheduler.Group
+import org.neo4j.scheduler.JobScheduler
 
 import java.time.Clock
 
@@ -40,16 +46,23 @@ case class CommunityRuntimeContext(
   procedures: Procedures,
   log: InternalLog,
   config: CypherRuntimeConfiguration,
-  anonymousVariableNameGenerator: AnonymousVariableNameGenerator
+  anonymousVariableNameGenerator: AnonymousVariableNameGenerator,
+  offHeapBlockAllocator: OffHeapBlockAllocator,
+  compileExpressions: Boolean = false,
+  rowBatching: Boolean = false,
+  parallelAggregationExecutor: Option[CallableExecutor] = None
 ) extends RuntimeContext {
 
-  override def compileExpressions: Boolean = false
   override def materializedEntitiesMode: Boolean = false
   override def isCommunity: Boolean = true
 }
 
-case class CommunityRuntimeContextManager(log: InternalLog, config: CypherRuntimeConfiguration)
-    extends RuntimeContextManager[CommunityRuntimeContext] {
+case class CommunityRuntimeContextManager(
+  log: InternalLog,
+  config: CypherRuntimeConfiguration,
+  jobScheduler: JobScheduler,
+  offHeapBlockAllocator: OffHeapBlockAllocator
+) extends RuntimeContextManager[CommunityRuntimeContext] {
 
   override def create(
     tokenContext: ReadTokenContext,
@@ -57,13 +70,28 @@ case class CommunityRuntimeContextManager(log: InternalLog, config: CypherRuntim
     procedures: Procedures,
     clock: Clock,
     debugOptions: CypherDebugOptions,
-    ignore: Boolean,
+    compileExpressions: Boolean,
     ignore2: Boolean,
     ignore3: CypherOperatorEngineOption,
     ignore4: CypherInterpretedPipesFallbackOption,
+    rowBatching: CypherRowBatchingOption,
+    parallelAggregation: CypherParallelAggregationOption,
     anonymousVariableNameGenerator: AnonymousVariableNameGenerator
   ): CommunityRuntimeContext =
-    CommunityRuntimeContext(tokenContext, schemaRead, procedures, log, config, anonymousVariableNameGenerator)
+    CommunityRuntimeContext(
+      tokenContext,
+      schemaRead,
+      procedures,
+      log,
+      config,
+      anonymousVariableNameGenerator,
+      offHeapBlockAllocator,
+      compileExpressions && config.slottedCompiledExpressions,
+      rowBatching == CypherRowBatchingOption.enabled,
+      if (parallelAggregation == CypherParallelAggregationOption.enabled)
+        Some(jobScheduler.executor(Group.CYPHER_WORKER))
+      else None
+    )
 
   // As we rely completely on transaction bound resources in community,
   // there is no need for further assertions here.
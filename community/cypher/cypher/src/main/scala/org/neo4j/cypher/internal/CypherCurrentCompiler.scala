@@ -196,6 +196,8 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](
       query.options.materializedEntitiesMode,
       query.options.queryOptions.operatorEngine,
       query.options.queryOptions.interpretedPipesFallback,
+      query.options.queryOptions.rowBatching,
+      query.options.queryOptions.parallelAggregation,
       planState.anonymousVariableNameGenerator
     )
 
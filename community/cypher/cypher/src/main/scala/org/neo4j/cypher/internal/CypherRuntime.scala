@@ -24,6 +24,8 @@ import org.neo4j.cypher.internal.logical.plans.LogicalPlan
 import org.neo4j.cypher.internal.options.CypherDebugOptions
 import org.neo4j.cypher.internal.options.CypherInterpretedPipesFallbackOption
 import org.neo4j.cypher.internal.options.CypherOperatorEngineOption
+import org.neo4j.cypher.internal.options.CypherParallelAggregationOption
+import org.neo4j.cypher.internal.options.CypherRowBatchingOption
 import org.neo4j.cypher.internal.options.CypherRuntimeOption
 import org.neo4j.cypher.internal.planner.spi.PlanningAttributes.EffectiveCardinalities
 import org.neo4j.cypher.internal.planner.spi.PlanningAttributes.LeveragedOrders
@@ -38,8 +40,10 @@ import org.neo4j.exceptions.CantCompileQueryException
 import org.neo4j.exceptions.RuntimeUnsupportedException
 import org.neo4j.internal.kernel.api.Procedures
 import org.neo4j.internal.kernel.api.SchemaRead
+import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator
 import org.neo4j.logging.InternalLog
 import org.neo4j.notifications.RuntimeUnsupportedNotification
+import org.neo4j.scheduler.CallableExecutor
 
 import java.time.Clock
 
@@ -107,6 +111,17 @@ abstract class RuntimeContext {
   def anonymousVariableNameGenerator: AnonymousVariableNameGenerator
   def materializedEntitiesMode: Boolean
   def isCommunity: Boolean
+  def rowBatching: Boolean
+
+  /**
+   * The executor of the workers of parallel aggregations, or `None` if parallel aggregation is disabled.
+   */
+  def parallelAggregationExecutor: Option[CallableExecutor]
+
+  /**
+   * The block allocator of off-heap hash joins, which is released when the database shuts down.
+   */
+  def offHeapBlockAllocator: OffHeapBlockAllocator
 }
 
 /**
@@ -129,6 +144,8 @@ trait RuntimeContextManager[+CONTEXT <: RuntimeContext] {
     materializedEntitiesMode: Boolean,
     operatorEngine: CypherOperatorEngineOption,
     interpretedPipesFallback: CypherInterpretedPipesFallbackOption,
+    rowBatching: CypherRowBatchingOption,
+    parallelAggregation: CypherParallelAggregationOption,
     anonymousVariableNameGenerator: AnonymousVariableNameGenerator
   ): CONTEXT
 
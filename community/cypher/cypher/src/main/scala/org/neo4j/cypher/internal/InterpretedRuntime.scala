@@ -29,6 +29,7 @@ import org.neo4j.cypher.internal.runtime.ProfileMode
 import org.neo4j.cypher.internal.runtime.QueryContext
 import org.neo4j.cypher.internal.runtime.QueryIndexRegistrator
 import org.neo4j.cypher.internal.runtime.SelectivityTrackerRegistrator
+import org.neo4j.cypher.internal.runtime.ThreadSafeResourceManager
 import org.neo4j.cypher.internal.runtime.expressionVariableAllocation
 import org.neo4j.cypher.internal.runtime.expressionVariableAllocation.Result
 import org.neo4j.cypher.internal.runtime.interpreted.ExecutionResultBuilderFactory
@@ -123,7 +124,8 @@ object InterpretedRuntime extends CypherRuntime[RuntimeContext] {
     readOnly: Boolean,
     startsTransactions: Boolean,
     override val metadata: Seq[Argument],
-    warnings: Set[InternalNotification]
+    warnings: Set[InternalNotification],
+    usesWorkerThreads: Boolean = false
   ) extends ExecutionPlan {
 
     override def run(
@@ -148,6 +150,9 @@ object InterpretedRuntime extends CypherRuntime[RuntimeContext] {
       builder.build(params, profileInformation, prePopulateResults, input, subscriber, doProfile)
     }
 
+    override def threadSafeExecutionResources(): Option[ResourceManagerFactory] =
+      if (usesWorkerThreads) Some(monitor => new ThreadSafeResourceManager(monitor)) else None
+
     override def notifications: Set[InternalNotification] = warnings
   }
 }
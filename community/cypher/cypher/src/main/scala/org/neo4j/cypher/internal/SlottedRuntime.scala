@@ -37,8 +37,11 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeTreeBuilder
 import org.neo4j.cypher.internal.runtime.slotted.SlottedExecutionResultBuilderFactory
 import org.neo4j.cypher.internal.runtime.slotted.SlottedPipeMapper
 import org.neo4j.cypher.internal.runtime.slotted.SlottedPipelineBreakingPolicy
+import org.neo4j.cypher.internal.runtime.slotted.SpillConfiguration
+import org.neo4j.cypher.internal.runtime.slotted.expressions.CompiledExpressionConverter
 import org.neo4j.cypher.internal.runtime.slotted.expressions.MaterializedEntitiesExpressionConverter
 import org.neo4j.cypher.internal.runtime.slotted.expressions.SlottedExpressionConverters
+import org.neo4j.cypher.internal.runtime.slotted.pipes.ParallelAggregationSlottedPipe.Workers
 import org.neo4j.cypher.internal.util.CypherException
 import org.neo4j.cypher.internal.util.InternalNotification
 import org.neo4j.exceptions.CantCompileQueryException
@@ -127,7 +130,11 @@ trait SlottedRuntime[-CONTEXT <: RuntimeContext] extends CypherRuntime[CONTEXT]
         converters,
         physicalPlan,
         query.readOnly,
-        queryIndexRegistrator
+        queryIndexRegistrator,
+        if (context.rowBatching) Some(context.config.pipelinedBatchSizeSmall) else None,
+        context.parallelAggregationExecutor.map(Workers(_, context.config.slottedParallelAggregationWorkers)),
+        SpillConfiguration.fromRuntimeConfiguration(context.config),
+        if (context.config.slottedOffHeapHashJoins) Some(context.offHeapBlockAllocator) else None
       )(query.semanticTable)
       val pipeTreeBuilder = PipeTreeBuilder(pipeBuilder)
       val logicalPlanWithConvertedNestedPlans = NestedPipeExpressions.build(
@@ -169,7 +176,8 @@ trait SlottedRuntime[-CONTEXT <: RuntimeContext] extends CypherRuntime[CONTEXT]
         query.readOnly,
         startsTransactions,
         metadataGen(),
-        warningsGen()
+        warningsGen(),
+        usesWorkerThreads = context.parallelAggregationExecutor.isDefined && query.readOnly
       )
     } catch {
       case e: CypherException =>
@@ -189,4 +197,16 @@ object SlottedRuntime {
   val NO_METADATA: () => Seq[Argument] = () => Seq.empty[Argument]
 }
 
-object CommunitySlottedRuntime extends SlottedRuntime[RuntimeContext]
+object CommunitySlottedRuntime extends SlottedRuntime[RuntimeContext] {
+
+  override protected def compileExpressions(
+    baseConverters: List[ExpressionConverter],
+    context: RuntimeContext,
+    physicalPlan: PhysicalPlan,
+    query: LogicalQuery,
+    selectivityTrackerRegistrator: SelectivityTrackerRegistrator
+  ): (List[ExpressionConverter], () => Seq[Argument], () => Set[InternalNotification]) = {
+    val compiledConverter = CompiledExpressionConverter(new ExpressionConverters(baseConverters: _*))
+    (compiledConverter +: baseConverters, NO_METADATA, NO_WARNINGS)
+  }
+}
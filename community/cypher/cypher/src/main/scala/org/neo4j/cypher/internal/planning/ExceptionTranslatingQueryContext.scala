@@ -164,6 +164,14 @@ class ExceptionTranslatingReadQueryContext(val inner: ReadQueryContext) extends
   ): NodeValueIndexCursor =
     translateException(tokenNameLookup, inner.nodeIndexSeek(index, needsValues, indexOrder, values))
 
+  override def nodeIndexMultiSeek(
+    index: IndexReadSession,
+    needsValues: Boolean,
+    indexOrder: IndexOrder,
+    queries: collection.Seq[Seq[PropertyIndexQuery]]
+  ): collection.Seq[NodeValueIndexCursor] =
+    translateException(tokenNameLookup, inner.nodeIndexMultiSeek(index, needsValues, indexOrder, queries))
+
   override def relationshipIndexSeek(
     index: IndexReadSession,
     needsValues: Boolean,
@@ -27,10 +27,12 @@ import org.neo4j.cypher.internal.options.CypherExecutionMode
 import org.neo4j.cypher.internal.options.CypherExpressionEngineOption
 import org.neo4j.cypher.internal.options.CypherInterpretedPipesFallbackOption
 import org.neo4j.cypher.internal.options.CypherOperatorEngineOption
+import org.neo4j.cypher.internal.options.CypherParallelAggregationOption
 import org.neo4j.cypher.internal.options.CypherParallelRuntimeSupportOption
 import org.neo4j.cypher.internal.options.CypherPlannerOption
 import org.neo4j.cypher.internal.options.CypherQueryOptions
 import org.neo4j.cypher.internal.options.CypherReplanOption
+import org.neo4j.cypher.internal.options.CypherRowBatchingOption
 import org.neo4j.cypher.internal.options.CypherRuntimeOption
 import org.neo4j.cypher.internal.options.CypherStatefulShortestPlanningModeOption
 import org.neo4j.cypher.internal.options.CypherUpdateStrategy
@@ -68,12 +70,14 @@ class CacheKeyTest extends CypherFunSuite {
       parallelRuntimeSupportOption = CypherParallelRuntimeSupportOption.disabled,
       eagerAnalyzer = CypherEagerAnalyzerOption.lp,
       labelInference = LabelInferenceOption.enabled,
-      statefulShortestPlanningModeOption = CypherStatefulShortestPlanningModeOption.allIfPossible
+      statefulShortestPlanningModeOption = CypherStatefulShortestPlanningModeOption.allIfPossible,
+      rowBatching = CypherRowBatchingOption.enabled,
+      parallelAggregation = CypherParallelAggregationOption.enabled
     )
 
     options.cacheKey
       .shouldEqual(
-        """PROFILE planner=dp runtime=pipelined updateStrategy=eager expressionEngine=interpreted operatorEngine=interpreted interpretedPipesFallback=all connectComponentsPlanner=idp debug=querygraph debug=tostring parallelRuntimeSupport=disabled eagerAnalyzer=lp labelInference=enabled statefulShortestPlanningMode=all_if_possible"""
+        """PROFILE planner=dp runtime=pipelined updateStrategy=eager expressionEngine=interpreted operatorEngine=interpreted interpretedPipesFallback=all connectComponentsPlanner=idp debug=querygraph debug=tostring parallelRuntimeSupport=disabled eagerAnalyzer=lp labelInference=enabled statefulShortestPlanningMode=all_if_possible rowBatching=enabled parallelAggregation=enabled"""
       )
   }
 }
@@ -321,6 +321,14 @@ abstract class DelegatingQueryContext(val inner: QueryContext) extends QueryCont
   ): NodeValueIndexCursor =
     manyDbHits(inner.nodeIndexSeek(index, needsValues, indexOrder, queries))
 
+  override def nodeIndexMultiSeek(
+    index: IndexReadSession,
+    needsValues: Boolean,
+    indexOrder: IndexOrder,
+    queries: collection.Seq[Seq[PropertyIndexQuery]]
+  ): collection.Seq[NodeValueIndexCursor] =
+    inner.nodeIndexMultiSeek(index, needsValues, indexOrder, queries).map(cursor => manyDbHits(cursor))
+
   override def nodeIndexScan(
     index: IndexReadSession,
     needsValues: Boolean,
@@ -145,6 +145,7 @@ import scala.collection.mutable.ArrayBuffer
 import scala.jdk.CollectionConverters.IterableHasAsScala
 import scala.jdk.CollectionConverters.IteratorHasAsScala
 import scala.jdk.CollectionConverters.ListHasAsScala
+import scala.jdk.CollectionConverters.SeqHasAsJava
 import scala.util.control.NonFatal
 
 sealed class TransactionBoundQueryContext(
@@ -803,6 +804,35 @@ private[internal] class TransactionBoundReadQueryContext(
     }
   }
 
+  override def nodeIndexMultiSeek(
+    index: IndexReadSession,
+    needsValues: Boolean,
+    indexOrder: IndexOrder,
+    queries: collection.Seq[Seq[PropertyIndexQuery]]
+  ): collection.Seq[NodeValueIndexCursor] = {
+    if (queries.exists(_.exists(query => !query.isInstanceOf[ExactPredicate] || isImpossibleIndexQuery(query)))) {
+      super.nodeIndexMultiSeek(index, needsValues, indexOrder, queries)
+    } else {
+      val nodeCursors = queries.map(_ => allocateAndTraceNodeValueIndexCursor())
+      // We don't need property values from the index for exact seeks
+      reads().nodeIndexMultiSeek(
+        transactionalContext.kernelQueryContext,
+        index,
+        nodeCursors.asJava,
+        IndexQueryConstraints.constrained(asKernelIndexOrder(indexOrder), false),
+        queries.map(_.toArray).asJava
+      )
+      if (needsValues) {
+        nodeCursors.zip(queries).map {
+          case (nodeCursor, predicates) =>
+            new ValuedNodeIndexCursor(nodeCursor, predicates.map(_.asInstanceOf[ExactPredicate].value()).toArray)
+        }
+      } else {
+        nodeCursors
+      }
+    }
+  }
+
   override def relationshipIndexSeek(
     index: IndexReadSession,
     needsValues: Boolean,
@@ -50,6 +50,7 @@ import org.neo4j.exceptions.InternalException
 import org.neo4j.internal.kernel.api.IndexReadSession
 import org.neo4j.internal.kernel.api.NodeValueIndexCursor
 import org.neo4j.internal.kernel.api.PropertyIndexQuery
+import org.neo4j.internal.kernel.api.PropertyIndexQuery.ExactPredicate
 import org.neo4j.internal.kernel.api.RelationshipValueIndexCursor
 import org.neo4j.values.AnyValue
 import org.neo4j.values.storable.NumberValue
@@ -87,6 +88,11 @@ trait EntityIndexSeeker {
         val indexQueries: collection.Seq[Seq[PropertyIndexQuery]] = computeIndexQueries(state, baseContext)
         if (indexQueries.size == 1) {
           state.query.nodeIndexSeek(index, needsValues, indexOrder, indexQueries.head)
+        } else if (indexOrder == IndexOrderNone) {
+          // Seeking the queries in index order lets the index move on from the hits of one query to the next
+          CompositeValueIndexCursor.unordered(
+            state.query.nodeIndexMultiSeek(index, needsValues, indexOrder, inValueOrder(indexQueries)).toArray
+          )
         } else {
           orderedCursor(
             indexOrder,
@@ -170,6 +176,16 @@ trait EntityIndexSeeker {
 
   private val BY_VALUE: MinMaxOrdering[Value] = MinMaxOrdering(Ordering.comparatorToOrdering(Values.COMPARATOR))
 
+  private val BY_VALUES: Ordering[Seq[Value]] =
+    Ordering.Implicits.seqOrdering[Seq, Value](Ordering.comparatorToOrdering(Values.COMPARATOR))
+
+  private def inValueOrder(queries: collection.Seq[Seq[PropertyIndexQuery]]): collection.Seq[Seq[PropertyIndexQuery]] =
+    if (queries.forall(_.forall(_.isInstanceOf[ExactPredicate]))) {
+      queries.sortBy(_.map(_.asInstanceOf[ExactPredicate].value()))(BY_VALUES)
+    } else {
+      queries
+    }
+
   def computeIndexQueries(state: QueryState, row: ReadableRow): collection.Seq[Seq[PropertyIndexQuery]] =
     valueExpr match {
 
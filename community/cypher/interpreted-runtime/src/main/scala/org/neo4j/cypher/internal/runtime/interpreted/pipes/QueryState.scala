@@ -35,6 +35,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.PathVa
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState.createDefaultInCache
 import org.neo4j.cypher.internal.runtime.memory.MemoryTrackerForOperatorProvider
 import org.neo4j.cypher.internal.runtime.memory.QueryMemoryTracker
+import org.neo4j.cypher.internal.runtime.memory.SingleMemoryTrackerForOperatorProvider
 import org.neo4j.graphdb.TransactionFailureException
 import org.neo4j.internal.kernel
 import org.neo4j.internal.kernel.api.IndexReadSession
@@ -240,6 +241,46 @@ class QueryState(
     )
   }
 
+  /**
+   * Create a state for a worker thread that reads through the given query context, which must have been created with
+   * [[QueryContext.createParallelQueryContext]]. Nothing that is mutated during execution, such as cursors, caches,
+   * expression variables and per-operator memory trackers, is shared with this state.
+   */
+  def withParallelQueryContext(newQuery: QueryContext): QueryState = {
+    val newCursors = newQuery.createExpressionCursors()
+
+    val newQueryIndexes = queryIndexes.map(i => newQuery.transactionalContext.dataRead.indexReadSession(i.reference()))
+    val newNodeLabelTokenReadSession =
+      nodeLabelTokenReadSession.map(t => newQuery.transactionalContext.dataRead.tokenReadSession(t.reference()))
+    val newRelTypeTokenReadSession =
+      relTypeTokenReadSession.map(t => newQuery.transactionalContext.dataRead.tokenReadSession(t.reference()))
+
+    // All allocations of the worker are tracked by the memory tracker of its execution context
+    val newMemoryTrackerForOperatorProvider =
+      new SingleMemoryTrackerForOperatorProvider(newQuery.transactionalContext.memoryTracker)
+
+    new QueryState(
+      newQuery,
+      resources,
+      params,
+      newCursors,
+      newQueryIndexes,
+      selectivityTrackerStorage.emptyCopy(),
+      newNodeLabelTokenReadSession,
+      newRelTypeTokenReadSession,
+      new Array[AnyValue](expressionVariables.length),
+      subscriber,
+      queryMemoryTracker,
+      newMemoryTrackerForOperatorProvider,
+      decorator,
+      initialContext,
+      createDefaultInCache(),
+      lenientCreateRelationship,
+      prePopulateResults,
+      input
+    )
+  }
+
   def setExecutionContextFactory(rowFactory: CypherRowFactory): Unit = {
     _rowFactory = rowFactory
   }
@@ -27,12 +27,14 @@ import org.neo4j.cypher.internal.RuntimeContext
 import org.neo4j.cypher.internal.RuntimeContextManager
 import org.neo4j.cypher.internal.config.CypherConfiguration
 import org.neo4j.cypher.internal.runtime.CypherRuntimeConfiguration
+import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinOffHeapSlottedPipe
 import org.neo4j.cypher.internal.runtime.spec.Edition.Dbms
 import org.neo4j.dbms.api.DatabaseManagementService
 import org.neo4j.graphdb.config.Setting
 import org.neo4j.io.fs.EphemeralFileSystemAbstraction
 import org.neo4j.kernel.lifecycle.LifeSupport
 import org.neo4j.logging.InternalLogProvider
+import org.neo4j.scheduler.JobScheduler
 import org.neo4j.test.TestDatabaseManagementServiceBuilder
 
 import java.lang.Boolean.TRUE
@@ -110,7 +112,13 @@ object COMMUNITY {
 
   val EDITION = new Edition(
     () => new TestDatabaseManagementServiceBuilder,
-    (runtimeConfig, _, _, logProvider) => CommunityRuntimeContextManager(logProvider.getLog("test"), runtimeConfig),
+    (runtimeConfig, resolver, lifeSupport, logProvider) =>
+      CommunityRuntimeContextManager(
+        logProvider.getLog("test"),
+        runtimeConfig,
+        resolver.resolveDependency(classOf[JobScheduler]),
+        NodeHashJoinOffHeapSlottedPipe.createBlockAllocator(lifeSupport)
+      ),
     CommunityRuntimeTestUtils,
     GraphDatabaseSettings.cypher_hints_error -> TRUE
   )
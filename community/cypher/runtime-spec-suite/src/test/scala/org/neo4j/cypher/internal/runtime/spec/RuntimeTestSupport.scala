@@ -806,6 +806,8 @@ class RuntimeTestSupport[CONTEXT <: RuntimeContext](
       materializedEntitiesMode = queryOptions.materializedEntitiesMode,
       operatorEngine = queryOptions.queryOptions.operatorEngine,
       interpretedPipesFallback = queryOptions.queryOptions.interpretedPipesFallback,
+      rowBatching = queryOptions.queryOptions.rowBatching,
+      parallelAggregation = queryOptions.queryOptions.parallelAggregation,
       anonymousVariableNameGenerator = new AnonymousVariableNameGenerator()
     )
   }
@@ -25,6 +25,8 @@ import org.neo4j.cypher.internal.RuntimeContext
 import org.neo4j.cypher.internal.options.CypherDebugOptions
 import org.neo4j.cypher.internal.options.CypherInterpretedPipesFallbackOption
 import org.neo4j.cypher.internal.options.CypherOperatorEngineOption
+import org.neo4j.cypher.internal.options.CypherParallelAggregationOption
+import org.neo4j.cypher.internal.options.CypherRowBatchingOption
 import org.neo4j.cypher.internal.runtime.QueryContext
 import org.neo4j.cypher.internal.runtime.spec.Edition
 import org.neo4j.cypher.internal.runtime.spec.LogicalQueryBuilder
@@ -254,6 +256,8 @@ abstract class InputWithMaterializedEntitiesTest[CONTEXT <: RuntimeContext](
           materializedEntitiesMode = true,
           operatorEngine = CypherOperatorEngineOption.default,
           interpretedPipesFallback = CypherInterpretedPipesFallbackOption.default,
+          rowBatching = CypherRowBatchingOption.default,
+          parallelAggregation = CypherParallelAggregationOption.default,
           anonymousVariableNameGenerator = new AnonymousVariableNameGenerator()
         )
       }
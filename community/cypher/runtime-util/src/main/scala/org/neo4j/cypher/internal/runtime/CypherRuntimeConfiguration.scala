@@ -26,6 +26,7 @@ import org.neo4j.cypher.internal.options.CypherExpressionEngineOption
 import org.neo4j.util.Preconditions
 
 import java.io.File
+import java.nio.file.Path
 
 object CypherRuntimeConfiguration {
 
@@ -44,7 +45,12 @@ object CypherRuntimeConfiguration {
       compiledExpressionMethodLimit = config.compiledExpressionMethodLimit,
       operatorFusingMethodLimit = config.operatorFusingMethodLimit,
       freeMemoryOfUnusedColumns = config.freeMemoryOfUnusedColumns,
-      expressionEngineOption = config.expressionEngineOption
+      expressionEngineOption = config.expressionEngineOption,
+      slottedSpillThreshold = config.slottedSpillThreshold,
+      slottedSpillDirectory = config.slottedSpillDirectory,
+      slottedOffHeapHashJoins = config.slottedOffHeapHashJoins,
+      slottedCompiledExpressions = config.slottedCompiledExpressions,
+      slottedParallelAggregationWorkers = config.slottedParallelAggregationWorkers
     )
   }
 
@@ -66,7 +72,12 @@ case class CypherRuntimeConfiguration(
   compiledExpressionMethodLimit: Int,
   operatorFusingMethodLimit: Int,
   freeMemoryOfUnusedColumns: Boolean,
-  expressionEngineOption: CypherExpressionEngineOption
+  expressionEngineOption: CypherExpressionEngineOption,
+  slottedSpillThreshold: Long,
+  slottedSpillDirectory: Path,
+  slottedOffHeapHashJoins: Boolean,
+  slottedCompiledExpressions: Boolean,
+  slottedParallelAggregationWorkers: Int
 ) {
 
   Preconditions.checkArgument(
@@ -170,6 +170,18 @@ trait ReadQueryContext extends ReadTokenContext with DbAccess with AutoCloseable
     queries: Seq[PropertyIndexQuery]
   ): NodeValueIndexCursor
 
+  /**
+   * Seeks the nodes of several queries of the same index, e.g. one for every value of an IN-list, with one cursor for
+   * every query. Cheapest if the cursors are exhausted one after the other, in index order of their queries.
+   */
+  def nodeIndexMultiSeek(
+    index: IndexReadSession,
+    needsValues: Boolean,
+    indexOrder: IndexOrder,
+    queries: collection.Seq[Seq[PropertyIndexQuery]]
+  ): collection.Seq[NodeValueIndexCursor] =
+    queries.map(query => nodeIndexSeek(index, needsValues, indexOrder, query))
+
   def nodeIndexSeekByContains(
     index: IndexReadSession,
     needsValues: Boolean,
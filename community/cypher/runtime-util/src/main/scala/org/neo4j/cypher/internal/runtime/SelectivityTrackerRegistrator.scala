@@ -51,4 +51,9 @@ class SelectivityTrackerStorage(trackersCount: Int) {
     }
     t
   }
+
+  /**
+   * Create a storage with the same number of trackers, for a thread that must not share the trackers of this storage.
+   */
+  def emptyCopy(): SelectivityTrackerStorage = new SelectivityTrackerStorage(trackersCount)
 }
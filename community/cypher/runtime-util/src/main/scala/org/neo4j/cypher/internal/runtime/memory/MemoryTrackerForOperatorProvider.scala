@@ -66,6 +66,14 @@ case object NoOpMemoryTrackerForOperatorProvider extends MemoryTrackerForOperato
   override def memoryTrackerForOperator(operatorId: Int): MemoryTracker = EmptyMemoryTracker.INSTANCE
 }
 
+/**
+ * Tracks the memory of all operators with the same memory tracker, such as the memory tracker of a worker thread.
+ */
+class SingleMemoryTrackerForOperatorProvider(memoryTracker: MemoryTracker) extends MemoryTrackerForOperatorProvider {
+
+  override def memoryTrackerForOperator(operatorId: Int): MemoryTracker = memoryTracker
+}
+
 object TransactionBoundMemoryTrackerForOperatorProvider {
 
   /**
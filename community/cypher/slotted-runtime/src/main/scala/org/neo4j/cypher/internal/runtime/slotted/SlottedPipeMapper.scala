@@ -178,6 +178,7 @@ import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration.isRefSlotAnd
 import org.neo4j.cypher.internal.physicalplanning.SlotConfigurationUtils
 import org.neo4j.cypher.internal.physicalplanning.SlotConfigurationUtils.finalizeSlotConfiguration
 import org.neo4j.cypher.internal.physicalplanning.SlottedIndexedProperty
+import org.neo4j.cypher.internal.physicalplanning.SlottedRewriter
 import org.neo4j.cypher.internal.physicalplanning.VariablePredicates.expressionSlotForPredicate
 import org.neo4j.cypher.internal.physicalplanning.ast.NodeFromSlot
 import org.neo4j.cypher.internal.physicalplanning.ast.NullCheckVariable
@@ -242,6 +243,7 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.AntiConditionalApplySlott
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ApplySlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ArgumentSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.AssertSameRelationshipSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.BFSPruningVarLengthExpandSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.CartesianProductSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ConditionalApplySlottedPipe
@@ -267,6 +269,7 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.GroupSlot
 import org.neo4j.cypher.internal.runtime.slotted.pipes.IntersectionNodesByLabelsScanSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.LoadCSVSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.LockingMergeSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinOffHeapSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.KeyOffsets
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.SlotMapping
@@ -283,6 +286,7 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.OrderedDistinctSlottedPip
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OrderedDistinctSlottedPrimitivePipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OrderedDistinctSlottedSinglePrimitivePipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OrderedUnionSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.ParallelAggregationSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ProduceResultSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.RollUpApplySlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.SelectOrSemiApplySlottedPipe
@@ -320,6 +324,7 @@ import org.neo4j.exceptions.InternalException
 import org.neo4j.exceptions.ShortestPathCommonEndNodesForbiddenException
 import org.neo4j.internal.kernel.api.helpers.traversal.SlotOrName
 import org.neo4j.kernel.api.StatementConstants
+import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator
 import org.neo4j.values.storable.Values.NO_VALUE
 
 import scala.annotation.nowarn
@@ -331,7 +336,11 @@ class SlottedPipeMapper(
   expressionConverters: ExpressionConverters,
   physicalPlan: PhysicalPlan,
   readOnly: Boolean,
-  indexRegistrator: QueryIndexRegistrator
+  indexRegistrator: QueryIndexRegistrator,
+  rowBatchSize: Option[Int] = None,
+  parallelAggregationWorkers: Option[ParallelAggregationSlottedPipe.Workers] = None,
+  spillConfiguration: Option[SpillConfiguration] = None,
+  offHeapBlockAllocator: Option[OffHeapBlockAllocator] = None
 )(implicit semanticTable: SemanticTable)
     extends PipeMapper {
 
@@ -1056,7 +1065,12 @@ class SlottedPipeMapper(
     val pipe = plan match {
       case ProduceResult(_, columns) =>
         val runtimeColumns = createProjectionsForResult(columns, slots)
-        ProduceResultSlottedPipe(source, runtimeColumns)(id)
+        // Batched rows are reused, which is only safe when every row is done with before the next one is requested
+        val batchedSource = rowBatchSize.flatMap(batchSize =>
+          BatchedSlottedPipe.batch(source, physicalPlan.argumentSizes.apply, batchSize)
+        )
+        batchedSource.foreach(_.rowFactory = source.rowFactory)
+        ProduceResultSlottedPipe(batchedSource.getOrElse(source), runtimeColumns)(id)
 
       case Expand(_, from, dir, types, to, relName, ExpandAll) =>
         val fromSlot = slots(from)
@@ -1572,11 +1586,18 @@ class SlottedPipeMapper(
               slots,
               expressionConverters.toGroupingExpression(id, groupingExpressions, Seq.empty),
               aggregation,
-              physicalPlan.argumentSizes(plan.id)
+              physicalPlan.argumentSizes(plan.id),
+              spilling(physicalPlan.slotConfigurations(plan.lhs.get.id))
             )
           }
 
-        EagerAggregationPipe(source, tableFactory)(id)
+        val eagerAggregation = EagerAggregationPipe(source, tableFactory)(id)
+        parallelAggregationWorkers
+          .filter(_ => readOnly && argumentSize == SlotConfiguration.Size.zero)
+          .flatMap(workers =>
+            parallelAggregation(plan, source, eagerAggregation, groupingExpressions, aggregation, workers)
+          )
+          .getOrElse(eagerAggregation)
 
       case OrderedAggregation(_, groupingExpressions, aggregationExpression, orderToLeverage) =>
         val aggregation = aggregationExpression.map {
@@ -1664,7 +1685,8 @@ class SlottedPipeMapper(
       case Sort(_, sortItems) =>
         SortSlottedPipe(
           source,
-          SlottedExecutionContextOrdering.asComparator(sortItems.map(translateColumnOrder(slots, _)))
+          SlottedExecutionContextOrdering.asComparator(sortItems.map(translateColumnOrder(slots, _))),
+          spilling(slots)
         )(id = id)
 
       case PartialSort(_, alreadySortedPrefix, stillToSortSuffix, skipSortingPrefixLength) =>
@@ -1676,7 +1698,7 @@ class SlottedPipeMapper(
         )(id = id)
 
       case Eager(_, _) =>
-        EagerSlottedPipe(source, slots)(id)
+        EagerSlottedPipe(source, slots, spilling(physicalPlan.slotConfigurations(plan.lhs.get.id)))(id)
 
       case _: DeleteNode |
         _: DeleteRelationship |
@@ -1715,6 +1737,58 @@ class SlottedPipeMapper(
     pipe
   }
 
+  private def spilling(slots: SlotConfiguration): Option[SlottedRowSpilling] =
+    spillConfiguration.map(SlottedRowSpilling(slots, _))
+
+  /**
+   * Replace an eager aggregation over a node scan, followed by filters, projections and expands, with a pipe that
+   * aggregates partitions of the scan on several threads, or return `None` if the aggregation cannot be parallelized.
+   */
+  private def parallelAggregation(
+    plan: LogicalPlan,
+    source: Pipe,
+    eagerAggregation: EagerAggregationPipe,
+    groupingExpressions: Map[LogicalVariable, internal.expressions.Expression],
+    aggregation: Map[Int, AggregationExpression],
+    workers: ParallelAggregationSlottedPipe.Workers
+  ): Option[Pipe] = {
+    val slots = physicalPlan.slotConfigurations(plan.id)
+    val batchSize = rowBatchSize.getOrElse(ParallelAggregationSlottedPipe.DEFAULT_BATCH_SIZE)
+    for {
+      chain <- BatchedSlottedPipe.batch(source, physicalPlan.argumentSizes.apply, batchSize)
+      mergeAggregation <- ParallelAggregationSlottedPipe.mergeAggregations(aggregation)
+    } yield {
+      // The partial results of the workers hold the grouping keys in the output slots of the aggregation
+      val mergeTableFactory =
+        if (groupingExpressions.isEmpty) {
+          SlottedNonGroupingAggTable.Factory(slots, mergeAggregation, SlotConfiguration.Size.zero)
+        } else {
+          val groupingSlots = groupingExpressions.map {
+            case (key, _) => key -> SlottedRewriter.rewriteVariable(plan, key, slots)
+          }
+          SlottedGroupingAggTable.Factory(
+            slots,
+            expressionConverters.toGroupingExpression(plan.id, groupingSlots, Seq.empty),
+            mergeAggregation,
+            SlotConfiguration.Size.zero
+          )
+        }
+      val workerTableFactory = eagerAggregation.tableFactory match {
+        // Spilling is left to the sequential aggregation, workers aggregate in memory
+        case factory: SlottedGroupingAggTable.Factory => factory.copy(spilling = None)
+        case factory                                  => factory
+      }
+      eagerAggregation.rowFactory = SlottedCypherRowFactory(slots, SlotConfiguration.Size.zero)
+      ParallelAggregationSlottedPipe(
+        eagerAggregation,
+        chain,
+        workerTableFactory,
+        mergeTableFactory,
+        workers
+      )(plan.id)
+    }
+  }
+
   override def onTwoChildPlan(plan: LogicalPlan, lhs: Pipe, rhs: Pipe): Pipe = {
 
     val slotConfigs = physicalPlan.slotConfigurations
@@ -1760,12 +1834,33 @@ class SlottedPipeMapper(
         checkOnlyWhenAssertionsAreEnabled(verifyArgumentsAreTheSameOnBothSides(plan, physicalPlan))
         val rhsSlotMappings = computeSlotMappings(rhsSlots, argumentSize, slots)
 
-        if (leftNodes.isSingle) {
+        val joinSpilling = spillConfiguration.map(configuration =>
+          NodeHashJoinSlottedPipe.Spilling(
+            SlottedRowSpilling(lhsSlots, configuration),
+            SlottedRowSpilling(rhsSlots, configuration)
+          )
+        )
+        if (joinSpilling.isDefined) {
+          // Only the general pipe can spill, so it takes joins of any shape when spilling is enabled
+          NodeHashJoinSlottedPipe(leftNodes, rightNodes, lhs, rhs, slots, rhsSlotMappings, joinSpilling)(id)
+        } else if (offHeapBlockAllocator.isDefined && lhsSlots.numberOfReferences == 0) {
+          // The lhs rows are fully materialized by their long slots, which are kept off heap
+          NodeHashJoinOffHeapSlottedPipe(
+            leftNodes,
+            rightNodes,
+            lhs,
+            rhs,
+            slots,
+            lhsSlots.numberOfLongs,
+            rhsSlotMappings,
+            offHeapBlockAllocator.get
+          )(id)
+        } else if (leftNodes.isSingle) {
           NodeHashJoinSlottedSingleNodePipe(leftNodes.asSingle, rightNodes.asSingle, lhs, rhs, slots, rhsSlotMappings)(
             id
           )
         } else {
-          NodeHashJoinSlottedPipe(leftNodes, rightNodes, lhs, rhs, slots, rhsSlotMappings)(id)
+          NodeHashJoinSlottedPipe(leftNodes, rightNodes, lhs, rhs, slots, rhsSlotMappings, None)(id)
         }
 
       case ValueHashJoin(lhsPlan, rhsPlan, Equals(lhsAstExp, rhsAstExp)) =>
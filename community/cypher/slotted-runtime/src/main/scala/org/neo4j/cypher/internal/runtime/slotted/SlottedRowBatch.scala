@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted
+
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+
+import java.util
+
+/**
+ * A fixed number of [[SlottedRow]]s that are reused from batch to batch. The first `size` rows hold the current batch.
+ *
+ * @param slots the slot configuration of the rows.
+ * @param capacity the maximum number of rows in a batch.
+ */
+final class SlottedRowBatch(slots: SlotConfiguration, val capacity: Int) {
+
+  private val rows = Array.fill(capacity)(SlottedRow(slots))
+  private var _size = 0
+
+  def size: Int = _size
+
+  def isFull: Boolean = _size == capacity
+
+  def nonEmpty: Boolean = _size > 0
+
+  def apply(index: Int): SlottedRow = rows(index)
+
+  def clear(): Unit = _size = 0
+
+  /**
+   * Add a row to the batch and return it. The references of the row are cleared, so that no value, such as a cached
+   * property, survives from the previous use of the row. Long slots are left as they are and must be written by the
+   * caller.
+   */
+  def addRow(): SlottedRow = {
+    val row = rows(_size)
+    util.Arrays.fill(row.refs.asInstanceOf[Array[AnyRef]], null)
+    _size += 1
+    row
+  }
+
+  /**
+   * Remove the rows that do not match the predicate, keeping the order of the remaining rows.
+   */
+  def retain(predicate: SlottedRow => Boolean): Unit = {
+    var kept = 0
+    var i = 0
+    while (i < _size) {
+      val row = rows(i)
+      if (predicate(row)) {
+        // swap rather than overwrite, so that every row instance stays in the batch exactly once
+        rows(i) = rows(kept)
+        rows(kept) = row
+        kept += 1
+      }
+      i += 1
+    }
+    _size = kept
+  }
+}
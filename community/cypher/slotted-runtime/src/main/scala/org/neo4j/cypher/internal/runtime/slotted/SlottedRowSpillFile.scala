@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted
+
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpillFile.BLOCK_SIZE
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpillFile.NULL_REFERENCE
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpillFile.READ_BUFFER_SIZE
+import org.neo4j.internal.kernel.api.DefaultCloseListenable
+import org.neo4j.io.fs.OutputStreamWritableChannel
+import org.neo4j.kernel.api.database.enrichment.ValuesReader
+import org.neo4j.kernel.api.database.enrichment.ValuesWriter
+import org.neo4j.memory.MemoryTracker
+import org.neo4j.storageengine.api.enrichment.WriteEnrichmentChannel
+import org.neo4j.values.AnyValueWriter.EntityMode
+
+import java.io.EOFException
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.channels.Channels
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+/**
+ * A temporary file of [[SlottedRow]]s that are appended once and can then be read back, in full or by range, any
+ * number of times. The file is deleted when it is closed.
+ *
+ * Rows are appended to an in-memory block, which is written to the file when it is full or when the rows are read.
+ * Reference values are serialized with [[ValuesWriter]]. Entities are written as references, also when the row holds
+ * them with their labels, type and properties, so they are read back as references and their data is read from the
+ * store again when it is needed.
+ *
+ * @param slots the slot configuration of the written rows, which is also the slot configuration of the rows that are
+ *              read back.
+ */
+final class SlottedRowSpillFile(slots: SlotConfiguration, directory: Path, memoryTracker: MemoryTracker)
+    extends DefaultCloseListenable {
+
+  private[this] val channel: FileChannel = FileChannel.open(
+    Files.createTempFile(directory, "cypher-spill-", ".tmp"),
+    StandardOpenOption.READ,
+    StandardOpenOption.WRITE,
+    StandardOpenOption.DELETE_ON_CLOSE
+  )
+  private[this] val output = new OutputStreamWritableChannel(Channels.newOutputStream(channel))
+  private[this] var block: WriteEnrichmentChannel = _
+  private[this] var values: ValuesWriter = _
+  private[this] var written: Long = 0L
+  private[this] var rows: Long = 0L
+  private[this] var closed = false
+
+  /**
+   * The number of rows in the file.
+   */
+  def numberOfRows: Long = rows
+
+  def write(row: ReadableRow): Unit = {
+    if (block == null) {
+      block = new WriteEnrichmentChannel(memoryTracker)
+      values = new ValuesWriter(block, EntityMode.REFERENCE)
+    }
+    val start = block.size()
+    // the length of the row is written when it is known
+    block.putInt(0)
+    var i = 0
+    while (i < slots.numberOfLongs) {
+      block.putLong(row.getLongAt(i))
+      i += 1
+    }
+    i = 0
+    while (i < slots.numberOfReferences) {
+      val value = row.getRefAt(i)
+      // null is not the same as NO_VALUE, e.g. for cached properties, and is kept apart from it
+      if (value == null) block.put(NULL_REFERENCE) else values.write(value)
+      i += 1
+    }
+    val end = block.size()
+    block.putInt(start, end - start - Integer.BYTES)
+    rows += 1
+    if (end >= BLOCK_SIZE) {
+      writeBlock()
+    }
+  }
+
+  /**
+   * Write all appended rows to the file and return its size, which is where the next row will start.
+   */
+  def mark(): Long = {
+    writeBlock()
+    written
+  }
+
+  /**
+   * Read all rows of the file.
+   */
+  def reader(): ClosingIterator[SlottedRow] = reader(0L, mark())
+
+  /**
+   * Read the rows between two positions, as returned by [[mark()]].
+   */
+  def reader(start: Long, end: Long): ClosingIterator[SlottedRow] = new Reader(start, end)
+
+  override def closeInternal(): Unit = {
+    if (!closed) {
+      closed = true
+      if (block != null) {
+        block.close()
+        block = null
+      }
+      // also deletes the file
+      output.close()
+    }
+  }
+
+  override def isClosed: Boolean = closed
+
+  private def writeBlock(): Unit = {
+    if (block != null) {
+      written += block.size()
+      block.flip().serialize(output)
+      block.close()
+      block = null
+      values = null
+    }
+  }
+
+  private class Reader(private[this] var position: Long, end: Long) extends ClosingIterator[SlottedRow] {
+
+    // short ranges, like the runs of an external sort, do not need a full read buffer each
+    private[this] var buffer: ByteBuffer =
+      allocate(Math.max(Integer.BYTES.toLong, Math.min(READ_BUFFER_SIZE.toLong, end - position)).toInt).flip()
+
+    override protected[this] def innerHasNext: Boolean = buffer.hasRemaining || position < end
+
+    override def next(): SlottedRow = {
+      ensureAvailable(Integer.BYTES)
+      ensureAvailable(buffer.getInt())
+      val row = SlottedRow(slots)
+      var i = 0
+      while (i < slots.numberOfLongs) {
+        row.setLongAt(i, buffer.getLong())
+        i += 1
+      }
+      i = 0
+      while (i < slots.numberOfReferences) {
+        if (buffer.get(buffer.position()) == NULL_REFERENCE) {
+          buffer.get()
+        } else {
+          row.setRefAt(i, ValuesReader.from(buffer))
+        }
+        i += 1
+      }
+      row
+    }
+
+    override protected[this] def closeMore(): Unit = {
+      if (buffer != null) {
+        memoryTracker.releaseHeap(buffer.capacity())
+        buffer = null
+      }
+    }
+
+    private def ensureAvailable(bytes: Int): Unit = {
+      if (buffer.remaining() < bytes) {
+        if (buffer.capacity() < bytes) {
+          val larger = allocate(Math.max(bytes, buffer.capacity() * 2))
+          larger.put(buffer).flip()
+          memoryTracker.releaseHeap(buffer.capacity())
+          buffer = larger
+        }
+        buffer.compact()
+        buffer.limit(buffer.position() + Math.min(buffer.remaining().toLong, end - position).toInt)
+        while (buffer.hasRemaining) {
+          val read = channel.read(buffer, position)
+          if (read < 0) {
+            throw new EOFException(s"Spilled row at $position was cut short")
+          }
+          position += read
+        }
+        buffer.flip()
+      }
+    }
+
+    private def allocate(capacity: Int): ByteBuffer = {
+      memoryTracker.allocateHeap(capacity)
+      ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN)
+    }
+  }
+}
+
+object SlottedRowSpillFile {
+
+  /**
+   * The size of the in-memory block above which appended rows are written to the file.
+   */
+  val BLOCK_SIZE: Int = 2 * WriteEnrichmentChannel.CHUNK_SIZE
+
+  val READ_BUFFER_SIZE: Int = 64 * 1024
+
+  private val NULL_REFERENCE: Byte = 0
+}
+
+/**
+ * Rows spilled to a number of partitions, each in a file of its own that is created when its first row is written.
+ */
+final class SlottedRowSpillPartitions(
+  spilling: SlottedRowSpilling,
+  val numberOfPartitions: Int,
+  memoryTracker: MemoryTracker
+) extends DefaultCloseListenable {
+
+  private[this] val files = new Array[SlottedRowSpillFile](numberOfPartitions)
+  private[this] var closed = false
+
+  def partitionOf(hash: Int): Int = Math.floorMod(hash ^ (hash >>> 16), numberOfPartitions)
+
+  def write(row: ReadableRow, partition: Int): Unit = {
+    if (files(partition) == null) {
+      files(partition) = spilling.newFile(memoryTracker)
+    }
+    files(partition).write(row)
+  }
+
+  def nonEmpty(partition: Int): Boolean = files(partition) != null
+
+  /**
+   * Read the rows of a partition, which must not be empty.
+   */
+  def reader(partition: Int): ClosingIterator[SlottedRow] = files(partition).reader()
+
+  override def closeInternal(): Unit = {
+    if (!closed) {
+      closed = true
+      files.foreach(file => if (file != null) file.close())
+    }
+  }
+
+  override def isClosed: Boolean = closed
+}
+
+object SlottedRowSpillPartitions {
+  val DEFAULT_NUMBER_OF_PARTITIONS = 16
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted
+
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.CypherRuntimeConfiguration
+import org.neo4j.memory.MemoryTracker
+
+import java.nio.file.Path
+
+/**
+ * When and where operators of the slotted runtime spill rows to disk.
+ *
+ * @param threshold the tracked heap usage of an operator, in bytes, above which it spills rows.
+ * @param directory the directory of the temporary files.
+ */
+case class SpillConfiguration(threshold: Long, directory: Path)
+
+object SpillConfiguration {
+
+  def fromRuntimeConfiguration(config: CypherRuntimeConfiguration): Option[SpillConfiguration] =
+    if (config.slottedSpillThreshold > 0) {
+      Some(SpillConfiguration(config.slottedSpillThreshold, config.slottedSpillDirectory))
+    } else {
+      None
+    }
+}
+
+/**
+ * The spilling of rows with a given slot configuration.
+ *
+ * @param slots the slot configuration of the spilled rows, which is also the slot configuration of the rows that are
+ *              read back.
+ */
+case class SlottedRowSpilling(slots: SlotConfiguration, configuration: SpillConfiguration) {
+
+  def threshold: Long = configuration.threshold
+
+  def newFile(memoryTracker: MemoryTracker): SlottedRowSpillFile =
+    new SlottedRowSpillFile(slots, configuration.directory, memoryTracker)
+
+  def newPartitions(memoryTracker: MemoryTracker): SlottedRowSpillPartitions =
+    new SlottedRowSpillPartitions(this, SlottedRowSpillPartitions.DEFAULT_NUMBER_OF_PARTITIONS, memoryTracker)
+}
@@ -22,6 +22,7 @@ package org.neo4j.cypher.internal.runtime.slotted.aggregation
 import org.eclipse.collections.api.block.function.Function2
 import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
 import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.ClosingIterator.ScalaSeqAsClosingIterator
 import org.neo4j.cypher.internal.runtime.CypherRow
 import org.neo4j.cypher.internal.runtime.interpreted.GroupingExpression
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.AggregationExpression
@@ -32,12 +33,20 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.CypherRowFactory
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.aggregation.AggregationFunction
 import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpillPartitions
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpilling
 import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.kernel.impl.util.collection.HeapTrackingOrderedAppendMap
 import org.neo4j.memory.MemoryTracker
 
 /**
  * Slotted variant of [[GroupingAggTable]]
+ *
+ * With spilling, no new groups are added once the tracked heap usage of the table passes the threshold. Rows of groups
+ * that are already in the table are still aggregated, but all other rows are spilled to partitions by their grouping
+ * key. The groups in memory are returned first, after which every partition is aggregated on its own.
+ *
+ * @param spilling the spilling of input rows, whose slot configuration is that of the input of the aggregation.
  */
 class SlottedGroupingAggTable(
   slots: SlotConfiguration,
@@ -45,7 +54,8 @@ class SlottedGroupingAggTable(
   aggregations: Map[Int, AggregationExpression],
   state: QueryState,
   operatorId: Id,
-  argumentSize: SlotConfiguration.Size
+  argumentSize: SlotConfiguration.Size,
+  spilling: Option[SlottedRowSpilling] = None
 ) extends AggregationTable {
 
   private[this] var resultMap: HeapTrackingOrderedAppendMap[groupingColumns.KeyType, Array[AggregationFunction]] = _
@@ -55,6 +65,8 @@ class SlottedGroupingAggTable(
     (a.toArray, b.toArray)
   }
   private[this] val memoryTracker = state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(operatorId.x)
+  private[this] val threshold = spilling.fold(Long.MaxValue)(_.threshold)
+  private[this] var partitions: SlottedRowSpillPartitions = _
 
   private[this] val newAggregators: Function2[groupingColumns.KeyType, MemoryTracker, Array[AggregationFunction]] =
     computeNewAggregatorsFunction(aggregationExpressions)
@@ -63,6 +75,10 @@ class SlottedGroupingAggTable(
     if (resultMap != null) {
       resultMap.close()
     }
+    if (partitions != null) {
+      partitions.close()
+      partitions = null
+    }
   }
 
   override def clear(): Unit = {
@@ -74,15 +90,55 @@ class SlottedGroupingAggTable(
 
   override def processRow(row: CypherRow): Unit = {
     val groupingValue = groupingColumns.computeGroupingKey(row, state)
-    val functions = resultMap.getIfAbsentPutWithMemoryTracker2(groupingValue, newAggregators)
-    var i = 0
-    while (i < functions.length) {
-      functions(i)(row, state)
-      i += 1
+    val functions =
+      if (partitions == null) resultMap.getIfAbsentPutWithMemoryTracker2(groupingValue, newAggregators)
+      else resultMap.get(groupingValue)
+    if (functions == null) {
+      partitions.write(row, partitions.partitionOf(groupingValue.hashCode()))
+    } else {
+      var i = 0
+      while (i < functions.length) {
+        functions(i)(row, state)
+        i += 1
+      }
+      if (partitions == null && resultMap.scopedMemoryTracker().estimatedHeapMemory() > threshold) {
+        partitions = spilling.get.newPartitions(memoryTracker)
+        state.query.resources.trace(partitions)
+      }
+    }
+  }
+
+  override def result(): ClosingIterator[CypherRow] =
+    if (partitions == null) {
+      inMemoryResult()
+    } else {
+      val spilled = partitions
+      partitions = null
+      inMemoryResult().addAllLazy(() =>
+        (0 until spilled.numberOfPartitions).iterator
+          .filter(spilled.nonEmpty)
+          .asClosingIterator
+          .flatMap(partition => aggregatePartition(spilled, partition))
+          .closing(spilled)
+      )
+    }
+
+  /**
+   * Aggregate the spilled rows of a partition, all of which belong to groups that are not in memory.
+   */
+  private def aggregatePartition(spilled: SlottedRowSpillPartitions, partition: Int): ClosingIterator[CypherRow] = {
+    val table = new SlottedGroupingAggTable(slots, groupingColumns, aggregations, state, operatorId, argumentSize)
+    table.clear()
+    val rows = spilled.reader(partition)
+    try {
+      rows.foreach(table.processRow)
+    } finally {
+      rows.close()
     }
+    table.result()
   }
 
-  override def result(): ClosingIterator[CypherRow] = {
+  private def inMemoryResult(): ClosingIterator[CypherRow] = {
     val innerIterator = resultMap.autoClosingEntryIterator()
     new ClosingIterator[CypherRow] {
       override protected[this] def closeMore(): Unit = resultMap.close()
@@ -119,11 +175,12 @@ object SlottedGroupingAggTable {
     slots: SlotConfiguration,
     groupingColumns: GroupingExpression,
     aggregations: Map[Int, AggregationExpression],
-    argumentSize: SlotConfiguration.Size
+    argumentSize: SlotConfiguration.Size,
+    spilling: Option[SlottedRowSpilling] = None
   ) extends AggregationTableFactory {
 
     override def table(state: QueryState, rowFactory: CypherRowFactory, operatorId: Id): AggregationTable =
-      new SlottedGroupingAggTable(slots, groupingColumns, aggregations, state, operatorId, argumentSize)
+      new SlottedGroupingAggTable(slots, groupingColumns, aggregations, state, operatorId, argumentSize, spilling)
   }
 
 }
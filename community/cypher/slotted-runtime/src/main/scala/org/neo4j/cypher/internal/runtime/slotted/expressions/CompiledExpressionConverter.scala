@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.expressions
+
+import org.neo4j.codegen.api.CodeGeneration
+import org.neo4j.cypher.internal.expressions
+import org.neo4j.cypher.internal.expressions.LogicalVariable
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.interpreted.CommandProjection
+import org.neo4j.cypher.internal.runtime.interpreted.GroupingExpression
+import org.neo4j.cypher.internal.runtime.interpreted.commands
+import org.neo4j.cypher.internal.runtime.interpreted.commands.AstNode
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverter
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverters
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsFalse
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsMatchResult
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsTrue
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsUnknown
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Values
+
+/**
+ * Replaces expression trees supported by [[SlottedExpressionCompiler]] with generated code. The converted expression
+ * keeps the interpreted version of the tree, created with the `interpreted` converters, to fall back on for rows
+ * that are not slotted. Trees that cannot be compiled are left to the following converters, which will still try
+ * to compile their subtrees through this converter.
+ */
+case class CompiledExpressionConverter(
+  interpreted: ExpressionConverters,
+  codeGeneration: CodeGeneration = CodeGeneration.codeGeneration()
+) extends ExpressionConverter {
+
+  override def toCommandExpression(
+    id: Id,
+    expression: expressions.Expression,
+    self: ExpressionConverters
+  ): Option[commands.expressions.Expression] =
+    if (SlottedExpressionCompiler.isCompilationRoot(expression)) {
+      SlottedExpressionCompiler.compile(expression, codeGeneration).map { compiled =>
+        interpreted.toCommandExpression(id, expression) match {
+          case predicate: Predicate => CompiledPredicate(compiled, predicate)
+          case other                => CompiledExpression(compiled, other)
+        }
+      }
+    } else {
+      None
+    }
+
+  override def toCommandProjection(
+    id: Id,
+    projections: Map[LogicalVariable, expressions.Expression],
+    self: ExpressionConverters
+  ): Option[CommandProjection] = None
+
+  override def toGroupingExpression(
+    id: Id,
+    groupings: Map[LogicalVariable, expressions.Expression],
+    orderToLeverage: collection.Seq[expressions.Expression],
+    self: ExpressionConverters
+  ): Option[GroupingExpression] = None
+}
+
+case class CompiledExpression(compiled: CompiledSlottedExpression, interpreted: Expression) extends Expression {
+
+  override def apply(row: ReadableRow, state: QueryState): AnyValue = row match {
+    case slottedRow: SlottedRow => compiled.evaluate(slottedRow.longs, slottedRow.refs, state)
+    case _                      => interpreted(row, state)
+  }
+
+  // The generated code cannot be rewritten, so rewriting falls back to interpretation
+  override def rewrite(f: Expression => Expression): Expression = f(interpreted.rewrite(f))
+
+  override def arguments: Seq[Expression] = Seq(interpreted)
+
+  override def children: Seq[AstNode[_]] = Seq(interpreted)
+
+  override def toString: String = interpreted.toString
+}
+
+case class CompiledPredicate(compiled: CompiledSlottedExpression, interpreted: Predicate) extends Predicate {
+
+  override def isMatch(row: ReadableRow, state: QueryState): IsMatchResult = row match {
+    case slottedRow: SlottedRow =>
+      val result = compiled.evaluate(slottedRow.longs, slottedRow.refs, state)
+      if (result eq Values.TRUE) IsTrue
+      else if (result eq Values.FALSE) IsFalse
+      else IsUnknown
+    case _ => interpreted.isMatch(row, state)
+  }
+
+  override def rewrite(f: Expression => Expression): Expression = f(interpreted.rewrite(f))
+
+  override def arguments: Seq[Expression] = Seq(interpreted)
+
+  override def children: Seq[AstNode[_]] = Seq(interpreted)
+
+  override def toString: String = interpreted.toString
+}
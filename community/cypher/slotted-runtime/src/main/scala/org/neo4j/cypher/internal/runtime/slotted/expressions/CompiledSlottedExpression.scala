@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.expressions
+
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.operations.CypherMath
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Values.NO_VALUE
+
+/**
+ * Super class of the classes generated by [[SlottedExpressionCompiler]]. A generated class evaluates one expression
+ * tree directly on the long and reference slots of a row. Everything that needs more than the slots is done by
+ * calling back into the helpers of this class, which mirror the interpreted expressions they replace.
+ */
+abstract class CompiledSlottedExpression {
+
+  def evaluate(longs: Array[Long], refs: Array[AnyValue], state: QueryState): AnyValue
+
+  final def parameter(state: QueryState, offset: Int): AnyValue = state.params(offset)
+
+  final def nodeProperty(state: QueryState, node: Long, token: Int): AnyValue =
+    state.query.nodeReadOps.getProperty(
+      node,
+      token,
+      state.cursors.nodeCursor,
+      state.cursors.propertyCursor,
+      throwOnDeleted = true
+    )
+
+  final def relationshipProperty(state: QueryState, relationship: Long, token: Int): AnyValue =
+    state.query.relationshipReadOps.getProperty(
+      relationship,
+      token,
+      state.cursors.relationshipScanCursor,
+      state.cursors.propertyCursor,
+      throwOnDeleted = true
+    )
+
+  final def add(lhs: AnyValue, rhs: AnyValue): AnyValue =
+    if ((lhs eq NO_VALUE) || (rhs eq NO_VALUE)) NO_VALUE else CypherMath.add(lhs, rhs)
+
+  final def subtract(lhs: AnyValue, rhs: AnyValue): AnyValue =
+    if ((lhs eq NO_VALUE) || (rhs eq NO_VALUE)) NO_VALUE else CypherMath.subtract(lhs, rhs)
+
+  final def multiply(lhs: AnyValue, rhs: AnyValue): AnyValue =
+    if ((lhs eq NO_VALUE) || (rhs eq NO_VALUE)) NO_VALUE else CypherMath.multiply(lhs, rhs)
+
+  final def divide(lhs: AnyValue, rhs: AnyValue): AnyValue =
+    if (CypherMath.divideCheckForNull(lhs, rhs)) NO_VALUE else CypherMath.divide(lhs, rhs)
+
+  final def modulo(lhs: AnyValue, rhs: AnyValue): AnyValue =
+    if ((lhs eq NO_VALUE) || (rhs eq NO_VALUE)) NO_VALUE else CypherMath.modulo(lhs, rhs)
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.expressions
+
+import org.neo4j.codegen.CodeGenerationNotSupportedException
+import org.neo4j.codegen.api.ClassDeclaration
+import org.neo4j.codegen.api.CodeGeneration
+import org.neo4j.codegen.api.IntermediateRepresentation
+import org.neo4j.codegen.api.IntermediateRepresentation.arrayLoad
+import org.neo4j.codegen.api.IntermediateRepresentation.cast
+import org.neo4j.codegen.api.IntermediateRepresentation.constant
+import org.neo4j.codegen.api.IntermediateRepresentation.equal
+import org.neo4j.codegen.api.IntermediateRepresentation.falseValue
+import org.neo4j.codegen.api.IntermediateRepresentation.getStatic
+import org.neo4j.codegen.api.IntermediateRepresentation.invoke
+import org.neo4j.codegen.api.IntermediateRepresentation.invokeStatic
+import org.neo4j.codegen.api.IntermediateRepresentation.load
+import org.neo4j.codegen.api.IntermediateRepresentation.method
+import org.neo4j.codegen.api.IntermediateRepresentation.noValue
+import org.neo4j.codegen.api.IntermediateRepresentation.noop
+import org.neo4j.codegen.api.IntermediateRepresentation.param
+import org.neo4j.codegen.api.IntermediateRepresentation.self
+import org.neo4j.codegen.api.IntermediateRepresentation.staticConstant
+import org.neo4j.codegen.api.IntermediateRepresentation.ternary
+import org.neo4j.codegen.api.IntermediateRepresentation.trueValue
+import org.neo4j.codegen.api.IntermediateRepresentation.typeRefOf
+import org.neo4j.codegen.api.MethodDeclaration
+import org.neo4j.codegen.api.StaticField
+import org.neo4j.cypher.internal.expressions
+import org.neo4j.cypher.internal.physicalplanning
+import org.neo4j.cypher.internal.runtime.ast.ParameterFromSlot
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker.NULL_ENTITY
+import org.neo4j.exceptions.CantCompileQueryException
+import org.neo4j.kernel.impl.util.ValueUtils
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.LongValue
+import org.neo4j.values.storable.Value
+import org.neo4j.values.storable.Values
+import org.neo4j.values.utils.ValueBooleanLogic
+
+import java.util.concurrent.atomic.AtomicLong
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * Generates a [[CompiledSlottedExpression]] for an expression tree of the slotted runtime.
+ *
+ * Only a subset of expressions is supported: literals, parameters, slot reads, properties read through a slot,
+ * comparisons, negation and arithmetic. An expression tree containing anything else is not compiled, and is left
+ * to the interpreted expression converters.
+ */
+object SlottedExpressionCompiler {
+
+  // Classes are defined as hidden classes of the code loader, so they need to live in its package
+  private val PACKAGE_NAME = "org.neo4j.codegen"
+  private val CLASS_NAME = "SlottedExpression"
+  private val COUNTER = new AtomicLong(0L)
+
+  private val LONGS = param[Array[Long]]("longs")
+  private val REFS = param[Array[AnyValue]]("refs")
+  private val STATE = param[QueryState]("state")
+
+  /**
+   * Whether it is worth compiling a tree with the given root. Leaves are as cheap to interpret as to call into
+   * generated code, so only operators are compiled.
+   */
+  def isCompilationRoot(expression: expressions.Expression): Boolean = expression match {
+    case _: expressions.Equals | _: expressions.NotEquals | _: expressions.InequalityExpression |
+      _: expressions.Not => true
+    case _: expressions.Add | _: expressions.Subtract | _: expressions.Multiply | _: expressions.Divide |
+      _: expressions.Modulo => true
+    case _ => false
+  }
+
+  /**
+   * Compile the given expression, or return `None` if it contains expressions that are not supported or if the
+   * generated code could not be compiled.
+   */
+  def compile(expression: expressions.Expression, codeGeneration: CodeGeneration): Option[CompiledSlottedExpression] = {
+    val constants = ArrayBuffer.empty[StaticField]
+    compileExpression(expression, constants).flatMap { body =>
+      val declaration = ClassDeclaration[CompiledSlottedExpression](
+        PACKAGE_NAME,
+        CLASS_NAME + COUNTER.getAndIncrement(),
+        Some(typeRefOf[CompiledSlottedExpression]),
+        Seq.empty,
+        Seq.empty,
+        noop(),
+        () => constants,
+        Seq(MethodDeclaration("evaluate", typeRefOf[AnyValue], Seq(LONGS, REFS, STATE), body))
+      )
+      try {
+        val clazz = codeGeneration.compileAnonymousClass(declaration, codeGeneration.createGenerator())
+        Some(clazz.getDeclaredConstructor().newInstance())
+      } catch {
+        case _: CantCompileQueryException | _: CodeGenerationNotSupportedException => None
+      }
+    }
+  }
+
+  private def compileExpression(
+    expression: expressions.Expression,
+    constants: ArrayBuffer[StaticField]
+  ): Option[IntermediateRepresentation] = {
+
+    def binary(lhs: expressions.Expression, rhs: expressions.Expression)(
+      op: (IntermediateRepresentation, IntermediateRepresentation) => IntermediateRepresentation
+    ): Option[IntermediateRepresentation] =
+      for {
+        l <- compileExpression(lhs, constants)
+        r <- compileExpression(rhs, constants)
+      } yield op(l, r)
+
+    def comparison(name: String, e: expressions.BinaryOperatorExpression): Option[IntermediateRepresentation] =
+      binary(e.lhs, e.rhs)(invokeStatic(method[ValueBooleanLogic, Value, AnyValue, AnyValue](name), _, _))
+
+    def arithmetic(name: String, e: expressions.BinaryOperatorExpression): Option[IntermediateRepresentation] =
+      binary(e.lhs, e.rhs)(invoke(
+        self[CompiledSlottedExpression],
+        method[CompiledSlottedExpression, AnyValue, AnyValue, AnyValue](name),
+        _,
+        _
+      ))
+
+    def nullCheck(offset: Int, inner: expressions.Expression): Option[IntermediateRepresentation] =
+      compileExpression(inner, constants).map(i =>
+        ternary(equal(longAt(offset), constant(NULL_ENTITY)), cast[AnyValue](noValue), cast[AnyValue](i))
+      )
+
+    expression match {
+      case _: expressions.Null  => Some(noValue)
+      case _: expressions.True  => Some(trueValue)
+      case _: expressions.False => Some(falseValue)
+      case e: expressions.Literal =>
+        val literal = staticConstant[AnyValue](s"LITERAL_${constants.size}", ValueUtils.of(e.value))
+        constants += literal
+        Some(getStatic(literal))
+
+      case ParameterFromSlot(offset, _, _) =>
+        Some(invoke(
+          self[CompiledSlottedExpression],
+          method[CompiledSlottedExpression, AnyValue, QueryState, Int]("parameter"),
+          load(STATE),
+          constant(offset)
+        ))
+      case physicalplanning.ast.ReferenceFromSlot(offset, _) =>
+        Some(arrayLoad(load(REFS), offset))
+      case physicalplanning.ast.IdFromSlot(offset) =>
+        Some(invokeStatic(method[Values, LongValue, Long]("longValue"), longAt(offset)))
+      case physicalplanning.ast.NodeProperty(offset, token, _) =>
+        Some(invoke(
+          self[CompiledSlottedExpression],
+          method[CompiledSlottedExpression, AnyValue, QueryState, Long, Int]("nodeProperty"),
+          load(STATE),
+          longAt(offset),
+          constant(token)
+        ))
+      case physicalplanning.ast.RelationshipProperty(offset, token, _) =>
+        Some(invoke(
+          self[CompiledSlottedExpression],
+          method[CompiledSlottedExpression, AnyValue, QueryState, Long, Int]("relationshipProperty"),
+          load(STATE),
+          longAt(offset),
+          constant(token)
+        ))
+      case physicalplanning.ast.NullCheck(offset, inner)         => nullCheck(offset, inner)
+      case physicalplanning.ast.NullCheckProperty(offset, inner) => nullCheck(offset, inner)
+
+      case e: expressions.Equals             => comparison("equals", e)
+      case e: expressions.NotEquals          => comparison("notEquals", e)
+      case e: expressions.LessThan           => comparison("lessThan", e)
+      case e: expressions.LessThanOrEqual    => comparison("lessThanOrEqual", e)
+      case e: expressions.GreaterThan        => comparison("greaterThan", e)
+      case e: expressions.GreaterThanOrEqual => comparison("greaterThanOrEqual", e)
+      // Negating anything but a ternary boolean would need the coercion rules of interpreted predicates
+      case expressions.Not(rhs) if isBoolean(rhs) =>
+        compileExpression(rhs, constants).map(invokeStatic(method[ValueBooleanLogic, Value, AnyValue]("not"), _))
+
+      case e: expressions.Add      => arithmetic("add", e)
+      case e: expressions.Subtract => arithmetic("subtract", e)
+      case e: expressions.Multiply => arithmetic("multiply", e)
+      case e: expressions.Divide   => arithmetic("divide", e)
+      case e: expressions.Modulo   => arithmetic("modulo", e)
+      case expressions.UnaryAdd(rhs) => compileExpression(rhs, constants)
+
+      case _ => None
+    }
+  }
+
+  private def isBoolean(expression: expressions.Expression): Boolean = expression match {
+    case _: expressions.BooleanLiteral | _: expressions.Equals | _: expressions.NotEquals |
+      _: expressions.InequalityExpression | _: expressions.Not => true
+    case _ => false
+  }
+
+  private def longAt(offset: Int): IntermediateRepresentation = arrayLoad(load(LONGS), offset)
+}
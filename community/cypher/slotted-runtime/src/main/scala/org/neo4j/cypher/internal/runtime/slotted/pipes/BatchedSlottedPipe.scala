@@ -0,0 +1,464 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.expressions.SemanticDirection
+import org.neo4j.cypher.internal.expressions.SemanticDirection.BOTH
+import org.neo4j.cypher.internal.expressions.SemanticDirection.INCOMING
+import org.neo4j.cypher.internal.expressions.SemanticDirection.OUTGOING
+import org.neo4j.cypher.internal.logical.plans.IndexOrder
+import org.neo4j.cypher.internal.physicalplanning.Slot
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.physicalplanning.SlotConfigurationUtils.makeGetPrimitiveNodeFromSlotFunctionFor
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.ClosingLongIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.interpreted.CommandProjection
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.FilterPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.LazyLabel
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.NullPipeDecorator
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ProjectionPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.RelationshipTypes
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowBatch
+import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe.BatchStage
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.internal.kernel.api.Cursor
+import org.neo4j.internal.kernel.api.NodeCursor
+import org.neo4j.internal.kernel.api.NodeLabelIndexCursor
+import org.neo4j.internal.kernel.api.PartitionedScan
+import org.neo4j.internal.kernel.api.RelationshipTraversalCursor
+import org.neo4j.internal.kernel.api.TokenPredicate
+import org.neo4j.internal.kernel.api.helpers.RelationshipSelections
+import org.neo4j.values.storable.Values
+
+import scala.annotation.tailrec
+
+/**
+ * Executes a node scan, followed by any number of filters, projections and expands, on batches of rows that are
+ * reused from batch to batch, instead of passing newly allocated rows one by one through the iterators of the
+ * row-by-row pipes. Cursors are likewise allocated once per execution rather than once per row.
+ *
+ * A row is overwritten as soon as the following batch is produced, so this pipe must only be consumed by a pipe
+ * that is done with a row when it asks for the next one, see [[BatchedSlottedPipe.batch]].
+ *
+ * @param rowByRow the row-by-row pipes that this pipe replaces, which are executed instead when the query is profiled
+ *                 so that every plan gets its own statistics.
+ */
+case class BatchedSlottedPipe(
+  rowByRow: Pipe,
+  scan: BatchedSlottedPipe.Scan,
+  operators: Seq[BatchedSlottedPipe.Operator],
+  argumentSize: SlotConfiguration.Size,
+  batchSize: Int
+)(val id: Id = Id.INVALID_ID) extends Pipe {
+
+  override def createResults(state: QueryState): ClosingIterator[CypherRow] =
+    if (state.decorator eq NullPipeDecorator) super.createResults(state)
+    else rowByRow.createResults(state)
+
+  protected def internalCreateResults(state: QueryState): ClosingIterator[CypherRow] = {
+    val scanStage = scan.stage(state, state.initialContext.orNull, argumentSize, batchSize)
+    new BatchIterator(stagesFrom(scanStage, state))
+  }
+
+  /**
+   * Create the stages of the operators of this pipe on top of the given scan stage.
+   */
+  def stagesFrom(scanStage: BatchStage, state: QueryState): Seq[BatchStage] =
+    operators.scanLeft(scanStage)((upstream, operator) => operator.stage(upstream, state, batchSize))
+
+  private class BatchIterator(stages: Seq[BatchStage]) extends ClosingIterator[CypherRow] {
+    private val last = stages.last
+    private var index = 0
+
+    override protected[this] def closeMore(): Unit = stages.foreach(_.close())
+
+    override protected[this] def innerHasNext: Boolean =
+      index < last.batch.size || {
+        index = 0
+        last.nextBatch()
+      }
+
+    override def next(): CypherRow = {
+      if (!hasNext) {
+        Iterator.empty.next()
+      }
+      val row = last.batch(index)
+      index += 1
+      row
+    }
+  }
+}
+
+object BatchedSlottedPipe {
+
+  /**
+   * Replace the row-by-row pipes of a node scan followed by filters, projections and expands with a batched pipe,
+   * or return `None` if the pipes do not form such a chain.
+   *
+   * @param argumentSizeOf the argument size of the plan of a pipe.
+   */
+  def batch(pipe: Pipe, argumentSizeOf: Id => SlotConfiguration.Size, batchSize: Int): Option[BatchedSlottedPipe] = {
+
+    @tailrec
+    def collect(current: Pipe, operators: List[Operator]): Option[BatchedSlottedPipe] = current match {
+      case FilterPipe(source, predicate) =>
+        collect(source, BatchedFilter(predicate) :: operators)
+      case ProjectionPipe(source, projection) =>
+        collect(source, BatchedProjection(projection) :: operators)
+      case ExpandAllSlottedPipe(source, fromSlot, relOffset, toOffset, dir, types, slots) =>
+        collect(source, BatchedExpandAll(fromSlot, relOffset, toOffset, dir, types, slots) :: operators)
+      case scanPipe @ AllNodesScanSlottedPipe(ident, slots) =>
+        Some(BatchedSlottedPipe(
+          pipe,
+          AllNodesBatchedScan(slots.getLongOffsetFor(ident), slots),
+          operators,
+          argumentSizeOf(scanPipe.id),
+          batchSize
+        )(pipe.id))
+      case scanPipe @ NodesByLabelScanSlottedPipe(ident, label, slots, indexOrder) =>
+        Some(BatchedSlottedPipe(
+          pipe,
+          NodesByLabelBatchedScan(slots.getLongOffsetFor(ident), label, indexOrder, slots),
+          operators,
+          argumentSizeOf(scanPipe.id),
+          batchSize
+        )(pipe.id))
+      case _ =>
+        None
+    }
+
+    collect(pipe, Nil)
+  }
+
+  /**
+   * One step of the batched execution, which produces batches of rows from the batches of the previous step.
+   */
+  abstract class BatchStage {
+
+    /**
+     * The current batch of this stage.
+     */
+    def batch: SlottedRowBatch
+
+    /**
+     * Produce the next batch, which is never empty. Return `false` when there are no more rows.
+     */
+    def nextBatch(): Boolean
+
+    def close(): Unit
+  }
+
+  sealed trait Scan {
+    def stage(state: QueryState, argument: CypherRow, argumentSize: SlotConfiguration.Size, batchSize: Int): BatchStage
+
+    /**
+     * Split the scan into partitions that several threads reserve one at a time. This must be called on the
+     * transaction thread, and only if the transaction has no changes, since partitioned scans do not see them.
+     */
+    def partitioned(state: QueryState, desiredNumberOfPartitions: Int, batchSize: Int): PartitionedBatchScan
+  }
+
+  /**
+   * A scan that is split into partitions. Every worker scans the partitions that it reserves with a stage of its own.
+   */
+  trait PartitionedBatchScan {
+
+    /**
+     * Create a stage that scans partitions of this scan with the cursors of the given worker state.
+     */
+    def stage(workerState: QueryState): BatchStage
+  }
+
+  case class AllNodesBatchedScan(offset: Int, slots: SlotConfiguration) extends Scan {
+
+    override def stage(
+      state: QueryState,
+      argument: CypherRow,
+      argumentSize: SlotConfiguration.Size,
+      batchSize: Int
+    ): BatchStage =
+      new ScanStage(state.query.nodeReadOps.all, offset, argument, argumentSize, new SlottedRowBatch(slots, batchSize))
+
+    override def partitioned(
+      state: QueryState,
+      desiredNumberOfPartitions: Int,
+      batchSize: Int
+    ): PartitionedBatchScan = {
+      val transactionalContext = state.query.transactionalContext
+      val scan =
+        transactionalContext.dataRead.allNodesScan(desiredNumberOfPartitions, transactionalContext.cursorContext)
+      workerState => {
+        val cursor = workerState.query.nodeCursor()
+        workerState.query.resources.trace(cursor)
+        new PartitionedScanStage[NodeCursor](
+          scan,
+          cursor,
+          _.nodeReference(),
+          workerState,
+          offset,
+          new SlottedRowBatch(slots, batchSize)
+        )
+      }
+    }
+  }
+
+  case class NodesByLabelBatchedScan(offset: Int, label: LazyLabel, indexOrder: IndexOrder, slots: SlotConfiguration)
+      extends Scan {
+
+    override def stage(
+      state: QueryState,
+      argument: CypherRow,
+      argumentSize: SlotConfiguration.Size,
+      batchSize: Int
+    ): BatchStage = {
+      val labelId = label.getId(state.query)
+      val nodes =
+        if (labelId == LazyLabel.UNKNOWN) ClosingLongIterator.empty
+        else state.query.getNodesByLabel(state.nodeLabelTokenReadSession.get, labelId, indexOrder)
+      new ScanStage(nodes, offset, argument, argumentSize, new SlottedRowBatch(slots, batchSize))
+    }
+
+    override def partitioned(
+      state: QueryState,
+      desiredNumberOfPartitions: Int,
+      batchSize: Int
+    ): PartitionedBatchScan = {
+      val labelId = label.getId(state.query)
+      if (labelId == LazyLabel.UNKNOWN) {
+        _ =>
+          new ScanStage(
+            ClosingLongIterator.empty,
+            offset,
+            null,
+            SlotConfiguration.Size.zero,
+            new SlottedRowBatch(slots, batchSize)
+          )
+      } else {
+        val transactionalContext = state.query.transactionalContext
+        val scan = transactionalContext.dataRead.nodeLabelScan(
+          state.nodeLabelTokenReadSession.get,
+          desiredNumberOfPartitions,
+          transactionalContext.cursorContext,
+          new TokenPredicate(labelId)
+        )
+        workerState => {
+          val cursor = workerState.query.nodeLabelIndexCursor()
+          workerState.query.resources.trace(cursor)
+          new PartitionedScanStage[NodeLabelIndexCursor](
+            scan,
+            cursor,
+            _.nodeReference(),
+            workerState,
+            offset,
+            new SlottedRowBatch(slots, batchSize)
+          )
+        }
+      }
+    }
+  }
+
+  sealed trait Operator {
+    def stage(upstream: BatchStage, state: QueryState, batchSize: Int): BatchStage
+  }
+
+  case class BatchedFilter(predicate: Expression) extends Operator {
+
+    override def stage(upstream: BatchStage, state: QueryState, batchSize: Int): BatchStage =
+      new FilterStage(upstream, predicate, state)
+  }
+
+  case class BatchedProjection(projection: CommandProjection) extends Operator {
+
+    override def stage(upstream: BatchStage, state: QueryState, batchSize: Int): BatchStage =
+      new ProjectionStage(upstream, projection, state)
+  }
+
+  case class BatchedExpandAll(
+    fromSlot: Slot,
+    relOffset: Int,
+    toOffset: Int,
+    dir: SemanticDirection,
+    types: RelationshipTypes,
+    slots: SlotConfiguration
+  ) extends Operator {
+
+    override def stage(upstream: BatchStage, state: QueryState, batchSize: Int): BatchStage =
+      new ExpandAllStage(upstream, this, state, new SlottedRowBatch(slots, batchSize))
+  }
+
+  private class ScanStage(
+    nodes: ClosingLongIterator,
+    offset: Int,
+    argument: CypherRow,
+    argumentSize: SlotConfiguration.Size,
+    override val batch: SlottedRowBatch
+  ) extends BatchStage {
+
+    override def nextBatch(): Boolean = {
+      batch.clear()
+      while (!batch.isFull && nodes.hasNext) {
+        val row = batch.addRow()
+        if (argument != null) {
+          row.copyFrom(argument, argumentSize.nLongs, argumentSize.nReferences)
+        }
+        row.setLongAt(offset, nodes.next())
+      }
+      batch.nonEmpty
+    }
+
+    override def close(): Unit = nodes.close()
+  }
+
+  private class PartitionedScanStage[C <: Cursor](
+    scan: PartitionedScan[C],
+    cursor: C,
+    nodeReference: C => Long,
+    state: QueryState,
+    offset: Int,
+    override val batch: SlottedRowBatch
+  ) extends BatchStage {
+
+    private val executionContext = state.query.transactionalContext.kernelExecutionContext
+    private var reserved = false
+    private var exhausted = false
+
+    override def nextBatch(): Boolean = {
+      batch.clear()
+      while (!batch.isFull && !exhausted) {
+        if (reserved && cursor.next()) {
+          batch.addRow().setLongAt(offset, nodeReference(cursor))
+        } else {
+          reserved = scan.reservePartition(cursor, executionContext)
+          exhausted = !reserved
+        }
+      }
+      batch.nonEmpty
+    }
+
+    override def close(): Unit = cursor.close()
+  }
+
+  private class FilterStage(upstream: BatchStage, predicate: Expression, state: QueryState) extends BatchStage {
+
+    override def batch: SlottedRowBatch = upstream.batch
+
+    override def nextBatch(): Boolean = {
+      var found = false
+      while (!found && upstream.nextBatch()) {
+        upstream.batch.retain(row => predicate(row, state) eq Values.TRUE)
+        found = upstream.batch.nonEmpty
+      }
+      found
+    }
+
+    override def close(): Unit = {}
+  }
+
+  private class ProjectionStage(upstream: BatchStage, projection: CommandProjection, state: QueryState)
+      extends BatchStage {
+
+    override def batch: SlottedRowBatch = upstream.batch
+
+    override def nextBatch(): Boolean =
+      upstream.nextBatch() && {
+        val input = upstream.batch
+        var i = 0
+        while (i < input.size) {
+          projection.project(input(i), state)
+          i += 1
+        }
+        true
+      }
+
+    override def close(): Unit = {}
+  }
+
+  private class ExpandAllStage(
+    upstream: BatchStage,
+    expand: BatchedExpandAll,
+    state: QueryState,
+    override val batch: SlottedRowBatch
+  ) extends BatchStage {
+
+    private val getFromNodeFunction = makeGetPrimitiveNodeFromSlotFunctionFor(expand.fromSlot)
+    private val read = state.query.transactionalContext.dataRead
+    private val relTypes = expand.types.types(state.query)
+    private val nodeCursor = state.query.nodeCursor()
+    private val relCursor = state.query.traversalCursor()
+    state.query.resources.trace(nodeCursor)
+    state.query.resources.trace(relCursor)
+
+    private var selectionCursor: RelationshipTraversalCursor = _
+    private var inputRow: SlottedRow = _
+    private var inputIndex = 0
+    private var exhausted = false
+
+    override def nextBatch(): Boolean = {
+      batch.clear()
+      while (!batch.isFull && !exhausted) {
+        if (selectionCursor != null && selectionCursor.next()) {
+          val outputRow = batch.addRow()
+          outputRow.copyAllFrom(inputRow)
+          outputRow.setLongAt(expand.relOffset, selectionCursor.relationshipReference())
+          outputRow.setLongAt(expand.toOffset, selectionCursor.otherNodeReference())
+        } else if (inputIndex < upstream.batch.size) {
+          inputRow = upstream.batch(inputIndex)
+          inputIndex += 1
+          selectionCursor = relationshipsOf(inputRow)
+        } else if (upstream.nextBatch()) {
+          selectionCursor = null
+          inputIndex = 0
+        } else {
+          exhausted = true
+        }
+      }
+      batch.nonEmpty
+    }
+
+    private def relationshipsOf(row: SlottedRow): RelationshipTraversalCursor = {
+      val fromNode = getFromNodeFunction.applyAsLong(row)
+      if (NullChecker.entityIsNull(fromNode)) {
+        null
+      } else {
+        read.singleNode(fromNode, nodeCursor)
+        if (!nodeCursor.next()) {
+          null
+        } else {
+          expand.dir match {
+            case OUTGOING => RelationshipSelections.outgoingCursor(relCursor, nodeCursor, relTypes)
+            case INCOMING => RelationshipSelections.incomingCursor(relCursor, nodeCursor, relTypes)
+            case BOTH     => RelationshipSelections.allCursor(relCursor, nodeCursor, relTypes)
+          }
+        }
+      }
+    }
+
+    override def close(): Unit = {
+      nodeCursor.close()
+      relCursor.close()
+    }
+  }
+}
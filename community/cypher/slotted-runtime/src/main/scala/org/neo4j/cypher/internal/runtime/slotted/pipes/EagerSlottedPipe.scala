@@ -28,30 +28,54 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeWithSource
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
 import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
 import org.neo4j.cypher.internal.runtime.slotted.SlottedRowEagerBuffer
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpillFile
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpilling
 import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.kernel.impl.util.collection.EagerBuffer
+import org.neo4j.memory.MemoryTracker
 
-case class EagerSlottedPipe(source: Pipe, slots: SlotConfiguration)(val id: Id = Id.INVALID_ID)
-    extends PipeWithSource(source) {
+/**
+ * Buffers all rows of the source before returning any.
+ *
+ * With spilling, the buffered rows are appended to a spill file whenever the tracked heap usage of the buffer passes
+ * the threshold. The rows on file are returned first, followed by the rows that are still in memory.
+ */
+case class EagerSlottedPipe(source: Pipe, slots: SlotConfiguration, spilling: Option[SlottedRowSpilling] = None)(
+  val id: Id = Id.INVALID_ID
+) extends PipeWithSource(source) {
 
   protected def internalCreateResults(
     input: ClosingIterator[CypherRow],
     state: QueryState
   ): ClosingIterator[CypherRow] = {
-    val buffer = SlottedRowEagerBuffer(
-      state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x),
-      1024,
-      8192,
-      EagerBuffer.GROW_NEW_CHUNKS_BY_100_PCT,
-      slots
-    )
-    state.query.resources.trace(buffer)
+    val memoryTracker = state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x)
+    val bufferMemoryTracker = memoryTracker.getScopedMemoryTracker
+    val threshold = spilling.fold(Long.MaxValue)(_.threshold)
+    var buffer = newBuffer(bufferMemoryTracker, state)
+    var spillFile: SlottedRowSpillFile = null
     while (input.hasNext) {
       val row = input.next()
       row.compact()
       buffer.add(row)
+      if (bufferMemoryTracker.estimatedHeapMemory() > threshold) {
+        if (spillFile == null) {
+          spillFile = spilling.get.newFile(memoryTracker)
+          state.query.resources.trace(spillFile)
+        }
+        buffer.iterator().forEachRemaining(spillFile.write(_))
+        buffer.close()
+        buffer = newBuffer(bufferMemoryTracker, state)
+      }
     }
-    buffer.autoClosingIterator().asClosingIterator.map { bufferedRow =>
+    val bufferedRows =
+      if (spillFile == null) {
+        buffer.autoClosingIterator().asClosingIterator
+      } else {
+        val file = spillFile
+        val inMemory = buffer.autoClosingIterator().asClosingIterator
+        file.reader().addAllLazy(() => inMemory).closing(file)
+      }
+    bufferedRows.map { bufferedRow =>
       // this is necessary because Eager is the beginning of a new pipeline
       // We do this on the output side, and buffer the input rows they will use less memory
       val outputRow = SlottedRow(slots)
@@ -59,4 +83,16 @@ case class EagerSlottedPipe(source: Pipe, slots: SlotConfiguration)(val id: Id =
       outputRow
     }.closing(buffer)
   }
+
+  private def newBuffer(memoryTracker: MemoryTracker, state: QueryState): EagerBuffer[CypherRow] = {
+    val buffer = SlottedRowEagerBuffer(
+      memoryTracker,
+      1024,
+      8192,
+      EagerBuffer.GROW_NEW_CHUNKS_BY_100_PCT,
+      slots
+    )
+    state.query.resources.trace(buffer)
+    buffer
+  }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.PrefetchingIterator
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeWithSource
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.slotted.SlottedPipeMapper.SlotMappings
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.KeyOffsets
+import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.SlotMapper
+import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.SlotMappers
+import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.copyDataFromRow
+import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.fillKeyArray
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.io.ByteUnit
+import org.neo4j.kernel.impl.util.collection.CachingOffHeapBlockAllocator
+import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator
+import org.neo4j.kernel.impl.util.collection.OffHeapLongProbeTable
+import org.neo4j.kernel.impl.util.collection.OffHeapLongProbeTable.NO_ROW
+import org.neo4j.kernel.lifecycle.LifeSupport
+import org.neo4j.kernel.lifecycle.LifecycleAdapter
+
+/**
+ * Node hash join with an off-heap probe table, for lhs rows that only have long slots. The join key and the long
+ * slots of every lhs row are stored in contiguous off-heap memory, instead of keeping the rows on the heap, and the
+ * output rows are materialized from there. Joins on a single node look up rows by node id, joins on several nodes by
+ * the hash of their ids.
+ *
+ * @param lhsLongs the number of long slots of the lhs rows.
+ * @param blockAllocator the allocator of the probe table memory, which is shared by the joins of a database.
+ */
+case class NodeHashJoinOffHeapSlottedPipe(
+  lhsKeyOffsets: KeyOffsets,
+  rhsKeyOffsets: KeyOffsets,
+  left: Pipe,
+  right: Pipe,
+  slots: SlotConfiguration,
+  lhsLongs: Int,
+  rhsSlotMappings: SlotMappings,
+  blockAllocator: OffHeapBlockAllocator
+)(val id: Id = Id.INVALID_ID) extends PipeWithSource(left) {
+
+  private val lhsOffsets: Array[Int] = lhsKeyOffsets.offsets
+  private val lhsIsReference: Array[Boolean] = lhsKeyOffsets.isReference
+  private val rhsOffsets: Array[Int] = rhsKeyOffsets.offsets
+  private val rhsIsReference: Array[Boolean] = rhsKeyOffsets.isReference
+
+  private val width: Int = lhsOffsets.length
+
+  private val rhsMappers: Array[SlotMapper] = SlotMappers(rhsSlotMappings)
+
+  override protected def internalCreateResults(
+    input: ClosingIterator[CypherRow],
+    state: QueryState
+  ): ClosingIterator[CypherRow] = {
+
+    if (input.isEmpty)
+      return ClosingIterator.empty
+
+    val rhsIterator = right.createResults(state)
+
+    if (rhsIterator.isEmpty)
+      return ClosingIterator.empty
+
+    val table = buildProbeTable(input, state)
+    state.query.resources.trace(table)
+
+    // This will only happen if all the lhs-values evaluate to null, which is probably rare.
+    // But, it's cheap to check and will save us from exhausting the rhs, so it's probably worth it
+    if (table.isEmpty) {
+      table.close()
+      return ClosingIterator.empty
+    }
+
+    probeInput(rhsIterator, table, state.query)
+  }
+
+  private def buildProbeTable(
+    lhsInput: ClosingIterator[CypherRow],
+    queryState: QueryState
+  ): OffHeapLongProbeTable = {
+    val table = OffHeapLongProbeTable.createOffHeapLongProbeTable(
+      blockAllocator,
+      width,
+      lhsLongs,
+      queryState.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x)
+    )
+    val key = new Array[Long](width)
+    val longs = new Array[Long](lhsLongs)
+
+    for (current <- lhsInput) {
+      fillKeyArray(current, key, lhsOffsets, lhsIsReference)
+
+      if (key(0) != -1) {
+        var i = 0
+        while (i < lhsLongs) {
+          longs(i) = current.getLongAt(i)
+          i += 1
+        }
+        table.put(key, longs)
+      }
+    }
+
+    table
+  }
+
+  private def probeInput(
+    rhsInput: ClosingIterator[CypherRow],
+    probeTable: OffHeapLongProbeTable,
+    queryContext: QueryContext
+  ): ClosingIterator[CypherRow] =
+    new PrefetchingIterator[CypherRow] {
+      // Holds the key of the current rhs row until all of its matches are produced
+      private val key = new Array[Long](width)
+      private var matchingRow: Long = NO_ROW
+      private var currentRhsRow: CypherRow = _
+
+      override def produceNext(): Option[CypherRow] = {
+        // If we have already found matches, we'll first exhaust these
+        if (matchingRow != NO_ROW) {
+          val newRow = SlottedRow(slots)
+          var i = 0
+          while (i < lhsLongs) {
+            newRow.setLongAt(i, probeTable.getValue(matchingRow, i))
+            i += 1
+          }
+          copyDataFromRow(rhsMappers, newRow, currentRhsRow, queryContext)
+          matchingRow = probeTable.next(matchingRow, key)
+          return Some(newRow)
+        }
+
+        while (rhsInput.hasNext) {
+          currentRhsRow = rhsInput.next()
+          fillKeyArray(currentRhsRow, key, rhsOffsets, rhsIsReference)
+          if (key(0) != -1 /*If we have nulls in the key, no match will be found*/ ) {
+            matchingRow = probeTable.first(key)
+            if (matchingRow != NO_ROW) {
+              return produceNext()
+            }
+          }
+        }
+
+        // We have produced the last row, close the probe table to release its memory
+        probeTable.close()
+
+        None
+      }
+
+      override protected[this] def closeMore(): Unit = probeTable.close()
+    }
+}
+
+object NodeHashJoinOffHeapSlottedPipe {
+
+  /**
+   * Create the block allocator that all off-heap hash joins of a database share. Freed blocks of up to one page of the
+   * probe table are cached for later joins, until `life` shuts down.
+   */
+  def createBlockAllocator(life: LifeSupport): OffHeapBlockAllocator = {
+    val allocator = new CachingOffHeapBlockAllocator(ByteUnit.kibiBytes(256), 16)
+    life.add(new LifecycleAdapter {
+      override def shutdown(): Unit = allocator.release()
+    })
+    allocator
+  }
+}
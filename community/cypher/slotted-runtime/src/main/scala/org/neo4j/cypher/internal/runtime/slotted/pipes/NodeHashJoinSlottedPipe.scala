@@ -22,6 +22,7 @@ package org.neo4j.cypher.internal.runtime.slotted.pipes
 import org.neo4j.cypher.internal.expressions.LogicalVariable
 import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
 import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.ClosingIterator.ScalaSeqAsClosingIterator
 import org.neo4j.cypher.internal.runtime.CypherRow
 import org.neo4j.cypher.internal.runtime.PrefetchingIterator
 import org.neo4j.cypher.internal.runtime.ReadQueryContext
@@ -31,10 +32,13 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
 import org.neo4j.cypher.internal.runtime.slotted.SlottedPipeMapper.SlotMappings
 import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpillPartitions
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpilling
 import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.KeyOffsets
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.SlotMapper
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.SlotMappers
+import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.Spilling
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.copyDataFromRow
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.fillKeyArray
 import org.neo4j.cypher.internal.util.attribution.Id
@@ -52,7 +56,8 @@ case class NodeHashJoinSlottedPipe(
   left: Pipe,
   right: Pipe,
   slots: SlotConfiguration,
-  rhsSlotMappings: SlotMappings
+  rhsSlotMappings: SlotMappings,
+  spilling: Option[Spilling] = None
 )(val id: Id = Id.INVALID_ID) extends AbstractHashJoinPipe[LongArray](left, right) {
 
   private val lhsOffsets: Array[Int] = lhsKeyOffsets.offsets
@@ -64,6 +69,102 @@ case class NodeHashJoinSlottedPipe(
 
   private val rhsMappers: Array[SlotMapper] = SlotMappers(rhsSlotMappings)
 
+  override protected def internalCreateResults(
+    input: ClosingIterator[CypherRow],
+    state: QueryState
+  ): ClosingIterator[CypherRow] =
+    spilling match {
+      case Some(sides) => hybridHashJoin(input, state, sides)
+      case None        => super.internalCreateResults(input, state)
+    }
+
+  /**
+   * Join with a probe table of the lhs rows that fit in memory. Once the tracked heap usage of the probe table passes
+   * the threshold, the remaining lhs rows are spilled to partitions by their key. The rhs rows probe the table in
+   * memory, and are also spilled to the partition of their key if it has any lhs rows. After that, the lhs and rhs
+   * rows of every partition are joined on their own.
+   */
+  private def hybridHashJoin(
+    lhsInput: ClosingIterator[CypherRow],
+    state: QueryState,
+    sides: Spilling
+  ): ClosingIterator[CypherRow] = {
+    if (!lhsInput.hasNext)
+      return ClosingIterator.empty
+
+    val rhsInput = right.createResults(state)
+
+    if (rhsInput.isEmpty)
+      return ClosingIterator.empty
+
+    val memoryTracker = state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x)
+    val tableMemoryTracker = memoryTracker.getScopedMemoryTracker
+    val table = ProbeTable.createProbeTable[LongArray, CypherRow](tableMemoryTracker)
+    state.query.resources.trace(table)
+    var lhsPartitions: SlottedRowSpillPartitions = null
+    for (current <- lhsInput) {
+      val key = new Array[Long](width)
+      fillKeyArray(current, key, lhsOffsets, lhsIsReference)
+
+      if (key(0) != -1) {
+        if (lhsPartitions != null) {
+          lhsPartitions.write(current, lhsPartitions.partitionOf(util.Arrays.hashCode(key)))
+        } else {
+          current.compact()
+          table.put(Values.longArray(key), current)
+          if (tableMemoryTracker.estimatedHeapMemory() > sides.lhs.threshold) {
+            lhsPartitions = sides.lhs.newPartitions(memoryTracker)
+            state.query.resources.trace(lhsPartitions)
+          }
+        }
+      }
+    }
+
+    if (table.isEmpty)
+      return ClosingIterator.empty
+
+    if (lhsPartitions == null)
+      return probeInput(rhsInput, state, table)
+
+    val spilledLhs = lhsPartitions
+    val spilledRhs = sides.rhs.newPartitions(memoryTracker)
+    state.query.resources.trace(spilledRhs)
+    val rhsKey = new Array[Long](width)
+    val spillingRhsInput = rhsInput.map { row =>
+      fillKeyArray(row, rhsKey, rhsOffsets, rhsIsReference)
+      if (rhsKey(0) != -1) {
+        val partition = spilledRhs.partitionOf(util.Arrays.hashCode(rhsKey))
+        if (spilledLhs.nonEmpty(partition)) {
+          spilledRhs.write(row, partition)
+        }
+      }
+      row
+    }
+    probeInput(spillingRhsInput, state, table).addAllLazy(() =>
+      (0 until spilledRhs.numberOfPartitions).iterator
+        .filter(partition => spilledRhs.nonEmpty(partition))
+        .asClosingIterator
+        .flatMap(partition => joinPartition(spilledLhs, spilledRhs, partition, state))
+    ).closing(spilledLhs).closing(spilledRhs)
+  }
+
+  private def joinPartition(
+    spilledLhs: SlottedRowSpillPartitions,
+    spilledRhs: SlottedRowSpillPartitions,
+    partition: Int,
+    state: QueryState
+  ): ClosingIterator[CypherRow] = {
+    val lhsRows = spilledLhs.reader(partition)
+    val table =
+      try {
+        buildProbeTable(lhsRows, state)
+      } finally {
+        lhsRows.close()
+      }
+    state.query.resources.trace(table)
+    probeInput(spilledRhs.reader(partition), state, table)
+  }
+
   override def buildProbeTable(
     lhsInput: ClosingIterator[CypherRow],
     queryState: QueryState
@@ -129,6 +230,11 @@ case class NodeHashJoinSlottedPipe(
 
 object NodeHashJoinSlottedPipe {
 
+  /**
+   * The spilling of the rows of both sides of the join.
+   */
+  case class Spilling(lhs: SlottedRowSpilling, rhs: SlottedRowSpilling)
+
   case class SlotMapping(fromOffset: Int, toOffset: Int, fromIsLongSlot: Boolean, toIsLongSlot: Boolean)
 
   object SlotMappers {
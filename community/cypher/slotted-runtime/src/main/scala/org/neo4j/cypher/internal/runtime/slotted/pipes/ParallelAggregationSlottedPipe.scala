@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.ThreadSafeResourceManager
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.AggregationExpression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Count
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.CountStar
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Max
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Min
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Sum
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe.AggregationTable
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe.AggregationTableFactory
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.NullPipeDecorator
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.slotted.expressions.ReferenceFromSlot
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe.PartitionedBatchScan
+import org.neo4j.cypher.internal.runtime.slotted.pipes.ParallelAggregationSlottedPipe.Workers
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.scheduler.CallableExecutor
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Future
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * Computes an aggregation over a node scan, followed by any number of filters, projections and expands, on several
+ * threads. The scan is split into partitions that the workers reserve one at a time, and every worker aggregates the
+ * rows of its partitions into a table of its own. When all workers are done, their partial results are aggregated
+ * once more, by the merge table, on the calling thread.
+ *
+ * Partitioned scans do not see the changes of the transaction, and the aggregation is not profiled per worker, so the
+ * sequential pipe is executed instead when the transaction has changes or when the query is profiled. It is also
+ * executed when the resources of the query cannot be shared with worker threads.
+ *
+ * @param sequential the [[org.neo4j.cypher.internal.runtime.interpreted.pipes.EagerAggregationPipe]] that this pipe
+ *                   replaces.
+ * @param chain the scan and the operators that produce the rows to aggregate.
+ * @param tableFactory the aggregation table of a worker.
+ * @param mergeTableFactory the aggregation table that aggregates the partial results of the workers.
+ * @param workers the executor that runs the workers, and how many workers to run.
+ */
+case class ParallelAggregationSlottedPipe(
+  sequential: Pipe,
+  chain: BatchedSlottedPipe,
+  tableFactory: AggregationTableFactory,
+  mergeTableFactory: AggregationTableFactory,
+  workers: Workers
+)(val id: Id = Id.INVALID_ID) extends Pipe {
+
+  override def createResults(state: QueryState): ClosingIterator[CypherRow] =
+    if (canRunInParallel(state)) super.createResults(state)
+    else sequential.createResults(state)
+
+  private def canRunInParallel(state: QueryState): Boolean =
+    (state.decorator eq NullPipeDecorator) &&
+      state.query.resources.isInstanceOf[ThreadSafeResourceManager] &&
+      !state.query.transactionalContext.dataRead.transactionStateHasChanges
+
+  protected def internalCreateResults(state: QueryState): ClosingIterator[CypherRow] = {
+    val scan = chain.scan.partitioned(state, workers.count, chain.batchSize)
+    val workerStates = ArrayBuffer.empty[QueryState]
+    try {
+      // Execution contexts must be created by the thread of the transaction
+      while (workerStates.size < workers.count) {
+        workerStates += state.withParallelQueryContext(state.query.createParallelQueryContext())
+      }
+      val tasks = workerStates.toSeq.map { workerState =>
+        workers.executor.submit(new Callable[Option[AggregationTable]] {
+          override def call(): Option[AggregationTable] = aggregatePartitions(scan, workerState)
+        })
+      }
+
+      val table = mergeTableFactory.table(state, rowFactory, id)
+      table.clear()
+      ParallelAggregationSlottedPipe.awaitAll(tasks).flatten.foreach { partialTable =>
+        val partialResult = partialTable.result()
+        while (partialResult.hasNext) {
+          table.processRow(partialResult.next())
+        }
+      }
+      table.result()
+    } finally {
+      // Closing a worker state completes its execution context, which releases the memory of its partial result
+      workerStates.foreach(_.close())
+    }
+  }
+
+  /**
+   * Aggregate the rows of the partitions that the worker reserves, or return `None` if it got no rows at all.
+   */
+  private def aggregatePartitions(scan: PartitionedBatchScan, workerState: QueryState): Option[AggregationTable] = {
+    val stages = chain.stagesFrom(scan.stage(workerState), workerState)
+    val last = stages.last
+    val table = tableFactory.table(workerState, rowFactory, id)
+    table.clear()
+    var nonEmpty = false
+    try {
+      while (last.nextBatch()) {
+        nonEmpty = true
+        val batch = last.batch
+        var i = 0
+        while (i < batch.size) {
+          table.processRow(batch(i))
+          i += 1
+        }
+      }
+    } finally {
+      stages.foreach(_.close())
+    }
+    if (nonEmpty) Some(table) else None
+  }
+}
+
+object ParallelAggregationSlottedPipe {
+
+  /**
+   * @param executor the executor that the workers are submitted to, the Cypher worker pool of the database.
+   * @param count the number of workers of an aggregation.
+   */
+  case class Workers(executor: CallableExecutor, count: Int)
+
+  /**
+   * The batch size of workers, unless row batching is enabled, in which case its batch size is used.
+   */
+  val DEFAULT_BATCH_SIZE: Int = 128
+
+  /**
+   * The aggregations that compute the final result from the partial results of the workers, which are stored in the
+   * slots of the original aggregations, or `None` if some aggregation cannot be computed from partial results.
+   */
+  def mergeAggregations(aggregations: Map[Int, AggregationExpression]): Option[Map[Int, AggregationExpression]] = {
+    val merged: Map[Int, AggregationExpression] = aggregations.collect {
+      case (offset, _: Count | _: CountStar | _: Sum) => offset -> Sum(ReferenceFromSlot(offset))
+      case (offset, _: Min)                           => offset -> Min(ReferenceFromSlot(offset))
+      case (offset, _: Max)                           => offset -> Max(ReferenceFromSlot(offset))
+    }
+    if (merged.size == aggregations.size) Some(merged) else None
+  }
+
+  /**
+   * Wait for all tasks, also when some of them fail, so that no worker is still running when its state is closed.
+   */
+  private def awaitAll[T](tasks: Seq[Future[T]]): Seq[T] = {
+    var failure: Throwable = null
+    val results = tasks.flatMap { task =>
+      try {
+        Some(task.get())
+      } catch {
+        case e: ExecutionException =>
+          if (failure == null) failure = e.getCause else failure.addSuppressed(e.getCause)
+          None
+      }
+    }
+    if (failure != null) {
+      throw failure
+    }
+    results
+  }
+}
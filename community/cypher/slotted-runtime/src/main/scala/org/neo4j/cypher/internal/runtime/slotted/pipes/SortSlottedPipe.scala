@@ -27,39 +27,124 @@ import org.neo4j.cypher.internal.runtime.ReadableRow
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeWithSource
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpillFile
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpilling
 import org.neo4j.cypher.internal.util.attribution.Id
 
+import java.util
 import java.util.Comparator
 
+import scala.collection.mutable.ArrayBuffer
 import scala.jdk.CollectionConverters.IteratorHasAsScala
 
+/**
+ * Sorts all rows of the source.
+ *
+ * With spilling, the rows are sorted in runs: whenever the tracked heap usage of the operator passes the threshold,
+ * the rows gathered so far are sorted and written to a spill file. The runs on file and the rows that are still in
+ * memory are then merged, with rows that compare as equal kept in the order they came in.
+ */
 case class SortSlottedPipe(
   source: Pipe,
-  comparator: Comparator[ReadableRow]
+  comparator: Comparator[ReadableRow],
+  spilling: Option[SlottedRowSpilling] = None
 )(val id: Id = Id.INVALID_ID) extends PipeWithSource(source) {
 
   protected def internalCreateResults(
     input: ClosingIterator[CypherRow],
     state: QueryState
   ): ClosingIterator[CypherRow] = {
-    val scopedMemoryTracker =
-      state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x).getScopedMemoryTracker
+    val memoryTracker = state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x)
+    val scopedMemoryTracker = memoryTracker.getScopedMemoryTracker
+    val threshold = spilling.fold(Long.MaxValue)(_.threshold)
     var arrayList = HeapTrackingArrayList.newArrayList[CypherRow](256, scopedMemoryTracker)
     var previous: CypherRow = null
+    var spillFile: SlottedRowSpillFile = null
+    val runEnds = ArrayBuffer.empty[Long]
     while (input.hasNext) {
       val row = input.next()
       // Note, not safe to call row.compact() here, like we do in pipelined, because sort is not breaking in slotted.
       scopedMemoryTracker.allocateHeap(row.deduplicatedEstimatedHeapUsage(previous))
       arrayList.add(row)
       previous = row
+      if (scopedMemoryTracker.estimatedHeapMemory() > threshold) {
+        if (spillFile == null) {
+          spillFile = spilling.get.newFile(memoryTracker)
+          state.query.resources.trace(spillFile)
+        }
+        arrayList.sort(comparator)
+        arrayList.forEach(spillFile.write(_))
+        runEnds += spillFile.mark()
+        // releases the rows as well as the list
+        scopedMemoryTracker.reset()
+        arrayList = HeapTrackingArrayList.newArrayList[CypherRow](256, scopedMemoryTracker)
+        previous = null
+      }
     }
     previous = null
     arrayList.sort(comparator)
-    new DelegatingClosingIterator[CypherRow](arrayList.iterator().asScala) {
-      override def closeMore(): Unit = {
-        arrayList = null
-        scopedMemoryTracker.close()
-        input.close()
+    if (spillFile == null) {
+      new DelegatingClosingIterator[CypherRow](arrayList.iterator().asScala) {
+        override def closeMore(): Unit = {
+          arrayList = null
+          scopedMemoryTracker.close()
+          input.close()
+        }
+      }
+    } else {
+      val file = spillFile
+      val runs = runEnds.indices.map(i => file.reader(if (i == 0) 0L else runEnds(i - 1), runEnds(i)))
+      new DelegatingClosingIterator[CypherRow](
+        SortSlottedPipe.mergeSortedRuns(runs.map(_.toIterator) :+ arrayList.iterator().asScala, comparator)
+      ) {
+        override def closeMore(): Unit = {
+          arrayList = null
+          runs.foreach(_.close())
+          file.close()
+          scopedMemoryTracker.close()
+          input.close()
+        }
+      }
+    }
+  }
+}
+
+object SortSlottedPipe {
+
+  /**
+   * Merge sorted runs of rows. Rows that compare as equal are returned in the order of their runs.
+   */
+  private def mergeSortedRuns(
+    runs: IndexedSeq[Iterator[CypherRow]],
+    comparator: Comparator[ReadableRow]
+  ): Iterator[CypherRow] = {
+    val heads = new Array[CypherRow](runs.length)
+    val queue = new util.PriorityQueue[Integer](
+      runs.length,
+      (a: Integer, b: Integer) => {
+        val order = comparator.compare(heads(a), heads(b))
+        if (order != 0) order else Integer.compare(a, b)
+      }
+    )
+    runs.indices.foreach { i =>
+      if (runs(i).hasNext) {
+        heads(i) = runs(i).next()
+        queue.add(i)
+      }
+    }
+    new Iterator[CypherRow] {
+      override def hasNext: Boolean = !queue.isEmpty
+
+      override def next(): CypherRow = {
+        val run: Int = queue.poll()
+        val row = heads(run)
+        if (runs(run).hasNext) {
+          heads(run) = runs(run).next()
+          queue.add(run)
+        } else {
+          heads(run) = null
+        }
+        row
       }
     }
   }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted
+
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.util.symbols.CTAny
+import org.neo4j.cypher.internal.util.symbols.CTNode
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Values
+import org.neo4j.values.storable.Values.longValue
+import org.neo4j.values.storable.Values.stringValue
+import org.neo4j.values.virtual.NodeValue
+import org.neo4j.values.virtual.RelationshipValue
+import org.neo4j.values.virtual.VirtualValues
+
+class SlottedRowSpillFileTest extends CypherFunSuite with SlottedRowSpillingTestSupport {
+
+  private val slots = SlotConfiguration.empty
+    .newLong("n", nullable = false, CTNode)
+    .newReference("a", nullable = true, CTAny)
+    .newReference("b", nullable = true, CTAny)
+
+  private def row(n: Long, a: AnyValue, b: AnyValue): SlottedRow = {
+    val row = SlottedRow(slots)
+    row.setLongAt(0, n)
+    row.setRefAt(0, a)
+    row.setRefAt(1, b)
+    row
+  }
+
+  private def contentOf(row: SlottedRow): (Long, AnyValue, AnyValue) =
+    (row.getLongAt(0), row.getRefAt(0), row.getRefAt(1))
+
+  test("should read back written rows") {
+    val rows = (0 until 10000).map(i =>
+      row(
+        i,
+        stringValue("value " * (i % 10)),
+        VirtualValues.list(longValue(i), VirtualValues.map(Array("key"), Array(longValue(i))))
+      )
+    )
+    val file = spilling(slots).newFile(memoryTracker)
+
+    rows.foreach(file.write)
+
+    file.numberOfRows shouldBe rows.size
+    file.reader().map(contentOf).toList should equal(rows.map(contentOf))
+    file.reader().map(contentOf).toList should equal(rows.map(contentOf))
+    file.close()
+  }
+
+  test("should keep null apart from NO_VALUE") {
+    val file = spilling(slots).newFile(memoryTracker)
+
+    file.write(row(1, null, Values.NO_VALUE))
+    file.write(row(-1, Values.NO_VALUE, null))
+
+    file.reader().map(contentOf).toList should equal(Seq((1L, null, Values.NO_VALUE), (-1L, Values.NO_VALUE, null)))
+    file.close()
+  }
+
+  test("should write entities as references") {
+    val file = spilling(slots).newFile(memoryTracker)
+    val properties = VirtualValues.map(Array("key"), Array(longValue(1)))
+    val node = VirtualValues.nodeValue(1, "node-1", Values.stringArray("L"), properties)
+    val relationship =
+      VirtualValues.relationshipValue(2, "rel-2", node, VirtualValues.node(3, "node-3"), stringValue("R"), properties)
+
+    file.write(row(1, node, relationship))
+
+    val Seq(read) = file.reader().toList
+    read.getRefAt(0) shouldBe VirtualValues.node(1)
+    read.getRefAt(0) should not be a[NodeValue]
+    read.getRefAt(1) shouldBe VirtualValues.relationship(2)
+    read.getRefAt(1) should not be a[RelationshipValue]
+    file.close()
+  }
+
+  test("should read ranges between marks") {
+    val file = spilling(slots).newFile(memoryTracker)
+
+    (0 until 3).foreach(i => file.write(row(i, longValue(i), null)))
+    val first = file.mark()
+    (3 until 5).foreach(i => file.write(row(i, longValue(i), null)))
+    val second = file.mark()
+
+    file.reader(0, first).map(_.getLongAt(0)).toList should equal(Seq(0, 1, 2))
+    file.reader(first, second).map(_.getLongAt(0)).toList should equal(Seq(3, 4))
+    file.reader(second, second).toList shouldBe empty
+    file.close()
+  }
+
+  test("should delete file and release memory on close") {
+    val file = spilling(slots).newFile(memoryTracker)
+    (0 until 1000).foreach(i => file.write(row(i, stringValue("value"), null)))
+    val reader = file.reader()
+    reader.next()
+
+    reader.close()
+    file.close()
+
+    memoryTracker.estimatedHeapMemory() shouldBe 0
+    spillFiles shouldBe empty
+  }
+
+  test("should write rows to partitions") {
+    val partitions = spilling(slots).newPartitions(memoryTracker)
+    val rows = (0 until 1000).map(i => row(i, longValue(i), null))
+
+    rows.foreach(row => partitions.write(row, partitions.partitionOf(row.getRefAt(0).hashCode())))
+
+    val partitioned = (0 until partitions.numberOfPartitions).filter(partitions.nonEmpty).map { partition =>
+      partition -> partitions.reader(partition).map(_.getLongAt(0)).toList
+    }
+    partitioned.size should be > 1
+    partitioned.flatMap(_._2) should contain theSameElementsAs rows.map(_.getLongAt(0))
+    partitioned.foreach {
+      case (partition, ids) => ids.foreach(id => partitions.partitionOf(longValue(id).hashCode()) shouldBe partition)
+    }
+    partitions.close()
+    spillFiles shouldBe empty
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted
+
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.ResourceManager
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.memory.SingleMemoryTrackerForOperatorProvider
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.io.fs.FileUtils
+import org.neo4j.memory.LocalMemoryTracker
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import scala.jdk.CollectionConverters.IteratorHasAsScala
+import scala.util.Using
+
+/**
+ * Spills rows to a temporary directory, that is deleted after each test.
+ */
+trait SlottedRowSpillingTestSupport extends CypherFunSuite {
+
+  protected var spillDirectory: Path = _
+  protected var memoryTracker: LocalMemoryTracker = _
+
+  override protected def beforeEach(): Unit = {
+    super.beforeEach()
+    spillDirectory = Files.createTempDirectory("cypher-spill")
+    memoryTracker = new LocalMemoryTracker()
+  }
+
+  override protected def afterEach(): Unit = {
+    try {
+      FileUtils.deleteDirectory(spillDirectory)
+    } finally {
+      super.afterEach()
+    }
+  }
+
+  protected def spilling(slots: SlotConfiguration, threshold: Long = 1): SlottedRowSpilling =
+    SlottedRowSpilling(slots, SpillConfiguration(threshold, spillDirectory))
+
+  /**
+   * A query state that tracks the memory of all operators, which is what triggers spilling.
+   */
+  protected def spillingState(resourceManager: ResourceManager = new ResourceManager()): QueryState =
+    QueryStateHelper.emptyWithResourceManager(
+      resourceManager,
+      new SingleMemoryTrackerForOperatorProvider(memoryTracker)
+    )
+
+  protected def spillFiles: Seq[Path] = Using.resource(Files.list(spillDirectory))(_.iterator().asScala.toSeq)
+}
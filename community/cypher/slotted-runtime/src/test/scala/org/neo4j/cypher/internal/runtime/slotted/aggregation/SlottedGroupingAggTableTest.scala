@@ -23,6 +23,7 @@ import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
 import org.neo4j.cypher.internal.runtime.ResourceManager
 import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.CountStar
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpillingTestSupport
 import org.neo4j.cypher.internal.runtime.slotted.expressions.ReferenceFromSlot
 import org.neo4j.cypher.internal.runtime.slotted.pipes.FakeSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.SlotExpression
@@ -31,8 +32,9 @@ import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.cypher.internal.util.symbols.CTInteger
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
 import org.neo4j.kernel.impl.util.collection.HeapTrackingOrderedAppendMap
+import org.neo4j.values.storable.Values.longValue
 
-class SlottedGroupingAggTableTest extends CypherFunSuite {
+class SlottedGroupingAggTableTest extends CypherFunSuite with SlottedRowSpillingTestSupport {
 
   test("close should close table") {
     // given
@@ -66,4 +68,33 @@ class SlottedGroupingAggTableTest extends CypherFunSuite {
     // then
     monitor.closedResources.collect { case t: HeapTrackingOrderedAppendMap[_, _] => t } should have size 1
   }
+
+  test("should aggregate spilled groups") {
+    // given
+    val slots = SlotConfiguration.empty
+      .newReference("a", nullable = false, CTInteger)
+      .newReference("c", nullable = false, CTInteger)
+    val state = spillingState()
+    val table = new SlottedGroupingAggTable(
+      slots,
+      SlottedGroupingExpression1(SlotExpression(slots("a"), ReferenceFromSlot(0))),
+      Map(slots("c").offset -> CountStar()),
+      state,
+      Id(0),
+      slots.size(),
+      Some(spilling(slots))
+    )
+    table.clear()
+
+    // when
+    FakeSlottedPipe((0 until 1000).map(i => Map[Any, Any]("a" -> i % 100)), slots)
+      .createResults(state)
+      .foreach(table.processRow)
+
+    // then
+    spillFiles should not be empty
+    table.result().map(row => (row.getRefAt(0), row.getRefAt(1))).toList should contain theSameElementsAs
+      (0 until 100).map(i => (longValue(i), longValue(10)))
+    spillFiles shouldBe empty
+  }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.expressions
+
+import org.neo4j.cypher.internal.ast.AstConstructionTestSupport
+import org.neo4j.cypher.internal.expressions.Expression
+import org.neo4j.cypher.internal.physicalplanning
+import org.neo4j.cypher.internal.physicalplanning.PhysicalPlan
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.planner.spi.ReadTokenContext
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.CypherRuntimeConfiguration
+import org.neo4j.cypher.internal.runtime.SelectivityTrackerRegistrator
+import org.neo4j.cypher.internal.runtime.ast.ParameterFromSlot
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.interpreted.commands
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.CommunityExpressionConverter
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverters
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.util.AnonymousVariableNameGenerator
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.cypher.internal.util.symbols.CTAny
+import org.neo4j.cypher.internal.util.symbols.CTNode
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Values.NO_VALUE
+import org.neo4j.values.storable.Values.doubleValue
+import org.neo4j.values.storable.Values.longValue
+import org.neo4j.values.storable.Values.stringValue
+
+import scala.util.Try
+
+class CompiledExpressionConverterTest extends CypherFunSuite with AstConstructionTestSupport {
+
+  private val slots = SlotConfiguration.empty
+    .newLong("n", nullable = true, CTNode)
+    .newReference("a", nullable = true, CTAny)
+    .newReference("b", nullable = true, CTAny)
+
+  private val n = physicalplanning.ast.IdFromSlot(0)
+  private val a = physicalplanning.ast.ReferenceFromSlot(0, "a")
+  private val b = physicalplanning.ast.ReferenceFromSlot(1, "b")
+  private val p = ParameterFromSlot(0, "p", CTAny)
+
+  private val baseConverters = List(
+    SlottedExpressionConverters(mock[PhysicalPlan]),
+    CommunityExpressionConverter(
+      ReadTokenContext.EMPTY,
+      new AnonymousVariableNameGenerator(),
+      new SelectivityTrackerRegistrator(),
+      CypherRuntimeConfiguration.defaultConfiguration
+    )
+  )
+  private val interpreted = new ExpressionConverters(baseConverters: _*)
+  private val compiling = new ExpressionConverters(CompiledExpressionConverter(interpreted) +: baseConverters: _*)
+
+  private val values: Seq[AnyValue] =
+    Seq(NO_VALUE, longValue(0), longValue(7), doubleValue(2.5), stringValue("x"))
+
+  test("should compile comparisons of arithmetic over slots, parameters and literals") {
+    val expression = greaterThan(add(a, multiply(b, literalInt(2))), subtract(p, literalFloat(1.5)))
+
+    compiling.toCommandExpression(Id.INVALID_ID, expression) shouldBe a[CompiledPredicate]
+    shouldEvaluateLikeInterpreted(expression)
+  }
+
+  test("should compile equality, negation and the remaining arithmetic") {
+    shouldEvaluateLikeInterpreted(not(equals(divide(a, b), modulo(b, p))))
+    shouldEvaluateLikeInterpreted(notEquals(a, literalString("x")))
+    shouldEvaluateLikeInterpreted(lessThanOrEqual(a, nullLiteral))
+    shouldEvaluateLikeInterpreted(greaterThanOrEqual(lessThan(a, b), trueLiteral))
+  }
+
+  test("should compile null checks of long slots") {
+    val expression = add(physicalplanning.ast.NullCheck(0, n), literalInt(1))
+
+    compiling.toCommandExpression(Id.INVALID_ID, expression) shouldBe a[CompiledExpression]
+    shouldEvaluateLikeInterpreted(expression)
+  }
+
+  test("should compile supported subtrees of unsupported expressions") {
+    val converted = compiling.toCommandExpression(Id.INVALID_ID, equals(add(a, b), listOfInt(1)))
+
+    converted shouldBe a[predicates.Equals]
+    converted.arguments.head shouldBe a[CompiledExpression]
+  }
+
+  test("should not compile negation of values that need to be coerced") {
+    isCompiled(compiling.toCommandExpression(Id.INVALID_ID, not(a))) shouldBe false
+  }
+
+  test("should not compile leaves") {
+    isCompiled(compiling.toCommandExpression(Id.INVALID_ID, a)) shouldBe false
+    isCompiled(compiling.toCommandExpression(Id.INVALID_ID, physicalplanning.ast.NullCheck(0, n))) shouldBe false
+  }
+
+  test("should interpret rows that are not slotted") {
+    val converted = compiling.toCommandExpression(Id.INVALID_ID, add(p, literalInt(1)))
+
+    converted(CypherRow.empty, stateWith(longValue(41))) should equal(longValue(42))
+  }
+
+  private def shouldEvaluateLikeInterpreted(expression: Expression): Unit = {
+    val expected = interpreted.toCommandExpression(Id.INVALID_ID, expression)
+    val actual = compiling.toCommandExpression(Id.INVALID_ID, expression)
+    isCompiled(actual) shouldBe true
+
+    for {
+      aValue <- values
+      bValue <- values
+      pValue <- values
+    } {
+      val row = newRow(aValue, bValue)
+      row.setLongAt(0, if (aValue eq NO_VALUE) -1L else 3L)
+      val state = stateWith(pValue)
+      withClue(s"a = $aValue, b = $bValue, p = $pValue: ") {
+        outcome(actual(row, state)) should equal(outcome(expected(row, state)))
+      }
+    }
+  }
+
+  private def outcome(value: => AnyValue): Either[Class[_], AnyValue] =
+    Try(value).toEither.left.map(_.getClass)
+
+  private def newRow(aValue: AnyValue, bValue: AnyValue): SlottedRow = {
+    val row = SlottedRow(slots)
+    row.setRefAt(0, aValue)
+    row.setRefAt(1, bValue)
+    row
+  }
+
+  private def stateWith(parameter: AnyValue): QueryState =
+    QueryStateHelper.emptyWith(params = Array(parameter))
+
+  private def isCompiled(expression: commands.expressions.Expression): Boolean = expression match {
+    case _: CompiledExpression | _: CompiledPredicate => true
+    case _                                            => false
+  }
+}
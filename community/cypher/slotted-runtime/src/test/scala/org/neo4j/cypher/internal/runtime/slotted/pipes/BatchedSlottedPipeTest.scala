@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.mockito.Mockito
+import org.neo4j.cypher.internal.expressions.SemanticDirection
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.ClosingLongIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.ResourceManager
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Add
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Modulo
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Equals
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.EagerTypes
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.FilterPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ProjectionPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.slotted.expressions.IdFromSlot
+import org.neo4j.cypher.internal.runtime.slotted.expressions.SlottedCommandProjection
+import org.neo4j.cypher.internal.util.symbols.CTAny
+import org.neo4j.cypher.internal.util.symbols.CTNode
+import org.neo4j.cypher.internal.util.symbols.CTRelationship
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.internal.kernel.api.NodeCursor
+import org.neo4j.internal.kernel.api.helpers.StubRelationshipCursor
+import org.neo4j.internal.kernel.api.helpers.TestRelationshipChain
+import org.neo4j.values.storable.Values.longValue
+
+import java.util.Collections
+import java.util.IdentityHashMap
+
+class BatchedSlottedPipeTest extends CypherFunSuite {
+
+  private val slots = SlotConfiguration.empty
+    .newLong("n", nullable = false, CTNode)
+    .newReference("m", nullable = true, CTAny)
+
+  private val noArguments = (_: Any) => SlotConfiguration.Size.zero
+
+  test("should filter and project batches of scanned nodes") {
+    val state = stateWithNodes(0L until 10L)
+    val scan = AllNodesScanSlottedPipe("n", slots)()
+    val filter = FilterPipe(scan, Equals(Modulo(IdFromSlot(0), Literal(longValue(2))), Literal(longValue(0))))()
+    val projection =
+      ProjectionPipe(filter, SlottedCommandProjection(Map(0 -> Add(IdFromSlot(0), Literal(longValue(100))))))()
+
+    val batched = BatchedSlottedPipe.batch(projection, noArguments, batchSize = 3).get
+
+    val result = batched.createResults(state).map(row => (row.getLongAt(0), row.getRefAt(0))).toList
+    result should equal((0L until 10L by 2L).map(n => (n, longValue(n + 100))))
+  }
+
+  test("should reuse the rows of a batch") {
+    val state = stateWithNodes(0L until 10L)
+    val batched = BatchedSlottedPipe.batch(AllNodesScanSlottedPipe("n", slots)(), noArguments, batchSize = 3).get
+
+    val rows = Collections.newSetFromMap(new IdentityHashMap[CypherRow, java.lang.Boolean]())
+    val nodes = batched.createResults(state).map { row =>
+      rows.add(row)
+      row.getLongAt(0)
+    }.toList
+
+    nodes should equal(0L until 10L)
+    rows should have size 3
+  }
+
+  test("should continue expanding a node in the next batch") {
+    val monitor = QueryStateHelper.trackClosedMonitor
+    val state = stateWithNodes(Seq(10L), new ResourceManager(monitor))
+    val nodeCursor = mock[NodeCursor]
+    Mockito.when(nodeCursor.next()).thenReturn(true)
+    val relCursor = new StubRelationshipCursor(
+      new TestRelationshipChain(10).outgoing(0, 11, 0).outgoing(1, 12, 0).outgoing(2, 13, 0)
+    )
+    Mockito.when(state.query.nodeCursor()).thenReturn(nodeCursor)
+    Mockito.when(state.query.traversalCursor()).thenReturn(relCursor)
+
+    val expandSlots = SlotConfiguration.empty
+      .newLong("a", nullable = false, CTNode)
+      .newLong("r", nullable = false, CTRelationship)
+      .newLong("b", nullable = false, CTNode)
+    val scan = AllNodesScanSlottedPipe("a", expandSlots)()
+    val types = new EagerTypes(Array(0))
+    val expand = ExpandAllSlottedPipe(scan, expandSlots("a"), 1, 2, SemanticDirection.OUTGOING, types, expandSlots)()
+
+    val batched = BatchedSlottedPipe.batch(expand, noArguments, batchSize = 2).get
+
+    val result =
+      batched.createResults(state).map(row => (row.getLongAt(0), row.getLongAt(1), row.getLongAt(2))).toList
+    result should equal(Seq((10L, 0L, 11L), (10L, 1L, 12L), (10L, 2L, 13L)))
+    monitor.closedResources.collect { case `relCursor` => relCursor } should have size 1
+  }
+
+  test("should not batch pipes that do not start with a node scan") {
+    val filter = FilterPipe(FakeSlottedPipe(Seq.empty, slots), Literal(longValue(1)))()
+
+    BatchedSlottedPipe.batch(filter, noArguments, batchSize = 3) shouldBe None
+  }
+
+  private def stateWithNodes(
+    nodes: Seq[Long],
+    resourceManager: ResourceManager = new ResourceManager()
+  ): QueryState = {
+    val state = QueryStateHelper.emptyWithResourceManager(resourceManager)
+    Mockito.when(state.query.nodeReadOps.all).thenAnswer(_ => closingIterator(nodes))
+    state
+  }
+
+  private def closingIterator(nodes: Seq[Long]): ClosingLongIterator = new ClosingLongIterator {
+    private val iterator = nodes.iterator
+    override def close(): Unit = {}
+    override protected[this] def innerHasNext: Boolean = iterator.hasNext
+    override def next(): Long = iterator.next()
+  }
+}
@@ -22,11 +22,14 @@ package org.neo4j.cypher.internal.runtime.slotted.pipes
 import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
 import org.neo4j.cypher.internal.runtime.ResourceManager
 import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpillingTestSupport
+import org.neo4j.cypher.internal.util.symbols.CTAny
 import org.neo4j.cypher.internal.util.symbols.CTNode
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
 import org.neo4j.kernel.impl.util.collection.EagerBuffer
+import org.neo4j.values.storable.Values.stringValue
 
-class EagerSlottedPipeTest extends CypherFunSuite {
+class EagerSlottedPipeTest extends CypherFunSuite with SlottedRowSpillingTestSupport {
 
   test("exhaust should close buffer") {
     val monitor = QueryStateHelper.trackClosedMonitor
@@ -53,4 +56,21 @@ class EagerSlottedPipeTest extends CypherFunSuite {
     input.wasClosed shouldBe true
     monitor.closedResources.collect { case t: EagerBuffer[_] => t } should have size (1)
   }
+
+  test("should return spilled rows in input order") {
+    val slots = SlotConfiguration.empty
+      .newLong("a", nullable = false, CTNode)
+      .newReference("b", nullable = true, CTAny)
+    val data = (0 until 1000).map(i => Map[Any, Any]("a" -> i, "b" -> s"row $i"))
+
+    val input = FakeSlottedPipe(data, slots)
+    val pipe = EagerSlottedPipe(input, slots, Some(spilling(slots, threshold = 32 * 1024)))()
+    val result = pipe.createResults(spillingState())
+
+    spillFiles should not be empty
+    result.map(row => (row.getLongAt(0), row.getRefAt(0))).toList should equal(
+      data.map(row => (row("a").asInstanceOf[Int].toLong, stringValue(row("b").asInstanceOf[String])))
+    )
+    spillFiles shouldBe empty
+  }
 }
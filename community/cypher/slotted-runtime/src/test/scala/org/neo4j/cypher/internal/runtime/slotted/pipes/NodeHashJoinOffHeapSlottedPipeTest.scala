@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.mockito.Mockito.verifyNoInteractions
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.ResourceManager
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.memory.SingleMemoryTrackerForOperatorProvider
+import org.neo4j.cypher.internal.runtime.slotted.SlottedPipeMapper.SlotMappings
+import org.neo4j.cypher.internal.runtime.slotted.pipes.HashJoinSlottedPipeTestHelper.RowL
+import org.neo4j.cypher.internal.runtime.slotted.pipes.HashJoinSlottedPipeTestHelper.mockPipeFor
+import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.KeyOffsets
+import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.SlotMapping
+import org.neo4j.cypher.internal.util.symbols.CTNode
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.kernel.impl.util.collection.CachingOffHeapBlockAllocator
+import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator
+import org.neo4j.kernel.impl.util.collection.OffHeapLongProbeTable
+import org.neo4j.kernel.lifecycle.LifeSupport
+import org.neo4j.memory.EmptyMemoryTracker
+import org.neo4j.memory.LocalMemoryTracker
+
+class NodeHashJoinOffHeapSlottedPipeTest extends CypherFunSuite {
+
+  private val NULL = -1
+
+  private val lhs = SlotConfiguration.empty
+    .newLong("a", nullable = false, CTNode)
+    .newLong("b", nullable = true, CTNode)
+
+  private val rhs = SlotConfiguration.empty
+    .newLong("b", nullable = true, CTNode)
+    .newLong("c", nullable = false, CTNode)
+
+  private val output = SlotConfiguration.empty
+    .newLong("a", nullable = false, CTNode)
+    .newLong("b", nullable = true, CTNode)
+    .newLong("c", nullable = false, CTNode)
+
+  private val rhsSlotMappings = SlotMappings(Array(SlotMapping(1, 2, true, true)), Array())
+
+  private var blockAllocator: OffHeapBlockAllocator = _
+
+  override protected def beforeEach(): Unit = {
+    super.beforeEach()
+    blockAllocator = new CachingOffHeapBlockAllocator()
+  }
+
+  override protected def afterEach(): Unit = {
+    blockAllocator.release()
+    super.afterEach()
+  }
+
+  test("should not fetch results from RHS if LHS is empty") {
+    // given
+    val right = mock[Pipe]
+
+    // when
+    val result = NodeHashJoinOffHeapSlottedPipe(
+      KeyOffsets.longs(1),
+      KeyOffsets.longs(0),
+      mockPipeFor(lhs),
+      right,
+      output,
+      lhs.numberOfLongs,
+      rhsSlotMappings,
+      blockAllocator
+    )().createResults(QueryStateHelper.emptyWithValueSerialization)
+
+    // then
+    result should be(empty)
+    verifyNoInteractions(right)
+  }
+
+  test("should join on a single node") {
+    // given
+    val left = mockPipeFor(lhs, RowL(1, 10), RowL(2, 10), RowL(3, 20), RowL(4, NULL))
+    val right = mockPipeFor(rhs, RowL(10, 100), RowL(20, 200), RowL(30, 300), RowL(NULL, 400))
+
+    // when
+    val result = NodeHashJoinOffHeapSlottedPipe(
+      KeyOffsets.longs(1),
+      KeyOffsets.longs(0),
+      left,
+      right,
+      output,
+      lhs.numberOfLongs,
+      rhsSlotMappings,
+      blockAllocator
+    )().createResults(QueryStateHelper.emptyWithValueSerialization)
+
+    // then
+    result.map(row => (row.getLongAt(0), row.getLongAt(1), row.getLongAt(2))).toList should contain theSameElementsAs
+      Seq((1L, 10L, 100L), (2L, 10L, 100L), (3L, 20L, 200L))
+  }
+
+  test("should join on several nodes") {
+    // given
+    val rows = (0 until 1000).map(i => RowL(i % 10, i % 7))
+    val left = mockPipeFor(lhs, rows: _*)
+    val right = mockPipeFor(lhs, rows.take(20): _*)
+    val output = SlotConfiguration.empty
+      .newLong("a", nullable = false, CTNode)
+      .newLong("b", nullable = true, CTNode)
+
+    // when
+    val result = NodeHashJoinOffHeapSlottedPipe(
+      KeyOffsets.longs(0, 1),
+      KeyOffsets.longs(0, 1),
+      left,
+      right,
+      output,
+      lhs.numberOfLongs,
+      SlotMappings(Array(), Array()),
+      blockAllocator
+    )().createResults(QueryStateHelper.emptyWithValueSerialization)
+
+    // then
+    val expected = for {
+      RowL(a, b) <- rows.take(20)
+      RowL(a2, b2) <- rows if a == a2 && b == b2
+    } yield (a, b)
+    result.map(row => (row.getLongAt(0), row.getLongAt(1))).toList should contain theSameElementsAs expected
+  }
+
+  test("exhaust should close table and release its memory") {
+    // given
+    val monitor = QueryStateHelper.trackClosedMonitor
+    val memoryTracker = new LocalMemoryTracker()
+    val queryState = QueryStateHelper.emptyWithResourceManager(
+      new ResourceManager(monitor),
+      new SingleMemoryTrackerForOperatorProvider(memoryTracker)
+    )
+
+    // when
+    NodeHashJoinOffHeapSlottedPipe(
+      KeyOffsets.longs(1),
+      KeyOffsets.longs(0),
+      mockPipeFor(lhs, RowL(1, 10)),
+      mockPipeFor(rhs, RowL(10, 100)),
+      output,
+      lhs.numberOfLongs,
+      rhsSlotMappings,
+      blockAllocator
+    )().createResults(queryState).toList
+
+    // then
+    monitor.closedResources.collect { case t: OffHeapLongProbeTable => t } should have size 1
+    memoryTracker.usedNativeMemory() shouldBe 0
+  }
+
+  test("close should close table") {
+    // given
+    val monitor = QueryStateHelper.trackClosedMonitor
+    val queryState = QueryStateHelper.emptyWithResourceManager(new ResourceManager(monitor))
+
+    // when
+    val result = NodeHashJoinOffHeapSlottedPipe(
+      KeyOffsets.longs(1),
+      KeyOffsets.longs(0),
+      mockPipeFor(lhs, RowL(1, 10)),
+      mockPipeFor(rhs, RowL(10, 100)),
+      output,
+      lhs.numberOfLongs,
+      rhsSlotMappings,
+      blockAllocator
+    )().createResults(queryState)
+    result.close()
+
+    // then
+    monitor.closedResources.collect { case t: OffHeapLongProbeTable => t } should have size 1
+  }
+
+  test("block allocator should be released when its life shuts down") {
+    // given
+    val life = new LifeSupport()
+    life.start()
+    val allocator = NodeHashJoinOffHeapSlottedPipe.createBlockAllocator(life)
+
+    // when
+    life.shutdown()
+
+    // then
+    an[IllegalStateException] should be thrownBy allocator.allocate(1024, EmptyMemoryTracker.INSTANCE)
+  }
+}
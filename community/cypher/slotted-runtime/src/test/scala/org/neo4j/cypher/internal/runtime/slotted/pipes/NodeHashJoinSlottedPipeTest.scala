@@ -28,6 +28,7 @@ import org.neo4j.cypher.internal.runtime.ResourceManager
 import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
 import org.neo4j.cypher.internal.runtime.slotted.SlottedPipeMapper.SlotMappings
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpillingTestSupport
 import org.neo4j.cypher.internal.runtime.slotted.pipes.HashJoinSlottedPipeTestHelper.RowL
 import org.neo4j.cypher.internal.runtime.slotted.pipes.HashJoinSlottedPipeTestHelper.mockPipeFor
 import org.neo4j.cypher.internal.runtime.slotted.pipes.NodeHashJoinSlottedPipe.KeyOffsets
@@ -38,7 +39,7 @@ import org.neo4j.kernel.impl.util.collection
 
 import scala.collection.immutable
 
-class NodeHashJoinSlottedPipeTest extends CypherFunSuite {
+class NodeHashJoinSlottedPipeTest extends CypherFunSuite with SlottedRowSpillingTestSupport {
 
   private val node0 = 0
   private val NULL = -1
@@ -189,4 +190,47 @@ class NodeHashJoinSlottedPipeTest extends CypherFunSuite {
     // then
     monitor.closedResources.collect { case t: collection.ProbeTable[_, _] => t } should have size (1)
   }
+
+  test("should join spilled rows") {
+    // given
+    val lhs = SlotConfiguration.empty
+    lhs.newLong("a", nullable = false, CTNode)
+    lhs.newLong("b", nullable = false, CTNode)
+
+    val rhs = SlotConfiguration.empty
+    rhs.newLong("b", nullable = false, CTNode)
+    rhs.newLong("c", nullable = false, CTNode)
+
+    val output = SlotConfiguration.empty
+    output.newLong("a", nullable = false, CTNode)
+    output.newLong("b", nullable = false, CTNode)
+    output.newLong("c", nullable = false, CTNode)
+
+    val a_b = (0 until 1000).map(i => RowL(i.toLong, (i % 50).toLong))
+    val b_c = (0 until 100).map(i => RowL((i % 50).toLong, i.toLong))
+
+    // when
+    val result = NodeHashJoinSlottedPipe(
+      lhsKeyOffsets = KeyOffsets.longs(1),
+      rhsKeyOffsets = KeyOffsets.longs(0),
+      left = mockPipeFor(lhs, a_b: _*),
+      right = mockPipeFor(rhs, b_c: _*),
+      slots = output,
+      rhsSlotMappings = SlotMappings(
+        slotMapping = Array(SlotMapping(1, 2, true, true)),
+        cachedPropertyMappings = Array()
+      ),
+      spilling = Some(NodeHashJoinSlottedPipe.Spilling(spilling(lhs), spilling(rhs)))
+    )().createResults(spillingState())
+
+    // then
+    spillFiles should not be empty
+    val expected = for {
+      RowL(a, b) <- a_b
+      RowL(b2, c) <- b_c if b == b2
+    } yield (a, b, c)
+    result.map(row => (row.getLongAt(0), row.getLongAt(1), row.getLongAt(2))).toList should contain theSameElementsAs
+      expected
+    spillFiles shouldBe empty
+  }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.mockito.Mockito
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.ResourceManager
+import org.neo4j.cypher.internal.runtime.ThreadSafeResourceManager
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Collect
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Count
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.CountStar
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Distinct
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Max
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Min
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Sum
+import org.neo4j.cypher.internal.runtime.slotted.aggregation.SlottedGroupingAggTable
+import org.neo4j.cypher.internal.runtime.slotted.aggregation.SlottedNonGroupingAggTable
+import org.neo4j.cypher.internal.runtime.slotted.expressions.ReferenceFromSlot
+import org.neo4j.cypher.internal.runtime.slotted.pipes.ParallelAggregationSlottedPipe.Workers
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.cypher.internal.util.symbols.CTInteger
+import org.neo4j.cypher.internal.util.symbols.CTNode
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.scheduler.CallableExecutor
+import org.neo4j.values.storable.Values.longValue
+
+class ParallelAggregationSlottedPipeTest extends CypherFunSuite {
+
+  private val slots = SlotConfiguration.empty
+    .newReference("a", nullable = false, CTInteger)
+    .newReference("count", nullable = false, CTInteger)
+    .newReference("sum", nullable = false, CTInteger)
+    .newReference("min", nullable = true, CTInteger)
+    .newReference("max", nullable = true, CTInteger)
+
+  private val executor = mock[CallableExecutor]
+
+  test("should merge partial counts, sums, minimums and maximums") {
+    val x = ReferenceFromSlot(0)
+    val aggregations = Map(1 -> CountStar(), 2 -> Sum(x), 3 -> Min(x), 4 -> Max(x))
+    val mergeAggregations = ParallelAggregationSlottedPipe.mergeAggregations(aggregations).get
+    val state = QueryStateHelper.emptyWithResourceManager(new ResourceManager())
+    val table = new SlottedGroupingAggTable(
+      slots,
+      SlottedGroupingExpression1(SlotExpression(slots("a"), ReferenceFromSlot(0))),
+      mergeAggregations,
+      state,
+      Id(0),
+      SlotConfiguration.Size.zero
+    )
+    table.clear()
+
+    val partials = FakeSlottedPipe(
+      Seq(
+        Map("a" -> 1, "count" -> 2, "sum" -> 10, "min" -> 3, "max" -> 7),
+        Map("a" -> 2, "count" -> 1, "sum" -> 4, "min" -> 4, "max" -> 4),
+        Map("a" -> 1, "count" -> 3, "sum" -> 5, "min" -> 1, "max" -> 6)
+      ),
+      slots
+    ).createResults(state)
+    partials.foreach(table.processRow)
+
+    val result = table.result().map(row => (0 to 4).map(row.getRefAt)).toList
+    result should contain theSameElementsAs Seq(
+      Seq(longValue(1), longValue(5), longValue(15), longValue(1), longValue(7)),
+      Seq(longValue(2), longValue(1), longValue(4), longValue(4), longValue(4))
+    )
+  }
+
+  test("should not merge aggregations that cannot be computed from partial results") {
+    val x = ReferenceFromSlot(0)
+
+    ParallelAggregationSlottedPipe.mergeAggregations(Map(1 -> CountStar(), 2 -> Collect(x))) shouldBe None
+    ParallelAggregationSlottedPipe.mergeAggregations(Map(1 -> Distinct(Count(x), x, isOrdered = false))) shouldBe None
+  }
+
+  test("should aggregate sequentially when the resources of the query are not thread-safe") {
+    val state = QueryStateHelper.emptyWithResourceManager(new ResourceManager())
+
+    parallelPipe(sequentialResult = Seq(Map("count" -> 3))).createResults(state).map(_.getRefAt(1)).toList should
+      equal(Seq(longValue(3)))
+    Mockito.verify(state.query, Mockito.never()).createParallelQueryContext(Mockito.anyLong())
+    Mockito.verifyNoInteractions(executor)
+  }
+
+  test("should aggregate sequentially when the transaction has changes") {
+    val resourceManager = new ThreadSafeResourceManager(QueryStateHelper.trackClosedMonitor)
+    val state = QueryStateHelper.emptyWithResourceManager(resourceManager)
+    Mockito.when(state.query.transactionalContext.dataRead.transactionStateHasChanges).thenReturn(true)
+
+    parallelPipe(sequentialResult = Seq(Map("count" -> 3))).createResults(state).map(_.getRefAt(1)).toList should
+      equal(Seq(longValue(3)))
+    Mockito.verify(state.query, Mockito.never()).createParallelQueryContext(Mockito.anyLong())
+    Mockito.verifyNoInteractions(executor)
+  }
+
+  private def parallelPipe(sequentialResult: Seq[Map[Any, Any]]): ParallelAggregationSlottedPipe = {
+    val scanSlots = SlotConfiguration.empty.newLong("n", nullable = false, CTNode)
+    val noArguments = (_: Any) => SlotConfiguration.Size.zero
+    val chain = BatchedSlottedPipe.batch(AllNodesScanSlottedPipe("n", scanSlots)(), noArguments, batchSize = 3).get
+    val tableFactory = SlottedNonGroupingAggTable.Factory(slots, Map(1 -> CountStar()), SlotConfiguration.Size.zero)
+    ParallelAggregationSlottedPipe(
+      FakeSlottedPipe(sequentialResult, slots),
+      chain,
+      tableFactory,
+      tableFactory,
+      Workers(executor, count = 2)
+    )()
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.slotted.Ascending
+import org.neo4j.cypher.internal.runtime.slotted.SlottedExecutionContextOrdering
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRowSpillingTestSupport
+import org.neo4j.cypher.internal.util.symbols.CTAny
+import org.neo4j.cypher.internal.util.symbols.CTNode
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.values.storable.Values.longValue
+
+import scala.util.Random
+
+class SortSlottedPipeTest extends CypherFunSuite with SlottedRowSpillingTestSupport {
+
+  private val slots = SlotConfiguration.empty
+    .newLong("n", nullable = false, CTNode)
+    .newReference("x", nullable = true, CTAny)
+
+  private val comparator = SlottedExecutionContextOrdering.asComparator(List(Ascending(slots("x"))))
+
+  private val random = new Random(42)
+
+  private val data = (0 until 1000).map(i => Map[Any, Any]("n" -> i, "x" -> random.nextInt(10)))
+
+  private def expected: Seq[(Long, Any)] =
+    data.sortBy(_("x").asInstanceOf[Int]).map(row =>
+      (row("n").asInstanceOf[Int].toLong, longValue(row("x").asInstanceOf[Int]))
+    )
+
+  test("should sort rows in memory") {
+    val pipe = SortSlottedPipe(FakeSlottedPipe(data, slots), comparator, Some(spilling(slots, Long.MaxValue)))()
+
+    val result = pipe.createResults(spillingState())
+
+    spillFiles shouldBe empty
+    result.map(row => (row.getLongAt(0), row.getRefAt(0))).toList should equal(expected)
+  }
+
+  test("should merge spilled runs and keep the input order of equal rows") {
+    val pipe = SortSlottedPipe(FakeSlottedPipe(data, slots), comparator, Some(spilling(slots, 16 * 1024)))()
+
+    val result = pipe.createResults(spillingState())
+
+    spillFiles should not be empty
+    result.map(row => (row.getLongAt(0), row.getRefAt(0))).toList should equal(expected)
+    spillFiles shouldBe empty
+  }
+
+  test("close should delete spilled rows") {
+    val pipe = SortSlottedPipe(FakeSlottedPipe(data, slots), comparator, Some(spilling(slots, 16 * 1024)))()
+
+    val result = pipe.createResults(spillingState())
+    result.next()
+    result.close()
+
+    spillFiles shouldBe empty
+  }
+}
@@ -41,10 +41,12 @@ import org.neo4j.cypher.internal.options.CypherExecutionMode
 import org.neo4j.cypher.internal.options.CypherExpressionEngineOption
 import org.neo4j.cypher.internal.options.CypherInterpretedPipesFallbackOption
 import org.neo4j.cypher.internal.options.CypherOperatorEngineOption
+import org.neo4j.cypher.internal.options.CypherParallelAggregationOption
 import org.neo4j.cypher.internal.options.CypherParallelRuntimeSupportOption
 import org.neo4j.cypher.internal.options.CypherPlannerOption
 import org.neo4j.cypher.internal.options.CypherQueryOptions
 import org.neo4j.cypher.internal.options.CypherReplanOption
+import org.neo4j.cypher.internal.options.CypherRowBatchingOption
 import org.neo4j.cypher.internal.options.CypherRuntimeOption
 import org.neo4j.cypher.internal.options.CypherStatefulShortestPlanningModeOption
 import org.neo4j.cypher.internal.options.CypherUpdateStrategy
@@ -1016,7 +1018,9 @@ class FabricPlannerTest
           parallelRuntimeSupportOption = CypherParallelRuntimeSupportOption.all,
           eagerAnalyzer = CypherEagerAnalyzerOption.default,
           labelInference = LabelInferenceOption.default,
-          statefulShortestPlanningModeOption = CypherStatefulShortestPlanningModeOption.default
+          statefulShortestPlanningModeOption = CypherStatefulShortestPlanningModeOption.default,
+          rowBatching = CypherRowBatchingOption.default,
+          parallelAggregation = CypherParallelAggregationOption.default
         )
       )
 
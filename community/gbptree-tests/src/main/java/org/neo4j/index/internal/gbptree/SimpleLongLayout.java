@@ -24,9 +24,11 @@ import org.neo4j.io.pagecache.PageCursor;
 
 public class SimpleLongLayout extends TestLayout<MutableLong, MutableLong> {
     private final int keyPadding;
+    private final boolean compareSerializedKey;
 
     public static class Builder {
         private int keyPadding;
+        private boolean compareSerializedKey = true;
         private int identifier = 999;
         private int majorVersion;
         private int minorVersion;
@@ -57,8 +59,14 @@ public class SimpleLongLayout extends TestLayout<MutableLong, MutableLong> {
             return this;
         }
 
+        public Builder withCompareSerializedKey(boolean compareSerializedKey) {
+            this.compareSerializedKey = compareSerializedKey;
+            return this;
+        }
+
         public SimpleLongLayout build() {
-            return new SimpleLongLayout(keyPadding, fixedSize, identifier, majorVersion, minorVersion);
+            return new SimpleLongLayout(
+                    keyPadding, compareSerializedKey, fixedSize, identifier, majorVersion, minorVersion);
         }
     }
 
@@ -66,9 +74,16 @@ public class SimpleLongLayout extends TestLayout<MutableLong, MutableLong> {
         return new Builder();
     }
 
-    private SimpleLongLayout(int keyPadding, boolean fixedSize, int identifier, int majorVersion, int minorVersion) {
+    private SimpleLongLayout(
+            int keyPadding,
+            boolean compareSerializedKey,
+            boolean fixedSize,
+            int identifier,
+            int majorVersion,
+            int minorVersion) {
         super(fixedSize, identifier, majorVersion, minorVersion);
         this.keyPadding = keyPadding;
+        this.compareSerializedKey = compareSerializedKey;
     }
 
     @Override
@@ -76,6 +91,16 @@ public class SimpleLongLayout extends TestLayout<MutableLong, MutableLong> {
         return Long.compare(o1.longValue(), o2.longValue());
     }
 
+    @Override
+    public boolean canCompareSerializedKey() {
+        return compareSerializedKey;
+    }
+
+    @Override
+    public int compareSerializedKey(MutableLong key, PageCursor cursor, int offset) {
+        return Long.compare(key.longValue(), cursor.getLong(offset));
+    }
+
     @Override
     protected int compareValue(MutableLong v1, MutableLong v2) {
         return compare(v1, v2);
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
+import static org.neo4j.index.internal.gbptree.GBPTreeConsistencyCheckerTestBase.inspect;
+import static org.neo4j.index.internal.gbptree.GBPTreeTestUtil.consistencyCheckStrict;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.PageCacheExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+@PageCacheExtension
+@ExtendWith(RandomExtension.class)
+abstract class GBPTreeBulkLoaderTestBase<KEY, VALUE> {
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+
+    @Inject
+    private TestDirectory testDirectory;
+
+    @Inject
+    private RandomSupport random;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private TestLayout<KEY, VALUE> layout;
+
+    abstract TestLayout<KEY, VALUE> getLayout(RandomSupport random, int pageSize);
+
+    @BeforeEach
+    void setUp() {
+        layout = getLayout(random, pageCache.pageSize());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldSeeAllBulkLoadedEntries() throws IOException {
+        List<Long> expected = new ArrayList<>();
+        try (GBPTree<KEY, VALUE> tree = tree()) {
+            try (BulkLoader<KEY, VALUE> bulkLoader = tree.bulkLoader(NULL_CONTEXT)) {
+                long seed = 0;
+                for (int i = 0; i < 20_000; i++) {
+                    seed += random.nextInt(1, 4);
+                    bulkLoader.add(layout.key(seed), layout.value(seed));
+                    expected.add(seed);
+                }
+                bulkLoader.finish();
+            }
+
+            assertThat(inspect(tree).single().lastLevel()).isGreaterThan(0);
+            assertThat(seeds(tree)).containsExactlyElementsOf(expected);
+            assertThat(consistencyCheckStrict(tree)).isTrue();
+            tree.checkpoint(FileFlushEvent.NULL, NULL_CONTEXT);
+        }
+
+        try (GBPTree<KEY, VALUE> tree = tree()) {
+            assertThat(seeds(tree)).containsExactlyElementsOf(expected);
+            assertThat(consistencyCheckStrict(tree)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldHandleEmptyBulkLoad() throws IOException {
+        try (GBPTree<KEY, VALUE> tree = tree()) {
+            try (BulkLoader<KEY, VALUE> bulkLoader = tree.bulkLoader(NULL_CONTEXT)) {
+                bulkLoader.finish();
+            }
+
+            assertThat(seeds(tree)).isEmpty();
+            assertThat(consistencyCheckStrict(tree)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldDiscardEntriesIfClosedWithoutFinish() throws IOException {
+        try (GBPTree<KEY, VALUE> tree = tree()) {
+            try (BulkLoader<KEY, VALUE> bulkLoader = tree.bulkLoader(NULL_CONTEXT)) {
+                for (long seed = 0; seed < 10_000; seed++) {
+                    bulkLoader.add(layout.key(seed), layout.value(seed));
+                }
+            }
+
+            assertThat(seeds(tree)).isEmpty();
+            assertThat(consistencyCheckStrict(tree)).isTrue();
+
+            // and the tree can still be loaded
+            try (BulkLoader<KEY, VALUE> bulkLoader = tree.bulkLoader(NULL_CONTEXT)) {
+                bulkLoader.add(layout.key(1), layout.value(1));
+                bulkLoader.finish();
+            }
+            assertThat(seeds(tree)).containsExactly(1L);
+            assertThat(consistencyCheckStrict(tree)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldNotAllowAddAfterFinish() throws IOException {
+        try (GBPTree<KEY, VALUE> tree = tree();
+                BulkLoader<KEY, VALUE> bulkLoader = tree.bulkLoader(NULL_CONTEXT)) {
+            bulkLoader.add(layout.key(1), layout.value(1));
+            bulkLoader.finish();
+
+            assertThatThrownBy(() -> bulkLoader.add(layout.key(2), layout.value(2)))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void shouldAllowUpdatesAfterBulkLoad() throws IOException {
+        TreeSet<Long> expected = new TreeSet<>();
+        try (GBPTree<KEY, VALUE> tree = tree()) {
+            try (BulkLoader<KEY, VALUE> bulkLoader = tree.bulkLoader(NULL_CONTEXT)) {
+                for (long seed = 0; seed < 10_000; seed += 2) {
+                    bulkLoader.add(layout.key(seed), layout.value(seed));
+                    expected.add(seed);
+                }
+                bulkLoader.finish();
+            }
+
+            try (Writer<KEY, VALUE> writer = tree.writer(NULL_CONTEXT)) {
+                for (int i = 0; i < 5_000; i++) {
+                    long seed = random.nextLong(10_000);
+                    if (random.nextBoolean()) {
+                        writer.put(layout.key(seed), layout.value(seed));
+                        expected.add(seed);
+                    } else {
+                        writer.remove(layout.key(seed));
+                        expected.remove(seed);
+                    }
+                }
+            }
+
+            assertThat(seeds(tree)).containsExactlyElementsOf(expected);
+            assertThat(consistencyCheckStrict(tree)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldFailOnKeysNotInAscendingOrder() throws IOException {
+        try (GBPTree<KEY, VALUE> tree = tree();
+                BulkLoader<KEY, VALUE> bulkLoader = tree.bulkLoader(NULL_CONTEXT)) {
+            bulkLoader.add(layout.key(10), layout.value(10));
+
+            assertThatThrownBy(() -> bulkLoader.add(layout.key(10), layout.value(10)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> bulkLoader.add(layout.key(5), layout.value(5)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void shouldFailOnNonEmptyTree() throws IOException {
+        try (GBPTree<KEY, VALUE> tree = tree()) {
+            try (Writer<KEY, VALUE> writer = tree.writer(NULL_CONTEXT)) {
+                writer.put(layout.key(1), layout.value(1));
+            }
+
+            assertThatThrownBy(() -> tree.bulkLoader(NULL_CONTEXT))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("empty tree");
+            // and the failed attempt should not hold on to the writer lock
+            tree.writer(W_BATCHED_SINGLE_THREADED, NULL_CONTEXT).close();
+        }
+    }
+
+    @Test
+    void shouldNotAllowWritersWhileBulkLoading() throws IOException {
+        try (GBPTree<KEY, VALUE> tree = tree()) {
+            try (BulkLoader<KEY, VALUE> ignored = tree.bulkLoader(NULL_CONTEXT)) {
+                assertThatThrownBy(() -> executor.submit(() -> tree.writer(NULL_CONTEXT))
+                                .get())
+                        .hasCauseInstanceOf(IllegalStateException.class);
+                assertThatThrownBy(() -> executor.submit(() -> tree.bulkLoader(NULL_CONTEXT))
+                                .get())
+                        .hasCauseInstanceOf(IllegalStateException.class);
+            }
+            tree.writer(NULL_CONTEXT).close();
+        }
+    }
+
+    private GBPTree<KEY, VALUE> tree() {
+        return new GBPTreeBuilder<>(pageCache, fileSystem, testDirectory.file("index"), layout).build();
+    }
+
+    private List<Long> seeds(GBPTree<KEY, VALUE> tree) throws IOException {
+        List<Long> seeds = new ArrayList<>();
+        try (Seeker<KEY, VALUE> seeker = tree.seek(layout.key(0), layout.key(Long.MAX_VALUE), NULL_CONTEXT)) {
+            while (seeker.next()) {
+                long seed = layout.keySeed(seeker.key());
+                assertThat(layout.valueSeed(seeker.value())).isEqualTo(seed);
+                seeds.add(seed);
+            }
+        }
+        return seeds;
+    }
+}
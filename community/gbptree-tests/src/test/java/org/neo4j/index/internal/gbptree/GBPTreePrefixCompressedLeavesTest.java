@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.index.internal.gbptree.GBPTreeConsistencyCheckerTestBase.inspect;
+import static org.neo4j.index.internal.gbptree.GBPTreeOpenOptions.PREFIX_COMPRESSED_LEAVES;
+import static org.neo4j.index.internal.gbptree.GBPTreeTestUtil.consistencyCheckStrict;
+import static org.neo4j.index.internal.gbptree.RootLayerConfiguration.singleRoot;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.OpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.PageCacheExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+@PageCacheExtension
+@ExtendWith(RandomExtension.class)
+class GBPTreePrefixCompressedLeavesTest {
+    private static final byte[] COMMON_PREFIX = "https://example.org/a/rather/long/common/path/".getBytes(UTF_8);
+    private static final int ID_DIGITS = 6;
+    private static final int LARGE_KEY_SIZE = 5_000;
+    private static final ImmutableSet<OpenOption> COMPRESSED = Sets.immutable.of(PREFIX_COMPRESSED_LEAVES);
+
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+
+    @Inject
+    private TestDirectory testDirectory;
+
+    @Inject
+    private RandomSupport random;
+
+    private final SimpleByteArrayLayout layout = new SimpleByteArrayLayout(false);
+
+    @Test
+    void shouldStoreKeysWithCommonPrefixInFewerLeaves() throws IOException {
+        int count = 5_000;
+        int compressedLeaves;
+        try (GBPTree<RawBytes, RawBytes> tree = tree("compressed", COMPRESSED)) {
+            insert(tree, count);
+            compressedLeaves = inspect(tree).single().leafNodes().size();
+            assertThat(consistencyCheckStrict(tree)).isTrue();
+        }
+        int uncompressedLeaves;
+        try (GBPTree<RawBytes, RawBytes> tree = tree("uncompressed", Sets.immutable.empty())) {
+            insert(tree, count);
+            uncompressedLeaves = inspect(tree).single().leafNodes().size();
+        }
+
+        assertThat(compressedLeaves).isLessThan(uncompressedLeaves);
+    }
+
+    @Test
+    void shouldSeeAllKeysAfterRandomUpdatesAndReopen() throws IOException {
+        TreeSet<Integer> expected = new TreeSet<>();
+        try (GBPTree<RawBytes, RawBytes> tree = tree("index", COMPRESSED)) {
+            for (int round = 0; round < 10; round++) {
+                try (Writer<RawBytes, RawBytes> writer = tree.writer(NULL_CONTEXT)) {
+                    for (int i = 0; i < 1_000; i++) {
+                        int id = random.nextInt(3_000);
+                        if (random.nextInt(3) > 0) {
+                            writer.put(key(id), value(id));
+                            expected.add(id);
+                        } else {
+                            writer.remove(key(id));
+                            expected.remove(id);
+                        }
+                    }
+                }
+                assertThat(ids(tree)).containsExactlyElementsOf(expected);
+                assertThat(consistencyCheckStrict(tree)).isTrue();
+            }
+            tree.checkpoint(FileFlushEvent.NULL, NULL_CONTEXT);
+        }
+
+        try (GBPTree<RawBytes, RawBytes> tree = tree("index", COMPRESSED)) {
+            assertThat(ids(tree)).containsExactlyElementsOf(expected);
+            assertThat(consistencyCheckStrict(tree)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldOpenExistingCompressedTreeWithoutCompressionOption() throws IOException {
+        shouldOpenExistingTreeInItsStoredLeafFormat(COMPRESSED, Sets.immutable.empty());
+    }
+
+    @Test
+    void shouldOpenExistingUncompressedTreeWithCompressionOption() throws IOException {
+        shouldOpenExistingTreeInItsStoredLeafFormat(Sets.immutable.empty(), COMPRESSED);
+    }
+
+    private void shouldOpenExistingTreeInItsStoredLeafFormat(
+            ImmutableSet<OpenOption> createOptions, ImmutableSet<OpenOption> reopenOptions) throws IOException {
+        try (GBPTree<RawBytes, RawBytes> tree = tree("index", createOptions)) {
+            insert(tree, 0, 1_000);
+            tree.checkpoint(FileFlushEvent.NULL, NULL_CONTEXT);
+        }
+
+        try (GBPTree<RawBytes, RawBytes> tree = tree("index", reopenOptions)) {
+            assertThat(ids(tree)).hasSize(1_000);
+            insert(tree, 1_000, 2_000);
+            assertThat(consistencyCheckStrict(tree)).isTrue();
+            tree.checkpoint(FileFlushEvent.NULL, NULL_CONTEXT);
+        }
+
+        try (GBPTree<RawBytes, RawBytes> tree = tree("index", createOptions)) {
+            assertThat(ids(tree)).hasSize(2_000);
+            assertThat(consistencyCheckStrict(tree)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldVerifyMetaAgainstLeafFormatOfOpenOptions() {
+        Meta meta = Meta.from(pageCache.pageSize(), layout, null, DefaultTreeNodeSelector.selector(COMPRESSED));
+
+        meta.verify(layout, singleRoot(), COMPRESSED);
+        assertThatThrownBy(() -> meta.verify(layout, singleRoot(), Sets.immutable.empty()))
+                .isInstanceOf(MetadataMismatchException.class);
+    }
+
+    private GBPTree<RawBytes, RawBytes> tree(String name, ImmutableSet<OpenOption> openOptions) {
+        return new GBPTreeBuilder<>(pageCache, fileSystem, testDirectory.file(name), layout)
+                .with(openOptions)
+                .build();
+    }
+
+    private void insert(GBPTree<RawBytes, RawBytes> tree, int count) throws IOException {
+        insert(tree, 0, count);
+    }
+
+    private void insert(GBPTree<RawBytes, RawBytes> tree, int fromId, int toId) throws IOException {
+        try (Writer<RawBytes, RawBytes> writer = tree.writer(NULL_CONTEXT)) {
+            for (int id = fromId; id < toId; id++) {
+                writer.put(key(id), value(id));
+            }
+        }
+    }
+
+    private List<Integer> ids(GBPTree<RawBytes, RawBytes> tree) throws IOException {
+        RawBytes from = layout.newKey();
+        RawBytes to = layout.newKey();
+        layout.initializeAsLowest(from);
+        layout.initializeAsHighest(to);
+        List<Integer> ids = new ArrayList<>();
+        try (Seeker<RawBytes, RawBytes> seeker = tree.seek(from, to, NULL_CONTEXT)) {
+            while (seeker.next()) {
+                int id = Integer.parseInt(new String(seeker.key().bytes, COMMON_PREFIX.length, ID_DIGITS, UTF_8));
+                assertThat(seeker.value().bytes).isEqualTo(value(id).bytes);
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Keys share a long prefix and are ordered by id. Their length varies, some are large enough to be offloaded.
+     */
+    private RawBytes key(int id) {
+        byte[] digits = String.format("%0" + ID_DIGITS + "d", id).getBytes(UTF_8);
+        int tail = id % 97 == 0 ? LARGE_KEY_SIZE : id % 5;
+        RawBytes key = layout.newKey();
+        key.bytes = ByteBuffer.allocate(COMMON_PREFIX.length + digits.length + tail)
+                .put(COMMON_PREFIX)
+                .put(digits)
+                .array();
+        return key;
+    }
+
+    private RawBytes value(int id) {
+        RawBytes value = layout.newValue();
+        value.bytes = ByteBuffer.allocate(Integer.BYTES).putInt(id).array();
+        return value;
+    }
+}
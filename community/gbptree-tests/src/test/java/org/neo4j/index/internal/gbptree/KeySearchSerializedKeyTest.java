@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.index.internal.gbptree.SimpleLongLayout.longLayout;
+import static org.neo4j.index.internal.gbptree.TreeNodeUtil.DATA_LAYER_FLAG;
+import static org.neo4j.io.pagecache.ByteArrayPageCursor.wrap;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+
+import java.io.IOException;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+
+/**
+ * Verifies that searching fixed size nodes by comparing keys where they are in the page gives the same results
+ * as searching by reading each key.
+ */
+@ExtendWith(RandomExtension.class)
+class KeySearchSerializedKeyTest {
+    private static final int STABLE_GENERATION = 1;
+    private static final int UNSTABLE_GENERATION = 2;
+    private static final int PAGE_SIZE = 8192;
+
+    private final PageCursor cursor = wrap(new byte[PAGE_SIZE], 0, PAGE_SIZE);
+    private final SimpleLongLayout layout = longLayout().build();
+    private final SimpleLongLayout readingLayout = longLayout().withCompareSerializedKey(false).build();
+    private final MutableLong readKey = layout.newKey();
+
+    @Inject
+    private RandomSupport random;
+
+    @RepeatedTest(10)
+    void shouldSearchLeafLikeReadingKeys() throws IOException {
+        // given
+        LeafNodeFixedSize<MutableLong, MutableLong> leaf = new LeafNodeFixedSize<>(PAGE_SIZE, layout);
+        LeafNodeFixedSize<MutableLong, MutableLong> readingLeaf = new LeafNodeFixedSize<>(PAGE_SIZE, readingLayout);
+        assertThat(leaf.canCompareKeyAt()).isTrue();
+        assertThat(readingLeaf.canCompareKeyAt()).isFalse();
+        leaf.initialize(cursor, DATA_LAYER_FLAG, STABLE_GENERATION, UNSTABLE_GENERATION);
+        int keyCount = random.nextInt(leaf.maxKeyCount() + 1);
+        long[] keys = sortedKeys(keyCount);
+        MutableLong key = layout.newKey();
+        for (int i = 0; i < keyCount; i++) {
+            key.setValue(keys[i]);
+            leaf.insertKeyValueAt(cursor, key, key, i, i, STABLE_GENERATION, UNSTABLE_GENERATION, NULL_CONTEXT);
+        }
+        TreeNodeUtil.setKeyCount(cursor, keyCount);
+
+        // then
+        assertSameSearchResults(leaf, readingLeaf, keys);
+    }
+
+    @RepeatedTest(10)
+    void shouldSearchInternalLikeReadingKeys() throws IOException {
+        // given
+        InternalNodeFixedSize<MutableLong> internal = new InternalNodeFixedSize<>(PAGE_SIZE, layout);
+        InternalNodeFixedSize<MutableLong> readingInternal = new InternalNodeFixedSize<>(PAGE_SIZE, readingLayout);
+        assertThat(internal.canCompareKeyAt()).isTrue();
+        assertThat(readingInternal.canCompareKeyAt()).isFalse();
+        internal.initialize(cursor, DATA_LAYER_FLAG, STABLE_GENERATION, UNSTABLE_GENERATION);
+        int keyCount = random.nextInt(internal.maxKeyCount() + 1);
+        long[] keys = sortedKeys(keyCount);
+        MutableLong key = layout.newKey();
+        for (int i = 0; i < keyCount; i++) {
+            key.setValue(keys[i]);
+            internal.insertKeyAndRightChildAt(
+                    cursor, key, 10, i, i, STABLE_GENERATION, UNSTABLE_GENERATION, NULL_CONTEXT);
+        }
+        TreeNodeUtil.setKeyCount(cursor, keyCount);
+
+        // then
+        assertSameSearchResults(internal, readingInternal, keys);
+    }
+
+    private void assertSameSearchResults(
+            SharedNodeBehaviour<MutableLong> node, SharedNodeBehaviour<MutableLong> readingNode, long[] keys) {
+        int keyCount = keys.length;
+        MutableLong searchKey = layout.newKey();
+        for (long key : keys) {
+            for (long delta = -1; delta <= 1; delta++) {
+                assertSameSearchResult(node, readingNode, key(searchKey, key + delta), keyCount);
+            }
+        }
+        assertSameSearchResult(node, readingNode, key(searchKey, Long.MIN_VALUE), keyCount);
+        assertSameSearchResult(node, readingNode, key(searchKey, Long.MAX_VALUE), keyCount);
+        for (int i = 0; i < 100; i++) {
+            assertSameSearchResult(node, readingNode, key(searchKey, random.nextLong()), keyCount);
+        }
+    }
+
+    private void assertSameSearchResult(
+            SharedNodeBehaviour<MutableLong> node,
+            SharedNodeBehaviour<MutableLong> readingNode,
+            MutableLong key,
+            int keyCount) {
+        int expected = KeySearch.search(cursor, readingNode, key, readKey, keyCount, NULL_CONTEXT);
+        int actual = KeySearch.search(cursor, node, key, readKey, keyCount, NULL_CONTEXT);
+        assertThat(actual).as("search result for %s", key).isEqualTo(expected);
+    }
+
+    private long[] sortedKeys(int count) {
+        long[] keys = new long[count];
+        long key = random.nextLong(-1_000_000, 1_000_000);
+        for (int i = 0; i < count; i++) {
+            // Gaps between keys so that there are misses in between them, and some duplicates, like in internal nodes
+            key += random.nextInt(4);
+            keys[i] = key;
+        }
+        return keys;
+    }
+
+    private static MutableLong key(MutableLong into, long value) {
+        into.setValue(value);
+        return into;
+    }
+}
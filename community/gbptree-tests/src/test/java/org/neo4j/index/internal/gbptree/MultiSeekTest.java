@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.FixedVersionContextSupplier.EMPTY_CONTEXT_SUPPLIER;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.DefaultFileSystemExtension;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.PageCacheSupportExtension;
+import org.neo4j.test.extension.testdirectory.TestDirectorySupportExtension;
+import org.neo4j.test.utils.PageCacheConfig;
+import org.neo4j.test.utils.TestDirectory;
+
+@ExtendWith({RandomExtension.class, DefaultFileSystemExtension.class, TestDirectorySupportExtension.class})
+class MultiSeekTest {
+    private static final int PAGE_SIZE = 512;
+    // Only even keys are inserted, so that odd keys are misses
+    private static final int NUMBER_OF_KEYS = 10_000;
+    private static final long HIGHEST_KEY = 2L * (NUMBER_OF_KEYS - 1);
+
+    @RegisterExtension
+    static PageCacheSupportExtension pageCacheSupportExtension =
+            new PageCacheSupportExtension(PageCacheConfig.config().withPageSize(PAGE_SIZE));
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+
+    @Inject
+    private TestDirectory testDirectory;
+
+    @Inject
+    private RandomSupport random;
+
+    @Inject
+    private PageCache pageCache;
+
+    private SimpleLongLayout layout;
+    private Path treeFile;
+
+    @BeforeEach
+    void setup() {
+        layout = SimpleLongLayout.longLayout().build();
+        treeFile = testDirectory.file("tree");
+    }
+
+    @Test
+    void shouldFindSameHitsAsSeparateSeeksForSortedExactMatches() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = instantiateTree()) {
+            // given
+            List<MutableLong> keys = new ArrayList<>();
+            long key = random.nextLong(10);
+            while (key <= HIGHEST_KEY + 10) {
+                keys.add(layout.key(key));
+                key += 1 + random.nextInt(random.nextBoolean() ? 5 : 500);
+            }
+
+            // then
+            assertSameHitsAsSeparateSeeks(tree, keys, keys);
+        }
+    }
+
+    @Test
+    void shouldFindSameHitsAsSeparateSeeksForSortedRanges() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = instantiateTree()) {
+            // given
+            List<MutableLong> fromInclusive = new ArrayList<>();
+            List<MutableLong> toExclusive = new ArrayList<>();
+            long from = random.nextLong(10);
+            while (from <= HIGHEST_KEY + 10) {
+                long to = from + random.nextInt(50);
+                fromInclusive.add(layout.key(from));
+                toExclusive.add(layout.key(to));
+                from = to + random.nextInt(random.nextBoolean() ? 5 : 500);
+            }
+
+            // then
+            assertSameHitsAsSeparateSeeks(tree, fromInclusive, toExclusive);
+        }
+    }
+
+    @Test
+    void shouldFindSameHitsAsSeparateSeeksForRangesInAnyOrderAndDirection() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = instantiateTree()) {
+            // given
+            List<MutableLong> fromInclusive = new ArrayList<>();
+            List<MutableLong> toExclusive = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                long from = random.nextLong(HIGHEST_KEY + 10);
+                long to = random.nextBoolean() ? from : from + random.nextLong(-100, 100);
+                fromInclusive.add(layout.key(from));
+                toExclusive.add(layout.key(to));
+            }
+
+            // then
+            assertSameHitsAsSeparateSeeks(tree, fromInclusive, toExclusive);
+        }
+    }
+
+    @Test
+    void shouldFindSameHitsAsSeparateSeeksForDuplicateExactMatches() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = instantiateTree()) {
+            // given
+            List<MutableLong> keys = new ArrayList<>();
+            for (long key = 0; key < HIGHEST_KEY; key += random.nextInt(1, 100)) {
+                keys.add(layout.key(key));
+                if (random.nextBoolean()) {
+                    keys.add(layout.key(key));
+                }
+            }
+
+            // then
+            assertSameHitsAsSeparateSeeks(tree, keys, keys);
+        }
+    }
+
+    @Test
+    void shouldVisitFewerPagesThanSeparateSeeksForCloseKeys() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = instantiateTree()) {
+            // given
+            List<MutableLong> keys = new ArrayList<>();
+            for (long key = 0; key <= HIGHEST_KEY; key += 4) {
+                keys.add(layout.key(key));
+            }
+            var contextFactory = new CursorContextFactory(new DefaultPageCacheTracer(), EMPTY_CONTEXT_SUPPLIER);
+
+            // when
+            long separatePins;
+            try (CursorContext cursorContext = contextFactory.create("separate")) {
+                separateSeeks(tree, keys, keys, cursorContext);
+                separatePins = cursorContext.getCursorTracer().pins();
+            }
+            long multiPins;
+            try (CursorContext cursorContext = contextFactory.create("multi")) {
+                multiSeek(tree, keys, keys, cursorContext);
+                multiPins = cursorContext.getCursorTracer().pins();
+            }
+
+            // then
+            assertThat(multiPins).isLessThan(separatePins / 2);
+        }
+    }
+
+    @Test
+    void shouldRequireAsManyLowerAsHigherBounds() throws IOException {
+        try (GBPTree<MutableLong, MutableLong> tree = instantiateTree()) {
+            assertThatThrownBy(() -> tree.multiSeek(
+                            List.of(layout.key(0), layout.key(2)), List.of(layout.key(1)), NULL_CONTEXT))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private void assertSameHitsAsSeparateSeeks(
+            GBPTree<MutableLong, MutableLong> tree, List<MutableLong> fromInclusive, List<MutableLong> toExclusive)
+            throws IOException {
+        List<Long> expected = separateSeeks(tree, fromInclusive, toExclusive, NULL_CONTEXT);
+        List<Long> actual = multiSeek(tree, fromInclusive, toExclusive, NULL_CONTEXT);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private List<Long> separateSeeks(
+            GBPTree<MutableLong, MutableLong> tree,
+            List<MutableLong> fromInclusive,
+            List<MutableLong> toExclusive,
+            CursorContext cursorContext)
+            throws IOException {
+        List<Long> hits = new ArrayList<>();
+        for (int i = 0; i < fromInclusive.size(); i++) {
+            // Copies, since a seek may change the keys it is given
+            MutableLong from = layout.copyKey(fromInclusive.get(i));
+            MutableLong to = layout.copyKey(toExclusive.get(i));
+            try (Seeker<MutableLong, MutableLong> seeker = tree.seek(from, to, cursorContext)) {
+                collectHits(seeker, hits);
+            }
+        }
+        return hits;
+    }
+
+    private List<Long> multiSeek(
+            GBPTree<MutableLong, MutableLong> tree,
+            List<MutableLong> fromInclusive,
+            List<MutableLong> toExclusive,
+            CursorContext cursorContext)
+            throws IOException {
+        List<Long> hits = new ArrayList<>();
+        try (Seeker<MutableLong, MutableLong> seeker =
+                tree.multiSeek(copyKeys(fromInclusive), copyKeys(toExclusive), cursorContext)) {
+            collectHits(seeker, hits);
+        }
+        return hits;
+    }
+
+    private List<MutableLong> copyKeys(List<MutableLong> keys) {
+        return keys.stream().map(layout::copyKey).toList();
+    }
+
+    private static void collectHits(Seeker<MutableLong, MutableLong> seeker, List<Long> hits) throws IOException {
+        while (seeker.next()) {
+            hits.add(seeker.key().longValue());
+            assertThat(seeker.value().longValue()).isEqualTo(seeker.key().longValue());
+        }
+    }
+
+    private GBPTree<MutableLong, MutableLong> instantiateTree() throws IOException {
+        GBPTree<MutableLong, MutableLong> tree = new GBPTreeBuilder<>(pageCache, fileSystem, treeFile, layout).build();
+        try (Writer<MutableLong, MutableLong> writer = tree.writer(W_BATCHED_SINGLE_THREADED, NULL_CONTEXT)) {
+            for (int i = 0; i < NUMBER_OF_KEYS; i++) {
+                writer.put(layout.key(2L * i), layout.value(2L * i));
+            }
+        }
+        return tree;
+    }
+}
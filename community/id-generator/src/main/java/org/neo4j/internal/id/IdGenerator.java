@@ -25,6 +25,7 @@ import org.neo4j.annotations.documented.ReporterFactory;
 import org.neo4j.collection.PrimitiveLongResourceCollections;
 import org.neo4j.collection.PrimitiveLongResourceIterator;
 import org.neo4j.internal.helpers.progress.ProgressMonitorFactory;
+import org.neo4j.internal.id.range.ContinuousIdRange;
 import org.neo4j.internal.id.range.PageIdRange;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.context.CursorContextFactory;
@@ -72,6 +73,20 @@ public interface IdGenerator extends IdSequence, Closeable, ConsistencyCheckable
      */
     void releasePageRange(PageIdRange range, CursorContext cursorContext);
 
+    /**
+     * Reserves a chunk of up to {@code maxIds} IDs for a single user to hand out with {@link PageIdRange#nextId()},
+     * without coming back to this generator for every ID. Unlike {@link #nextPageRange(CursorContext, int)}
+     * the IDs need neither be consecutive nor cover a page. IDs that are left in the chunk when the user is done
+     * with it must be given back using {@link PageIdRange#unallocate(TransactionalMarker)}.
+     *
+     * @param cursorContext for tracking cursor interaction.
+     * @param maxIds maximum number of IDs to reserve.
+     * @return a chunk of at least one reserved ID.
+     */
+    default PageIdRange nextIdChunk(CursorContext cursorContext, int maxIds) {
+        return new ContinuousIdRange(nextId(cursorContext), 1, maxIds);
+    }
+
     /**
      * @param id the highest in use + 1
      */
@@ -335,6 +350,11 @@ public interface IdGenerator extends IdSequence, Closeable, ConsistencyCheckable
             delegate.releasePageRange(range, cursorContext);
         }
 
+        @Override
+        public PageIdRange nextIdChunk(CursorContext cursorContext, int maxIds) {
+            return delegate.nextIdChunk(cursorContext, maxIds);
+        }
+
         @Override
         public void setHighId(long id) {
             delegate.setHighId(id);
@@ -121,6 +121,16 @@ public class IdRangeLayout extends Layout.Adapter<IdRangeKey, IdRange> {
         return Long.compare(o1.getIdRangeIdx(), o2.getIdRangeIdx());
     }
 
+    @Override
+    public boolean canCompareSerializedKey() {
+        return true;
+    }
+
+    @Override
+    public int compareSerializedKey(IdRangeKey key, PageCursor cursor, int offset) {
+        return Long.compare(key.getIdRangeIdx(), cursor.getLong(offset));
+    }
+
     long idRangeIndex(long id) {
         return id / idsPerEntry;
     }
@@ -521,6 +521,52 @@ public class IndexedIdGenerator implements IdGenerator {
         lockedPageRanges.remove(range.pageId());
     }
 
+    @Override
+    public PageIdRange nextIdChunk(CursorContext cursorContext, int maxIds) {
+        if (maxIds == 1) {
+            return new ContinuousIdRange(nextId(cursorContext), 1, 1);
+        }
+
+        // Cached IDs are preferred the same way as in nextId. They come out of the cache in no particular order and
+        // are already reserved, so if the chunk isn't used up then its leftovers are marked as unallocated on release
+        // and become free for reuse again.
+        long[] reusedIds = null;
+        int numberOfReusedIds = 0;
+        do {
+            checkRefillCache(cursorContext);
+            long id;
+            while (numberOfReusedIds < maxIds && (id = cache.takeOrDefault(NO_ID)) != NO_ID) {
+                if (reusedIds == null) {
+                    reusedIds = new long[maxIds];
+                }
+                reusedIds[numberOfReusedIds++] = id;
+                monitor.allocatedFromReused(id, 1);
+            }
+        } while (numberOfReusedIds == 0 && strictlyPrioritizeFreelist && scanner.hasMoreFreeIds(false));
+        if (numberOfReusedIds > 0) {
+            long[] ids = Arrays.copyOf(reusedIds, numberOfReusedIds);
+            Arrays.sort(ids);
+            return PageIdRange.wrap(ids, maxIds);
+        }
+
+        // A chunk from high ID is taken with a single increment. IDs that are never used by the chunk owner are
+        // covered by the ID gap bridging if a higher ID gets written, and if the owner crashes before releasing them.
+        long id = highId.getAndAdd(maxIds);
+        long endId = id + maxIds;
+        assertIdWithinMaxCapacity(idType, endId - 1, maxId);
+        monitor.allocatedFromHigh(id, maxIds);
+        if (!hasReservedIdInRange(id, endId)) {
+            return new ContinuousIdRange(id, maxIds, maxIds);
+        }
+        long[] ids = new long[maxIds - 1];
+        for (int i = 0; id < endId; id++) {
+            if (!IdValidator.isReservedId(id)) {
+                ids[i++] = id;
+            }
+        }
+        return new ArrayBasedRange(ids, maxIds);
+    }
+
     @Override
     public long nextConsecutiveIdRange(int numberOfIds, boolean favorSamePage, CursorContext cursorContext) {
         if (numberOfIds <= biggestSlotSize) {
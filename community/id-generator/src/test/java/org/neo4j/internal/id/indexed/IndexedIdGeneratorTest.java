@@ -1364,6 +1364,71 @@ class IndexedIdGeneratorTest {
         assertThat(idAfterUnallocated).isEqualTo(id);
     }
 
+    @Test
+    void shouldAllocateIdChunkFromHighId() throws IOException {
+        // given
+        open();
+        idGenerator.start(NO_FREE_IDS, NULL_CONTEXT);
+
+        // when
+        var chunk = idGenerator.nextIdChunk(NULL_CONTEXT, 8);
+
+        // then
+        for (int i = 0; i < 8; i++) {
+            assertThat(chunk.hasNext()).isTrue();
+            assertThat(chunk.nextId()).isEqualTo(i);
+        }
+        assertThat(chunk.hasNext()).isFalse();
+        assertThat(idGenerator.nextId(NULL_CONTEXT)).isEqualTo(8);
+    }
+
+    @Test
+    void shouldAllocateIdChunkFromReusedIdsBeforeHighId() throws IOException {
+        // given
+        open();
+        idGenerator.start(NO_FREE_IDS, NULL_CONTEXT);
+        var ids = new long[] {
+            idGenerator.nextId(NULL_CONTEXT), idGenerator.nextId(NULL_CONTEXT), idGenerator.nextId(NULL_CONTEXT)
+        };
+        for (long id : ids) {
+            markUsed(id);
+            markDeleted(id);
+            markFree(id);
+        }
+        idGenerator.maintenance(NULL_CONTEXT);
+
+        // when
+        var chunk = idGenerator.nextIdChunk(NULL_CONTEXT, 8);
+
+        // then
+        var allocated = new LongArrayList();
+        while (chunk.hasNext()) {
+            allocated.add(chunk.nextId());
+        }
+        assertThat(allocated.toArray()).containsExactly(ids);
+    }
+
+    @Test
+    void shouldReuseUnallocatedLeftoversOfIdChunk() throws IOException {
+        // given
+        open();
+        idGenerator.start(NO_FREE_IDS, NULL_CONTEXT);
+        var chunk = idGenerator.nextIdChunk(NULL_CONTEXT, 4);
+        var usedId = chunk.nextId();
+        markUsed(usedId);
+
+        // when
+        try (var marker = idGenerator.transactionalMarker(NULL_CONTEXT)) {
+            chunk.unallocate(marker);
+        }
+        idGenerator.maintenance(NULL_CONTEXT);
+
+        // then
+        assertThat(idGenerator.nextId(NULL_CONTEXT)).isEqualTo(usedId + 1);
+        assertThat(idGenerator.nextId(NULL_CONTEXT)).isEqualTo(usedId + 2);
+        assertThat(idGenerator.nextId(NULL_CONTEXT)).isEqualTo(usedId + 3);
+    }
+
     @Test
     void shouldReuseRolledbackIdAllocatedFromReusedId() throws IOException {
         // given
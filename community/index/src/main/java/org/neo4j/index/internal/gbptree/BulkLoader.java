@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import java.io.Closeable;
+import java.io.UncheckedIOException;
+
+/**
+ * Builds the contents of an empty tree from entries given in ascending key order, bottom-up and one node after the
+ * other, instead of inserting every entry from the root and down like a {@link Writer} does. Leaves are packed as
+ * full as they get.
+ * <p>
+ * The entries are not visible to readers until the bulk loader is {@link #finish() finished}, which is when the tree
+ * gets its new root. A bulk loader closed without being finished, e.g. because loading failed or was cancelled,
+ * discards what it has built and leaves the tree empty.
+ */
+public interface BulkLoader<KEY, VALUE> extends Closeable {
+    /**
+     * Add an entry to the tree being built.
+     *
+     * @param key key of the entry, which must be greater than all keys added before it.
+     * @param value value to associate with the key.
+     * @throws IllegalArgumentException if the key is not greater than the previously added key.
+     * @throws IllegalStateException if this bulk loader is already finished.
+     * @throws UncheckedIOException on index access error.
+     */
+    void add(KEY key, VALUE value);
+
+    /**
+     * Completes the tree from the entries added so far and makes it visible to readers. No more entries can be added
+     * after this call.
+     *
+     * @throws UncheckedIOException on index access error.
+     */
+    void finish();
+
+    /**
+     * Releases the tree for other writers. Discards the nodes built so far if this bulk loader is not finished.
+     *
+     * @throws UncheckedIOException on index access error.
+     */
+    @Override
+    void close();
+}
@@ -54,6 +54,20 @@ public interface DataTree<KEY, VALUE> extends Seeker.Factory<KEY, VALUE> {
      */
     Writer<KEY, VALUE> writer(int flags, CursorContext cursorContext) throws IOException;
 
+    /**
+     * Returns a {@link BulkLoader} that builds the contents of this tree, which must be empty, from entries given in
+     * ascending key order. This is more efficient than a {@link Writer} for loading many entries, since every entry
+     * is appended to the rightmost leaf without a search from the root and all nodes are packed full.
+     * The loaded entries become visible when the returned bulk loader is finished, after which it must be closed.
+     *
+     * @param cursorContext underlying page cursor context
+     * @return a {@link BulkLoader} for this tree. The returned bulk loader must be {@link BulkLoader#close() closed}
+     * after usage, which discards the loaded entries unless it was {@link BulkLoader#finish() finished}.
+     * @throws IllegalStateException if this tree is not empty, or for calls made while any other writer or
+     * bulk loader is open on the tree, which in turn can not be opened until the returned bulk loader is closed.
+     */
+    BulkLoader<KEY, VALUE> bulkLoader(CursorContext cursorContext) throws IOException;
+
     /**
      * Calculates an estimate of number of keys in this tree in O(log(n)) time. The number is only an estimate and may make its decision on a
      * concurrently changing tree, but should usually be correct within a couple of percents margin.
@@ -35,6 +35,6 @@ public class DefaultTreeNodeLayoutFactory implements TreeNodeLayoutFactory {
 
     @Override
     public TreeNodeSelector createSelector(ImmutableSet<OpenOption> openOptions) {
-        return DefaultTreeNodeSelector.selector();
+        return DefaultTreeNodeSelector.selector(openOptions);
     }
 }
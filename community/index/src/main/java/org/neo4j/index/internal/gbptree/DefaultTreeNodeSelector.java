@@ -19,10 +19,14 @@
  */
 package org.neo4j.index.internal.gbptree;
 
+import java.nio.file.OpenOption;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.common.DependencyResolver;
 
 /**
- * Default {@link TreeNodeSelector} creating fixed or dynamic size node behaviours.
+ * Default {@link TreeNodeSelector} creating fixed or dynamic size node behaviours, the latter optionally with
+ * prefix compressed leaves.
  */
 public class DefaultTreeNodeSelector {
 
@@ -99,6 +103,43 @@ public class DefaultTreeNodeSelector {
         }
     };
 
+    /**
+     * Creates instances for dynamic size node behaviours where leaves store a prefix common to their keys only once.
+     */
+    private static final TreeNodeSelector.Factory DYNAMIC_PREFIX_COMPRESSED = new TreeNodeSelector.Factory() {
+        static final byte FORMAT_IDENTIFIER = 4;
+        static final byte FORMAT_VERSION = 0;
+
+        @Override
+        public <KEY, VALUE> LeafNodeBehaviour<KEY, VALUE> createLeafBehaviour(
+                int payloadSize,
+                Layout<KEY, VALUE> layout,
+                OffloadStore<KEY, VALUE> offloadStore,
+                DependencyResolver dependencyResolver) {
+            return new LeafNodeDynamicSizePrefixCompressed<>(payloadSize, layout, offloadStore);
+        }
+
+        @Override
+        public <KEY, VALUE> InternalNodeBehaviour<KEY> createInternalBehaviour(
+                int payloadSize,
+                Layout<KEY, VALUE> layout,
+                OffloadStore<KEY, VALUE> offloadStore,
+                DependencyResolver dependencyResolver) {
+            // Keys in internal nodes are already as short as the layout can make them, see Layout#minimalSplitter
+            return new InternalNodeDynamicSize<>(payloadSize, layout, offloadStore);
+        }
+
+        @Override
+        public byte formatIdentifier() {
+            return FORMAT_IDENTIFIER;
+        }
+
+        @Override
+        public byte formatVersion() {
+            return FORMAT_VERSION;
+        }
+    };
+
     /**
      * Returns {@link TreeNodeSelector} that selects a format based on the given {@link Layout}.
      *
@@ -108,4 +149,29 @@ public class DefaultTreeNodeSelector {
         // For now the selection is done in a simple fashion, by looking at layout.fixedSize().
         return (Layout<?, ?> layout) -> layout.fixedSize() ? FIXED : DYNAMIC;
     }
+
+    /**
+     * Returns {@link TreeNodeSelector} that selects a format based on the given {@link Layout} and open options.
+     * Dynamic size trees get prefix compressed leaves if opened with
+     * {@link GBPTreeOpenOptions#PREFIX_COMPRESSED_LEAVES}.
+     *
+     * @param openOptions options the tree is opened with.
+     * @return a {@link TreeNodeSelector} capable of instantiating the selected format.
+     */
+    public static TreeNodeSelector selector(ImmutableSet<OpenOption> openOptions) {
+        if (openOptions.contains(GBPTreeOpenOptions.PREFIX_COMPRESSED_LEAVES)) {
+            return (Layout<?, ?> layout) -> layout.fixedSize() ? FIXED : DYNAMIC_PREFIX_COMPRESSED;
+        }
+        return selector();
+    }
+
+    /**
+     * @param dataFormatIdentifier {@link TreeNodeSelector.Factory#formatIdentifier() format} a tree was created with.
+     * @return the open options needed for {@link #selector(ImmutableSet)} to select that format again.
+     */
+    static ImmutableSet<OpenOption> openOptionsFor(byte dataFormatIdentifier) {
+        return dataFormatIdentifier == DYNAMIC_PREFIX_COMPRESSED.formatIdentifier()
+                ? Sets.immutable.of(GBPTreeOpenOptions.PREFIX_COMPRESSED_LEAVES)
+                : Sets.immutable.empty();
+    }
 }
@@ -173,6 +173,11 @@ public class GBPTree<KEY, VALUE> extends MultiRootGBPTree<SingleRoot, KEY, VALUE
         return access.writer(flags, cursorContext);
     }
 
+    @Override
+    public BulkLoader<KEY, VALUE> bulkLoader(CursorContext cursorContext) throws IOException {
+        return access.bulkLoader(cursorContext);
+    }
+
     @Override
     public long estimateNumberOfEntriesInTree(CursorContext cursorContext) throws IOException {
         return access.estimateNumberOfEntriesInTree(cursorContext);
@@ -92,6 +92,8 @@ public class GBPTreeBootstrapper implements Closeable {
 
             // Create layout and treeNode from meta
             Layouts layouts = layoutBootstrapper.bootstrap(meta);
+            openOptions = openOptions.newWithAll(
+                    DefaultTreeNodeSelector.openOptionsFor(meta.getDataFormatIdentifier()));
             MultiRootGBPTree<?, ?, ?> tree = new MultiRootGBPTree<>(
                     pageCache,
                     fs,
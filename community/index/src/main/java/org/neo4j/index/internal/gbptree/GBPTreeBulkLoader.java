@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static java.lang.String.format;
+import static org.neo4j.index.internal.gbptree.CursorCreator.bind;
+import static org.neo4j.index.internal.gbptree.Generation.stableGeneration;
+import static org.neo4j.index.internal.gbptree.Generation.unstableGeneration;
+import static org.neo4j.index.internal.gbptree.PointerChecking.checkOutOfBounds;
+import static org.neo4j.index.internal.gbptree.TreeNodeUtil.NO_NODE_FLAG;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.factory.primitive.LongLists;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.context.CursorContext;
+
+/**
+ * {@link BulkLoader} which keeps one open node per level of the tree being built, the rightmost one so far.
+ * Entries are appended to the open leaf. When it is full a new leaf is started as its right sibling and a splitter
+ * between the two is appended to the open node on the level above, which in turn may start a new node and pass a key
+ * further up, the same way. The tree grows a new level when the open node on the top level is full.
+ * <p>
+ * All nodes are new and not reachable from the current root until {@link #finish()}, which replaces the root of the
+ * tree, required to be an empty leaf, with the top node of the new tree. If the bulk loader is closed before that, all
+ * nodes it has acquired are released again. Like the batched writer, a bulk loader can not co-exist with other
+ * writers.
+ */
+class GBPTreeBulkLoader<K, V> implements BulkLoader<K, V> {
+    private final Layout<K, V> layout;
+    private final PagedFile pagedFile;
+    private final LeafNodeBehaviour<K, V> leafNode;
+    private final InternalNodeBehaviour<K> internalNode;
+    private final TreeRootExchange rootExchange;
+    private final ReadWriteLock checkpointLock;
+    private final ReadWriteLock writerLock;
+    private final FreeListIdProvider freeList;
+    private final Consumer<Throwable> exceptionMessageAppender;
+    private final LongSupplier generationSupplier;
+    private final BooleanSupplier mustEagerlyFlushSupplier;
+    private final byte layerType;
+    private final K lastKey;
+    private final K splitter;
+    // Open node per level, leaves at index 0
+    private final List<Level> levels = new ArrayList<>();
+    // All nodes of the tree being built, to release if it is discarded
+    private final MutableLongList acquiredNodes = LongLists.mutable.empty();
+    private boolean lockAcquired;
+    private boolean hasEntries;
+    private boolean finished;
+    private PageCursor cursor;
+    private CursorContext cursorContext;
+
+    // Bulk loader can't live past a checkpoint because of the mutex with checkpoint,
+    // therefore safe to locally cache these generation fields from the volatile generation in the tree
+    private long stableGeneration;
+    private long unstableGeneration;
+
+    GBPTreeBulkLoader(
+            Layout<K, V> layout,
+            PagedFile pagedFile,
+            LeafNodeBehaviour<K, V> leafNode,
+            InternalNodeBehaviour<K> internalNode,
+            TreeRootExchange rootExchange,
+            ReadWriteLock checkpointLock,
+            ReadWriteLock writerLock,
+            FreeListIdProvider freeList,
+            Consumer<Throwable> exceptionMessageAppender,
+            LongSupplier generationSupplier,
+            BooleanSupplier mustEagerlyFlushSupplier,
+            byte layerType) {
+        this.layout = layout;
+        this.pagedFile = pagedFile;
+        this.leafNode = leafNode;
+        this.internalNode = internalNode;
+        this.rootExchange = rootExchange;
+        this.checkpointLock = checkpointLock;
+        this.writerLock = writerLock;
+        this.freeList = freeList;
+        this.exceptionMessageAppender = exceptionMessageAppender;
+        this.generationSupplier = generationSupplier;
+        this.mustEagerlyFlushSupplier = mustEagerlyFlushSupplier;
+        this.layerType = layerType;
+        this.lastKey = layout.newKey();
+        this.splitter = layout.newKey();
+    }
+
+    /**
+     * Acquires the locks and starts the first leaf, or leaves everything released if that fails.
+     */
+    void initialize(CursorContext cursorContext) throws IOException {
+        acquireLocks();
+        lockAcquired = true;
+        boolean success = false;
+        try {
+            int flags = PagedFile.PF_SHARED_WRITE_LOCK;
+            if (mustEagerlyFlushSupplier.getAsBoolean()) {
+                flags |= PagedFile.PF_EAGER_FLUSH;
+            }
+            cursor = pagedFile.io(0L /*Ignored*/, flags, cursorContext);
+            this.cursorContext = cursorContext;
+            long generation = generationSupplier.getAsLong();
+            stableGeneration = stableGeneration(generation);
+            unstableGeneration = unstableGeneration(generation);
+
+            rootExchange.getRoot(cursorContext).goTo(cursor);
+            if (!TreeNodeUtil.isLeaf(cursor) || TreeNodeUtil.keyCount(cursor) != 0) {
+                throw new IllegalStateException("Can only bulk load into an empty tree");
+            }
+            levels.add(new Level());
+            startNode(levels.get(0), true);
+            success = true;
+        } catch (Throwable e) {
+            exceptionMessageAppender.accept(e);
+            throw e;
+        } finally {
+            if (!success) {
+                release();
+            }
+        }
+    }
+
+    private void acquireLocks() {
+        checkpointLock.readLock().lock();
+        if (!writerLock.writeLock().tryLock()) {
+            checkpointLock.readLock().unlock();
+            throw appendTreeInformation(new IllegalStateException(
+                    "Bulk loader can not be used while the single writer or one or more parallel writers are active"));
+        }
+    }
+
+    @Override
+    public void add(K key, V value) {
+        if (finished) {
+            throw appendTreeInformation(
+                    new IllegalStateException("Tried to add to bulk loader, but bulk loader is already finished"));
+        }
+        try {
+            leafNode.validateKeyValueSize(key, value);
+            if (hasEntries && layout.compare(lastKey, key) >= 0) {
+                throw new IllegalArgumentException(format(
+                        "Keys must be added in strictly ascending order, but %s was added after %s", key, lastKey));
+            }
+
+            Level leaves = levels.get(0);
+            TreeNodeUtil.goTo(cursor, "leaf", leaves.nodeId);
+            Overflow overflow = leafNode.overflow(cursor, leaves.keyCount, key, value, cursorContext);
+            if (overflow == Overflow.YES) {
+                long fullLeaf = leaves.nodeId;
+                long newLeaf = startNode(leaves, true);
+                layout.minimalSplitter(lastKey, key, splitter);
+                addToLevel(1, splitter, fullLeaf, newLeaf);
+                TreeNodeUtil.goTo(cursor, "leaf", newLeaf);
+            } else if (overflow == Overflow.NO_NEED_DEFRAG) {
+                leafNode.defragment(cursor, leaves.keyCount, cursorContext);
+            }
+            leafNode.insertKeyValueAt(
+                    cursor,
+                    key,
+                    value,
+                    leaves.keyCount,
+                    leaves.keyCount,
+                    stableGeneration,
+                    unstableGeneration,
+                    cursorContext);
+            TreeNodeUtil.setKeyCount(cursor, ++leaves.keyCount);
+            layout.copyKey(key, lastKey);
+            hasEntries = true;
+        } catch (IOException e) {
+            exceptionMessageAppender.accept(e);
+            throw new UncheckedIOException(e);
+        } catch (Throwable t) {
+            exceptionMessageAppender.accept(t);
+            throw t;
+        }
+        checkOutOfBounds(cursor);
+    }
+
+    /**
+     * Append key and the child to the right of it to the open node on the given level, starting a new node, or a new
+     * level, if it does not fit.
+     *
+     * @param height level in the tree counted from the leaves, which are at 0.
+     * @param leftChild node to the left of the key, only used if this is a new level.
+     */
+    private void addToLevel(int height, K key, long leftChild, long rightChild) throws IOException {
+        if (height == levels.size()) {
+            levels.add(new Level());
+            startNode(levels.get(height), false);
+            internalNode.setChildAt(cursor, leftChild, 0, stableGeneration, unstableGeneration);
+        }
+        Level level = levels.get(height);
+        TreeNodeUtil.goTo(cursor, "internal", level.nodeId);
+        Overflow overflow = internalNode.overflow(cursor, level.keyCount, key);
+        if (overflow == Overflow.YES) {
+            // The key goes up as the splitter between the full node and the new one, which gets rightChild as first
+            long fullNode = level.nodeId;
+            long newNode = startNode(level, false);
+            internalNode.setChildAt(cursor, rightChild, 0, stableGeneration, unstableGeneration);
+            addToLevel(height + 1, key, fullNode, newNode);
+            return;
+        }
+        if (overflow == Overflow.NO_NEED_DEFRAG) {
+            internalNode.defragment(cursor, level.keyCount);
+        }
+        internalNode.insertKeyAndRightChildAt(
+                cursor,
+                key,
+                rightChild,
+                level.keyCount,
+                level.keyCount,
+                stableGeneration,
+                unstableGeneration,
+                cursorContext);
+        TreeNodeUtil.setKeyCount(cursor, ++level.keyCount);
+    }
+
+    /**
+     * Start a new open node on the given level, as right sibling of the current open node, if any.
+     * Leaves the cursor at the new node.
+     *
+     * @return id of the new node.
+     */
+    private long startNode(Level level, boolean leaf) throws IOException {
+        long nodeId = freeList.acquireNewId(stableGeneration, unstableGeneration, bind(cursor));
+        acquiredNodes.add(nodeId);
+        long leftSibling = level.nodeId;
+        if (leftSibling != NO_NODE_FLAG) {
+            TreeNodeUtil.goTo(cursor, "left sibling", leftSibling);
+            TreeNodeUtil.setRightSibling(cursor, nodeId, stableGeneration, unstableGeneration);
+        }
+        TreeNodeUtil.goTo(cursor, "new node", nodeId);
+        if (leaf) {
+            leafNode.initialize(cursor, layerType, stableGeneration, unstableGeneration);
+        } else {
+            internalNode.initialize(cursor, layerType, stableGeneration, unstableGeneration);
+        }
+        if (leftSibling != NO_NODE_FLAG) {
+            TreeNodeUtil.setLeftSibling(cursor, leftSibling, stableGeneration, unstableGeneration);
+        }
+        level.nodeId = nodeId;
+        level.keyCount = 0;
+        return nodeId;
+    }
+
+    /**
+     * Points the tree to the open node on the top level, which is the only node on that level, and frees the empty
+     * root that it replaces.
+     */
+    @Override
+    public void finish() {
+        if (!lockAcquired || finished) {
+            throw appendTreeInformation(new IllegalStateException(
+                    format("Tried to finish bulk loader, but bulk loader is already finished or closed. %s", this)));
+        }
+        try {
+            Root previousRoot = rootExchange.getRoot(cursorContext);
+            long rootId = levels.get(levels.size() - 1).nodeId;
+            rootExchange.setRoot(new Root(rootId, unstableGeneration), cursorContext);
+            finished = true;
+            freeList.releaseId(stableGeneration, unstableGeneration, previousRoot.id(), bind(cursor));
+        } catch (IOException e) {
+            exceptionMessageAppender.accept(e);
+            throw new UncheckedIOException(e);
+        } catch (Throwable t) {
+            exceptionMessageAppender.accept(t);
+            throw t;
+        }
+    }
+
+    /**
+     * Releases the locks, and all nodes of the tree being built unless it is {@link #finish() finished}. The tree
+     * then keeps its empty root.
+     */
+    @Override
+    public void close() {
+        if (!lockAcquired) {
+            throw appendTreeInformation(new IllegalStateException(
+                    format("Tried to close bulk loader, but bulk loader is already closed. %s", this)));
+        }
+        try {
+            if (!finished) {
+                discard();
+            }
+        } catch (IOException e) {
+            exceptionMessageAppender.accept(e);
+            throw new UncheckedIOException(e);
+        } catch (Throwable t) {
+            exceptionMessageAppender.accept(t);
+            throw t;
+        } finally {
+            release();
+        }
+    }
+
+    private void discard() throws IOException {
+        var nodes = acquiredNodes.longIterator();
+        while (nodes.hasNext()) {
+            long nodeId = nodes.next();
+            TreeNodeUtil.goTo(cursor, "discarded node", nodeId);
+            // Removing the entries releases their offloaded keys and values, if any
+            boolean leaf = TreeNodeUtil.isLeaf(cursor);
+            for (int pos = TreeNodeUtil.keyCount(cursor) - 1; pos >= 0; pos--) {
+                if (leaf) {
+                    leafNode.removeKeyValueAt(
+                            cursor, pos, pos + 1, stableGeneration, unstableGeneration, cursorContext);
+                } else {
+                    internalNode.removeKeyAndRightChildAt(
+                            cursor, pos, pos + 1, stableGeneration, unstableGeneration, cursorContext);
+                }
+            }
+            freeList.releaseId(stableGeneration, unstableGeneration, nodeId, bind(cursor));
+        }
+    }
+
+    private void release() {
+        if (cursor != null) {
+            cursor.close();
+            cursor = null;
+        }
+        levels.clear();
+        acquiredNodes.clear();
+        writerLock.writeLock().unlock();
+        checkpointLock.readLock().unlock();
+        lockAcquired = false;
+    }
+
+    private <T extends Exception> T appendTreeInformation(T exception) {
+        exceptionMessageAppender.accept(exception);
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        return format(
+                "GBPTreeBulkLoader[levels:%d, hasEntries:%b, finished:%b]", levels.size(), hasEntries, finished);
+    }
+
+    private static class Level {
+        private long nodeId = NO_NODE_FLAG;
+        private int keyCount;
+    }
+}
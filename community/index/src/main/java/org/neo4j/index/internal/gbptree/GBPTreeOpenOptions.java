@@ -26,5 +26,7 @@ import java.nio.file.OpenOption;
  */
 public enum GBPTreeOpenOptions implements OpenOption {
     // do not flush index file on close
-    NO_FLUSH_ON_CLOSE
+    NO_FLUSH_ON_CLOSE,
+    // store a prefix common to the keys of a leaf only once in dynamic size trees
+    PREFIX_COMPRESSED_LEAVES
 }
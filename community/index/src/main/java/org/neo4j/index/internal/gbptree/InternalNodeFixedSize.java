@@ -58,11 +58,13 @@ final class InternalNodeFixedSize<KEY> implements InternalNodeBehaviour<KEY> {
     private final int keySize;
     private final Layout<KEY, ?> layout;
     private final int payloadSize;
+    private final boolean canCompareKeyAt;
 
     InternalNodeFixedSize(int payloadSize, Layout<KEY, ?> layout) {
         this.payloadSize = payloadSize;
         this.layout = layout;
         this.keySize = layout.keySize(null);
+        this.canCompareKeyAt = layout.canCompareSerializedKey();
         this.maxKeyCount =
                 Math.floorDiv(payloadSize - (BASE_HEADER_LENGTH + SIZE_PAGE_REFERENCE), keySize + SIZE_PAGE_REFERENCE);
 
@@ -96,6 +98,16 @@ final class InternalNodeFixedSize<KEY> implements InternalNodeBehaviour<KEY> {
         return layout;
     }
 
+    @Override
+    public boolean canCompareKeyAt() {
+        return canCompareKeyAt;
+    }
+
+    @Override
+    public int compareKeyAt(PageCursor cursor, KEY key, int pos) {
+        return layout.compareSerializedKey(key, cursor, keyOffset(pos));
+    }
+
     @Override
     public void insertKeyAndRightChildAt(
             PageCursor cursor,
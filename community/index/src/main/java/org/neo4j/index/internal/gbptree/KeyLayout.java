@@ -99,6 +99,32 @@ public interface KeyLayout<KEY> extends Comparator<KEY> {
         copyKey(right, into);
     }
 
+    /**
+     * Indicate if this layout can compare keys with keys where they are serialized in a page, see
+     * {@link #compareSerializedKey(Object, PageCursor, int)}. Only considered for fixed size keys.
+     * @return {@code true} if serialized keys can be compared, otherwise {@code false}.
+     */
+    default boolean canCompareSerializedKey() {
+        return false;
+    }
+
+    /**
+     * Compares {@code key} with the key serialized at {@code offset} in the page {@code cursor} is pinned to,
+     * without reading it into a key instance. This lets tree nodes with fixed size keys search their keys
+     * without deserializing every key visited along the way.
+     * <p>
+     * Must order keys the same way as {@link #compare(Object, Object)} and must not move the offset of the cursor.
+     *
+     * @param key key to compare.
+     * @param cursor {@link PageCursor} pinned to page with the serialized key.
+     * @param offset offset of the serialized key in the page.
+     * @return a negative integer, zero, or a positive integer as {@code key} is less than, equal to,
+     * or greater than the serialized key.
+     */
+    default int compareSerializedKey(KEY key, PageCursor cursor, int offset) {
+        throw new UnsupportedOperationException("Layout " + this + " can not compare serialized keys");
+    }
+
     /**
      * Used as verification when loading an index after creation, to verify that the same layout is used,
      * as the one it was initially created with.
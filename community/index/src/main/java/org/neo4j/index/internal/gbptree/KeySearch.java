@@ -37,7 +37,8 @@ public class KeySearch {
      * On seek in internal, child at pos should be followed from internal node.
      * On seek in leaf, value at pos is correct if keyAtPos is equal to key.
      * <p>
-     * Implemented as binary search.
+     * Implemented as binary search. If the node supports it, see {@link SharedNodeBehaviour#canCompareKeyAt()},
+     * keys are compared where they are in the page instead of being read into {@code readKey} first.
      * <p>
      * Leaves cursor on same page as when called. No guarantees on offset.
      *
@@ -65,15 +66,15 @@ public class KeySearch {
         }
 
         // Compare key with lower and higher and sort out special cases
-        var comparator = node.keyComparator();
+        boolean inPlace = node.canCompareKeyAt();
         // key greater than or equal the greatest key in node
-        if ((comparator.compare(key, node.keyAt(cursor, readKey, keyCount - 1, cursorContext))) > 0) {
+        if (compare(cursor, node, inPlace, key, readKey, keyCount - 1, cursorContext) > 0) {
             return -keyCount - 1;
         }
         {
             // key smaller than or equal to the smallest key in node
             int comparison;
-            if ((comparison = comparator.compare(key, node.keyAt(cursor, readKey, 0, cursorContext))) <= 0) {
+            if ((comparison = compare(cursor, node, inPlace, key, readKey, 0, cursorContext)) <= 0) {
                 if (comparison == 0) {
                     return 0;
                 }
@@ -91,7 +92,7 @@ public class KeySearch {
         int pos;
         while (lower < higher) {
             pos = (lower + higher) / 2;
-            int comparison = comparator.compare(key, node.keyAt(cursor, readKey, pos, cursorContext));
+            int comparison = compare(cursor, node, inPlace, key, readKey, pos, cursorContext);
             if (comparison <= 0) {
                 higher = pos;
             } else {
@@ -100,12 +101,26 @@ public class KeySearch {
         }
         pos = lower;
 
-        if (comparator.compare(key, node.keyAt(cursor, readKey, pos, cursorContext)) == 0) {
+        if (compare(cursor, node, inPlace, key, readKey, pos, cursorContext) == 0) {
             return pos;
         }
         return -(pos + 1);
     }
 
+    private static <KEY> int compare(
+            PageCursor cursor,
+            SharedNodeBehaviour<KEY> node,
+            boolean inPlace,
+            KEY key,
+            KEY readKey,
+            int pos,
+            CursorContext cursorContext) {
+        if (inPlace) {
+            return node.compareKeyAt(cursor, key, pos);
+        }
+        return node.keyComparator().compare(key, node.keyAt(cursor, readKey, pos, cursorContext));
+    }
+
     /**
      * Extracts the position from a search result from {@link #search(PageCursor, SharedNodeBehaviour, Object, Object, int, CursorContext)}
      * Note! If position will be used as position for child pointer, use {@link #childPositionOf(int)} instead.
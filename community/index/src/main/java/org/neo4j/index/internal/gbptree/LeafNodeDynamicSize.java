@@ -85,8 +85,8 @@ class LeafNodeDynamicSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
     private final int inlineKeyValueSizeCap;
     private final int keyValueSizeCap;
 
-    private final int totalSpace;
-    private final int halfSpace;
+    final int totalSpace;
+    final int halfSpace;
     final OffloadStore<KEY, VALUE> offloadStore;
     private final int maxKeyCount;
 
@@ -157,7 +157,7 @@ class LeafNodeDynamicSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
                 readUnreliableKeyValueSize(cursor, keySize, valueSize, keyValueSize, pos, keyValueSizeCap());
                 return;
             }
-            layout.readKey(cursor, intoKey, keySize);
+            readKey(cursor, intoKey, keySize);
             layout.readValue(cursor, intoValue.value, valueSize);
         }
     }
@@ -296,6 +296,13 @@ class LeafNodeDynamicSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
         return false;
     }
 
+    /**
+     * Read an inlined key, cursor placed right after its key value size and left right after the key.
+     */
+    void readKey(PageCursor cursor, KEY into, int keySize) {
+        layout.readKey(cursor, into, keySize);
+    }
+
     static void progressCursor(PageCursor cursor, int delta) {
         cursor.setOffset(cursor.getOffset() + delta);
     }
@@ -359,7 +366,7 @@ class LeafNodeDynamicSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
         return keyCount;
     }
 
-    private void doDefragment(PageCursor cursor, int keyCount) {
+    void doDefragment(PageCursor cursor, int keyCount) {
         var offsets = new int[keyCount];
         var sizes = new int[keyCount];
         // collect alive offsets and sizes
@@ -547,9 +554,11 @@ class LeafNodeDynamicSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
 
     // NOTE: Does update keyCount
     private void moveKeysAndValues(PageCursor fromCursor, int fromPos, PageCursor toCursor, int toPos, int count) {
-        int firstAllocOffset = DynamicSizeUtil.getAllocOffset(toCursor);
-        int toAllocOffset = firstAllocOffset;
+        int toAllocOffset = DynamicSizeUtil.getAllocOffset(toCursor);
+        int totalMovedBytes = 0;
         for (int i = 0; i < count; i++, toPos++) {
+            // Count what is freed in 'from', which is not necessarily what is allocated in 'to'
+            totalMovedBytes += totalSpaceOfKeyValue(fromCursor, fromPos + i) - DynamicSizeUtil.OFFSET_SIZE;
             toAllocOffset = copyRawKeyValue(fromCursor, fromPos + i, toCursor, toAllocOffset, true);
             toCursor.setOffset(keyPosOffsetLeaf(toPos));
             putUnsignedShort(toCursor, toAllocOffset);
@@ -558,7 +567,6 @@ class LeafNodeDynamicSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
 
         // Update deadSpace
         int deadSpace = getDeadSpace(fromCursor);
-        int totalMovedBytes = firstAllocOffset - toAllocOffset;
         setDeadSpace(fromCursor, deadSpace + totalMovedBytes);
 
         // Key count
@@ -703,7 +711,7 @@ class LeafNodeDynamicSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
         return splitPos;
     }
 
-    private int totalActiveSpace(PageCursor cursor, int keyCount) {
+    int totalActiveSpace(PageCursor cursor, int keyCount) {
         int deadSpace = getDeadSpace(cursor);
         int allocSpace = getAllocSpace(cursor, keyPosOffsetLeaf(keyCount));
         return totalSpace - deadSpace - allocSpace;
@@ -737,7 +745,7 @@ class LeafNodeDynamicSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
     }
 
     boolean keyValueSizeTooLarge(int keySize, int valueSize) {
-        return keySize + valueSize > keyValueSizeCap;
+        return keySize + valueSize > keyValueSizeCap();
     }
 
     protected static int keyPosOffsetLeaf(int pos) {
@@ -776,7 +784,7 @@ class LeafNodeDynamicSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
         VALUE readValue = layout.newValue();
         StringJoiner keys = new StringJoiner(" ");
         cursor.setOffset(allocOffset);
-        while (cursor.getOffset() < cursor.getPagedFile().payloadSize()) {
+        while (cursor.getOffset() < payloadSize) {
             StringJoiner singleKey = new StringJoiner("|");
             singleKey.add(Integer.toString(cursor.getOffset()));
             long keyValueSize = readKeyValueSize(cursor);
@@ -798,7 +806,7 @@ class LeafNodeDynamicSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
                 long offloadId = readOffloadId(cursor);
                 singleKey.add(Long.toString(offloadId));
             } else {
-                layout.readKey(cursor, readKey, keySize);
+                readKey(cursor, readKey, keySize);
                 layout.readValue(cursor, readValue, valueSize);
                 singleKey.add(Integer.toString(keySize));
                 if (includeValue) {
@@ -962,7 +970,7 @@ class LeafNodeDynamicSize<KEY, VALUE> implements LeafNodeBehaviour<KEY, VALUE> {
         return offsetArray.toString();
     }
 
-    private boolean canInline(int entrySize) {
+    boolean canInline(int entrySize) {
         return entrySize <= inlineKeyValueSizeCap;
     }
 }
@@ -0,0 +1,685 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import static java.lang.String.format;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.extractKeySize;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.extractOffload;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.extractValueSize;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.getOverhead;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.keyValueSizeCapFromPageSize;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.putKeyValueSize;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.putTombstone;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.readKeyValueSize;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.setAllocOffset;
+import static org.neo4j.index.internal.gbptree.DynamicSizeUtil.setDeadSpace;
+import static org.neo4j.index.internal.gbptree.TreeNodeUtil.isUnreliableKeyValueSize;
+import static org.neo4j.index.internal.gbptree.TreeNodeUtil.readUnreliableKeyValueSize;
+import static org.neo4j.io.pagecache.PageCursorUtil.putUnsignedShort;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.CursorException;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContext;
+
+/**
+ * Leaf of dynamic size that stores a byte sequence common to the keys in the node once, in a prefix area at the end of
+ * the page, and leaves it out of the inlined keys that share it. Useful for keys that have long common runs of bytes,
+ * like strings with common prefixes.
+ * <p>
+ * The node prefix is a run of bytes found at the same offset, prefix start, in the serialized form of all keys in the
+ * node. It is only picked when the node is defragmented and only if that does not grow the space taken by the keys,
+ * so all space calculations of {@link LeafNodeDynamicSize} still hold. Keys inserted in between are compressed as far
+ * as they share the current prefix.
+ *
+ * LEAF
+ * [HEADER 86B]|[KEY_OFFSETS]##########[KEYS_VALUES]|[PREFIXSTART][PREFIXLENGTH][PREFIX]
+ *  0           86                                  pageSize-32   pageSize-30   pageSize-29
+ *
+ * Each inlined key is stored as [SHARED][KEY_HEAD][KEY_TAIL], where SHARED is the number of bytes (1B) the key shares
+ * with the node prefix, KEY_HEAD is the key bytes before prefix start and KEY_TAIL the key bytes after the shared
+ * bytes. If SHARED is zero the whole key follows as is. Offloaded keys are not compressed.
+ */
+class LeafNodeDynamicSizePrefixCompressed<KEY, VALUE> extends LeafNodeDynamicSize<KEY, VALUE> {
+    static final int PREFIX_AREA_SIZE = 32;
+    private static final int PREFIX_HEADER_SIZE = Short.BYTES + Byte.BYTES;
+    static final int MAX_PREFIX_LENGTH = PREFIX_AREA_SIZE - PREFIX_HEADER_SIZE;
+    private static final int SHARED_MARKER_SIZE = Byte.BYTES;
+
+    /**
+     * Scratch space for keys that are put together from node prefix and stored key bytes, or serialized to find out
+     * how much they share with the node prefix. Shared between trees since tree nodes are accessed concurrently.
+     */
+    private static final ThreadLocal<KeyScratch> SCRATCH = ThreadLocal.withInitial(KeyScratch::new);
+
+    private final int keyValueSizeCap;
+
+    LeafNodeDynamicSizePrefixCompressed(
+            int payloadSize, Layout<KEY, VALUE> layout, OffloadStore<KEY, VALUE> offloadStore) {
+        super(payloadSize - PREFIX_AREA_SIZE, layout, offloadStore);
+        // Offloaded keys are not limited by the prefix area
+        this.keyValueSizeCap = keyValueSizeCapFromPageSize(payloadSize);
+    }
+
+    @Override
+    public void initialize(PageCursor cursor, byte layerType, long stableGeneration, long unstableGeneration) {
+        super.initialize(cursor, layerType, stableGeneration, unstableGeneration);
+        writePrefix(cursor, Prefix.EMPTY);
+    }
+
+    @Override
+    public KEY keyAt(PageCursor cursor, KEY into, int pos, CursorContext cursorContext) {
+        placeCursorAtActualKey(cursor, pos);
+        long keyValueSize = readKeyValueSize(cursor);
+        if (extractOffload(keyValueSize)) {
+            long offloadId = DynamicSizeUtil.readOffloadId(cursor);
+            try {
+                offloadStore.readKey(offloadId, into, cursorContext);
+            } catch (IOException e) {
+                cursor.setCursorException("Failed to read key from offload, cause: " + e.getMessage());
+            }
+            return into;
+        }
+        int keySize = extractKeySize(keyValueSize);
+        int valueSize = extractValueSize(keyValueSize);
+        if (isUnreliableKeyValueSize(keySize, valueSize, keyValueSizeCap())) {
+            readUnreliableKeyValueSize(cursor, keySize, valueSize, keyValueSize, pos, keyValueSizeCap());
+            return into;
+        }
+        readKey(cursor, into, keySize);
+        return into;
+    }
+
+    @Override
+    void readKey(PageCursor cursor, KEY into, int keySize) {
+        int keyOffset = cursor.getOffset();
+        if (keySize < SHARED_MARKER_SIZE) {
+            cursor.setCursorException(format(
+                    "Read unreliable prefix compressed key, id=%d, storedKeySize=%d",
+                    cursor.getCurrentPageId(), keySize));
+            return;
+        }
+        int shared = cursor.getByte() & 0xFF;
+        if (shared == 0) {
+            // Nothing to put together, read it straight from the page
+            layout.readKey(cursor, into, keySize - SHARED_MARKER_SIZE);
+            return;
+        }
+
+        KeyScratch scratch = SCRATCH.get();
+        int decodedKeySize = decodeKey(cursor, keyOffset, keySize, scratch);
+        cursor.setOffset(keyOffset + keySize);
+        if (decodedKeySize != -1) {
+            PageCursor keyCursor = scratch.cursor(cursor.getByteOrder());
+            layout.readKey(keyCursor, into, decodedKeySize);
+            try {
+                keyCursor.checkAndClearCursorException();
+            } catch (CursorException e) {
+                cursor.setCursorException(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void insertKeyValueAt(
+            PageCursor cursor,
+            KEY key,
+            VALUE value,
+            int pos,
+            int keyCount,
+            long stableGeneration,
+            long unstableGeneration,
+            CursorContext cursorContext)
+            throws IOException {
+        int keySize = layout.keySize(key);
+        int valueSize = layout.valueSize(value);
+        if (!canInline(keySize + valueSize)) {
+            // Offloaded keys are not stored in the node, so there is nothing to compress
+            super.insertKeyValueAt(
+                    cursor, key, value, pos, keyCount, stableGeneration, unstableGeneration, cursorContext);
+            return;
+        }
+
+        // Where to write key?
+        byte[] keyBytes = SCRATCH.get().serialize(layout, key, keySize, cursor.getByteOrder());
+        int shared = sharedWithPrefix(cursor, keyBytes, keySize);
+        int prefixStart = prefixStart(cursor);
+        int newKeyValueOffset = DynamicSizeUtil.getAllocOffset(cursor) - entrySize(keySize, shared, valueSize);
+
+        // Write key and value
+        cursor.setOffset(newKeyValueOffset);
+        putKeyValueSizeAndKey(cursor, keyBytes, keySize, valueSize, prefixStart, shared);
+        layout.writeValue(cursor, value);
+
+        // Update alloc space
+        setAllocOffset(cursor, newKeyValueOffset);
+
+        // Write to offset array
+        TreeNodeUtil.insertSlotsAt(cursor, pos, 1, keyCount, keyPosOffsetLeaf(0), DynamicSizeUtil.OFFSET_SIZE);
+        cursor.setOffset(keyPosOffsetLeaf(pos));
+        putUnsignedShort(cursor, newKeyValueOffset);
+    }
+
+    @Override
+    public int keyValueSizeCap() {
+        return keyValueSizeCap;
+    }
+
+    @Override
+    public int inlineKeyValueSizeCap() {
+        return super.inlineKeyValueSizeCap() - SHARED_MARKER_SIZE;
+    }
+
+    @Override
+    boolean canInline(int entrySize) {
+        return super.canInline(entrySize + SHARED_MARKER_SIZE);
+    }
+
+    @Override
+    public int totalSpaceOfKeyValue(KEY key, VALUE value) {
+        int keySize = layout.keySize(key);
+        int valueSize = layout.valueSize(value);
+        if (canInline(keySize + valueSize)) {
+            // Can not know how much the key will share with the prefix of the node it ends up in
+            return DynamicSizeUtil.OFFSET_SIZE + entrySize(keySize, 0, valueSize);
+        }
+        return super.totalSpaceOfKeyValue(key, value);
+    }
+
+    /**
+     * Before telling that the new entry does not fit, see if picking a new node prefix on defragment would make room
+     * for it. This is what gets a prefix in place in nodes that are only ever appended to.
+     */
+    @Override
+    public Overflow overflow(
+            PageCursor cursor, int currentKeyCount, KEY newKey, VALUE newValue, CursorContext cursorContext)
+            throws IOException {
+        Overflow overflow = super.overflow(cursor, currentKeyCount, newKey, newValue, cursorContext);
+        if (overflow != Overflow.YES) {
+            return overflow;
+        }
+        Entries entries = readEntries(cursor, currentKeyCount);
+        int neededSpace = totalSpaceOfKeyValue(newKey, newValue);
+        int allocSpaceAfterDefragment = payloadSize
+                - keyPosOffsetLeaf(currentKeyCount)
+                - entries.encodedSize(entries.pickPrefix(readPrefix(cursor)));
+        return neededSpace <= allocSpaceAfterDefragment ? Overflow.NO_NEED_DEFRAG : Overflow.YES;
+    }
+
+    /**
+     * Rewrites all keys and values compacted to the right, like {@link LeafNodeDynamicSize}, but first picks the
+     * longest run of bytes common to all inlined keys as new node prefix, unless the current prefix compresses better.
+     */
+    @Override
+    void doDefragment(PageCursor cursor, int keyCount) {
+        Entries entries = readEntries(cursor, keyCount);
+        byte[][] keys = entries.keys();
+        byte[][] values = entries.values();
+        Prefix prefix = entries.pickPrefix(readPrefix(cursor));
+
+        writePrefix(cursor, prefix);
+        int allocOffset = payloadSize;
+        for (int pos = 0; pos < keyCount; pos++) {
+            byte[] key = keys[pos];
+            byte[] value = values[pos];
+            if (key == null) {
+                allocOffset -= value.length;
+                cursor.setOffset(allocOffset);
+            } else {
+                int shared = prefix.shared(key);
+                allocOffset -= entrySize(key.length, shared, value.length);
+                cursor.setOffset(allocOffset);
+                putKeyValueSizeAndKey(cursor, key, key.length, value.length, prefix.start(), shared);
+            }
+            cursor.putBytes(value);
+            cursor.setOffset(keyPosOffsetLeaf(pos));
+            putUnsignedShort(cursor, allocOffset);
+        }
+        setAllocOffset(cursor, allocOffset);
+        setDeadSpace(cursor, 0);
+    }
+
+    /**
+     * Read all entries of the node, with inlined keys put together in full.
+     */
+    private Entries readEntries(PageCursor cursor, int keyCount) {
+        byte[][] keys = new byte[keyCount][];
+        byte[][] values = new byte[keyCount][];
+        KeyScratch scratch = SCRATCH.get();
+        for (int pos = 0; pos < keyCount; pos++) {
+            placeCursorAtActualKey(cursor, pos);
+            int entryOffset = cursor.getOffset();
+            long keyValueSize = readKeyValueSize(cursor);
+            int storedKeySize = extractKeySize(keyValueSize);
+            int valueSize = extractValueSize(keyValueSize);
+            boolean offload = extractOffload(keyValueSize);
+            if (offload) {
+                values[pos] = new byte[getOverhead(storedKeySize, valueSize, true) + storedKeySize + valueSize];
+                cursor.setOffset(entryOffset);
+                cursor.getBytes(values[pos]);
+            } else {
+                int keyOffset = cursor.getOffset();
+                int keySize = decodeKey(cursor, keyOffset, storedKeySize, scratch);
+                if (keySize == -1) {
+                    throw new TreeInconsistencyException(
+                            "Unable to read leaf id=%d, unreliable key at pos=%d", cursor.getCurrentPageId(), pos);
+                }
+                keys[pos] = Arrays.copyOf(scratch.bytes(), keySize);
+                values[pos] = new byte[valueSize];
+                cursor.setOffset(keyOffset + storedKeySize);
+                cursor.getBytes(values[pos]);
+            }
+        }
+        return new Entries(keys, values);
+    }
+
+    /**
+     * Nodes created by split start out with the prefix of the node they were split from, so that entries can be
+     * moved over as they are.
+     */
+    @Override
+    public void doSplit(
+            PageCursor leftCursor,
+            int leftKeyCount,
+            PageCursor rightCursor,
+            int insertPos,
+            KEY newKey,
+            VALUE newValue,
+            KEY newSplitter,
+            int splitPos,
+            double ratioToKeepInLeftOnSplit,
+            long stableGeneration,
+            long unstableGeneration,
+            CursorContext cursorContext)
+            throws IOException {
+        leftCursor.copyTo(payloadSize, rightCursor, payloadSize, PREFIX_AREA_SIZE);
+        super.doSplit(
+                leftCursor,
+                leftKeyCount,
+                rightCursor,
+                insertPos,
+                newKey,
+                newValue,
+                newSplitter,
+                splitPos,
+                ratioToKeepInLeftOnSplit,
+                stableGeneration,
+                unstableGeneration,
+                cursorContext);
+    }
+
+    /**
+     * Entries are copied as they are between nodes with the same prefix, otherwise re-encoded against the prefix
+     * of the node they are copied to.
+     */
+    @Override
+    protected int copyRawKeyValue(
+            PageCursor fromCursor, int fromPos, PageCursor toCursor, int toAllocOffset, boolean markDead) {
+        if (samePrefix(fromCursor, toCursor)) {
+            return super.copyRawKeyValue(fromCursor, fromPos, toCursor, toAllocOffset, markDead);
+        }
+        placeCursorAtActualKey(fromCursor, fromPos);
+        int fromKeyOffset = fromCursor.getOffset();
+        long keyValueSize = readKeyValueSize(fromCursor);
+        if (extractOffload(keyValueSize)) {
+            return super.copyRawKeyValue(fromCursor, fromPos, toCursor, toAllocOffset, markDead);
+        }
+        int storedKeySize = extractKeySize(keyValueSize);
+        int valueSize = extractValueSize(keyValueSize);
+        int fromValueOffset = fromCursor.getOffset() + storedKeySize;
+        KeyScratch scratch = SCRATCH.get();
+        int keySize = decodeKey(fromCursor, fromCursor.getOffset(), storedKeySize, scratch);
+        if (keySize == -1) {
+            throw new TreeInconsistencyException(
+                    "Unable to copy from leaf id=%d, unreliable key at pos=%d", fromCursor.getCurrentPageId(), fromPos);
+        }
+
+        // Copy
+        byte[] keyBytes = scratch.bytes();
+        int shared = sharedWithPrefix(toCursor, keyBytes, keySize);
+        int prefixStart = prefixStart(toCursor);
+        int newRightAllocSpace = toAllocOffset - entrySize(keySize, shared, valueSize);
+        toCursor.setOffset(newRightAllocSpace);
+        putKeyValueSizeAndKey(toCursor, keyBytes, keySize, valueSize, prefixStart, shared);
+        if (valueSize > 0) {
+            fromCursor.copyTo(fromValueOffset, toCursor, toCursor.getOffset(), valueSize);
+        }
+
+        if (markDead) {
+            // Put tombstone
+            fromCursor.setOffset(fromKeyOffset);
+            putTombstone(fromCursor);
+        }
+        return newRightAllocSpace;
+    }
+
+    /**
+     * Like {@link LeafNodeDynamicSize#canRebalance(PageCursor, int, PageCursor, int)}, but entries moved to the right
+     * node are accounted for with the most space they can take there.
+     */
+    @Override
+    public int canRebalance(PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount) {
+        if (canMerge(leftCursor, leftKeyCount, rightCursor, rightKeyCount)) {
+            return -1;
+        }
+        int leftActiveSpace = totalActiveSpace(leftCursor, leftKeyCount);
+        int rightActiveSpace = totalActiveSpace(rightCursor, rightKeyCount);
+        if (leftActiveSpace < rightActiveSpace) {
+            // Moving keys to the right will only create more imbalance
+            return 0;
+        }
+
+        int prevDelta;
+        int currentDelta = Math.abs(leftActiveSpace - rightActiveSpace);
+        int keysToMove = 0;
+        int lastChunkSize;
+        int lastChunkSizeInRight;
+        do {
+            keysToMove++;
+            lastChunkSize = totalSpaceOfKeyValue(leftCursor, leftKeyCount - keysToMove);
+            lastChunkSizeInRight = maxSpaceOfKeyValueInOtherNode(leftCursor, leftKeyCount - keysToMove);
+            leftActiveSpace -= lastChunkSize;
+            rightActiveSpace += lastChunkSizeInRight;
+
+            prevDelta = currentDelta;
+            currentDelta = Math.abs(leftActiveSpace - rightActiveSpace);
+        } while (currentDelta < prevDelta);
+        keysToMove--; // Move back to optimal split
+        leftActiveSpace += lastChunkSize;
+        rightActiveSpace -= lastChunkSizeInRight;
+
+        boolean canRebalance =
+                leftActiveSpace > halfSpace && rightActiveSpace > halfSpace && rightActiveSpace <= totalSpace;
+        return canRebalance ? keysToMove : 0;
+    }
+
+    @Override
+    public boolean canMerge(PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount) {
+        int leftSpaceInRight = 0;
+        for (int pos = 0; pos < leftKeyCount; pos++) {
+            leftSpaceInRight += maxSpaceOfKeyValueInOtherNode(leftCursor, pos);
+        }
+        int rightActiveSpace = totalActiveSpace(rightCursor, rightKeyCount);
+        return totalSpace >= leftSpaceInRight + rightActiveSpace;
+    }
+
+    /**
+     * @return the most space, including offset, that the entry at pos can take when re-encoded against the prefix
+     * of another node, which is when it gets back all the bytes it shares with the prefix of this node.
+     */
+    private int maxSpaceOfKeyValueInOtherNode(PageCursor cursor, int pos) {
+        placeCursorAtActualKey(cursor, pos);
+        long keyValueSize = readKeyValueSize(cursor);
+        int keySize = extractKeySize(keyValueSize);
+        int valueSize = extractValueSize(keyValueSize);
+        boolean offload = extractOffload(keyValueSize);
+        int space = DynamicSizeUtil.OFFSET_SIZE + getOverhead(keySize, valueSize, offload) + keySize + valueSize;
+        if (offload || keySize < SHARED_MARKER_SIZE) {
+            return space;
+        }
+        int shared = cursor.getByte() & 0xFF;
+        // A longer key may need one more byte for its key size
+        return shared == 0 ? space : space + shared + 1;
+    }
+
+    @Override
+    public String checkMetaConsistency(PageCursor cursor) {
+        String inconsistency = super.checkMetaConsistency(cursor);
+        if (!inconsistency.isEmpty()) {
+            return inconsistency;
+        }
+        int prefixLength = prefixLength(cursor);
+        if (prefixLength > MAX_PREFIX_LENGTH) {
+            return format(
+                    "Meta data for tree node is inconsistent, id=%d: Prefix does not fit in prefix area, prefixLength=%d, maxPrefixLength=%d",
+                    cursor.getCurrentPageId(), prefixLength, MAX_PREFIX_LENGTH);
+        }
+        return "";
+    }
+
+    @Override
+    public String toString() {
+        return "TreeNodeDynamicSizePrefixCompressed[pageSize:" + (payloadSize + PREFIX_AREA_SIZE)
+                + ", keyValueSizeCap:" + keyValueSizeCap() + ", inlineKeyValueSizeCap:" + inlineKeyValueSizeCap()
+                + ", maxPrefixLength:" + MAX_PREFIX_LENGTH + "]";
+    }
+
+    /**
+     * Put together the full serialized key at keyOffset into scratch.
+     *
+     * @return size of the key, or -1 if what was read does not make sense, in which case a cursor exception is set.
+     */
+    private int decodeKey(PageCursor cursor, int keyOffset, int storedKeySize, KeyScratch scratch) {
+        int prefixStart = prefixStart(cursor);
+        int prefixLength = prefixLength(cursor);
+        int shared = cursor.getByte(keyOffset) & 0xFF;
+        int verbatimSize = storedKeySize - SHARED_MARKER_SIZE;
+        int keySize = verbatimSize + shared;
+        if (verbatimSize < 0
+                || prefixLength > MAX_PREFIX_LENGTH
+                || shared > prefixLength
+                || (shared > 0 && prefixStart > verbatimSize)
+                || keySize > keyValueSizeCap()) {
+            cursor.setCursorException(format(
+                    "Read unreliable prefix compressed key, id=%d, storedKeySize=%d, shared=%d, prefixStart=%d, prefixLength=%d",
+                    cursor.getCurrentPageId(), storedKeySize, shared, prefixStart, prefixLength));
+            return -1;
+        }
+
+        byte[] bytes = scratch.ensureCapacity(keySize);
+        int headSize = shared == 0 ? verbatimSize : prefixStart;
+        cursor.setOffset(keyOffset + SHARED_MARKER_SIZE);
+        cursor.getBytes(bytes, 0, headSize);
+        if (shared > 0) {
+            int tailOffset = cursor.getOffset();
+            cursor.setOffset(payloadSize + PREFIX_HEADER_SIZE);
+            cursor.getBytes(bytes, headSize, shared);
+            cursor.setOffset(tailOffset);
+            cursor.getBytes(bytes, headSize + shared, verbatimSize - headSize);
+        }
+        return keySize;
+    }
+
+    private int sharedWithPrefix(PageCursor cursor, byte[] key, int keySize) {
+        int prefixStart = prefixStart(cursor);
+        int maxShared = Math.min(Math.min(prefixLength(cursor), MAX_PREFIX_LENGTH), keySize - prefixStart);
+        int prefixOffset = payloadSize + PREFIX_HEADER_SIZE;
+        int shared = 0;
+        while (shared < maxShared && key[prefixStart + shared] == cursor.getByte(prefixOffset + shared)) {
+            shared++;
+        }
+        return shared;
+    }
+
+    private boolean samePrefix(PageCursor cursor, PageCursor otherCursor) {
+        int prefixLength = prefixLength(cursor);
+        if (prefixLength != prefixLength(otherCursor) || prefixStart(cursor) != prefixStart(otherCursor)) {
+            return false;
+        }
+        int prefixOffset = payloadSize + PREFIX_HEADER_SIZE;
+        for (int i = 0; i < Math.min(prefixLength, MAX_PREFIX_LENGTH); i++) {
+            if (cursor.getByte(prefixOffset + i) != otherCursor.getByte(prefixOffset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int prefixStart(PageCursor cursor) {
+        return cursor.getShort(payloadSize) & 0xFFFF;
+    }
+
+    private int prefixLength(PageCursor cursor) {
+        return cursor.getByte(payloadSize + Short.BYTES) & 0xFF;
+    }
+
+    private Prefix readPrefix(PageCursor cursor) {
+        byte[] bytes = new byte[Math.min(prefixLength(cursor), MAX_PREFIX_LENGTH)];
+        cursor.setOffset(payloadSize + PREFIX_HEADER_SIZE);
+        cursor.getBytes(bytes);
+        return new Prefix(prefixStart(cursor), bytes);
+    }
+
+    private void writePrefix(PageCursor cursor, Prefix prefix) {
+        cursor.putShort(payloadSize, (short) prefix.start());
+        cursor.putByte(payloadSize + Short.BYTES, (byte) prefix.bytes().length);
+        cursor.setOffset(payloadSize + PREFIX_HEADER_SIZE);
+        cursor.putBytes(prefix.bytes());
+    }
+
+    /**
+     * @return the longest run of bytes, at the same offset, that all keys have in common.
+     */
+    private static Prefix commonPrefix(byte[][] keys) {
+        byte[] first = null;
+        int minKeySize = Integer.MAX_VALUE;
+        for (byte[] key : keys) {
+            if (key != null) {
+                first = first == null ? key : first;
+                minKeySize = Math.min(minKeySize, key.length);
+            }
+        }
+        if (first == null) {
+            return Prefix.EMPTY;
+        }
+
+        int bestStart = 0;
+        int bestLength = 0;
+        int runStart = 0;
+        for (int i = 0; i < minKeySize && bestLength < MAX_PREFIX_LENGTH; i++) {
+            if (allKeysHave(keys, i, first[i])) {
+                if (i - runStart + 1 > bestLength) {
+                    bestStart = runStart;
+                    bestLength = i - runStart + 1;
+                }
+            } else {
+                runStart = i + 1;
+            }
+        }
+        return new Prefix(bestStart, Arrays.copyOfRange(first, bestStart, bestStart + bestLength));
+    }
+
+    private static boolean allKeysHave(byte[][] keys, int offset, byte value) {
+        for (byte[] key : keys) {
+            if (key != null && key[offset] != value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return size of an inlined key and value, excluding offset, when the key shares the given number of bytes
+     * with the node prefix.
+     */
+    private static int entrySize(int keySize, int shared, int valueSize) {
+        int storedKeySize = keySize + SHARED_MARKER_SIZE - shared;
+        return getOverhead(storedKeySize, valueSize, false) + storedKeySize + valueSize;
+    }
+
+    /**
+     * Write key value size and key, leaving the cursor where the value goes.
+     */
+    private static void putKeyValueSizeAndKey(
+            PageCursor cursor, byte[] key, int keySize, int valueSize, int prefixStart, int shared) {
+        putKeyValueSize(cursor, keySize + SHARED_MARKER_SIZE - shared, valueSize);
+        cursor.putByte((byte) shared);
+        if (shared == 0) {
+            cursor.putBytes(key, 0, keySize);
+        } else {
+            cursor.putBytes(key, 0, prefixStart);
+            cursor.putBytes(key, prefixStart + shared, keySize - prefixStart - shared);
+        }
+    }
+
+    /**
+     * Entries of a node, offloaded entries are kept as raw entries in values, with no key.
+     */
+    private record Entries(byte[][] keys, byte[][] values) {
+        /**
+         * @return the longest common run of bytes of the keys, unless the current prefix compresses better.
+         */
+        Prefix pickPrefix(Prefix current) {
+            Prefix candidate = commonPrefix(keys);
+            return encodedSize(candidate) <= encodedSize(current) ? candidate : current;
+        }
+
+        int encodedSize(Prefix prefix) {
+            int size = 0;
+            for (int i = 0; i < keys.length; i++) {
+                size += keys[i] == null
+                        ? values[i].length
+                        : entrySize(keys[i].length, prefix.shared(keys[i]), values[i].length);
+            }
+            return size;
+        }
+    }
+
+    private record Prefix(int start, byte[] bytes) {
+        static final Prefix EMPTY = new Prefix(0, new byte[0]);
+
+        int shared(byte[] key) {
+            int maxShared = Math.min(bytes.length, key.length - start);
+            int shared = 0;
+            while (shared < maxShared && key[start + shared] == bytes[shared]) {
+                shared++;
+            }
+            return shared;
+        }
+    }
+
+    private static class KeyScratch {
+        private byte[] bytes = new byte[64];
+        private PageCursor cursor;
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        byte[] ensureCapacity(int size) {
+            if (bytes.length < size) {
+                bytes = new byte[Math.max(size, bytes.length * 2)];
+                cursor = null;
+            }
+            return bytes;
+        }
+
+        /**
+         * @return cursor over the scratch bytes, at offset 0.
+         */
+        PageCursor cursor(ByteOrder order) {
+            if (cursor == null || cursor.getByteOrder() != order) {
+                cursor = new ByteArrayPageCursor(ByteBuffer.wrap(bytes).order(order));
+            }
+            cursor.setOffset(0);
+            return cursor;
+        }
+
+        <KEY> byte[] serialize(Layout<KEY, ?> layout, KEY key, int keySize, ByteOrder order) {
+            ensureCapacity(keySize);
+            layout.writeKey(cursor(order), key);
+            return bytes;
+        }
+    }
+}
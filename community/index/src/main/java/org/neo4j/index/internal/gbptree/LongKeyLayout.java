@@ -73,6 +73,16 @@ public class LongKeyLayout extends KeyLayout.Adapter<LongKeyLayout.LongKey> {
         return Long.compare(o1.id, o2.id);
     }
 
+    @Override
+    public boolean canCompareSerializedKey() {
+        return true;
+    }
+
+    @Override
+    public int compareSerializedKey(LongKey key, PageCursor cursor, int offset) {
+        return Long.compare(key.id, cursor.getLong(offset));
+    }
+
     static class LongKey {
         long id;
 
@@ -25,6 +25,8 @@ import static org.neo4j.util.Preconditions.checkState;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.OpenOption;
+import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.index.internal.gbptree.TreeNodeSelector.Factory;
 import org.neo4j.io.pagecache.PageCursor;
 
@@ -199,8 +201,11 @@ public class Meta {
         return read(ByteBuffer.wrap(buffer).order(cursor.getByteOrder()));
     }
 
-    public void verify(Layout<?, ?> dataLayout, RootLayerConfiguration<?> rootLayerConfiguration) {
-        verify(dataLayout, rootLayerConfiguration.rootLayout(), DefaultTreeNodeSelector.selector());
+    public void verify(
+            Layout<?, ?> dataLayout,
+            RootLayerConfiguration<?> rootLayerConfiguration,
+            ImmutableSet<OpenOption> openOptions) {
+        verify(dataLayout, rootLayerConfiguration.rootLayout(), DefaultTreeNodeSelector.selector(openOptions));
     }
 
     public void verify(Layout<?, ?> dataLayout, Layout<?, ?> rootLayout, TreeNodeSelector treeNodeSelector) {
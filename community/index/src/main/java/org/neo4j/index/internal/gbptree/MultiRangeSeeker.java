@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import java.io.IOException;
+import java.util.List;
+import org.neo4j.util.Preconditions;
+
+/**
+ * {@link Seeker} over multiple key ranges, seeking them one after the other with a single {@link Seeker}.
+ * See {@link Seeker.Factory#multiSeek(List, List, org.neo4j.io.pagecache.context.CursorContext)}.
+ *
+ * @param <KEY> type of key in the tree.
+ * @param <VALUE> type of value in the tree.
+ */
+class MultiRangeSeeker<KEY, VALUE> implements Seeker<KEY, VALUE> {
+    private final Seeker.Factory<KEY, VALUE> factory;
+    private final Seeker<KEY, VALUE> seeker;
+    private final List<KEY> fromInclusive;
+    private final List<KEY> toExclusive;
+    private int range = -1;
+
+    MultiRangeSeeker(
+            Seeker.Factory<KEY, VALUE> factory,
+            Seeker<KEY, VALUE> seeker,
+            List<KEY> fromInclusive,
+            List<KEY> toExclusive) {
+        Preconditions.checkArgument(
+                fromInclusive.size() == toExclusive.size(),
+                "Expected as many lower bounds as higher bounds, got %d and %d",
+                fromInclusive.size(),
+                toExclusive.size());
+        this.factory = factory;
+        this.seeker = seeker;
+        this.fromInclusive = fromInclusive;
+        this.toExclusive = toExclusive;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        while (true) {
+            if (range >= 0 && seeker.next()) {
+                return true;
+            }
+            if (++range >= fromInclusive.size()) {
+                return false;
+            }
+            factory.continueSeek(seeker, fromInclusive.get(range), toExclusive.get(range));
+        }
+    }
+
+    @Override
+    public KEY key() {
+        return seeker.key();
+    }
+
+    @Override
+    public VALUE value() {
+        return seeker.value();
+    }
+
+    @Override
+    public void close() throws IOException {
+        seeker.close();
+    }
+}
@@ -610,6 +610,10 @@ public class MultiRootGBPTree<ROOT_KEY, KEY, VALUE> implements Closeable {
                 created = needRecreation(pagedFile, cursorContext, monitor, readOnly);
             }
 
+            if (!created) {
+                engineOpenOptions = storedFormatOpenOptions(pagedFile, engineOpenOptions, cursorContext);
+            }
+
             this.payloadSize = pagedFile.payloadSize();
             this.freeList = new FreeListIdProvider(pagedFile.payloadSize());
             TreeNodeLatchService latchService = new TreeNodeLatchService();
@@ -1482,5 +1486,22 @@ public class MultiRootGBPTree<ROOT_KEY, KEY, VALUE> implements Closeable {
         }
     }
 
+    /**
+     * The leaf format of an existing tree is the one stored in its meta, not the one new trees are created with.
+     * {@link GBPTreeOpenOptions#PREFIX_COMPRESSED_LEAVES} is therefore replaced by whatever the tree was created with,
+     * so that changing the format of new trees doesn't make existing trees fail {@link Meta#verify}.
+     */
+    private static ImmutableSet<OpenOption> storedFormatOpenOptions(
+            PagedFile pagedFile, ImmutableSet<OpenOption> engineOpenOptions, CursorContext cursorContext)
+            throws IOException {
+        if (pagedFile.getLastPageId() < IdSpace.META_PAGE_ID) {
+            return engineOpenOptions;
+        }
+        var meta = RootLayerSupport.readMeta(pagedFile, cursorContext);
+        return engineOpenOptions
+                .newWithout(GBPTreeOpenOptions.PREFIX_COMPRESSED_LEAVES)
+                .newWithAll(DefaultTreeNodeSelector.openOptionsFor(meta.getDataFormatIdentifier()));
+    }
+
     private record OpenResult(PagedFile pagedFile, boolean created) {}
 }
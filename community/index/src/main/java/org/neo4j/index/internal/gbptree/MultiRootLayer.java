@@ -587,6 +587,12 @@ class MultiRootLayer<ROOT_KEY, DATA_KEY, DATA_VALUE> extends RootLayer<ROOT_KEY,
                     cursorContext);
         }
 
+        @Override
+        public BulkLoader<DATA_KEY, DATA_VALUE> bulkLoader(CursorContext cursorContext) throws IOException {
+            return support.internalBulkLoader(
+                    dataLayout, dataLeafNode, dataInternalNode, rootMappingInteraction, DATA_LAYER_FLAG, cursorContext);
+        }
+
         @Override
         public long estimateNumberOfEntriesInTree(CursorContext cursorContext) throws IOException {
             return support.estimateNumberOfEntriesInTree(
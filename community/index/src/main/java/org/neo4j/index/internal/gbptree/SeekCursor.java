@@ -168,6 +168,12 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
     static final int DEFAULT_MAX_READ_AHEAD = 20;
     static final int LEAF_LEVEL = Integer.MAX_VALUE;
 
+    /**
+     * Number of right siblings that a {@link #continueSeek(Object, Object) continued seek} visits looking for its
+     * first hit before giving up on moving right and traversing down from the root instead.
+     */
+    static final int MAX_SIBLING_HOPS_WHEN_CONTINUING = 2;
+
     /**
      * Cursor for reading from tree nodes and also will be moved around when following pointers.
      */
@@ -247,6 +253,12 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
      */
     private final LongSupplier generationSupplier;
 
+    /**
+     * Moves the {@link PageCursor} to the root when starting a seek, kept for {@link #continueSeek(Object, Object)}
+     * to be able to start a seek over from the root.
+     */
+    private RootInitializer rootInitializer;
+
     /**
      * Retrieves latest root id and generation, moving the {@link PageCursor} to the root id and returning
      * the root generation. This is used when a query is re-traversing from the root, due to e.g. ending up
@@ -254,6 +266,23 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
      */
     private RootCatchup rootCatchup;
 
+    /**
+     * Max number of keys to read ahead in one batch, see {@link #readAndValidateNextKeyValueBatch()}.
+     */
+    private int maxReadAhead;
+
+    /**
+     * Whether or not the {@link PageCursor} is placed on a node which a forward seek on leaf level can continue
+     * from, i.e. the previous seek got to its leaf level without failing. See {@link #continueSeek(Object, Object)}.
+     */
+    private boolean positioned;
+
+    /**
+     * Number of right siblings to visit when looking for the first hit before traversing down from the root instead.
+     * Only limited for {@link #continueSeek(Object, Object) continued seeks}.
+     */
+    private int siblingHopsLeft;
+
     /**
      * What level of the tree to search, {@link #LEAF_LEVEL} indicate always seek the leaves.
      */
@@ -462,7 +491,6 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
         this.maxKeyCount = Math.max(leafNode.maxKeyCount(), internalNode.maxKeyCount());
     }
 
-    @SuppressWarnings("unchecked")
     SeekCursor<KEY, VALUE> initialize(
             RootInitializer rootInitializer,
             RootCatchup rootCatchup,
@@ -473,7 +501,11 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
             Monitor monitor)
             throws IOException {
         Preconditions.checkState(!closed, "Seeker already closed");
+        this.rootInitializer = rootInitializer;
         this.rootCatchup = rootCatchup;
+        this.maxReadAhead = maxReadAhead;
+        this.positioned = false;
+        this.siblingHopsLeft = Integer.MAX_VALUE;
         this.lastFollowedPointerGeneration = rootInitializer.goToRoot(cursor, cursorContext);
         long generation = generationSupplier.getAsLong();
         this.stableGeneration = Generation.stableGeneration(generation);
@@ -492,13 +524,7 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
         this.stride = seekForward ? 1 : -1;
         this.searchLevel = searchLevel;
         this.monitor = monitor;
-        int batchSize = exactMatch ? 1 : maxReadAhead;
-        if (mutableKeys == null || batchSize > mutableKeys.length) {
-            this.mutableKeys = (KEY[]) new Object[batchSize];
-            this.mutableValues = new ValueHolder[batchSize];
-            this.mutableKeys[0] = layout.newKey();
-            this.mutableValues[0] = new ValueHolder<>(layout.newValue());
-        }
+        ensureBatchSize();
         this.ended = false;
         this.pos = 0;
         this.keyCount = 0;
@@ -520,9 +546,83 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
             closeAllSilently(this);
             throw e;
         }
+        positioned = true;
+        return this;
+    }
+
+    /**
+     * Seeks a new key range, continuing from where the previous seek left the {@link PageCursor}, instead of
+     * traversing down from the root. The first hit is searched for in the current leaf and, if not found there,
+     * in at most {@link #MAX_SIBLING_HOPS_WHEN_CONTINUING} right siblings before traversing down from the root.
+     * <p>
+     * Continuing from the current leaf is only correct because keys are never moved to the left in the tree:
+     * all keys after the previous range are in this leaf or to the right of it. Because of that the seek is only
+     * continued if both this and the previous seek go forwards on leaf level and {@code fromInclusive} is after
+     * the previous range, otherwise this falls back to a seek from the root, like
+     * {@link #initialize(RootInitializer, RootCatchup, Object, Object, int, int, Monitor)}.
+     * The {@code toExclusive} key of the previous seek must not have been changed since that seek was initialized.
+     *
+     * @param fromInclusive lower bound of the range to seek (inclusive).
+     * @param toExclusive higher bound of the range to seek (exclusive).
+     * @return this seeker, initialized for the new range.
+     * @throws IOException on {@link PageCursor} error.
+     */
+    SeekCursor<KEY, VALUE> continueSeek(KEY fromInclusive, KEY toExclusive) throws IOException {
+        Preconditions.checkState(!closed, "Seeker already closed");
+        Preconditions.checkState(rootInitializer != null, "Seeker has not been initialized");
+        if (!canContinueWith(fromInclusive, toExclusive)) {
+            return initialize(
+                    rootInitializer, rootCatchup, fromInclusive, toExclusive, maxReadAhead, searchLevel, monitor);
+        }
+
+        generationCatchup();
+        this.fromInclusive = fromInclusive;
+        this.toExclusive = toExclusive;
+        this.exactMatch = layout.compare(fromInclusive, toExclusive) == 0;
+        this.first = true;
+        this.ended = false;
+        this.cachedIndex = 0;
+        this.cachedLength = 0;
+        this.resultOnTrack = false;
+        this.siblingHopsLeft = MAX_SIBLING_HOPS_WHEN_CONTINUING;
+        ensureBatchSize();
+        // Search for the start of the new range in the current node on the first read
+        this.concurrentWriteHappened = true;
         return this;
     }
 
+    /**
+     * @return whether this seeker has been initialized for a seek, which {@link #continueSeek(Object, Object)}
+     * requires.
+     */
+    boolean isInitialized() {
+        return rootInitializer != null;
+    }
+
+    private boolean canContinueWith(KEY fromInclusive, KEY toExclusive) {
+        if (!positioned || !seekForward || searchLevel != LEAF_LEVEL) {
+            return false;
+        }
+        if (layout.compare(fromInclusive, toExclusive) > 0) {
+            // New seek goes backwards
+            return false;
+        }
+        // An exact match may have returned a key equal to the end of its range, which a new range must start after
+        int comparison = layout.compare(fromInclusive, this.toExclusive);
+        return exactMatch ? comparison > 0 : comparison >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void ensureBatchSize() {
+        int batchSize = exactMatch ? 1 : maxReadAhead;
+        if (mutableKeys == null || batchSize > mutableKeys.length) {
+            this.mutableKeys = (KEY[]) new Object[batchSize];
+            this.mutableValues = new ValueHolder[batchSize];
+            this.mutableKeys[0] = layout.newKey();
+            this.mutableValues[0] = new ValueHolder<>(layout.newValue());
+        }
+    }
+
     /**
      * Traverses from the root down to the node on target level (usually leaf) containing the next key that we're looking for,
      * or the first one provided in the constructor if no result have yet been returned.
@@ -689,6 +789,7 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
                 return false;
             }
         } catch (Throwable e) {
+            positioned = false;
             exceptionDecorator.accept(e);
             throw e;
         }
@@ -983,6 +1084,13 @@ class SeekCursor<KEY, VALUE> implements Seeker<KEY, VALUE> {
             return true;
         } else if (TreeNodeUtil.isNode(pointerId)) {
             if (seekForward) {
+                if (first && siblingHopsLeft-- <= 0) {
+                    // A continued seek that has not found its first hit close by, go look for it from the root instead
+                    prepareToStartFromRoot();
+                    traverseDownToCorrectLevel();
+                    siblingHopsLeft = Integer.MAX_VALUE;
+                    return true;
+                }
                 // TODO: Check if rightSibling is within expected range before calling next.
                 // TODO: Possibly by getting highest expected from IdProvider
                 TreeNodeUtil.goTo(cursor, "sibling", pointerId);
@@ -104,6 +104,51 @@ public interface Seeker<KEY, VALUE> extends Closeable {
          */
         Seeker<KEY, VALUE> seek(Seeker<KEY, VALUE> seeker, KEY fromInclusive, KEY toExclusive) throws IOException;
 
+        /**
+         * Seeks with an existing {@link Seeker} instance, like {@link #seek(Seeker, Object, Object)}, but continues
+         * from where the previous seek of that seeker left off if that is cheaper than traversing down from the root,
+         * see {@link #multiSeek(List, List, CursorContext)}. Seeking many ranges sorted in ascending order one after
+         * the other with the same seeker is therefore cheaper than seeking them from the root.
+         * <p>
+         * The key instances of the previous seek must not have been changed since that seek was initialized.
+         *
+         * @param seeker {@link Seeker} instance to use to do this seek. This instance is also returned for convenience.
+         * @param fromInclusive lower bound of the range to seek (inclusive).
+         * @param toExclusive higher bound of the range to seek (exclusive).
+         * @return a {@link Seeker} used to iterate over the hits within the specified key range.
+         * @throws IOException on error reading from index.
+         */
+        default Seeker<KEY, VALUE> continueSeek(Seeker<KEY, VALUE> seeker, KEY fromInclusive, KEY toExclusive)
+                throws IOException {
+            if (seeker instanceof SeekCursor<KEY, VALUE> seekCursor && seekCursor.isInitialized()) {
+                return seekCursor.continueSeek(fromInclusive, toExclusive);
+            }
+            return seek(seeker, fromInclusive, toExclusive);
+        }
+
+        /**
+         * Seeks hits for multiple key ranges using a single {@link Seeker}. Hits are returned range by range,
+         * in the order the ranges are provided, as if seeking them one after the other.
+         * <p>
+         * Separate seeks each traverse down from the root to find where their range starts. Here, a range which
+         * starts at or after the end of the previous range, both seeking forwards, is instead found by continuing
+         * from where the previous range ended and moving right along the leaves, if it is close by. Providing many
+         * ranges sorted in ascending order, e.g. for the values of an IN-list, is therefore cheaper than seeking them
+         * one by one. Other ranges are sought from the root, like separate seeks.
+         * <p>
+         * The key instances in the lists are used by the seek and must not be changed while it is ongoing.
+         *
+         * @param fromInclusive lower bounds of the ranges to seek (inclusive).
+         * @param toExclusive higher bounds of the ranges to seek (exclusive), one for each lower bound.
+         * @param cursorContext underlying page cursor context
+         * @return a {@link Seeker} used to iterate over the hits within the specified key ranges.
+         * @throws IOException on error reading from index.
+         */
+        default Seeker<KEY, VALUE> multiSeek(
+                List<KEY> fromInclusive, List<KEY> toExclusive, CursorContext cursorContext) throws IOException {
+            return new MultiRangeSeeker<>(this, allocateSeeker(cursorContext), fromInclusive, toExclusive);
+        }
+
         /**
          * Partitions the provided key range into {@code numberOfPartitions} partitions and instantiates a {@link Seeker} for each.
          * Caller can seek through the partitions in parallel. Caller is responsible for closing the returned {@link Seeker seekers}.
@@ -30,5 +30,21 @@ public interface SharedNodeBehaviour<KEY> {
 
     Comparator<KEY> keyComparator();
 
+    /**
+     * @return whether or not keys in this node can be compared where they are in the page,
+     * using {@link #compareKeyAt(PageCursor, Object, int)}.
+     */
+    default boolean canCompareKeyAt() {
+        return false;
+    }
+
+    /**
+     * Compares {@code key} with key at {@code pos} without reading it into a key instance.
+     * Only supported if {@link #canCompareKeyAt()}.
+     */
+    default int compareKeyAt(PageCursor cursor, KEY key, int pos) {
+        throw new UnsupportedOperationException();
+    }
+
     int availableSpace(PageCursor cursor, int currentKeyCount);
 }
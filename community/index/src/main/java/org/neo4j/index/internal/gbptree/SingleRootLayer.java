@@ -243,6 +243,12 @@ class SingleRootLayer<KEY, VALUE> extends RootLayer<SingleRoot, KEY, VALUE> {
             }
         }
 
+        @Override
+        public BulkLoader<KEY, VALUE> bulkLoader(CursorContext cursorContext) throws IOException {
+            return support.internalBulkLoader(
+                    layout, leafNode, internalNode, SingleRootLayer.this, DATA_LAYER_FLAG, cursorContext);
+        }
+
         @Override
         public long estimateNumberOfEntriesInTree(CursorContext cursorContext) throws IOException {
             return support.estimateNumberOfEntriesInTree(
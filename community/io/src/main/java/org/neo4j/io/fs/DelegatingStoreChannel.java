@@ -21,6 +21,7 @@ package org.neo4j.io.fs;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileLock;
 
 public class DelegatingStoreChannel<T extends StoreChannel> implements StoreChannel {
@@ -146,4 +147,9 @@ public class DelegatingStoreChannel<T extends StoreChannel> implements StoreChan
     public void tryMakeUninterruptible() {
         delegate.tryMakeUninterruptible();
     }
+
+    @Override
+    public MappedByteBuffer mapReadOnly(long position, long size) throws IOException {
+        return delegate.mapReadOnly(position, size);
+    }
 }
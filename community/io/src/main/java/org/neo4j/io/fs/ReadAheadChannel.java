@@ -29,11 +29,13 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.util.zip.Checksum;
+import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.memory.ScopedBuffer;
 
 /**
  * A buffering implementation of {@link ReadableChannel}. This class also allows subclasses to read content
- * spanning more than one file, by properly implementing {@link #next(StoreChannel)}.
+ * spanning more than one file, by properly implementing {@link #next(StoreChannel)}, and to read content of files
+ * that no longer change directly from a memory mapping, by implementing {@link #map(StoreChannel)}.
  * @param <T> The type of StoreChannel wrapped
  */
 public class ReadAheadChannel<T extends StoreChannel> implements ReadableChannel {
@@ -41,19 +43,28 @@ public class ReadAheadChannel<T extends StoreChannel> implements ReadableChannel
     private final ScopedBuffer scopedBuffer;
 
     protected T channel;
-    private final ByteBuffer aheadBuffer;
+    private final ByteBuffer readAheadBuffer;
+    private final ByteBuffer readAheadChecksumView;
     private final int readAheadSize;
     private final Checksum checksum;
-    private final ByteBuffer checksumView;
+    // Either the read-ahead buffer or the mapping of the current channel, and a duplicate of it for checksumming
+    private ByteBuffer aheadBuffer;
+    private ByteBuffer checksumView;
+    // The channel that was last considered for mapping, and its mapping if it got mapped
+    private T mappedChannel;
+    private ByteBuffer mapping;
+    private ByteBuffer mappingChecksumView;
 
     private ReadAheadChannel(T channel, ByteBuffer byteBuffer, ScopedBuffer scopedBuffer) {
         requireNonNull(channel);
         requireNonNull(byteBuffer);
-        this.aheadBuffer = byteBuffer;
-        this.aheadBuffer.position(aheadBuffer.capacity());
+        this.readAheadBuffer = byteBuffer;
+        this.readAheadBuffer.position(readAheadBuffer.capacity());
+        this.aheadBuffer = readAheadBuffer;
         this.channel = channel;
-        this.readAheadSize = aheadBuffer.capacity();
-        this.checksumView = aheadBuffer.duplicate();
+        this.readAheadSize = readAheadBuffer.capacity();
+        this.readAheadChecksumView = readAheadBuffer.duplicate();
+        this.checksumView = readAheadChecksumView;
         this.checksum = CHECKSUM_FACTORY.get();
         this.scopedBuffer = scopedBuffer;
     }
@@ -216,6 +227,7 @@ public class ReadAheadChannel<T extends StoreChannel> implements ReadableChannel
 
     @Override
     public void close() throws IOException {
+        releaseMapping();
         if (channel != null) {
             channel.close();
             channel = null;
@@ -238,15 +250,35 @@ public class ReadAheadChannel<T extends StoreChannel> implements ReadableChannel
         // Update checksum with consumed bytes
         checksumView.limit(aheadBuffer.position());
         checksum.update(checksumView);
-        checksumView.clear();
+
+        if (remaining == 0 && readFromMapping() && aheadBuffer.remaining() >= requestedNumberOfBytes) {
+            return;
+        }
 
         // We ran out, try to read some more
         // start by copying the remaining bytes to the beginning
-        aheadBuffer.compact();
+        if (aheadBuffer == readAheadBuffer) {
+            aheadBuffer.compact();
+        } else {
+            // what is left of the mapping runs up to the end of the channel
+            readAheadBuffer.clear();
+            readAheadBuffer.put(aheadBuffer);
+            aheadBuffer = readAheadBuffer;
+            checksumView = readAheadChecksumView;
+        }
+        checksumView.clear();
 
         while (aheadBuffer.position()
                 < aheadBuffer.capacity()) { // read from the current channel to try and fill the buffer
+            if (isMapped(channel)) {
+                // only read what is requested, what comes after it is then read directly from the mapping
+                if (aheadBuffer.position() >= requestedNumberOfBytes) {
+                    break;
+                }
+                aheadBuffer.limit(requestedNumberOfBytes);
+            }
             int read = channel.read(aheadBuffer);
+            aheadBuffer.limit(aheadBuffer.capacity());
             if (read == -1) {
                 // current channel ran out...
                 if (aheadBuffer.position() >= requestedNumberOfBytes) { // ...although we have satisfied the request
@@ -280,6 +312,67 @@ public class ReadAheadChannel<T extends StoreChannel> implements ReadableChannel
         return channel;
     }
 
+    /**
+     * Hook for allowing subclasses to read the content of a channel directly from a memory mapping of it, instead of
+     * copying it into the read-ahead buffer. This method is called at most once per channel, and only channels whose
+     * content no longer changes should be mapped. The returned buffer is owned, and eventually unmapped, by this
+     * class. The default implementation returns {@code null}, which means that the channel is not mapped.
+     * @param channel The channel to map.
+     * @return a read-only mapping of the whole content of the channel, or {@code null} if it is not mapped.
+     * @throws IOException on I/O error.
+     */
+    protected ByteBuffer map(T channel) throws IOException {
+        return null;
+    }
+
+    private boolean isMapped(T channel) throws IOException {
+        if (mappedChannel != channel) {
+            releaseMapping();
+            mappedChannel = channel;
+            mapping = map(channel);
+            if (mapping != null) {
+                mapping.order(readAheadBuffer.order());
+                mappingChecksumView = mapping.duplicate();
+            }
+        }
+        return mapping != null && channel.position() < mapping.capacity();
+    }
+
+    /**
+     * Continue reading directly from the mapping of the current channel, if it is mapped. The channel is moved to
+     * its end, so that {@link #position()} and {@link #position(long)} work the same as with the read-ahead buffer.
+     */
+    private boolean readFromMapping() throws IOException {
+        if (!isMapped(channel)) {
+            return false;
+        }
+        int position = toIntExact(channel.position());
+        mapping.limit(mapping.capacity()).position(position);
+        mappingChecksumView.limit(mappingChecksumView.capacity()).position(position);
+        channel.position(mapping.capacity());
+        aheadBuffer = mapping;
+        checksumView = mappingChecksumView;
+        return true;
+    }
+
+    /**
+     * Unmaps the mapping of the current channel, if any. Must only be called when all of it that is going to be read
+     * has been consumed.
+     */
+    private void releaseMapping() {
+        if (mapping != null) {
+            if (aheadBuffer == mapping) {
+                aheadBuffer = readAheadBuffer.limit(0);
+                checksumView = readAheadChecksumView.clear();
+            }
+            ByteBuffer unmapped = mapping;
+            mapping = null;
+            mappingChecksumView = null;
+            UnsafeUtil.invokeCleaner(unmapped);
+        }
+        mappedChannel = null;
+    }
+
     @Override
     public void position(long byteOffset) throws IOException {
         long positionRelativeToAheadBuffer = byteOffset - (channel.position() - aheadBuffer.limit());
@@ -22,6 +22,7 @@ package org.neo4j.io.fs;
 import java.io.Flushable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileLock;
 import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.InterruptibleChannel;
@@ -101,4 +102,17 @@ public interface StoreChannel
      * An uninterruptible channel will not automatically close itself if a calling thread is interrupted before or during an IO operation.
      */
     void tryMakeUninterruptible();
+
+    /**
+     * Map a region of the file of this channel into memory, read only. The mapping stays valid until the buffer is
+     * garbage collected or explicitly unmapped, regardless of this channel being closed.
+     * @param position position in the file where the mapped region starts.
+     * @param size size of the mapped region.
+     * @return the mapped region, or {@code null} if this channel does not support memory mapping.
+     * @throws IOException If an I/O error occurs.
+     * @see java.nio.channels.FileChannel#map(java.nio.channels.FileChannel.MapMode, long, long)
+     */
+    default MappedByteBuffer mapReadOnly(long position, long size) throws IOException {
+        return null;
+    }
 }
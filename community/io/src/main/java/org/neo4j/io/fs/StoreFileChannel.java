@@ -30,6 +30,7 @@ import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import org.neo4j.function.ThrowingFunction;
@@ -268,4 +269,9 @@ public class StoreFileChannel implements StoreChannel {
     public void flush() throws IOException {
         force(false);
     }
+
+    @Override
+    public MappedByteBuffer mapReadOnly(long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
 }
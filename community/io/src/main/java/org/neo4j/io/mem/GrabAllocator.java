@@ -23,12 +23,23 @@ import static org.neo4j.io.ByteUnit.gibiBytes;
 import static org.neo4j.io.ByteUnit.kibiBytes;
 
 import java.lang.ref.Cleaner;
+import java.util.function.Consumer;
+import org.neo4j.internal.nativeimpl.NativeAccess;
+import org.neo4j.internal.nativeimpl.NativeAccessProvider;
+import org.neo4j.internal.nativeimpl.NativeCallResult;
 import org.neo4j.internal.unsafe.UnsafeUtil;
+import org.neo4j.io.mem.MemoryPlacement.HugePages;
+import org.neo4j.io.mem.MemoryPlacement.NumaPolicy;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.util.Preconditions;
 
 /**
  * This memory allocator allocates native memory in large segments, called "grabs". It returns portions of those segments applying requested alignment.
+ * <p>
+ * With a non-default {@link MemoryPlacement}, grabs are mapped directly from the operating system instead, so that
+ * they can be backed by huge pages and be given a NUMA memory policy before they are touched. Grab sizes are then
+ * rounded up to whole huge pages. When advising huge pages or setting the NUMA policy fails, the failure is reported
+ * once, and later grabs keep the default placement for it.
  */
 public final class GrabAllocator implements MemoryAllocator {
 
@@ -50,8 +61,34 @@ public final class GrabAllocator implements MemoryAllocator {
      * @param memoryTracker     memory usage tracker
      */
     GrabAllocator(long expectedMaxMemory, Long grabSize, MemoryTracker memoryTracker) {
+        this(
+                expectedMaxMemory,
+                grabSize,
+                MemoryPlacement.DEFAULT,
+                NativeAccessProvider.getNativeAccess(),
+                failure -> {},
+                memoryTracker);
+    }
+
+    /**
+     * @param placementFailures receives a description of native calls that failed to apply the placement.
+     */
+    GrabAllocator(
+            long expectedMaxMemory,
+            Long grabSize,
+            MemoryPlacement placement,
+            NativeAccess nativeAccess,
+            Consumer<String> placementFailures,
+            MemoryTracker memoryTracker) {
         Preconditions.requirePositive(expectedMaxMemory);
-        this.grabs = new Grabs(expectedMaxMemory, calculateGrabSize(grabSize, expectedMaxMemory), memoryTracker);
+        GrabPlacement grabPlacement = placement.isDefault() || !nativeAccess.isAvailable()
+                ? null
+                : new GrabPlacement(placement, nativeAccess, placementFailures);
+        long size = calculateGrabSize(grabSize, expectedMaxMemory);
+        if (grabPlacement != null) {
+            size = grabPlacement.roundUp(size);
+        }
+        this.grabs = new Grabs(expectedMaxMemory, size, grabPlacement, memoryTracker);
         this.cleanable = globalCleaner.register(this, new GrabsDeallocator(grabs));
     }
 
@@ -99,19 +136,18 @@ public final class GrabAllocator implements MemoryAllocator {
         public final Grab next;
         private final long address;
         private final long limit;
+        private final boolean mapped;
         private long nextPointer;
 
-        Grab(Grab next, long size, MemoryTracker memoryTracker) {
-            this.next = next;
-            this.address = UnsafeUtil.allocateMemory(size, memoryTracker);
-            this.limit = address + size;
-            nextPointer = address;
+        Grab(Grab next, long address, long size, boolean mapped) {
+            this(next, address, address + size, address, mapped);
         }
 
-        Grab(Grab next, long address, long limit, long nextPointer) {
+        Grab(Grab next, long address, long limit, long nextPointer, boolean mapped) {
             this.next = next;
             this.address = address;
             this.limit = limit;
+            this.mapped = mapped;
             this.nextPointer = nextPointer;
         }
 
@@ -132,8 +168,12 @@ public final class GrabAllocator implements MemoryAllocator {
             return allocation;
         }
 
-        void free(MemoryTracker memoryTracker) {
-            UnsafeUtil.free(address, limit - address, memoryTracker);
+        void free(GrabPlacement placement, MemoryTracker memoryTracker) {
+            if (mapped) {
+                placement.unmap(address, limit - address, memoryTracker);
+            } else {
+                UnsafeUtil.free(address, limit - address, memoryTracker);
+            }
         }
 
         boolean canAllocate(long bytes, long alignment) {
@@ -141,7 +181,7 @@ public final class GrabAllocator implements MemoryAllocator {
         }
 
         Grab setNext(Grab grab) {
-            return new Grab(grab, address, limit, nextPointer);
+            return new Grab(grab, address, limit, nextPointer, mapped);
         }
 
         @Override
@@ -155,16 +195,29 @@ public final class GrabAllocator implements MemoryAllocator {
 
     private static final class Grabs {
         private final long grabSize;
+        private final GrabPlacement placement;
         private final MemoryTracker memoryTracker;
         private long expectedMaxMemory;
         private Grab head;
 
-        Grabs(long expectedMaxMemory, long grabSize, MemoryTracker memoryTracker) {
+        Grabs(long expectedMaxMemory, long grabSize, GrabPlacement placement, MemoryTracker memoryTracker) {
             this.expectedMaxMemory = expectedMaxMemory;
             this.grabSize = grabSize;
+            this.placement = placement;
             this.memoryTracker = memoryTracker;
         }
 
+        private Grab newGrab(Grab next, long size) {
+            if (placement != null) {
+                long mappedSize = placement.roundUp(size);
+                long address = placement.map(mappedSize, memoryTracker);
+                if (address != 0) {
+                    return new Grab(next, address, mappedSize, true);
+                }
+            }
+            return new Grab(next, UnsafeUtil.allocateMemory(size, memoryTracker), size, false);
+        }
+
         long usedMemory() {
             long sum = 0;
             Grab grab = head;
@@ -188,7 +241,7 @@ public final class GrabAllocator implements MemoryAllocator {
             Grab current = head;
 
             while (current != null) {
-                current.free(memoryTracker);
+                current.free(placement, memoryTracker);
                 current = current.next;
             }
             head = null;
@@ -202,7 +255,7 @@ public final class GrabAllocator implements MemoryAllocator {
             if (sizeWithAlignment > grabSize) {
                 // This is a huge allocation. Put it in its own grab and keep any existing grab at the head.
                 Grab nextGrab = head == null ? null : head.next;
-                Grab allocationGrab = new Grab(nextGrab, sizeWithAlignment, memoryTracker);
+                Grab allocationGrab = newGrab(nextGrab, sizeWithAlignment);
                 long allocation = allocationGrab.allocate(bytes, alignment);
                 head = head == null ? allocationGrab : head.setNext(allocationGrab);
                 expectedMaxMemory -= sizeWithAlignment;
@@ -210,13 +263,94 @@ public final class GrabAllocator implements MemoryAllocator {
             }
 
             if (head == null || !head.canAllocate(bytes, alignment)) {
-                head = new Grab(head, grabSize, memoryTracker);
+                head = newGrab(head, grabSize);
                 expectedMaxMemory -= grabSize;
             }
             return head.allocate(bytes, alignment);
         }
     }
 
+    /**
+     * Maps grabs from the operating system according to a non-default {@link MemoryPlacement}.
+     */
+    private static final class GrabPlacement {
+        private final MemoryPlacement placement;
+        private final NativeAccess nativeAccess;
+        private final Consumer<String> failures;
+        private final long pageSize;
+        private final int[] numaNodes;
+        private int nextNumaNode;
+        private boolean adviseHugePages = true;
+        private boolean setNumaPolicy;
+
+        GrabPlacement(MemoryPlacement placement, NativeAccess nativeAccess, Consumer<String> failures) {
+            this.placement = placement;
+            this.nativeAccess = nativeAccess;
+            this.failures = failures;
+            this.pageSize = Math.max(placement.hugePages().pageSize(), UnsafeUtil.pageSize());
+            this.numaNodes = nativeAccess.onlineNumaNodes();
+            this.setNumaPolicy = placement.numaPolicy() != NumaPolicy.DEFAULT && numaNodes.length > 1;
+        }
+
+        long roundUp(long size) {
+            return (size + pageSize - 1) / pageSize * pageSize;
+        }
+
+        /**
+         * @return address of the mapped grab, or zero if it could not be mapped and regular native memory should be
+         * used instead.
+         */
+        long map(long size, MemoryTracker memoryTracker) {
+            memoryTracker.allocateNative(size);
+            long address = 0;
+            HugePages hugePages = placement.hugePages();
+            if (hugePages.explicit()) {
+                address = nativeAccess.tryMapHugeTlbMemory(size, hugePages.pageSize());
+            }
+            if (address == 0 && hugePages != HugePages.DISABLED) {
+                address = nativeAccess.tryMapMemory(size, HugePages.TRANSPARENT.pageSize());
+                if (address != 0 && adviseHugePages) {
+                    NativeCallResult result = nativeAccess.tryAdviseHugePages(address, size);
+                    if (result.isError()) {
+                        adviseHugePages = false;
+                        failures.accept("Unable to advise page cache memory to use transparent huge pages, "
+                                + "regular pages are used instead. " + result);
+                    }
+                }
+            }
+            if (address == 0 && hugePages == HugePages.DISABLED) {
+                address = nativeAccess.tryMapMemory(size, UnsafeUtil.pageSize());
+            }
+            if (address == 0) {
+                memoryTracker.releaseNative(size);
+                return 0;
+            }
+            // Memory policies only affect pages that are not yet faulted in, so they are set before the grab is used.
+            if (setNumaPolicy) {
+                NativeCallResult result;
+                if (placement.numaPolicy() == NumaPolicy.INTERLEAVE) {
+                    result = nativeAccess.tryInterleaveMemory(address, size, numaNodes);
+                } else {
+                    result = nativeAccess.tryPreferMemoryNode(address, size, numaNodes[nextNumaNode]);
+                    nextNumaNode = (nextNumaNode + 1) % numaNodes.length;
+                }
+                if (result.isError()) {
+                    setNumaPolicy = false;
+                    failures.accept("Unable to set the " + placement.numaPolicy()
+                            + " NUMA policy for page cache memory, the default policy is used instead. " + result);
+                }
+            }
+            UnsafeUtil.registerMemory(address, size);
+            return address;
+        }
+
+        void unmap(long address, long size, MemoryTracker memoryTracker) {
+            UnsafeUtil.unregisterMemory(address);
+            nativeAccess.tryUnmapMemory(address, size);
+            memoryTracker.releaseNative(size);
+        }
+    }
+
     private static Cleaner globalCleaner() {
         return Cleaner.create();
     }
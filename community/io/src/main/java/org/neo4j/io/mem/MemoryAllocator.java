@@ -19,6 +19,8 @@
  */
 package org.neo4j.io.mem;
 
+import java.util.function.Consumer;
+import org.neo4j.internal.nativeimpl.NativeAccessProvider;
 import org.neo4j.memory.MemoryTracker;
 
 /**
@@ -33,6 +35,24 @@ public interface MemoryAllocator {
         return new GrabAllocator(expectedMemory, grabSize, memoryTracker);
     }
 
+    /**
+     * @param placementFailures receives a description of every kind of native call that failed to apply the placement.
+     */
+    static MemoryAllocator createAllocator(
+            long expectedMemory,
+            Long grabSize,
+            MemoryPlacement placement,
+            Consumer<String> placementFailures,
+            MemoryTracker memoryTracker) {
+        return new GrabAllocator(
+                expectedMemory,
+                grabSize,
+                placement,
+                NativeAccessProvider.getNativeAccess(),
+                placementFailures,
+                memoryTracker);
+    }
+
     /**
      * @return The sum, in bytes, of all the memory currently allocating through this allocator.
      */
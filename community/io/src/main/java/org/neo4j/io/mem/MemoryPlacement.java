@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.mem;
+
+import static org.neo4j.io.ByteUnit.gibiBytes;
+import static org.neo4j.io.ByteUnit.mebiBytes;
+
+import java.util.Objects;
+import org.neo4j.internal.nativeimpl.NativeAccess;
+
+/**
+ * Describes how the memory of a {@link GrabAllocator} is placed in physical memory: what size of pages backs it, and
+ * how it is spread over the online NUMA nodes of the system.
+ * <p>
+ * Any placement other than {@link #DEFAULT} needs {@link NativeAccess}. When native access is not available, or a
+ * grab can not be mapped, the allocator falls back to regular native memory. When huge pages can not be advised, or
+ * the NUMA policy can not be set, the allocator reports it and falls back to the default placement.
+ */
+public record MemoryPlacement(HugePages hugePages, NumaPolicy numaPolicy) {
+    public static final MemoryPlacement DEFAULT = new MemoryPlacement(HugePages.DISABLED, NumaPolicy.DEFAULT);
+
+    public MemoryPlacement {
+        Objects.requireNonNull(hugePages);
+        Objects.requireNonNull(numaPolicy);
+    }
+
+    public enum HugePages {
+        /**
+         * Memory is backed by regular pages.
+         */
+        DISABLED(0),
+        /**
+         * Memory is aligned to, and advised to be backed by, 2 MiB transparent huge pages. The kernel may or may not
+         * follow the advice, depending on its transparent huge page configuration and memory fragmentation.
+         */
+        TRANSPARENT(mebiBytes(2)),
+        /**
+         * Memory is backed by 2 MiB huge pages that have been reserved by the operator, for example through
+         * {@code vm.nr_hugepages}. Falls back to {@link #TRANSPARENT} when not enough huge pages are reserved.
+         */
+        HUGETLB_2M(mebiBytes(2)),
+        /**
+         * Memory is backed by 1 GiB huge pages that have been reserved by the operator, usually on the kernel command
+         * line. Falls back to {@link #TRANSPARENT} when not enough huge pages are reserved.
+         */
+        HUGETLB_1G(gibiBytes(1));
+
+        private final long pageSize;
+
+        HugePages(long pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        /**
+         * @return size of the huge pages, or zero if huge pages are not used.
+         */
+        public long pageSize() {
+            return pageSize;
+        }
+
+        boolean explicit() {
+            return this == HUGETLB_2M || this == HUGETLB_1G;
+        }
+    }
+
+    public enum NumaPolicy {
+        /**
+         * Pages are allocated by the default policy of the operating system, usually on the node of the thread that
+         * first touches them.
+         */
+        DEFAULT,
+        /**
+         * Pages of every grab are interleaved page by page over all NUMA nodes.
+         */
+        INTERLEAVE,
+        /**
+         * Every grab prefers a single NUMA node, and consecutive grabs are assigned to the nodes round-robin. Keeps
+         * huge pages whole on one node while still spreading the whole cache evenly.
+         */
+        SPREAD
+    }
+
+    public boolean isDefault() {
+        return hugePages == HugePages.DISABLED && numaPolicy == NumaPolicy.DEFAULT;
+    }
+
+    /**
+     * Describe this placement as it will be applied on a system with the given native access.
+     */
+    public String describe(NativeAccess nativeAccess) {
+        if (isDefault()) {
+            return "regular pages, default NUMA policy";
+        }
+        if (!nativeAccess.isAvailable()) {
+            return "regular pages, default NUMA policy (requested " + hugePages + " huge pages and " + numaPolicy
+                    + " NUMA policy, but native access is not available)";
+        }
+        String pages =
+                switch (hugePages) {
+                    case DISABLED -> "regular pages";
+                    case TRANSPARENT -> "transparent huge pages";
+                    case HUGETLB_2M -> "2 MiB hugetlb pages";
+                    case HUGETLB_1G -> "1 GiB hugetlb pages";
+                };
+        int numaNodes = nativeAccess.onlineNumaNodes().length;
+        String numa = numaPolicy == NumaPolicy.DEFAULT || numaNodes <= 1
+                ? "default NUMA policy"
+                : numaPolicy + " NUMA policy over " + numaNodes + " nodes";
+        return pages + ", " + numa;
+    }
+}
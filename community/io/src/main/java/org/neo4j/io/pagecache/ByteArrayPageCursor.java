@@ -23,6 +23,7 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.function.LongConsumer;
 import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
 import org.eclipse.collections.impl.factory.primitive.LongObjectMaps;
 import org.neo4j.internal.helpers.Exceptions;
@@ -391,6 +392,14 @@ public class ByteArrayPageCursor extends PageCursor {
         @Override
         public void flushAndForce(FileFlushEvent flushEvent) {}
 
+        @Override
+        public void flush(FileFlushEvent flushEvent, IOController limiter) {}
+
+        @Override
+        public long dirtyPages() {
+            return 0;
+        }
+
         @Override
         public long getLastPageId() {
             return 0;
@@ -433,6 +442,14 @@ public class ByteArrayPageCursor extends PageCursor {
             return 0;
         }
 
+        @Override
+        public void visitResidentPages(LongConsumer visitor) {}
+
+        @Override
+        public boolean prefetch(long pageId, CursorContext cursorContext) {
+            return true;
+        }
+
         @Override
         public boolean preAllocateSupported() {
             return false;
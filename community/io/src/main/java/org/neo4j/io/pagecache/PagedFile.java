@@ -21,6 +21,7 @@ package org.neo4j.io.pagecache;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.function.LongConsumer;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.monitoring.PageFileCounters;
 import org.neo4j.io.pagecache.tracing.FileFlushEvent;
@@ -94,6 +95,13 @@ public interface PagedFile extends AutoCloseable {
      */
     int PF_NO_LOAD = 1 << 8;
 
+    /**
+     * Hint that the cursor is part of a one-off sequential scan, e.g. an all nodes scan or a consistency check.
+     * Scan resistant eviction policies will not treat pages pinned by such cursors as recently used,
+     * so the scan does not push the working set of other readers out of the cache.
+     */
+    int PF_SEQUENTIAL_SCAN = 1 << 9;
+
     /**
      * Initiate an IO interaction with the contents of the paged file.
      * <p>
@@ -178,6 +186,20 @@ public interface PagedFile extends AutoCloseable {
      */
     void flushAndForce(FileFlushEvent flushEvent) throws IOException;
 
+    /**
+     * Flush all dirty pages into the file channel, without forcing the file channel to disk. Used to write dirty pages
+     * out gradually in the background, so that a later {@link #flushAndForce(FileFlushEvent)} has less to do.
+     *
+     * @param limiter controls the speed of the flushing.
+     */
+    void flush(FileFlushEvent flushEvent, IOController limiter) throws IOException;
+
+    /**
+     * Approximate number of dirty pages of this file, i.e. the pages that turned dirty minus the dirty pages written
+     * out by flushes. Pages that were written out by eviction are still counted.
+     */
+    long dirtyPages();
+
     /**
      * Get the file-page-id of the last page in the file.
      * <p>
@@ -254,6 +276,25 @@ public interface PagedFile extends AutoCloseable {
      */
     int touch(long pageId, int count, CursorContext cursorContext) throws IOException;
 
+    /**
+     * Report ids of all pages of this file that are currently loaded into page cache, in ascending order.
+     * This is a racy snapshot: pages can be loaded or evicted concurrently with the visit.
+     *
+     * @param visitor receives file page ids of resident pages
+     */
+    void visitResidentPages(LongConsumer visitor);
+
+    /**
+     * Hint that the given page is about to be read. If the page is not in memory it is loaded by a background job,
+     * so that a cursor that later pins it will not have to wait for the page fault. This is only a hint: the page
+     * may not have been loaded, or may have been evicted again, by the time it is pinned.
+     *
+     * @param pageId file page id of the page that is about to be read
+     * @param cursorContext context of the calling thread. The background job does not use it, it has its own.
+     * @return {@code true} if the page was already in memory, {@code false} if it had to be requested
+     */
+    boolean prefetch(long pageId, CursorContext cursorContext);
+
     /**
      * Returns {@code true} when a pre-allocation request is supported for this concrete file.
      * This generally depends on the operating system and JVM implementation file channel, so if the operation
@@ -0,0 +1,462 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import org.neo4j.internal.nativeimpl.IoUring;
+import org.neo4j.internal.unsafe.UnsafeUtil;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.util.FeatureToggles;
+
+/**
+ * Vectored page IO through a process wide set of io_uring instances.
+ * <p>
+ * A vectored read or write from the page cache is split into submission queue entries of at most
+ * {@link #MAX_IOVECS_PER_ENTRY} buffers each. Rings are striped by thread, and threads that do io on the same ring at
+ * the same time have their io combined: each thread queues its request on the ring, and whichever thread gets to the
+ * ring first prepares the entries of all queued requests, hands them to the kernel with a single
+ * {@code io_uring_enter} call, waits for the whole batch and completes every request in it. The other threads only
+ * park until their request is complete, or until it is their turn to submit the requests queued up in the meantime.
+ * Concurrent page faults and flushes therefore share system calls and device queue depth, instead of each doing a
+ * {@code readv}/{@code writev} of its own.
+ */
+final class IoUringVectoredIO {
+    private static final int RING_ENTRIES = FeatureToggles.getInteger(IoUringVectoredIO.class, "ringEntries", 32);
+    private static final int MAX_IOVECS_PER_ENTRY =
+            FeatureToggles.getInteger(IoUringVectoredIO.class, "maxIovecsPerEntry", 64);
+    private static final int MAX_RINGS = FeatureToggles.getInteger(IoUringVectoredIO.class, "maxRings", 16);
+
+    private final Ring[] rings;
+
+    private IoUringVectoredIO(Ring[] rings) {
+        this.rings = rings;
+    }
+
+    /**
+     * @return the shared instance, or {@code null} if io_uring is not available in this process.
+     */
+    static IoUringVectoredIO shared() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return a duplicate of the given file descriptor to submit io against, see {@link IoUring#duplicate(int)}.
+     */
+    static int duplicate(int fd) throws IOException {
+        return IoUring.duplicate(fd);
+    }
+
+    static void release(int fd) {
+        IoUring.closeDescriptor(fd);
+    }
+
+    long read(int fd, long fileOffset, long[] bufferAddresses, int[] bufferLengths, int length) throws IOException {
+        return ring().transfer(new Request(true, fd, fileOffset, bufferAddresses, bufferLengths, length));
+    }
+
+    long write(int fd, long fileOffset, long[] bufferAddresses, int[] bufferLengths, int length) throws IOException {
+        return ring().transfer(new Request(false, fd, fileOffset, bufferAddresses, bufferLengths, length));
+    }
+
+    private Ring ring() {
+        return rings[(int) (Thread.currentThread().getId() % rings.length)];
+    }
+
+    /**
+     * A vectored read or write of one thread, completed by whichever thread submits it.
+     */
+    private static final class Request {
+        private final boolean read;
+        private final int fd;
+        private final long fileOffset;
+        private final long[] addresses;
+        private final int[] lengths;
+        private final int length;
+        private final Thread thread = Thread.currentThread();
+        private long transferred;
+        private IOException failure;
+        private volatile boolean done;
+
+        Request(boolean read, int fd, long fileOffset, long[] addresses, int[] lengths, int length) {
+            this.read = read;
+            this.fd = fd;
+            this.fileOffset = fileOffset;
+            this.addresses = addresses;
+            this.lengths = lengths;
+            this.length = length;
+        }
+
+        int entries() {
+            return (length + MAX_IOVECS_PER_ENTRY - 1) / MAX_IOVECS_PER_ENTRY;
+        }
+
+        void complete(long transferred, IOException failure) {
+            this.transferred = transferred;
+            this.failure = failure;
+            done = true;
+            if (thread != Thread.currentThread()) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    private static final class Ring implements IoUring.CompletionHandler {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ConcurrentLinkedQueue<Request> pending = new ConcurrentLinkedQueue<>();
+        private final List<Request> batch = new ArrayList<>();
+        private final IoUring uring;
+        // Per entry bookkeeping of the batch currently in flight, indexed by the entry user data.
+        private final int[] firstBuffer;
+        private final int[] bufferCount;
+        private final long[] entryOffset;
+        private final long[] entryBytes;
+        private final int[] results;
+
+        Ring(IoUring uring, int entries) {
+            this.uring = uring;
+            this.firstBuffer = new int[entries];
+            this.bufferCount = new int[entries];
+            this.entryOffset = new long[entries];
+            this.entryBytes = new long[entries];
+            this.results = new int[entries];
+        }
+
+        long transfer(Request request) throws IOException {
+            pending.add(request);
+            boolean interrupted = false;
+            while (!request.done) {
+                if (lock.tryLock()) {
+                    try {
+                        submitPending();
+                    } finally {
+                        lock.unlock();
+                    }
+                    // Requests queued while we were submitting wait for someone to take over
+                    Request next = pending.peek();
+                    if (next != null) {
+                        LockSupport.unpark(next.thread);
+                    }
+                } else {
+                    LockSupport.park(this);
+                    // Io must not be abandoned half way, so interrupts are only noted and restored when done
+                    interrupted |= Thread.interrupted();
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (request.failure != null) {
+                throw request.failure;
+            }
+            return request.transferred;
+        }
+
+        /**
+         * Submit as many whole queued requests as fit in the ring as one batch, and complete them. A request that
+         * needs more entries than the ring has is transferred in several rounds on its own.
+         */
+        private void submitPending() {
+            int capacity = Math.min(results.length, uring.freeEntries());
+            int entries = 0;
+            Request request;
+            while ((request = pending.peek()) != null) {
+                int needed = request.entries();
+                if (entries + needed > capacity) {
+                    if (batch.isEmpty()) {
+                        pending.poll();
+                        transferAlone(request);
+                    }
+                    break;
+                }
+                pending.poll();
+                batch.add(request);
+                entries += needed;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                int entry = 0;
+                for (Request batched : batch) {
+                    entry = prepareAll(batched, entry);
+                }
+                awaitAll(entries);
+            } catch (IOException | RuntimeException e) {
+                IOException failure = asIOException(e);
+                for (Request batched : batch) {
+                    batched.complete(0, failure);
+                }
+                batch.clear();
+                return;
+            }
+
+            int entry = 0;
+            for (Request batched : batch) {
+                int requestEntries = batched.entries();
+                try {
+                    batched.complete(complete(batched, entry, requestEntries), null);
+                } catch (IOException | RuntimeException e) {
+                    batched.complete(0, asIOException(e));
+                }
+                entry += requestEntries;
+            }
+            batch.clear();
+        }
+
+        private void transferAlone(Request request) {
+            try {
+                request.complete(
+                        transfer(
+                                request.read,
+                                request.fd,
+                                request.fileOffset,
+                                request.addresses,
+                                request.lengths,
+                                request.length),
+                        null);
+            } catch (IOException | RuntimeException e) {
+                request.complete(0, asIOException(e));
+            }
+        }
+
+        // Failures are handed over to the thread that asked for the io, which must not be left waiting
+        private static IOException asIOException(Exception e) {
+            return e instanceof IOException io ? io : new IOException(e);
+        }
+
+        /**
+         * Prepare all entries of the given request, starting at the given entry.
+         *
+         * @return the entry after the last one of the request.
+         */
+        private int prepareAll(Request request, int entry) {
+            long offset = request.fileOffset;
+            int buffer = 0;
+            while (buffer < request.length) {
+                int count = Math.min(MAX_IOVECS_PER_ENTRY, request.length - buffer);
+                long bytes = 0;
+                for (int i = buffer; i < buffer + count; i++) {
+                    bytes += request.lengths[i];
+                }
+                firstBuffer[entry] = buffer;
+                bufferCount[entry] = count;
+                entryOffset[entry] = offset;
+                entryBytes[entry] = bytes;
+                prepare(request.read, request.fd, offset, request.addresses, request.lengths, buffer, count, entry);
+                buffer += count;
+                offset += bytes;
+                entry++;
+            }
+            return entry;
+        }
+
+        /**
+         * Check the results of the given, completed, entries of a request, and finish short transfers.
+         *
+         * @return the number of bytes transferred for the request.
+         */
+        private long complete(Request request, int fromEntry, int entries) throws IOException {
+            long transferred = 0;
+            boolean endOfFile = false;
+            for (int entry = fromEntry; entry < fromEntry + entries; entry++) {
+                long done = checkResult(results[entry]);
+                if (done < entryBytes[entry] && !endOfFile) {
+                    done = completeShortTransfer(
+                            request.read, request.fd, request.addresses, request.lengths, entry, done);
+                }
+                if (request.read && (endOfFile || done < entryBytes[entry])) {
+                    // Everything past the end of the file reads as zeros, like in the file channel code path.
+                    endOfFile = true;
+                    zeroFrom(request.addresses, request.lengths, firstBuffer[entry], bufferCount[entry], done);
+                }
+                transferred += done;
+            }
+            return transferred;
+        }
+
+        private long transfer(boolean read, int fd, long fileOffset, long[] addresses, int[] lengths, int length)
+                throws IOException {
+            long transferred = 0;
+            long offset = fileOffset;
+            int buffer = 0;
+            while (buffer < length) {
+                int entries = 0;
+                while (buffer < length && entries < results.length && uring.freeEntries() > 0) {
+                    int count = Math.min(MAX_IOVECS_PER_ENTRY, length - buffer);
+                    long bytes = 0;
+                    for (int i = buffer; i < buffer + count; i++) {
+                        bytes += lengths[i];
+                    }
+                    firstBuffer[entries] = buffer;
+                    bufferCount[entries] = count;
+                    entryOffset[entries] = offset;
+                    entryBytes[entries] = bytes;
+                    prepare(read, fd, offset, addresses, lengths, buffer, count, entries);
+                    buffer += count;
+                    offset += bytes;
+                    entries++;
+                }
+                awaitAll(entries);
+
+                boolean endOfFile = false;
+                for (int entry = 0; entry < entries; entry++) {
+                    long done = checkResult(results[entry]);
+                    if (done < entryBytes[entry] && !endOfFile) {
+                        done = completeShortTransfer(read, fd, addresses, lengths, entry, done);
+                    }
+                    if (read && (endOfFile || done < entryBytes[entry])) {
+                        // Everything past the end of the file reads as zeros, like in the file channel code path.
+                        endOfFile = true;
+                        zeroFrom(addresses, lengths, firstBuffer[entry], bufferCount[entry], done);
+                    }
+                    transferred += done;
+                }
+                if (endOfFile) {
+                    zeroFrom(addresses, lengths, buffer, length - buffer, 0);
+                    break;
+                }
+            }
+            return transferred;
+        }
+
+        /**
+         * Keep resubmitting the rest of a partially transferred entry, one entry at a time, until it is complete, or
+         * until a read hits the end of the file.
+         */
+        private long completeShortTransfer(
+                boolean read, int fd, long[] addresses, int[] lengths, int entry, long done) throws IOException {
+            int first = firstBuffer[entry];
+            int end = first + bufferCount[entry];
+            long[] remainingAddresses = new long[bufferCount[entry]];
+            int[] remainingLengths = new int[bufferCount[entry]];
+            while (done < entryBytes[entry]) {
+                long skip = done;
+                int count = 0;
+                for (int i = first; i < end; i++) {
+                    if (skip >= lengths[i]) {
+                        skip -= lengths[i];
+                        continue;
+                    }
+                    remainingAddresses[count] = addresses[i] + skip;
+                    remainingLengths[count] = (int) (lengths[i] - skip);
+                    skip = 0;
+                    count++;
+                }
+                prepare(read, fd, entryOffset[entry] + done, remainingAddresses, remainingLengths, 0, count, 0);
+                awaitAll(1);
+                long progress = checkResult(results[0]);
+                if (progress == 0) {
+                    if (read) {
+                        return done;
+                    }
+                    throw new IOException("Unable to write to file, no progress was made.");
+                }
+                done += progress;
+            }
+            return done;
+        }
+
+        private void prepare(
+                boolean read,
+                int fd,
+                long offset,
+                long[] addresses,
+                int[] lengths,
+                int from,
+                int count,
+                long userData) {
+            if (read) {
+                uring.prepareReadv(fd, offset, addresses, lengths, from, count, userData);
+            } else {
+                uring.prepareWritev(fd, offset, addresses, lengths, from, count, userData);
+            }
+        }
+
+        private void awaitAll(int entries) throws IOException {
+            uring.submit(entries);
+            int reaped = uring.reapCompletions(this);
+            while (reaped < entries) {
+                uring.awaitCompletions(1);
+                reaped += uring.reapCompletions(this);
+            }
+        }
+
+        @Override
+        public void completed(long userData, int result) {
+            results[(int) userData] = result;
+        }
+
+        private static long checkResult(int result) throws IOException {
+            if (result < 0 && IoUring.isBadDescriptor(result)) {
+                // Handled like a file channel that was closed underneath the io, by reopening and retrying.
+                throw new ClosedChannelException();
+            }
+            if (result < 0) {
+                throw new IOException("Vectored page IO failed: " + IoUring.errorMessage(result));
+            }
+            return result;
+        }
+
+        private static void zeroFrom(long[] addresses, int[] lengths, int from, int count, long bytesToKeep) {
+            for (int i = from; i < from + count; i++) {
+                if (bytesToKeep >= lengths[i]) {
+                    bytesToKeep -= lengths[i];
+                } else {
+                    UnsafeUtil.setMemory(
+                            addresses[i] + bytesToKeep, lengths[i] - bytesToKeep, MuninnPageCache.ZERO_BYTE);
+                    bytesToKeep = 0;
+                }
+            }
+        }
+    }
+
+    private static final class Holder {
+        private static final IoUringVectoredIO INSTANCE = create();
+
+        private static IoUringVectoredIO create() {
+            if (!IoUring.isAvailable() || !UnsafeUtil.unsafeByteBufferAccessAvailable()) {
+                return null;
+            }
+            int ringCount = Math.min(MAX_RINGS, Runtime.getRuntime().availableProcessors());
+            Ring[] rings = new Ring[ringCount];
+            try {
+                for (int i = 0; i < ringCount; i++) {
+                    IoUring uring = IoUring.create(RING_ENTRIES, MAX_IOVECS_PER_ENTRY);
+                    rings[i] = new Ring(uring, RING_ENTRIES);
+                }
+            } catch (IOException e) {
+                for (Ring ring : rings) {
+                    if (ring != null) {
+                        ring.uring.close();
+                    }
+                }
+                return null;
+            }
+            return new IoUringVectoredIO(rings);
+        }
+    }
+}
@@ -35,6 +35,7 @@ import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.commons.lang3.SystemUtils;
 import org.neo4j.internal.nativeimpl.NativeAccess;
 import org.neo4j.internal.nativeimpl.NativeAccessFactory;
@@ -74,6 +75,12 @@ public class SingleFilePageSwapper implements PageSwapper {
     private final BlockSwapper blockSwapper;
     private final NativeAccess nativeAccess;
     private final EvictionBouncer evictionBouncer;
+    private final IoUringVectoredIO ioUring;
+    // The io_uring io goes to a duplicate of the channel file descriptor, so that the file descriptor number of a
+    // channel closed by an interrupt can not be reused by another file while io is in flight. The io holds the read
+    // lock, and the duplicate is only replaced or closed under the write lock.
+    private final ReentrantReadWriteLock ioUringLock = new ReentrantReadWriteLock();
+    private int ioUringFd = INVALID_FILE_DESCRIPTOR;
 
     // Guarded by synchronized(this). See tryReopen() and close().
     private boolean closed;
@@ -103,7 +110,8 @@ public class SingleFilePageSwapper implements PageSwapper {
             PageFileSwapperTracer fileSwapperTracer,
             BlockSwapper blockSwapper,
             NativeAccessFactory nativeAccessFactory,
-            EvictionBouncer evictionBouncer)
+            EvictionBouncer evictionBouncer,
+            IoUringVectoredIO ioUring)
             throws IOException {
         this.fs = fs;
         this.path = path;
@@ -137,6 +145,8 @@ public class SingleFilePageSwapper implements PageSwapper {
         this.blockSwapper = blockSwapper;
         this.nativeAccess = nativeAccessFactory.create(path);
         this.evictionBouncer = evictionBouncer;
+        this.ioUring = canDoVectorizedIO ? ioUring : null;
+        this.ioUringFd = duplicateForIoUring(channel);
     }
 
     private StoreChannel createStoreChannel() throws IOException {
@@ -145,6 +155,29 @@ public class SingleFilePageSwapper implements PageSwapper {
         return storeChannel;
     }
 
+    private int duplicateForIoUring(StoreChannel storeChannel) {
+        if (ioUring == null) {
+            return INVALID_FILE_DESCRIPTOR;
+        }
+        int fd = storeChannel.getFileDescriptor();
+        if (fd == INVALID_FILE_DESCRIPTOR) {
+            return INVALID_FILE_DESCRIPTOR;
+        }
+        try {
+            return IoUringVectoredIO.duplicate(fd);
+        } catch (IOException e) {
+            // Fall back to the file channel io for this file.
+            return INVALID_FILE_DESCRIPTOR;
+        }
+    }
+
+    private void releaseIoUringFd() {
+        if (ioUringFd != INVALID_FILE_DESCRIPTOR) {
+            IoUringVectoredIO.release(ioUringFd);
+            ioUringFd = INVALID_FILE_DESCRIPTOR;
+        }
+    }
+
     private void validateDirectIOPossibility(Path file, int filePageSize) throws IOException {
         if (!IS_OS_LINUX) {
             throw new IllegalArgumentException("DirectIO support is available only on Linux.");
@@ -242,6 +275,9 @@ public class SingleFilePageSwapper implements PageSwapper {
         try (Retry retry = new Retry()) {
             do {
                 try {
+                    if (ioUring != null) {
+                        return readVectoredWithIoUring(startFilePageId, bufferAddresses, bufferLengths, length);
+                    }
                     if (canDoVectorizedIO) {
                         return readPositionedVectoredToFileChannel(
                                 startFilePageId, bufferAddresses, bufferLengths, length);
@@ -255,6 +291,24 @@ public class SingleFilePageSwapper implements PageSwapper {
         return -1;
     }
 
+    private long readVectoredWithIoUring(long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length)
+            throws IOException {
+        ioUringLock.readLock().lock();
+        try {
+            if (ioUringFd != INVALID_FILE_DESCRIPTOR) {
+                StoreChannel currentChannel = channel;
+                long fileOffset = pageIdToPosition(startFilePageId);
+                long bytesRead = ioUring.read(ioUringFd, fileOffset, bufferAddresses, bufferLengths, length);
+                ioController.reportIO(1);
+                checkStillOpen(currentChannel);
+                return bytesRead;
+            }
+        } finally {
+            ioUringLock.readLock().unlock();
+        }
+        return readPositionedVectoredToFileChannel(startFilePageId, bufferAddresses, bufferLengths, length);
+    }
+
     private long readPositionedVectoredToFileChannel(
             long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length) throws IOException {
         long fileOffset = pageIdToPosition(startFilePageId);
@@ -355,6 +409,9 @@ public class SingleFilePageSwapper implements PageSwapper {
         try (Retry retry = new Retry()) {
             do {
                 try {
+                    if (ioUring != null) {
+                        return writeVectoredWithIoUring(startFilePageId, bufferAddresses, bufferLengths, length);
+                    }
                     if (canDoVectorizedIO) {
                         return writePositionedVectoredToFileChannel(
                                 startFilePageId, bufferAddresses, bufferLengths, length);
@@ -377,6 +434,37 @@ public class SingleFilePageSwapper implements PageSwapper {
         return lockPositionWriteVector(fileOffset, srcs, bytesToWrite);
     }
 
+    private long writeVectoredWithIoUring(
+            long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length) throws IOException {
+        ioUringLock.readLock().lock();
+        try {
+            if (ioUringFd != INVALID_FILE_DESCRIPTOR) {
+                StoreChannel currentChannel = channel;
+                long fileOffset = pageIdToPosition(startFilePageId);
+                increaseFileSizeTo(fileOffset + countBuffersLengths(bufferLengths, length));
+                // As with the file channel path, the io is reported as part of the checkpoint that is calling this
+                // method.
+                long bytesWritten = ioUring.write(ioUringFd, fileOffset, bufferAddresses, bufferLengths, length);
+                checkStillOpen(currentChannel);
+                return bytesWritten;
+            }
+        } finally {
+            ioUringLock.readLock().unlock();
+        }
+        return writePositionedVectoredToFileChannel(startFilePageId, bufferAddresses, bufferLengths, length);
+    }
+
+    /**
+     * The io_uring path goes to a duplicate of the file descriptor, so an interrupt that closed the channel while the
+     * io was in flight, is only noticed afterwards. Surface it the same way as the file channel path would, so that
+     * the channel is reopened and the io is retried.
+     */
+    private static void checkStillOpen(StoreChannel currentChannel) throws ClosedChannelException {
+        if (!currentChannel.isOpen()) {
+            throw new ClosedChannelException();
+        }
+    }
+
     private static ByteBuffer[] convertToByteBuffers(long[] bufferAddresses, int[] bufferLengths, int length) {
         ByteBuffer[] buffers = new ByteBuffer[length];
         for (int i = 0; i < length; i++) {
@@ -491,22 +579,32 @@ public class SingleFilePageSwapper implements PageSwapper {
             throw closedException;
         }
 
+        ioUringLock.writeLock().lock();
         try {
+            // Closing any descriptor of the file releases the file lock, so the old duplicate has to go before the
+            // lock is taken again.
+            releaseIoUringFd();
             channel = createStoreChannel();
             // The closing of a FileChannel also releases all associated file locks.
             acquireLock();
+            ioUringFd = duplicateForIoUring(channel);
         } catch (IOException e) {
             closedException.addSuppressed(e);
             throw closedException;
+        } finally {
+            ioUringLock.writeLock().unlock();
         }
     }
 
     @Override
     public synchronized void close() throws IOException {
         closed = true;
+        ioUringLock.writeLock().lock();
         try {
+            releaseIoUringFd();
             channel.close();
         } finally {
+            ioUringLock.writeLock().unlock();
             // Eagerly relinquish our reference to the onEviction callback, because even though
             // we've closed the PagedFile at this point, there are likely still pages in the cache that are bound to
             // this swapper, and will stay bound, until the eviction threads eventually gets around to kicking them out.
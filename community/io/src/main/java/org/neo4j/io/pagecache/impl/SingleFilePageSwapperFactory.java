@@ -45,12 +45,33 @@ public class SingleFilePageSwapperFactory implements PageSwapperFactory {
     private final FileSystemAbstraction fs;
     private final PageCacheTracer pageCacheTracer;
     private final BlockSwapper blockSwapper;
+    private final IoUringVectoredIO ioUring;
 
     public SingleFilePageSwapperFactory(
             FileSystemAbstraction fs, PageCacheTracer pageCacheTracer, MemoryTracker memoryTracker) {
+        this(fs, pageCacheTracer, memoryTracker, false);
+    }
+
+    /**
+     * @param useIoUring use io_uring for vectored page reads and writes when the platform supports it. Silently
+     * falls back to regular file channel io when it does not, see {@link #isIoUringAvailable()}.
+     */
+    public SingleFilePageSwapperFactory(
+            FileSystemAbstraction fs,
+            PageCacheTracer pageCacheTracer,
+            MemoryTracker memoryTracker,
+            boolean useIoUring) {
         this.fs = fs;
         this.pageCacheTracer = pageCacheTracer;
         this.blockSwapper = createBlockSwapper(memoryTracker);
+        this.ioUring = useIoUring ? IoUringVectoredIO.shared() : null;
+    }
+
+    /**
+     * @return {@code true} if io_uring can be used for page io in this process.
+     */
+    public static boolean isIoUringAvailable() {
+        return IoUringVectoredIO.shared() != null;
     }
 
     @Override
@@ -78,7 +99,8 @@ public class SingleFilePageSwapperFactory implements PageSwapperFactory {
                 pageCacheTracer.createFileSwapperTracer(),
                 blockSwapper,
                 nativeAccessFactory(),
-                evictionBouncer);
+                evictionBouncer,
+                ioUring);
     }
 
     private static BlockSwapper createBlockSwapper(MemoryTracker memoryTracker) {
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import org.neo4j.io.pagecache.PagedFile;
+
+/**
+ * Decides how page accesses update the usage stamp of a page, and when the clock sweep may evict a page.
+ * <p>
+ * Both policies share the usage stamp kept in the page binding word of the {@link PageList}, and the clock sweeps in
+ * {@link MuninnPageCache}. A page whose usage stamp is at most one when the clock arm reaches it, is evicted.
+ */
+public enum EvictionPolicy {
+    /**
+     * Every pin increments the usage stamp, up to 4, regardless of how the page is accessed. A single large scan can
+     * fill the whole cache with pages that are as warm as the working set of the other transactions.
+     */
+    CLOCK {
+        @Override
+        void pinned(long pageRef, boolean sequentialScan) {
+            PageList.incrementUsage(pageRef);
+        }
+    },
+    /**
+     * Distinguishes pages touched once from pages that are re-referenced, in the spirit of 2Q and CLOCK-Pro.
+     * <p>
+     * Pins from cursors opened with {@link PagedFile#PF_SEQUENTIAL_SCAN} never promote a page, so pages faulted in
+     * by a scan stay cold and are the first ones to be reclaimed by the clock, while pages the scan happens to share
+     * with other readers keep their stamp. Pages that are re-referenced by other cursors are promoted up to a higher
+     * ceiling than with {@link #CLOCK}, which lets the hot working set survive more clock revolutions of scan churn.
+     */
+    SCAN_RESISTANT {
+        @Override
+        void pinned(long pageRef, boolean sequentialScan) {
+            if (!sequentialScan) {
+                PageList.incrementUsage(pageRef, PageList.MAX_PROTECTED_USAGE_COUNT);
+            }
+        }
+    };
+
+    /**
+     * Called every time a cursor pins the given page, unless the cursor was opened with
+     * {@link PagedFile#PF_TRANSIENT}.
+     */
+    abstract void pinned(long pageRef, boolean sequentialScan);
+
+    /**
+     * Called by the clock sweep when its arm passes over a loaded page. Ages the page and
+     * returns {@code true} if the page should be evicted.
+     */
+    boolean age(long pageRef) {
+        return PageList.decrementUsage(pageRef);
+    }
+}
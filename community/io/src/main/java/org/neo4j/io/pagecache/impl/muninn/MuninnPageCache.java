@@ -23,6 +23,7 @@ import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static org.neo4j.internal.helpers.Numbers.isPowerOfTwo;
 import static org.neo4j.io.pagecache.buffer.IOBufferFactory.DISABLED_BUFFER_FACTORY;
+import static org.neo4j.io.pagecache.context.FixedVersionContextSupplier.EMPTY_CONTEXT_SUPPLIER;
 import static org.neo4j.io.pagecache.impl.muninn.PageList.getPageHorizon;
 import static org.neo4j.scheduler.Group.FILE_IO_HELPER;
 import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
@@ -56,6 +57,8 @@ import org.neo4j.io.pagecache.PageCacheOpenOptions;
 import org.neo4j.io.pagecache.PageSwapperFactory;
 import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.buffer.IOBufferFactory;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
 import org.neo4j.io.pagecache.tracing.DatabaseFlushEvent;
 import org.neo4j.io.pagecache.tracing.EvictionRunEvent;
 import org.neo4j.io.pagecache.tracing.FileFlushEvent;
@@ -151,7 +154,6 @@ public class MuninnPageCache implements PageCache {
 
     // Scheduler that runs all the background jobs for page cache.
     private final JobScheduler scheduler;
-    private final SystemNanoClock clock;
 
     private static final List<OpenOption> ignoredOpenOptions = Arrays.asList(
             StandardOpenOption.APPEND, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.SPARSE);
@@ -166,12 +168,18 @@ public class MuninnPageCache implements PageCache {
     private final int pageReservedBytes;
     private final int keepFree;
     private final PageCacheTracer pageCacheTracer;
+    /**
+     * Creates the contexts of read-ahead jobs. The contexts of the cursors that request read-ahead belong to the
+     * threads of those cursors, and must not be used by the jobs.
+     */
+    private final CursorContextFactory readAheadContextFactory;
     private final IOBufferFactory bufferFactory;
     private final int faultLockStriping;
     private final boolean preallocateStoreFiles;
     private final boolean enableEvictionThread;
     private final MemoryAllocator memoryAllocator;
     private final boolean closeAllocatorOnShutdown;
+    private final EvictionPolicy evictionPolicy;
     final PageList pages;
     // All PageCursors are initialised with their pointers pointing to the victim page. This way, we don't have to throw
     // exceptions on bounds checking failures; we can instead return the victim page pointer, and permit the page
@@ -241,6 +249,7 @@ public class MuninnPageCache implements PageCache {
         private final boolean preallocateStoreFiles;
         private final int reservedPageSize;
         private final boolean closeAllocatorOnShutdown;
+        private final EvictionPolicy evictionPolicy;
 
         private Configuration(
                 MemoryAllocator memoryAllocator,
@@ -253,7 +262,8 @@ public class MuninnPageCache implements PageCache {
                 boolean enableEvictionThread,
                 boolean preallocateStoreFiles,
                 int reservedPageSize,
-                boolean closeAllocatorOnShutdown) {
+                boolean closeAllocatorOnShutdown,
+                EvictionPolicy evictionPolicy) {
             this.memoryAllocator = memoryAllocator;
             this.clock = clock;
             this.memoryTracker = memoryTracker;
@@ -265,6 +275,7 @@ public class MuninnPageCache implements PageCache {
             this.enableEvictionThread = enableEvictionThread;
             this.preallocateStoreFiles = preallocateStoreFiles;
             this.closeAllocatorOnShutdown = closeAllocatorOnShutdown;
+            this.evictionPolicy = evictionPolicy;
         }
 
         /**
@@ -282,7 +293,8 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    evictionPolicy);
         }
 
         /**
@@ -300,7 +312,8 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    evictionPolicy);
         }
 
         /**
@@ -318,7 +331,8 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    evictionPolicy);
         }
 
         /**
@@ -336,7 +350,8 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    evictionPolicy);
         }
 
         /**
@@ -354,7 +369,8 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    evictionPolicy);
         }
 
         /**
@@ -372,7 +388,8 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    evictionPolicy);
         }
 
         /**
@@ -390,7 +407,8 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageBytes,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    evictionPolicy);
         }
 
         /**
@@ -408,7 +426,8 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    evictionPolicy);
         }
 
         /**
@@ -426,7 +445,8 @@ public class MuninnPageCache implements PageCache {
                     false,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    evictionPolicy);
         }
 
         /**
@@ -444,7 +464,8 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    evictionPolicy);
         }
 
         /**
@@ -463,7 +484,27 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    evictionPolicy);
+        }
+
+        /**
+         * @param evictionPolicy policy deciding how page accesses age pages, and which pages the clock evicts
+         */
+        public Configuration evictionPolicy(EvictionPolicy evictionPolicy) {
+            return new Configuration(
+                    memoryAllocator,
+                    clock,
+                    memoryTracker,
+                    pageCacheTracer,
+                    pageSize,
+                    bufferFactory,
+                    faultLockStriping,
+                    enableEvictionThread,
+                    preallocateStoreFiles,
+                    reservedPageSize,
+                    closeAllocatorOnShutdown,
+                    evictionPolicy);
         }
     }
 
@@ -491,7 +532,8 @@ public class MuninnPageCache implements PageCache {
                 true,
                 true,
                 RESERVED_BYTES,
-                false);
+                false,
+                EvictionPolicy.CLOCK);
     }
 
     /**
@@ -512,6 +554,7 @@ public class MuninnPageCache implements PageCache {
         this.pageReservedBytes = requireNonNegative(configuration.reservedPageSize);
         this.keepFree = calculatePagesToKeepFree(maxPages);
         this.pageCacheTracer = configuration.pageCacheTracer;
+        this.readAheadContextFactory = new CursorContextFactory(pageCacheTracer, EMPTY_CONTEXT_SUPPLIER);
         this.printExceptionsOnClose = true;
         this.bufferFactory = configuration.bufferFactory;
         this.victimPage = VictimPageReference.getVictimPage(cachePageSize, configuration.memoryTracker);
@@ -523,12 +566,12 @@ public class MuninnPageCache implements PageCache {
                 victimPage,
                 getBufferAlignment(cachePageSize));
         this.scheduler = jobScheduler;
-        this.clock = configuration.clock;
         this.faultLockStriping = configuration.faultLockStriping;
         this.enableEvictionThread = configuration.enableEvictionThread;
         this.preallocateStoreFiles = configuration.preallocateStoreFiles;
         this.memoryAllocator = configuration.memoryAllocator;
         this.closeAllocatorOnShutdown = configuration.closeAllocatorOnShutdown;
+        this.evictionPolicy = configuration.evictionPolicy;
         setFreelistHead(new AtomicInteger());
 
         // Expose the total number of pages
@@ -879,6 +922,10 @@ public class MuninnPageCache implements PageCache {
         return pages.getPageCount();
     }
 
+    EvictionPolicy evictionPolicy() {
+        return evictionPolicy;
+    }
+
     @Override
     public long freePages() {
         return getFreeListSize(pages, getFreelistHead());
@@ -979,7 +1026,7 @@ public class MuninnPageCache implements PageCache {
             }
 
             pageRef = pages.deref(clockArm);
-            if (PageList.isLoaded(pageRef) && PageList.decrementUsage(pageRef)) {
+            if (PageList.isLoaded(pageRef) && evictionPolicy.age(pageRef)) {
                 evicted = pages.tryEvict(pageRef, faultEvent);
             }
             clockArm++;
@@ -1100,7 +1147,7 @@ public class MuninnPageCache implements PageCache {
             }
 
             long pageRef = pages.deref(clockArm);
-            if (PageList.isLoaded(pageRef) && PageList.decrementUsage(pageRef)) {
+            if (PageList.isLoaded(pageRef) && evictionPolicy.age(pageRef)) {
                 try {
                     pageEvictionAttempts--;
                     if (pages.tryEvict(pageRef, evictionRunEvent)) {
@@ -1198,12 +1245,18 @@ public class MuninnPageCache implements PageCache {
         });
     }
 
-    void startPreFetching(MuninnPageCursor cursor, CursorFactory cursorFactory) {
-        PreFetcher preFetcher = new PreFetcher(cursor, cursorFactory, clock);
-        var pagedFile = cursor.pagedFile;
+    /**
+     * @return a new context for a read-ahead job, with the given tracer tag. It shares no state with the context of
+     * the cursor that requested the read-ahead.
+     */
+    CursorContext createReadAheadContext(String tag) {
+        return readAheadContextFactory.create(tag);
+    }
+
+    JobHandle<?> scheduleReadAhead(MuninnPagedFile pagedFile, Runnable readAhead) {
         var fileName = pagedFile.swapper.path().getFileName();
-        var monitoringParams = systemJob(pagedFile.databaseName, "Pre-fetching of file '" + fileName + "'");
-        cursor.preFetcher = scheduler.schedule(Group.PAGE_CACHE_PRE_FETCHER, monitoringParams, preFetcher);
+        var monitoringParams = systemJob(pagedFile.databaseName, "Read-ahead of file '" + fileName + "'");
+        return scheduler.schedule(Group.PAGE_CACHE_PRE_FETCHER, monitoringParams, readAhead);
     }
 
     @VisibleForTesting
@@ -23,6 +23,7 @@ import static org.neo4j.io.pagecache.PagedFile.PF_EAGER_FLUSH;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_CHAIN_FOLLOW;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_LOAD;
+import static org.neo4j.io.pagecache.PagedFile.PF_SEQUENTIAL_SCAN;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
 import static org.neo4j.io.pagecache.impl.muninn.MuninnPagedFile.UNMAPPED_TTE;
@@ -48,7 +49,6 @@ import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
 import org.neo4j.io.pagecache.tracing.PinEvent;
 import org.neo4j.io.pagecache.tracing.PinPageFaultEvent;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
-import org.neo4j.scheduler.JobHandle;
 import org.neo4j.util.Preconditions;
 import org.neo4j.util.VisibleForTesting;
 
@@ -87,6 +87,8 @@ public abstract class MuninnPageCursor extends PageCursor {
     protected final boolean noLoad;
     protected final boolean noGrow;
     private final boolean updateUsage;
+    private final boolean sequentialScan;
+    private final EvictionPolicy evictionPolicy;
     protected final boolean multiVersioned;
     protected final boolean littleEndian;
 
@@ -107,7 +109,7 @@ public abstract class MuninnPageCursor extends PageCursor {
 
     protected MuninnPageCursor linkedCursor;
     protected MuninnPageCursor backLinkedCursor;
-    protected JobHandle<?> preFetcher;
+    ReadAhead readAhead;
 
     // This is a String with the exception message if usePreciseCursorErrorStackTraces is false, otherwise it is a
     // CursorExceptionWithPreciseStackTrace with the message and stack trace pointing more or less directly at the
@@ -139,6 +141,8 @@ public abstract class MuninnPageCursor extends PageCursor {
         this.pf_flags = pf_flags;
         this.eagerFlush = isFlagRaised(pf_flags, PF_EAGER_FLUSH);
         this.updateUsage = !isFlagRaised(pf_flags, PF_TRANSIENT);
+        this.sequentialScan = isFlagRaised(pf_flags, PF_SEQUENTIAL_SCAN);
+        this.evictionPolicy = pagedFile.pageCache.evictionPolicy();
         this.noFault = isFlagRaised(pf_flags, PF_NO_FAULT);
         this.chainFollow = !isFlagRaised(pf_flags, PF_NO_CHAIN_FOLLOW);
         this.noLoad = isFlagRaised(pf_flags, PF_NO_LOAD);
@@ -168,10 +172,6 @@ public abstract class MuninnPageCursor extends PageCursor {
         return currentPageId;
     }
 
-    long loadVolatileCurrentPageId() {
-        return (long) CURRENT_PAGE_ID.getVolatile(this);
-    }
-
     protected void storeCurrentPageId(long pageId) {
         CURRENT_PAGE_ID.setRelease(this, pageId);
     }
@@ -184,7 +184,7 @@ public abstract class MuninnPageCursor extends PageCursor {
         this.pointer = PageList.getAddress(pageRef);
         pinEvent.setCachePageId(pagedFile.toId(pageRef));
         if (updateUsage) {
-            PageList.incrementUsage(pageRef);
+            evictionPolicy.pinned(pageRef, sequentialScan);
         }
     }
 
@@ -238,11 +238,10 @@ public abstract class MuninnPageCursor extends PageCursor {
         while (cursor != null && !cursor.closed) {
             cursor.unpin();
             cursor.closed = true;
-            // Signal to any pre-fetchers that the cursor is closed.
             cursor.storeCurrentPageId(UNBOUND_PAGE_ID);
-            if (preFetcher != null) {
-                preFetcher.cancel();
-                preFetcher = null;
+            if (cursor.readAhead != null) {
+                cursor.readAhead.close();
+                cursor.readAhead = null;
             }
             tracer.closeCursor();
             cursor = cursor.linkedCursor;
@@ -315,6 +314,9 @@ public abstract class MuninnPageCursor extends PageCursor {
      * @throws IOException if anything goes wrong with the pin, most likely during a page fault.
      */
     protected void pin(PinEvent pinEvent, long filePageId) throws IOException {
+        if (readAhead != null) {
+            readAhead.accessed(filePageId);
+        }
         int chunkId = MuninnPagedFile.computeChunkId(filePageId);
         // The chunkOffset is the addressing offset into the chunk array object for the relevant array slot. Using
         // this, we can access the array slot with Unsafe.
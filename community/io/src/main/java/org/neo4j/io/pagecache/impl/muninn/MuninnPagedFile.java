@@ -30,6 +30,8 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.nio.channels.ClosedChannelException;
 import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.pagecache.IOController;
 import org.neo4j.io.pagecache.PageCursor;
@@ -72,6 +74,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
     private static final long HEADER_STATE_LAST_PAGE_ID_MASK = 0x8000_FFFF_FFFF_FFFFL;
     private static final long EMPTY_STATE_HEADER = 0x8000_0000_0000_0000L;
     private static final int PF_LOCK_MASK = PF_SHARED_WRITE_LOCK | PF_SHARED_READ_LOCK;
+    private static final String TRACER_PREFETCH_TAG = "Prefetch";
 
     final MuninnPageCache pageCache;
     final int filePageSize;
@@ -99,6 +102,10 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
 
     private volatile boolean deleteOnClose;
 
+    // Pages that turned dirty, minus the dirty pages written by flushes. Used to pace background flushing.
+    // Pages written by eviction are not subtracted, so this over-estimates under eviction pressure.
+    private final LongAdder dirtiedPages = new LongAdder();
+
     // Used to trace the causes of any exceptions from getLastPageId.
     private volatile Exception closeStackTrace;
 
@@ -251,7 +258,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
         }
 
         if ((pf_flags & PF_READ_AHEAD) == PF_READ_AHEAD && (pf_flags & PF_NO_FAULT) != PF_NO_FAULT) {
-            pageCache.startPreFetching(cursor, cursorFactory);
+            cursor.readAhead = new ReadAhead(this, pageCache, pageCacheTracer);
         }
         return cursor;
     }
@@ -377,6 +384,22 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
         pageCache.clearEvictorException();
     }
 
+    @Override
+    public void flush(FileFlushEvent flushEvent, IOController limiter) throws IOException {
+        try (var buffer = bufferFactory.createBuffer()) {
+            flushInternal(flushEvent, false, false, limiter, buffer);
+        }
+    }
+
+    @Override
+    public long dirtyPages() {
+        return Math.max(0, dirtiedPages.sum());
+    }
+
+    void pageDirtied() {
+        dirtiedPages.increment();
+    }
+
     void flushAndForceForClose() throws IOException {
         if (deleteOnClose) {
             // No need to spend time flushing data to a file we're going to delete anyway.
@@ -398,6 +421,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
     }
 
     private void markAllDirtyPagesAsClean(int[][] tt) {
+        dirtiedPages.reset();
         long filePageId = -1; // Start at -1 because we increment at the *start* of the chunk-loop iteration.
         for (int[] chunk : tt) {
             chunkLoop:
@@ -481,8 +505,22 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
     void flushAndForceInternal(
             FileFlushEvent flushEvent, boolean forClosing, IOController limiter, NativeIOBuffer ioBuffer)
             throws IOException {
+        flushInternal(flushEvent, forClosing, true, limiter, ioBuffer);
+    }
+
+    private void flushInternal(
+            FileFlushEvent flushEvent,
+            boolean forClosing,
+            boolean force,
+            IOController limiter,
+            NativeIOBuffer ioBuffer)
+            throws IOException {
         try {
-            doFlushAndForceInternal(flushEvent, forClosing, limiter, ioBuffer);
+            doFlushInternal(flushEvent, forClosing, limiter, ioBuffer);
+            if (force) {
+                // TODO it'd be awesome if, on Linux, we'd call sync_file_range(2) instead of fsync
+                swapper.force();
+            }
         } catch (ClosedChannelException e) {
             if (getRefCount() > 0) {
                 // The file is not supposed to be closed, since we have a positive ref-count, yet we got a
@@ -497,10 +535,9 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
         }
     }
 
-    private void doFlushAndForceInternal(
+    private void doFlushInternal(
             FileFlushEvent flushes, boolean forClosing, IOController limiter, NativeIOBuffer ioBuffer)
             throws IOException {
-        // TODO it'd be awesome if, on Linux, we'd call sync_file_range(2) instead of fsync
         long[] pages = new long[TRANSLATION_TABLE_CHUNK_SIZE];
         long[] flushStamps = forClosing ? null : new long[TRANSLATION_TABLE_CHUNK_SIZE];
         long[] bufferAddresses = new long[TRANSLATION_TABLE_CHUNK_SIZE];
@@ -521,6 +558,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
             // TODO The clean pages in question must still be loaded, though. Otherwise we'll end up writing
             // TODO garbage to the file.
             int pagesGrabbed = 0;
+            int dirtyPagesGrabbed = 0;
             long nextSequentialAddress = -1;
             int numberOfBuffers = 0;
             int lastBufferIndex = -1;
@@ -568,6 +606,9 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
                                 flushStamps[pagesGrabbed] = flushStamp;
                             }
                             pagesGrabbed++;
+                            if (isModified(pageRef)) {
+                                dirtyPagesGrabbed++;
+                            }
                             long address = getAddress(pageRef);
                             if (useTemporaryBuffer) {
                                 // in case we use temp buffer to combine pages address and buffer lengths are located in
@@ -625,9 +666,11 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
                             mergedPages,
                             flushes,
                             forClosing);
+                    dirtiedPages.add(-dirtyPagesGrabbed);
                     flushes.reportIO(numberOfBuffers);
                     limiter.maybeLimitIO(numberOfBuffers, flushes);
                     pagesGrabbed = 0;
+                    dirtyPagesGrabbed = 0;
                     nextSequentialAddress = -1;
                     numberOfBuffers = 0;
                     lastBufferIndex = -1;
@@ -648,14 +691,13 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
                         mergedPages,
                         flushes,
                         forClosing);
+                dirtiedPages.add(-dirtyPagesGrabbed);
                 flushes.reportIO(numberOfBuffers);
                 limiter.maybeLimitIO(numberOfBuffers, flushes);
                 flushPerChunk++;
             }
             chunkEvent.chunkFlushed(notModifiedPages, flushPerChunk, buffersPerChunk, mergesPerChunk);
         }
-
-        swapper.force();
     }
 
     private void vectoredFlush(
@@ -1040,6 +1082,75 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
         return touched;
     }
 
+    /**
+     * Load the pages in the given range that are not already in memory, with one vectored read for every run of
+     * consecutive missing pages. Pages that are already loaded, or that are concurrently being faulted in by someone
+     * else, are skipped.
+     *
+     * @return number of pages loaded.
+     */
+    int readAhead(long pageId, int count, CursorContext cursorContext) throws IOException {
+        long end = Math.min(pageId + count, getLastPageId() + 1);
+        int[][] tt = translationTable;
+        int loaded = 0;
+        while (pageId < end) {
+            int chunkId = computeChunkId(pageId);
+            if (chunkId >= tt.length) {
+                break;
+            }
+            if (translationTableGetVolatile(tt[chunkId], computeChunkIndex(pageId)) != UNMAPPED_TTE) {
+                pageId++;
+                continue;
+            }
+            int faulted;
+            try (var faultEvent = cursorContext.getCursorTracer().beginVectoredPageFault(swapper)) {
+                faulted = vectoredPageFault(pageId, (int) (end - pageId), faultEvent);
+            }
+            loaded += faulted;
+            pageId += Math.max(faulted, 1);
+        }
+        return loaded;
+    }
+
+    @Override
+    public boolean prefetch(long pageId, CursorContext cursorContext) {
+        if (pageId < 0 || pageId > getLastPageId()) {
+            return false;
+        }
+        int[][] tt = translationTable;
+        int chunkId = computeChunkId(pageId);
+        if (chunkId < tt.length
+                && translationTableGetVolatile(tt[chunkId], computeChunkIndex(pageId)) != UNMAPPED_TTE) {
+            return true;
+        }
+        pageCache.scheduleReadAhead(this, () -> {
+            long loaded = 0;
+            try (var context = pageCache.createReadAheadContext(TRACER_PREFETCH_TAG)) {
+                loaded = readAhead(pageId, 1, context);
+            } catch (IOException | RuntimeException e) {
+                // Prefetch is only a hint. The cursor faults the page in itself, and reports any problem with it.
+            } finally {
+                pageCacheTracer.readAheadPages(loaded);
+            }
+        });
+        return false;
+    }
+
+    @Override
+    public void visitResidentPages(LongConsumer visitor) {
+        long filePageId = -1; // Start at -1 because we increment at the *start* of the chunk-loop iteration.
+        int[][] tt = this.translationTable;
+        for (int[] chunk : tt) {
+            for (int i = 0; i < chunk.length; i++) {
+                filePageId++;
+                int pageId = translationTableGetVolatile(chunk, i);
+                if (pageId != UNMAPPED_TTE && isBoundTo(deref(pageId), swapperId, filePageId)) {
+                    visitor.accept(filePageId);
+                }
+            }
+        }
+    }
+
     @Override
     public boolean preAllocateSupported() {
         return swapper.canAllocate();
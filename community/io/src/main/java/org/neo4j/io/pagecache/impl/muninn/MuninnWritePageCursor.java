@@ -133,13 +133,29 @@ final class MuninnWritePageCursor extends MuninnPageCursor {
                                     + threadId + " already holds write lock on page " + pageRef);
                 }
             }
+            boolean modified = PageList.isModified(pageRef);
             var writeLock = PageList.tryWriteLock(pageRef, true);
-            if (LOCKED_PAGES != null && writeLock) {
-                LOCKED_PAGES.put(pageRef, Thread.currentThread().getId());
+            if (writeLock) {
+                if (LOCKED_PAGES != null) {
+                    LOCKED_PAGES.put(pageRef, Thread.currentThread().getId());
+                }
+                countDirtiedPage(modified);
             }
             return writeLock;
         }
-        return PageList.tryWriteLock(pageRef, false);
+        boolean modified = PageList.isModified(pageRef);
+        if (PageList.tryWriteLock(pageRef, false)) {
+            countDirtiedPage(modified);
+            return true;
+        }
+        return false;
+    }
+
+    private void countDirtiedPage(boolean wasModified) {
+        // Racy with concurrent flushing, but good enough for pacing background flushes.
+        if (!wasModified) {
+            pagedFile.pageDirtied();
+        }
     }
 
     private boolean isPinnedByLinkedFriends(long pageRef) {
@@ -220,6 +236,7 @@ final class MuninnWritePageCursor extends MuninnPageCursor {
     @Override
     protected void convertPageFaultLock(long pageRef) {
         PageList.unlockExclusiveAndTakeWriteLock(pageRef);
+        pagedFile.pageDirtied();
         if (LOCKED_PAGES != null && multiVersioned) {
             LOCKED_PAGES.put(pageRef, Thread.currentThread().getId());
         }
@@ -56,6 +56,8 @@ class PageList implements PageReferenceTranslator {
 
     private static final long UNBOUND_LAST_MODIFIED_TX_ID = 0;
     private static final long MAX_USAGE_COUNT = 4;
+    // The usage counter is 3 bits wide, which is how far scan resistant eviction lets re-referenced pages climb.
+    static final long MAX_PROTECTED_USAGE_COUNT = 7;
     private static final int SHIFT_FILE_PAGE_ID = 24;
     private static final int SHIFT_SWAPPER_ID = 3;
     private static final int SHIFT_PARTIAL_FILE_PAGE_ID = SHIFT_FILE_PAGE_ID - SHIFT_SWAPPER_ID;
@@ -292,11 +294,19 @@ class PageList implements PageReferenceTranslator {
      * Increment the usage stamp to at most 4.
      **/
     static void incrementUsage(long pageRef) {
+        incrementUsage(pageRef, MAX_USAGE_COUNT);
+    }
+
+    /**
+     * Increment the usage stamp to at most {@code maxUsage}, which cannot be higher than
+     * {@link #MAX_PROTECTED_USAGE_COUNT}.
+     **/
+    static void incrementUsage(long pageRef, long maxUsage) {
         // This is intentionally left benignly racy for performance.
         long address = offPageBinding(pageRef);
         long value = UnsafeUtil.getLongVolatile(address);
         long usage = value & MASK_USAGE_COUNT;
-        if (usage < MAX_USAGE_COUNT) // avoid cache sloshing by not doing a write if counter is already maxed out
+        if (usage < maxUsage) // avoid cache sloshing by not doing a write if counter is already maxed out
         {
             long update = value + 1;
             // Use compareAndSwapLong to only actually store the updated count if nothing else changed
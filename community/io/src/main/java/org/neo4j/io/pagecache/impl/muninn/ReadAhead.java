@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import static org.neo4j.io.pagecache.PageCursor.UNBOUND_PAGE_ID;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.util.FeatureToggles;
+
+/**
+ * Adaptive read-ahead for a cursor opened with {@link PagedFile#PF_READ_AHEAD}.
+ * <p>
+ * Every page the cursor pins is reported to {@link #accessed(long)} on the cursor thread. Two consecutive pins that
+ * are one page apart, forwards or backwards, start a sequential stream right away. Two consecutive pins with the same
+ * larger distance, up to {@link #MAX_STRIDE} pages, start a strided stream. Any other access ends the stream.
+ * <p>
+ * While a stream is going, the pages ahead of the cursor are requested in windows. A window is loaded by a background
+ * job: runs of consecutive pages that are not in memory are faulted in with one vectored read each, see
+ * {@link MuninnPagedFile#readAhead(long, int, CursorContext)}. The next window is requested once the cursor has
+ * consumed half of the pages that are still ahead of it. Each new window is twice as large as the one before, up to
+ * {@link #MAX_WINDOW} pages, so that fast scans quickly move to large reads while short ones waste very little.
+ * <p>
+ * Pages loaded, pins on requested pages (hits) and requested pages the cursor never reached (waste) are reported to
+ * the {@link PageCacheTracer}.
+ */
+final class ReadAhead {
+    private static final String TRACER_READ_AHEAD_TAG = "Read-ahead";
+    private static final int INITIAL_WINDOW = FeatureToggles.getInteger(ReadAhead.class, "initialWindow", 4);
+    private static final int MAX_WINDOW = FeatureToggles.getInteger(ReadAhead.class, "maxWindow", 256);
+    private static final int MAX_STRIDE = FeatureToggles.getInteger(ReadAhead.class, "maxStride", 64);
+    private static final long NO_WINDOW = 0;
+
+    private final MuninnPagedFile pagedFile;
+    private final MuninnPageCache pageCache;
+    private final PageCacheTracer tracer;
+
+    // State below is only accessed from the cursor thread.
+    private long lastPageId = UNBOUND_PAGE_ID;
+    private long candidateStride;
+    private long stride;
+    private int window;
+    /**
+     * First page of the stream that was requested by read-ahead.
+     */
+    private long requestedStart;
+    /**
+     * Next page of the stream that has not yet been requested.
+     */
+    private long frontier;
+
+    private long hits;
+    private long requestedWindows;
+    private JobHandle<?> job;
+
+    /**
+     * The number of the window that is being loaded, or {@link #NO_WINDOW}. Only the job of that window clears it, so
+     * that a job of an abandoned window can not clear it for a later one.
+     */
+    private final AtomicLong loadingWindow = new AtomicLong(NO_WINDOW);
+
+    private volatile boolean closed;
+
+    ReadAhead(MuninnPagedFile pagedFile, MuninnPageCache pageCache, PageCacheTracer tracer) {
+        this.pagedFile = pagedFile;
+        this.pageCache = pageCache;
+        this.tracer = tracer;
+    }
+
+    /**
+     * Called by the cursor before it pins the given page.
+     */
+    void accessed(long pageId) {
+        long previousPageId = lastPageId;
+        lastPageId = pageId;
+        if (previousPageId == UNBOUND_PAGE_ID || pageId == previousPageId) {
+            return;
+        }
+        long delta = pageId - previousPageId;
+        if (stride != 0 && delta == stride) {
+            if (isRequested(pageId)) {
+                hits++;
+            }
+        } else {
+            endStream(previousPageId);
+            if (Math.abs(delta) == 1 || (delta == candidateStride && Math.abs(delta) <= MAX_STRIDE)) {
+                startStream(pageId, delta);
+            } else {
+                candidateStride = delta;
+                return;
+            }
+        }
+        if (loadingWindow.get() != NO_WINDOW && steps(frontier, pageId) <= 0) {
+            // The cursor has reached the end of the window before it was loaded. The pool may have discarded the job
+            // because it was saturated, or the job is still waiting for a thread. Either way the window is of no use
+            // any more, and must not keep further windows from being requested.
+            abandonWindow();
+        }
+        if (loadingWindow.get() == NO_WINDOW && (window == 0 || steps(frontier, pageId) <= window / 2)) {
+            requestWindow(pageId);
+        }
+    }
+
+    void close() {
+        closed = true;
+        abandonWindow();
+        endStream(lastPageId);
+    }
+
+    private void abandonWindow() {
+        if (job != null) {
+            job.cancel();
+            job = null;
+        }
+        loadingWindow.set(NO_WINDOW);
+    }
+
+    private void startStream(long pageId, long delta) {
+        stride = delta;
+        candidateStride = 0;
+        window = 0;
+        requestedStart = pageId + delta;
+        frontier = requestedStart;
+        hits = 0;
+    }
+
+    private void endStream(long lastAccessedPageId) {
+        if (stride == 0) {
+            return;
+        }
+        if (frontier != requestedStart) {
+            long unused = steps(frontier, lastAccessedPageId) - 1;
+            if (unused > 0) {
+                tracer.readAheadWaste(unused);
+            }
+            if (hits > 0) {
+                tracer.readAheadHits(hits);
+            }
+        }
+        stride = 0;
+        hits = 0;
+    }
+
+    private void requestWindow(long pageId) {
+        if (steps(frontier, pageId) <= 0) {
+            // The cursor got ahead of us, there is no point in loading pages behind it.
+            frontier = pageId + stride;
+        }
+        window = window == 0 ? INITIAL_WINDOW : Math.min(window * 2, MAX_WINDOW);
+        long lastFilePageId = pagedFile.getLastPageId();
+        int pages = 0;
+        long page = frontier;
+        while (pages < window && page >= 0 && page <= lastFilePageId) {
+            pages++;
+            page += stride;
+        }
+        if (pages == 0) {
+            return;
+        }
+        long first = frontier;
+        long step = stride;
+        int count = pages;
+        frontier = page;
+        long windowNumber = ++requestedWindows;
+        loadingWindow.set(windowNumber);
+        try {
+            job = pageCache.scheduleReadAhead(pagedFile, () -> load(windowNumber, first, step, count));
+        } catch (RejectedExecutionException e) {
+            // Read-ahead is only a hint, the cursor carries on without it.
+            loadingWindow.set(NO_WINDOW);
+        }
+    }
+
+    private void load(long windowNumber, long first, long step, int count) {
+        if (closed) {
+            loadingWindow.compareAndSet(windowNumber, NO_WINDOW);
+            return;
+        }
+        long loaded = 0;
+        try (var context = pageCache.createReadAheadContext(TRACER_READ_AHEAD_TAG)) {
+            if (step == 1) {
+                loaded = pagedFile.readAhead(first, count, context);
+            } else if (step == -1) {
+                loaded = pagedFile.readAhead(first - count + 1, count, context);
+            } else {
+                for (int i = 0; i < count && !closed; i++) {
+                    loaded += pagedFile.readAhead(first + i * step, 1, context);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Read-ahead is only a hint. The cursor faults the page in itself, and reports any problem with it.
+        } finally {
+            tracer.readAheadPages(loaded);
+            loadingWindow.compareAndSet(windowNumber, NO_WINDOW);
+        }
+    }
+
+    private boolean isRequested(long pageId) {
+        return steps(pageId, requestedStart) >= 0 && steps(frontier, pageId) > 0;
+    }
+
+    /**
+     * @return the number of stream steps from {@code from} to {@code to}.
+     */
+    private long steps(long to, long from) {
+        return (to - from) / stride;
+    }
+}
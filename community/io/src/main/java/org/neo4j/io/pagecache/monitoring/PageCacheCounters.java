@@ -180,4 +180,19 @@ public interface PageCacheCounters {
     long copiedPages();
 
     long snapshotsLoaded();
+
+    /**
+     * @return The number of pages loaded into the page cache by read-ahead of sequential or strided scans.
+     */
+    long readAheadPages();
+
+    /**
+     * @return The number of pins by scanning cursors on pages that their read-ahead had already requested.
+     */
+    long readAheadHits();
+
+    /**
+     * @return The number of pages requested by read-ahead that their scanning cursor never reached.
+     */
+    long readAheadWaste();
 }
@@ -63,6 +63,9 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
     protected final LongAdder closedCursors = new LongAdder();
     protected final LongAdder copiedPages = new LongAdder();
     protected final LongAdder snapshotsLoaded = new LongAdder();
+    protected final LongAdder readAheadPages = new LongAdder();
+    protected final LongAdder readAheadHits = new LongAdder();
+    protected final LongAdder readAheadWaste = new LongAdder();
     protected final AtomicLong maxPages = new AtomicLong();
 
     private final boolean tracePageFileIndividually;
@@ -288,6 +291,21 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
         return snapshotsLoaded.sum();
     }
 
+    @Override
+    public long readAheadPages() {
+        return readAheadPages.sum();
+    }
+
+    @Override
+    public long readAheadHits() {
+        return readAheadHits.sum();
+    }
+
+    @Override
+    public long readAheadWaste() {
+        return readAheadWaste.sum();
+    }
+
     @Override
     public void iopq(long iopq) {
         iopqPerformed.add(iopq);
@@ -349,6 +367,21 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
         this.snapshotsLoaded.add(snapshotsLoaded);
     }
 
+    @Override
+    public void readAheadPages(long pages) {
+        readAheadPages.add(pages);
+    }
+
+    @Override
+    public void readAheadHits(long hits) {
+        readAheadHits.add(hits);
+    }
+
+    @Override
+    public void readAheadWaste(long pages) {
+        readAheadWaste.add(pages);
+    }
+
     @Override
     public void noFaults(long noFaults) {
         this.noFaults.add(noFaults);
@@ -235,6 +235,21 @@ public interface PageCacheTracer extends PageCacheCounters {
             return 0;
         }
 
+        @Override
+        public long readAheadPages() {
+            return 0;
+        }
+
+        @Override
+        public long readAheadHits() {
+            return 0;
+        }
+
+        @Override
+        public long readAheadWaste() {
+            return 0;
+        }
+
         @Override
         public void pins(long pins) {}
 
@@ -289,6 +304,15 @@ public interface PageCacheTracer extends PageCacheCounters {
         @Override
         public void snapshotsLoaded(long snapshotsLoaded) {}
 
+        @Override
+        public void readAheadPages(long pages) {}
+
+        @Override
+        public void readAheadHits(long hits) {}
+
+        @Override
+        public void readAheadWaste(long pages) {}
+
         @Override
         public void maxPages(long maxPages, long pageSize) {}
 
@@ -498,6 +522,21 @@ public interface PageCacheTracer extends PageCacheCounters {
      */
     void snapshotsLoaded(long snapshotsLoaded);
 
+    /**
+     * report number of pages loaded by read-ahead
+     */
+    void readAheadPages(long pages);
+
+    /**
+     * report number of read-ahead hits
+     */
+    void readAheadHits(long hits);
+
+    /**
+     * report number of pages requested by read-ahead and never used
+     */
+    void readAheadWaste(long pages);
+
     /**
      * report number of copied pages
      */
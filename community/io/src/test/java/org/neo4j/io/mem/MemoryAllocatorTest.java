@@ -29,9 +29,12 @@ import static org.neo4j.io.ByteUnit.kibiBytes;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.ByteUnit;
+import org.neo4j.io.mem.MemoryPlacement.HugePages;
+import org.neo4j.io.mem.MemoryPlacement.NumaPolicy;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.memory.LocalMemoryTracker;
 
@@ -216,6 +219,33 @@ class MemoryAllocatorTest {
         UnsafeUtil.getLong(address + ONE_PAGE - Long.BYTES); // End of allocation.
     }
 
+    @ParameterizedTest
+    @EnumSource(HugePages.class)
+    void allocatedMemoryWithPlacementMustBeAccessibleAndTracked(HugePages hugePages) {
+        for (NumaPolicy numaPolicy : NumaPolicy.values()) {
+            LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+            MemoryAllocator mman = MemoryAllocator.createAllocator(
+                    MebiByte.toBytes(8),
+                    null,
+                    new MemoryPlacement(hugePages, numaPolicy),
+                    failure -> {},
+                    memoryTracker);
+            try {
+                for (int i = 0; i < 1000; i++) {
+                    long address = mman.allocateAligned(PageCache.PAGE_SIZE, UnsafeUtil.pageSize());
+                    assertThat(address % UnsafeUtil.pageSize()).isEqualTo(0L);
+                    // This must not throw any bad access exceptions.
+                    UnsafeUtil.putLong(address, i); // Start of allocation.
+                    UnsafeUtil.putLong(address + ONE_PAGE - Long.BYTES, i); // End of allocation.
+                }
+                assertThat(memoryTracker.usedNativeMemory()).isGreaterThanOrEqualTo(1000 * ONE_PAGE);
+            } finally {
+                mman.close();
+            }
+            assertEquals(0, memoryTracker.usedNativeMemory());
+        }
+    }
+
     @Test
     void grabSizeCalculus() {
         assertThat(GrabAllocator.calculateGrabSize(null, 0)).isEqualTo(kibiBytes(512));
@@ -89,4 +89,18 @@ public interface KernelReadTracer extends ReadTracer {
      */
     @Override
     void onHasLabel();
+
+    /**
+     * Called when {@link RelationshipTraversalCursor#next()} prefetches the page of a record it is about to read,
+     * and the page was already in memory.
+     */
+    @Override
+    default void onPrefetchHit() {}
+
+    /**
+     * Called when {@link RelationshipTraversalCursor#next()} prefetches the page of a record it is about to read,
+     * and the page had to be loaded.
+     */
+    @Override
+    default void onPrefetchMiss() {}
 }
@@ -71,6 +71,34 @@ public interface Read {
             PropertyIndexQuery... query)
             throws KernelException;
 
+    /**
+     * Seek all nodes matching any of several index queries in an index, e.g. one for every value of an IN-list.
+     * Every query has its own cursor, which provides the nodes matching that query only. The index may serve the
+     * queries together, which is cheapest if the cursors are exhausted one after the other, in index order of their
+     * queries.
+     * @param index {@link IndexReadSession} referencing index to query. This must be an index of nodes.
+     * @param cursors the cursors to use for consuming the results, one for each query.
+     * @param constraints The requested constraints on the query results, such as the {@link IndexOrder}, or whether
+     * the index should fetch property values together with node ids for index queries. The constraints must be
+     * satisfiable given the capabilities of the index.
+     * @param queries Combinations of {@link PropertyIndexQuery index queries} to run against referenced index.
+     */
+    default void nodeIndexMultiSeek(
+            QueryContext queryContext,
+            IndexReadSession index,
+            List<? extends NodeValueIndexCursor> cursors,
+            IndexQueryConstraints constraints,
+            List<PropertyIndexQuery[]> queries)
+            throws KernelException {
+        if (cursors.size() != queries.size()) {
+            throw new IllegalArgumentException("Expected one cursor per query, got " + cursors.size() + " cursors and "
+                    + queries.size() + " queries");
+        }
+        for (int i = 0; i < queries.size(); i++) {
+            nodeIndexSeek(queryContext, index, cursors.get(i), constraints, queries.get(i));
+        }
+    }
+
     /**
      * Seek all nodes matching the provided index query in an index. NOTE! This is not thread-safe for transaction state.
      * @param index {@link IndexReadSession} referencing index to query. This must be an index of nodes.
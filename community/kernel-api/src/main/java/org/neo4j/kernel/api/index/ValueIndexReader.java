@@ -19,12 +19,14 @@
  */
 package org.neo4j.kernel.api.index;
 
+import java.util.List;
 import org.neo4j.internal.kernel.api.IndexQueryConstraints;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
 import org.neo4j.internal.kernel.api.QueryContext;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotApplicableKernelException;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.impl.index.schema.PartitionedValueSeek;
+import org.neo4j.util.Preconditions;
 import org.neo4j.values.storable.Value;
 
 public interface ValueIndexReader extends IndexReader {
@@ -53,6 +55,33 @@ public interface ValueIndexReader extends IndexReader {
             PropertyIndexQuery... query)
             throws IndexNotApplicableKernelException;
 
+    /**
+     * Queries the index for several {@link PropertyIndexQuery} predicates, e.g. one for every value of an IN-list.
+     * Every query has its own client, which is initialized with the predicates of that query, like with
+     * {@link #query(IndexProgressor.EntityValueClient, QueryContext, IndexQueryConstraints, PropertyIndexQuery...)}.
+     * Implementations may serve the queries together, which is cheapest if the clients are exhausted one after the
+     * other, in index order of their queries.
+     * @param clients the clients which will control the progression though the results, one for each query.
+     * @param constraints constraints upon the query results, like ordering and whether the index should fetch
+     * property values alongside the entity ids.
+     * @param queries the queries to serve.
+     */
+    default void multiQuery(
+            List<? extends IndexProgressor.EntityValueClient> clients,
+            QueryContext context,
+            IndexQueryConstraints constraints,
+            List<PropertyIndexQuery[]> queries)
+            throws IndexNotApplicableKernelException {
+        Preconditions.checkArgument(
+                clients.size() == queries.size(),
+                "Expected one client per query, got %d clients and %d queries",
+                clients.size(),
+                queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            query(clients.get(i), context, constraints, queries.get(i));
+        }
+    }
+
     /**
      * Create a partitioning over the result set for the given query. The partitions can be processed in parallel.
      * @param desiredNumberOfPartitions the number of desired partitions.
@@ -57,4 +57,14 @@ public interface ReadTracer {
     void onHasLabel();
 
     void dbHit();
+
+    /**
+     * Called when a cursor prefetches a page it is about to read, and the page was already in memory.
+     */
+    default void onPrefetchHit() {}
+
+    /**
+     * Called when a cursor prefetches a page it is about to read, and the page had to be loaded.
+     */
+    default void onPrefetchMiss() {}
 }
@@ -131,6 +131,26 @@ public interface StorageEngine extends ReadableStorageEngine, Lifecycle {
             CommandStream commands, LockService lockService, LockGroup lockGroup, TransactionApplicationMode mode)
             throws IOException;
 
+    /**
+     * Whether some commands must be applied in isolation whilst performing parallel recovery, i.e. after all earlier
+     * command batches have been applied and before any later command batch is applied. This is the case for commands
+     * whose effects on other transactions can not be guarded by the locks of {@link #lockRecoveryCommands}, like
+     * changes to tokens or to the format of the store.
+     * Note: only used when {@code internal.dbms.recovery.enable_parallelism=true}
+     *
+     * @param commands to check.
+     * @return {@code true} if the given commands must be applied in isolation, otherwise {@code false}.
+     */
+    default boolean isRecoveryBarrier(CommandStream commands) {
+        for (StorageCommand command : commands) {
+            if (command instanceof StorageCommand.TokenCommand
+                    || command instanceof StorageCommand.VersionUpgradeCommand) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Apply a batch of groups of commands to this storage.
      *
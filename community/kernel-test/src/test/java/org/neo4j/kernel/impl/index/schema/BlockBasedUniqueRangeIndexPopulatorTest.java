@@ -19,10 +19,21 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.kernel.impl.api.index.PhaseTracker.nullInstance;
 import static org.neo4j.kernel.impl.index.schema.NativeIndexPopulatorTestCases.rangeBlockBasedPopulatorFactory;
 
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
 import org.neo4j.internal.schema.IndexType;
+import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueType;
+import org.neo4j.values.storable.Values;
 
 class BlockBasedUniqueRangeIndexPopulatorTest extends NativeUniqueIndexPopulatorTest<RangeKey> {
     BlockBasedUniqueRangeIndexPopulatorTest() {
@@ -33,4 +44,29 @@ class BlockBasedUniqueRangeIndexPopulatorTest extends NativeUniqueIndexPopulator
     IndexType indexType() {
         return IndexType.RANGE;
     }
+
+    @Test
+    void shouldReportConflictForDuplicateValuesLoadedAfterEachOther() throws IOException {
+        // given
+        populator.create();
+        Value duplicate = Values.stringValue("b");
+        List<IndexEntryUpdate<?>> updates = List.of(
+                IndexEntryUpdate.add(1, indexDescriptor(), Values.stringValue("a")),
+                IndexEntryUpdate.add(2, indexDescriptor(), duplicate),
+                IndexEntryUpdate.add(3, indexDescriptor(), duplicate),
+                IndexEntryUpdate.add(4, indexDescriptor(), duplicate),
+                IndexEntryUpdate.add(5, indexDescriptor(), Values.stringValue("c")));
+
+        // when
+        var e = assertThrows(IndexEntryConflictException.class, () -> {
+            populator.add(updates, NULL_CONTEXT);
+            populator.scanCompleted(nullInstance, populationWorkScheduler, NULL_CONTEXT);
+        });
+
+        // then
+        assertThat(e.getSinglePropertyValue()).isEqualTo(duplicate);
+        assertThat(e.getExistingEntityId()).isEqualTo(2);
+        assertThat(e.getAddedEntityId()).isEqualTo(3);
+        populator.close(false, NULL_CONTEXT);
+    }
 }
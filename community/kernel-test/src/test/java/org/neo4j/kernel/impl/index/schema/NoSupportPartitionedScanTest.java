@@ -31,14 +31,6 @@ public class NoSupportPartitionedScanTest extends SupportPartitionedScanTestSuit
         super(NO_CAPABILITY, NO_SUPPORT);
     }
 
-    // point index being implemented
-    @Nested
-    class Point extends SupportPartitionedScanTestSuite {
-        Point() {
-            super(PointIndexProvider.CAPABILITY, NO_SUPPORT);
-        }
-    }
-
     // text index being implemented
     @Nested
     class Text extends SupportPartitionedScanTestSuite {
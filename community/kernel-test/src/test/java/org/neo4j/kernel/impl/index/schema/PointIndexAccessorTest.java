@@ -35,6 +35,7 @@ import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.LongSupplier;
 import java.util.stream.Stream;
+import org.eclipse.collections.api.factory.primitive.LongSets;
 import org.eclipse.collections.impl.factory.Sets;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -49,11 +50,14 @@ import org.neo4j.internal.schema.IndexType;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.api.index.IndexAccessor;
+import org.neo4j.kernel.api.index.IndexProgressor;
 import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
 import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettings;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
 import org.neo4j.storageengine.api.schema.SimpleEntityValueClient;
+import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.PointValue;
+import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueCategory;
 import org.neo4j.values.storable.ValueType;
 import org.neo4j.values.storable.Values;
@@ -215,6 +219,66 @@ class PointIndexAccessorTest extends NativeIndexAccessorTests<PointKey> {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("partitionedQueries")
+    void partitionedSeekShouldFindSameEntitiesAsQuery(PropertyIndexQuery query) throws Exception {
+        // given  an index with many points
+        try (var updater = accessor.newUpdater(IndexUpdateMode.ONLINE, CursorContext.NULL_CONTEXT, false)) {
+            for (int i = 0; i < 10_000; i++) {
+                final var point = Values.pointValue(CoordinateReferenceSystem.CARTESIAN, i % 100, i / 100);
+                updater.process(IndexEntryUpdate.add(i, INDEX_DESCRIPTOR, point));
+            }
+        }
+
+        try (var reader = accessor.newValueReader(NO_USAGE_TRACKER)) {
+            final var expected = LongSets.mutable.empty();
+            try (var result = query(reader, query)) {
+                while (result.hasNext()) {
+                    expected.add(result.next());
+                }
+            }
+
+            // when   seeking all partitions of the same query
+            final var partitionedSeek = reader.valueSeek(4, NULL_CONTEXT, query);
+            final var actual = LongSets.mutable.empty();
+            final var client = new SimpleEntityValueClient() {
+                @Override
+                public boolean acceptEntity(long reference, float score, Value... values) {
+                    assertThat(actual.add(reference))
+                            .as("entity %d found in more than one partition", reference)
+                            .isTrue();
+                    return super.acceptEntity(reference, score, values);
+                }
+            };
+            for (int i = 0; i < partitionedSeek.getNumberOfPartitions(); i++) {
+                try (var progressor = partitionedSeek.reservePartition(client, CursorContext.NULL_CONTEXT)) {
+                    while (progressor.next()) {
+                        // the client tracks the hits
+                    }
+                }
+            }
+
+            // then   every partition is visited once and together they find the entities of the query
+            assertThat(partitionedSeek.getNumberOfPartitions()).isGreaterThan(1);
+            assertThat(partitionedSeek.reservePartition(client, CursorContext.NULL_CONTEXT))
+                    .isSameAs(IndexProgressor.EMPTY);
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    private static Stream<PropertyIndexQuery> partitionedQueries() {
+        return Stream.of(
+                PropertyIndexQuery.allEntries(),
+                PropertyIndexQuery.boundingBox(
+                        0,
+                        Values.pointValue(CoordinateReferenceSystem.CARTESIAN, 10, 10),
+                        Values.pointValue(CoordinateReferenceSystem.CARTESIAN, 80, 60)),
+                PropertyIndexQuery.boundingBox(
+                        0,
+                        Values.pointValue(CoordinateReferenceSystem.CARTESIAN, -10, -10),
+                        Values.pointValue(CoordinateReferenceSystem.CARTESIAN, 110, 110)));
+    }
+
     private static LongSupplier idGenerator() {
         return new AtomicLong(0)::incrementAndGet;
     }
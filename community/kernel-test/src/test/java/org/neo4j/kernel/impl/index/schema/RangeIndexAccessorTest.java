@@ -23,7 +23,10 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
 import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.function.Predicates.alwaysTrue;
+import static org.neo4j.function.Predicates.in;
 import static org.neo4j.internal.kernel.api.IndexQueryConstraints.constrained;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unconstrained;
 import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unorderedValues;
 import static org.neo4j.internal.kernel.api.QueryContext.NULL_CONTEXT;
 import static org.neo4j.internal.schema.IndexPrototype.forSchema;
@@ -31,9 +34,14 @@ import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
 import static org.neo4j.kernel.impl.index.schema.IndexUsageTracker.NO_USAGE_TRACKER;
 import static org.neo4j.kernel.impl.index.schema.ValueCreatorUtil.FRACTION_DUPLICATE_NON_UNIQUE;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
 import org.eclipse.collections.impl.factory.Sets;
+import org.eclipse.collections.impl.factory.primitive.LongLists;
 import org.junit.jupiter.api.Test;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
@@ -133,6 +141,104 @@ class RangeIndexAccessorTest extends GenericNativeIndexAccessorTests<RangeKey> {
         }
     }
 
+    @Test
+    void shouldReturnMatchingEntriesOfEveryQueryForMultiQuery() throws Exception {
+        // given
+        ValueIndexEntryUpdate<IndexDescriptor>[] updates = someUpdatesSingleType();
+        processAll(updates);
+        List<Value> values = someValuesOf(updates);
+        List<PropertyIndexQuery[]> queries = exactQueries(values);
+        List<NodeValueIterator> clients = clientsFor(queries);
+
+        // when
+        try (var reader = accessor.newValueReader(NO_USAGE_TRACKER)) {
+            reader.multiQuery(clients, NULL_CONTEXT, unconstrained(), queries);
+
+            // then
+            for (int i = 0; i < values.size(); i++) {
+                assertEntityIdHits(extractEntityIds(updates, in(values.get(i))), clients.get(i));
+            }
+        }
+    }
+
+    @Test
+    void shouldReturnMatchingEntriesOfEveryQueryForMultiQueryWhenClientsAreInterleaved() throws Exception {
+        // given
+        ValueIndexEntryUpdate<IndexDescriptor>[] updates = someUpdatesSingleType();
+        processAll(updates);
+        List<Value> values = someValuesOf(updates);
+        List<PropertyIndexQuery[]> queries = exactQueries(values);
+        List<NodeValueIterator> clients = clientsFor(queries);
+
+        // when
+        try (var reader = accessor.newValueReader(NO_USAGE_TRACKER)) {
+            reader.multiQuery(clients, NULL_CONTEXT, unconstrained(), queries);
+            List<MutableLongList> hits = new ArrayList<>();
+            clients.forEach(client -> hits.add(LongLists.mutable.empty()));
+            boolean hasMore = true;
+            while (hasMore) {
+                hasMore = false;
+                for (int i = 0; i < clients.size(); i++) {
+                    if (clients.get(i).hasNext()) {
+                        hits.get(i).add(clients.get(i).next());
+                        hasMore = true;
+                    }
+                }
+            }
+
+            // then
+            for (int i = 0; i < values.size(); i++) {
+                assertEntityIdHits(extractEntityIds(updates, in(values.get(i))), hits.get(i).longIterator());
+            }
+        }
+    }
+
+    @Test
+    void multiQueryShouldQueryNonExactQueriesOneByOne() throws Exception {
+        // given
+        ValueIndexEntryUpdate<IndexDescriptor>[] updates = someUpdatesSingleType();
+        processAll(updates);
+        Value value = updates[0].values()[0];
+        List<PropertyIndexQuery[]> queries = List.of(
+                new PropertyIndexQuery[] {PropertyIndexQuery.exact(0, value)},
+                new PropertyIndexQuery[] {PropertyIndexQuery.exists(0)});
+        List<NodeValueIterator> clients = clientsFor(queries);
+
+        // when
+        try (var reader = accessor.newValueReader(NO_USAGE_TRACKER)) {
+            reader.multiQuery(clients, NULL_CONTEXT, unconstrained(), queries);
+
+            // then
+            assertEntityIdHits(extractEntityIds(updates, in(value)), clients.get(0));
+            assertEntityIdHits(extractEntityIds(updates, alwaysTrue()), clients.get(1));
+        }
+    }
+
+    private List<Value> someValuesOf(ValueIndexEntryUpdate<IndexDescriptor>[] updates) {
+        List<Value> values = new ArrayList<>();
+        for (ValueIndexEntryUpdate<IndexDescriptor> update : updates) {
+            if (values.isEmpty() || random.nextBoolean()) {
+                values.add(update.values()[0]);
+            }
+        }
+        Collections.shuffle(values, random.random());
+        return values;
+    }
+
+    private static List<PropertyIndexQuery[]> exactQueries(List<Value> values) {
+        List<PropertyIndexQuery[]> queries = new ArrayList<>();
+        for (Value value : values) {
+            queries.add(new PropertyIndexQuery[] {PropertyIndexQuery.exact(0, value)});
+        }
+        return queries;
+    }
+
+    private static List<NodeValueIterator> clientsFor(List<PropertyIndexQuery[]> queries) {
+        List<NodeValueIterator> clients = new ArrayList<>();
+        queries.forEach(query -> clients.add(new NodeValueIterator()));
+        return clients;
+    }
+
     @Test
     void shouldRespectIndexOrderForGeometryTypes() throws Exception {
         // given
@@ -19,21 +19,29 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.range_index_prefix_compressed_leaves;
 import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
 import static org.neo4j.internal.schema.IndexPrototype.forSchema;
 import static org.neo4j.internal.schema.IndexPrototype.uniqueForSchema;
 import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
 import static org.neo4j.internal.schema.SchemaDescriptors.fulltext;
+import static org.neo4j.io.memory.ByteBufferFactory.heapBufferFactory;
 import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
 import static org.neo4j.kernel.impl.api.index.TestIndexProviderDescriptor.PROVIDER_DESCRIPTOR;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
+import org.apache.commons.lang3.mutable.MutableObject;
 import org.eclipse.collections.api.factory.Sets;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.common.EntityType;
 import org.neo4j.configuration.Config;
+import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexPrototype;
 import org.neo4j.internal.schema.IndexType;
@@ -42,6 +50,7 @@ import org.neo4j.internal.schema.StorageEngineIndexingBehaviour;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.index.IndexAccessor;
+import org.neo4j.kernel.api.index.IndexPopulator;
 import org.neo4j.kernel.api.index.IndexUpdater;
 import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
@@ -49,26 +58,69 @@ import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
 class RangeIndexProviderTest extends IndexProviderTests {
-    private static final ProviderFactory factory =
-            (pageCache,
-                    fs,
-                    dir,
-                    monitors,
-                    collector,
-                    readOnlyChecker,
-                    databaseLayout,
-                    contextFactory,
-                    pageCacheTracer) -> {
-                DatabaseIndexContext context = DatabaseIndexContext.builder(
-                                pageCache, fs, contextFactory, pageCacheTracer, DEFAULT_DATABASE_NAME)
-                        .withMonitors(monitors)
-                        .withReadOnlyChecker(readOnlyChecker)
-                        .build();
-                return new RangeIndexProvider(context, dir, collector, Config.defaults());
-            };
+    private static ProviderFactory factory(MutableObject<Config> config) {
+        return (pageCache,
+                fs,
+                dir,
+                monitors,
+                collector,
+                readOnlyChecker,
+                databaseLayout,
+                contextFactory,
+                pageCacheTracer) -> {
+            DatabaseIndexContext context = DatabaseIndexContext.builder(
+                            pageCache, fs, contextFactory, pageCacheTracer, DEFAULT_DATABASE_NAME)
+                    .withMonitors(monitors)
+                    .withReadOnlyChecker(readOnlyChecker)
+                    .build();
+            return new RangeIndexProvider(context, dir, collector, config.getValue());
+        };
+    }
+
+    private final MutableObject<Config> config;
 
     RangeIndexProviderTest() {
-        super(factory);
+        this(new MutableObject<>(Config.defaults()));
+    }
+
+    private RangeIndexProviderTest(MutableObject<Config> config) {
+        super(factory(config));
+        this.config = config;
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldOpenExistingIndexAfterLeafFormatSettingChanged(boolean prefixCompressedLeaves) throws Exception {
+        // given
+        config.setValue(Config.defaults(range_index_prefix_compressed_leaves, prefixCompressedLeaves));
+        provider = newProvider();
+        IndexPopulator populator = provider.getPopulator(
+                descriptor(),
+                samplingConfig(),
+                heapBufferFactory(1024),
+                INSTANCE,
+                tokenNameLookup,
+                Sets.immutable.empty(),
+                StorageEngineIndexingBehaviour.EMPTY);
+        populator.create();
+        populator.close(true, NULL_CONTEXT);
+
+        // when
+        config.setValue(Config.defaults(range_index_prefix_compressed_leaves, !prefixCompressedLeaves));
+        provider = newProvider();
+        try (IndexAccessor accessor = provider.getOnlineAccessor(
+                        descriptor(),
+                        samplingConfig(),
+                        tokenNameLookup,
+                        Sets.immutable.empty(),
+                        StorageEngineIndexingBehaviour.EMPTY);
+                IndexUpdater indexUpdater = accessor.newUpdater(IndexUpdateMode.ONLINE, NULL_CONTEXT, false)) {
+            indexUpdater.process(IndexEntryUpdate.add(1, descriptor(), Values.of(1)));
+        }
+
+        // then
+        assertThat(provider.getInitialState(descriptor(), NULL_CONTEXT, Sets.immutable.empty()))
+                .isEqualTo(InternalIndexState.ONLINE);
     }
 
     @Test
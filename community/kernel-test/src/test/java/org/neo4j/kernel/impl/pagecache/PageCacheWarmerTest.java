@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.CursorContextFactory.NULL_CONTEXT_FACTORY;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.factory.primitive.LongLists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.Config;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.logging.NullLog;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.memory.MemoryPools;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.time.Clocks;
+
+@EphemeralTestDirectoryExtension
+class PageCacheWarmerTest {
+    private static final int PAGES = 20;
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    @Inject
+    private TestDirectory testDirectory;
+
+    private JobScheduler jobScheduler;
+    private Path databaseDirectory;
+    private Path storeFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jobScheduler = new ThreadPoolJobScheduler();
+        databaseDirectory = testDirectory.homePath();
+        storeFile = testDirectory.createFile("store");
+        try (PageCache pageCache = createPageCache();
+                PagedFile pagedFile = pageCache.map(storeFile, pageCache.pageSize(), DEFAULT_DATABASE_NAME);
+                var cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+            for (int i = 0; i < PAGES; i++) {
+                assertThat(cursor.next()).isTrue();
+                cursor.putLong(i);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jobScheduler.close();
+    }
+
+    @Test
+    void shouldReloadProfiledPagesAfterRestart() throws Exception {
+        try (PageCache pageCache = createPageCache();
+                PagedFile pagedFile = pageCache.map(storeFile, pageCache.pageSize(), DEFAULT_DATABASE_NAME)) {
+            touchPages(pagedFile, 2, 3, 7, 15);
+            assertThat(createWarmer(pageCache, Config.defaults()).profile()).isEqualTo(1);
+        }
+
+        try (PageCache pageCache = createPageCache();
+                PagedFile pagedFile = pageCache.map(storeFile, pageCache.pageSize(), DEFAULT_DATABASE_NAME)) {
+            assertThat(residentPages(pagedFile).isEmpty()).isTrue();
+
+            assertThat(createWarmer(pageCache, Config.defaults()).warmUp()).isEqualTo(4);
+
+            assertThat(residentPages(pagedFile).toArray()).containsExactly(2, 3, 7, 15);
+        }
+    }
+
+    @Test
+    void shouldIgnoreMissingProfiles() throws Exception {
+        try (PageCache pageCache = createPageCache();
+                PagedFile pagedFile = pageCache.map(storeFile, pageCache.pageSize(), DEFAULT_DATABASE_NAME)) {
+            assertThat(createWarmer(pageCache, Config.defaults()).warmUp()).isZero();
+            assertThat(residentPages(pagedFile).isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    void shouldPreloadWholeFilesWhenConfigured() throws Exception {
+        try (PageCache pageCache = createPageCache();
+                PagedFile pagedFile = pageCache.map(storeFile, pageCache.pageSize(), DEFAULT_DATABASE_NAME)) {
+            var warmer = createWarmer(pageCache, Config.defaults(pagecache_warmup_prefetch, true));
+
+            assertThat(warmer.warmUp()).isEqualTo(PAGES);
+            assertThat(residentPages(pagedFile).size()).isEqualTo(PAGES);
+        }
+    }
+
+    private PageCacheWarmer createWarmer(PageCache pageCache, Config config) {
+        return new PageCacheWarmer(
+                fs,
+                pageCache,
+                jobScheduler,
+                databaseDirectory,
+                DEFAULT_DATABASE_NAME,
+                config,
+                NULL_CONTEXT_FACTORY,
+                NullLogProvider.getInstance());
+    }
+
+    private PageCache createPageCache() {
+        return new ConfiguringPageCacheFactory(
+                        fs,
+                        Config.defaults(),
+                        PageCacheTracer.NULL,
+                        NullLog.getInstance(),
+                        jobScheduler,
+                        Clocks.nanoClock(),
+                        new MemoryPools())
+                .getOrCreatePageCache();
+    }
+
+    private static void touchPages(PagedFile pagedFile, long... pageIds) throws IOException {
+        try (var cursor = pagedFile.io(0, PF_SHARED_READ_LOCK, NULL_CONTEXT)) {
+            for (long pageId : pageIds) {
+                assertThat(cursor.next(pageId)).isTrue();
+            }
+        }
+    }
+
+    private static MutableLongList residentPages(PagedFile pagedFile) {
+        MutableLongList pages = LongLists.mutable.empty();
+        pagedFile.visitResidentPages(pages::add);
+        return pages;
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.neo4j.kernel.impl.transaction.log.LogVersionBridge.NO_MORE_CHANNELS;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEnvelopeHeader.HEADER_SIZE;
+import static org.neo4j.kernel.impl.transaction.log.rotation.LogRotation.NO_ROTATION;
+import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_CHECKSUM;
+import static org.neo4j.test.LatestVersions.LATEST_KERNEL_VERSION;
+import static org.neo4j.test.LatestVersions.LATEST_LOG_FORMAT;
+
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.ReadPastEndException;
+import org.neo4j.io.memory.HeapScopedBuffer;
+import org.neo4j.kernel.impl.transaction.log.entry.InvalidLogEnvelopeReadException;
+import org.neo4j.kernel.impl.transaction.log.entry.LogFormat;
+import org.neo4j.kernel.impl.transaction.log.entry.LogHeader;
+import org.neo4j.kernel.impl.transaction.log.files.LogFileChannelNativeAccessor;
+import org.neo4j.kernel.impl.transaction.tracing.DatabaseTracer;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.storageengine.api.StoreId;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+@TestDirectoryExtension
+@ExtendWith(RandomExtension.class)
+class EnvelopeCompressionTest {
+    private static final int SEGMENT_SIZE = 256;
+    private static final EnvelopeCompression COMPRESSION = new EnvelopeCompression(1, 64, 4096);
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private RandomSupport random;
+
+    @Test
+    void shouldCompressAndDecompressEntry() throws IOException {
+        // given
+        byte[] entry = commandLikeEntry(1000);
+        byte[] compressed = new byte[entry.length];
+
+        // when
+        int compressedLength = compress(entry, compressed);
+        ByteBuffer decompressed;
+        try (var decompressor = new ZstdDecompressCtx()) {
+            decompressed =
+                    EnvelopeCompression.decompress(decompressor, compressed, compressedLength, null, LITTLE_ENDIAN);
+        }
+
+        // then
+        assertThat(compressedLength).isPositive().isLessThan(entry.length / 2);
+        byte[] actual = new byte[decompressed.remaining()];
+        decompressed.get(actual);
+        assertThat(actual).isEqualTo(entry);
+    }
+
+    @Test
+    void shouldNotCompressIncompressibleEntry() {
+        // given
+        byte[] entry = random.nextBytes(new byte[1000]);
+
+        // when
+        int compressedLength = compress(entry, new byte[entry.length]);
+
+        // then
+        assertThat(compressedLength).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldFailOnCorruptedCompressedEntry() {
+        // given
+        byte[] entry = commandLikeEntry(1000);
+        byte[] compressed = new byte[entry.length];
+        int compressedLength = compress(entry, compressed);
+        compressed[compressedLength / 2] ^= (byte) 0xFF;
+
+        // when/then
+        try (var decompressor = new ZstdDecompressCtx()) {
+            assertThatThrownBy(() -> EnvelopeCompression.decompress(
+                            decompressor, compressed, compressedLength, null, LITTLE_ENDIAN))
+                    .isInstanceOf(InvalidLogEnvelopeReadException.class);
+        }
+    }
+
+    @Test
+    void shouldFailOnCompressedEntryLargerThanMaxEntrySize() {
+        // given
+        byte[] entry = commandLikeEntry(1000);
+        byte[] compressed = new byte[entry.length];
+        int compressedLength = compress(entry, compressed);
+        ByteBuffer.wrap(compressed).order(LITTLE_ENDIAN).putInt(EnvelopeCompression.MAX_ENTRY_SIZE + 1);
+
+        // when/then
+        try (var decompressor = new ZstdDecompressCtx()) {
+            assertThatThrownBy(() -> EnvelopeCompression.decompress(
+                            decompressor, compressed, compressedLength, null, LITTLE_ENDIAN))
+                    .isInstanceOf(InvalidLogEnvelopeReadException.class)
+                    .hasMessageContaining("Invalid length");
+        }
+    }
+
+    @Test
+    void shouldNotAllowMaxEntrySizeAboveUpperBound() {
+        assertThatThrownBy(() -> new EnvelopeCompression(1, 64, EnvelopeCompression.MAX_ENTRY_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldReadMixOfCompressedAndUncompressedEntries() throws IOException {
+        // given
+        List<byte[]> entries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            entries.add(
+                    switch (random.nextInt(4)) {
+                        case 0 -> random.nextBytes(new byte[random.nextInt(1, 1000)]);
+                        case 1 -> random.nextBytes(new byte[random.nextInt(1, 64)]);
+                        case 2 -> commandLikeEntry(random.nextInt(10_000, 20_000));
+                        default -> commandLikeEntry(random.nextInt(1, 1000));
+                    });
+        }
+        Path file = directory.homePath().resolve("compressed");
+
+        // when
+        long[] entryPositions = writeEntries(file, entries, COMPRESSION);
+
+        // then
+        try (var channel = readChannel(file)) {
+            for (byte[] entry : entries) {
+                assertThat(readEntry(channel)).isEqualTo(entry);
+            }
+            assertThatThrownBy(channel::get).isInstanceOf(ReadPastEndException.class);
+        }
+        for (int i = entries.size() - 1; i >= 0; i -= 7) {
+            try (var channel = readChannel(file)) {
+                channel.position(entryPositions[i]);
+                assertThat(readEntry(channel)).isEqualTo(entries.get(i));
+            }
+        }
+    }
+
+    @Test
+    void shouldReportLogicalPositionWhilstReadingCompressedEntry() throws IOException {
+        // given
+        byte[] entry = commandLikeEntry(2000);
+        Path file = directory.homePath().resolve("compressed");
+        long[] entryPositions = writeEntries(file, List.of(entry, entry), COMPRESSION);
+
+        // when
+        try (var channel = readChannel(file)) {
+            channel.get();
+            long positionInEntry = channel.position();
+            channel.get(new byte[100], 100);
+            long positionFurtherInEntry = channel.position();
+            int remaining = Integer.BYTES - 1 - 100 + entry.length;
+            channel.get(new byte[remaining], remaining);
+            long positionAfterEntry = channel.position();
+
+            // then
+            assertThat(positionInEntry).isEqualTo(entryPositions[0] + HEADER_SIZE + 1);
+            assertThat(positionFurtherInEntry).isEqualTo(positionInEntry + 100);
+            assertThat(positionAfterEntry).isGreaterThan(positionInEntry);
+            assertThat(positionAfterEntry).isLessThanOrEqualTo(entryPositions[1]);
+        }
+    }
+
+    @Test
+    void shouldWriteSmallerLogsForCompressibleEntries() throws IOException {
+        // given
+        List<byte[]> entries = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            entries.add(commandLikeEntry(random.nextInt(500, 3000)));
+        }
+        Path compressed = directory.homePath().resolve("compressed");
+        Path uncompressed = directory.homePath().resolve("uncompressed");
+
+        // when
+        writeEntries(compressed, entries, COMPRESSION);
+        writeEntries(uncompressed, entries, EnvelopeCompression.DISABLED);
+
+        // then
+        assertThat(fileSystem.getFileSize(compressed)).isLessThan(fileSystem.getFileSize(uncompressed) * 3 / 4);
+        try (var channel = readChannel(uncompressed)) {
+            for (byte[] entry : entries) {
+                assertThat(readEntry(channel)).isEqualTo(entry);
+            }
+        }
+    }
+
+    /**
+     * @return the position of the start of each entry.
+     */
+    private long[] writeEntries(Path file, List<byte[]> entries, EnvelopeCompression compression) throws IOException {
+        writeLogHeader(file);
+        long[] positions = new long[entries.size()];
+        try (var storeChannel = fileSystem.write(file)) {
+            storeChannel.position(SEGMENT_SIZE);
+            try (var channel = new EnvelopeWriteChannel(
+                    storeChannel,
+                    new HeapScopedBuffer(SEGMENT_SIZE * 4, LITTLE_ENDIAN, EmptyMemoryTracker.INSTANCE),
+                    SEGMENT_SIZE,
+                    BASE_TX_CHECKSUM,
+                    NO_ROTATION,
+                    DatabaseTracer.NULL,
+                    compression)) {
+                long position = SEGMENT_SIZE;
+                for (int i = 0; i < entries.size(); i++) {
+                    byte[] entry = entries.get(i);
+                    positions[i] = position;
+                    channel.putVersion(LATEST_KERNEL_VERSION.version());
+                    channel.putInt(entry.length);
+                    channel.put(entry, entry.length);
+                    channel.endCurrentEntry();
+                    position = channel.position();
+                }
+            }
+        }
+        return positions;
+    }
+
+    private static int compress(byte[] entry, byte[] target) {
+        try (ZstdCompressCtx compressor = COMPRESSION.newCompressor()) {
+            return EnvelopeCompression.compress(compressor, entry, entry.length, target);
+        }
+    }
+
+    private static byte[] readEntry(EnvelopeReadChannel channel) throws IOException {
+        byte[] entry = new byte[channel.getInt()];
+        channel.get(entry, entry.length);
+        return entry;
+    }
+
+    private void writeLogHeader(Path file) throws IOException {
+        fileSystem.deleteFile(file);
+        try (var channel = fileSystem.write(file)) {
+            ByteBuffer buffer = ByteBuffer.allocate(SEGMENT_SIZE).order(LITTLE_ENDIAN);
+            LogFormat.V9
+                    .getHeaderWriter()
+                    .write(
+                            buffer,
+                            new LogHeader(
+                                    LogFormat.V9,
+                                    0,
+                                    1,
+                                    StoreId.UNKNOWN,
+                                    SEGMENT_SIZE,
+                                    BASE_TX_CHECKSUM,
+                                    LATEST_KERNEL_VERSION));
+            buffer.position(SEGMENT_SIZE).flip();
+            channel.writeAll(buffer);
+        }
+    }
+
+    private EnvelopeReadChannel readChannel(Path file) throws IOException {
+        var logChannel = new PhysicalLogVersionedStoreChannel(
+                fileSystem.write(file),
+                0,
+                LATEST_LOG_FORMAT,
+                file,
+                mock(LogFileChannelNativeAccessor.class),
+                DatabaseTracer.NULL);
+        return new EnvelopeReadChannel(logChannel, SEGMENT_SIZE, NO_MORE_CHANNELS, EmptyMemoryTracker.INSTANCE, false);
+    }
+
+    /**
+     * Mostly what serialized record commands look like: absent references, unused fields and small values.
+     */
+    private byte[] commandLikeEntry(int size) {
+        ByteBuffer entry = ByteBuffer.allocate(size).order(LITTLE_ENDIAN);
+        while (entry.remaining() >= Long.BYTES + Integer.BYTES + 1) {
+            entry.put((byte) random.nextInt(1, 10));
+            entry.putLong(random.nextBoolean() ? -1 : random.nextInt(1_000_000));
+            entry.putInt(random.nextInt(3) == 0 ? random.nextInt(100) : 0);
+        }
+        byte[] bytes = entry.array();
+        Arrays.fill(bytes, entry.position(), bytes.length, (byte) 0);
+        return bytes;
+    }
+}
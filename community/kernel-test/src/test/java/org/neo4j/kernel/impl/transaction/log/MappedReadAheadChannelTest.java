@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.io.fs.ChecksumWriter.CHECKSUM_FACTORY;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Checksum;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.ReadAheadChannel;
+import org.neo4j.io.fs.ReadPastEndException;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.memory.HeapScopedBuffer;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+@TestDirectoryExtension
+@ExtendWith(RandomExtension.class)
+class MappedReadAheadChannelTest {
+    private static final int READ_AHEAD_SIZE = 512;
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private RandomSupport random;
+
+    @Test
+    void shouldReadMappedChannel() throws IOException {
+        // given
+        Path file = createFile("mapped", 10_000);
+        Checksum checksum = CHECKSUM_FACTORY.get();
+
+        // when
+        try (var channel = new TestChannel(Set.of(file), file)) {
+            channel.beginChecksum();
+            for (int i = 0; i < 10_000 / Integer.BYTES; i++) {
+                assertThat(channel.position()).isEqualTo((long) i * Integer.BYTES);
+                assertThat(channel.getInt()).isEqualTo(i);
+                checksum.update(ByteBuffer.allocate(Integer.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN)
+                        .putInt(0, i));
+            }
+
+            // then
+            assertThat(channel.getChecksum()).isEqualTo((int) checksum.getValue());
+            assertThat(channel.mapped).containsExactly(file);
+            assertThatThrownBy(channel::get).isInstanceOf(ReadPastEndException.class);
+        }
+    }
+
+    @Test
+    void shouldSeekWithinMappedChannel() throws IOException {
+        // given
+        Path file = createFile("mapped", 10_000);
+
+        try (var channel = new TestChannel(Set.of(file), file)) {
+            for (int i = 0; i < 100; i++) {
+                // when
+                int index = random.nextInt(10_000 / Integer.BYTES);
+                channel.position((long) index * Integer.BYTES);
+
+                // then
+                assertThat(channel.getInt()).isEqualTo(index);
+                assertThat(channel.position()).isEqualTo((long) (index + 1) * Integer.BYTES);
+            }
+            assertThat(channel.mapped).containsExactly(file);
+        }
+    }
+
+    @RepeatedTest(10)
+    void shouldReadSameAsBufferedChannelAcrossMappedAndUnmappedChannels() throws IOException {
+        // given
+        Path first = createFile("first", random.nextInt(1, 5_000));
+        Path second = createFile("second", random.nextInt(1, 5_000));
+        Path third = createFile("third", random.nextInt(1, 5_000));
+        Path fourth = createFile("fourth", random.nextInt(1, 5_000));
+        Set<Path> mapped = Set.of(first, second, fourth);
+
+        try (var buffered = new TestChannel(Set.of(), first, second, third, fourth);
+                var mapping = new TestChannel(mapped, first, second, third, fourth)) {
+            buffered.beginChecksum();
+            mapping.beginChecksum();
+
+            // when
+            boolean endReached = false;
+            while (!endReached) {
+                int length = random.nextInt(1, READ_AHEAD_SIZE * 3);
+                int operation = random.nextInt(7);
+                Object expected;
+                try {
+                    expected = read(buffered, operation, length);
+                } catch (ReadPastEndException e) {
+                    assertThatThrownBy(() -> read(mapping, operation, length))
+                            .isInstanceOf(ReadPastEndException.class);
+                    endReached = true;
+                    continue;
+                }
+
+                // then
+                assertThat(read(mapping, operation, length)).isEqualTo(expected);
+                assertThat(mapping.getChecksum()).isEqualTo(buffered.getChecksum());
+            }
+            assertThat(mapping.mapped).contains(first).isSubsetOf(mapped);
+            assertThat(buffered.mapped).isEmpty();
+        }
+    }
+
+    private static Object read(ReadAheadChannel<StoreChannel> channel, int operation, int length)
+            throws IOException {
+        return switch (operation) {
+            case 0 -> channel.get();
+            case 1 -> channel.getShort();
+            case 2 -> channel.getInt();
+            case 3 -> channel.getLong();
+            case 4 -> {
+                byte[] bytes = new byte[length];
+                channel.get(bytes, length);
+                yield ByteBuffer.wrap(bytes);
+            }
+            case 5 -> {
+                ByteBuffer buffer = ByteBuffer.allocate(length);
+                channel.read(buffer);
+                yield buffer.flip();
+            }
+            default -> channel.getDouble();
+        };
+    }
+
+    /**
+     * Creates a file of consecutive little endian ints, of which the last one may be cut short.
+     */
+    private Path createFile(String name, int size) throws IOException {
+        Path file = directory.file(name);
+        ByteBuffer buffer = ByteBuffer.allocate(size + Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; buffer.position() < size; i++) {
+            buffer.putInt(i);
+        }
+        buffer.limit(size).position(0);
+        try (StoreChannel channel = fileSystem.write(file)) {
+            channel.writeAll(buffer);
+        }
+        return file;
+    }
+
+    private class TestChannel extends ReadAheadChannel<StoreChannel> {
+        private final Set<Path> mappable;
+        private final Set<Path> mapped = new HashSet<>();
+        private final Deque<Path> files;
+        private Path current;
+
+        TestChannel(Set<Path> mappable, Path... files) throws IOException {
+            super(fileSystem.read(files[0]), new HeapScopedBuffer(READ_AHEAD_SIZE, ByteOrder.LITTLE_ENDIAN, INSTANCE));
+            this.mappable = mappable;
+            this.files = new ArrayDeque<>(List.of(files));
+            this.current = this.files.poll();
+        }
+
+        @Override
+        protected StoreChannel next(StoreChannel channel) throws IOException {
+            Path next = files.poll();
+            if (next == null) {
+                return channel;
+            }
+            channel.close();
+            current = next;
+            return fileSystem.read(next);
+        }
+
+        @Override
+        protected ByteBuffer map(StoreChannel channel) throws IOException {
+            if (!mappable.contains(current)) {
+                return null;
+            }
+            mapped.add(current);
+            return channel.mapReadOnly(0, channel.size());
+        }
+    }
+}
@@ -310,6 +310,9 @@ class QueueTransactionAppenderTestIT {
             return new RecordingTransactionAppendEvent(events);
         }
 
+        @Override
+        public void groupCommit(int transactions, long waitNanos) {}
+
         @Override
         public LogForceWaitEvent beginLogForceWait() {
             events.add(EventType.LOG_FORCE_WAIT);
@@ -208,5 +208,8 @@ class TransactionAppenderRotationIT {
                 }
             };
         }
+
+        @Override
+        public void groupCommit(int transactions, long waitNanos) {}
     }
 }
@@ -19,6 +19,9 @@
  */
 package org.neo4j.kernel.impl.transaction.log;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -27,7 +30,9 @@ import static org.neo4j.monitoring.HealthEventGenerator.NO_OP;
 import static org.neo4j.storageengine.api.TransactionIdStore.UNKNOWN_CONSENSUS_INDEX;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -146,6 +151,51 @@ class TransactionLogQueueIT {
                 () -> logQueue.submit(createTransaction(), LogAppendEvent.NULL).getCommittedTxId());
     }
 
+    @Test
+    void groupCommitForcesConcurrentTransactionsTogether() throws IOException {
+        LogFiles logFiles = buildLogFiles(logVersionRepository, transactionIdStore);
+        life.add(logFiles);
+
+        int transactions = 10;
+        var groupCommitPolicy = new GroupCommitPolicy(SECONDS.toNanos(10), transactions, Long.MAX_VALUE, false);
+        TransactionLogQueue logQueue = new TransactionLogQueue(
+                logFiles, transactionIdStore, databaseHealth, jobScheduler, groupCommitPolicy, logProvider);
+        life.add(logQueue);
+
+        var groupCommits = new CopyOnWriteArrayList<Integer>();
+        LogAppendEvent logAppendEvent = new LogAppendEvent.Empty() {
+            @Override
+            public void groupCommit(int batchSize, long waitNanos) {
+                groupCommits.add(batchSize);
+            }
+        };
+        long committedTransactionId = transactionIdStore.getLastCommittedTransactionId();
+        List<TransactionLogQueue.TxQueueElement> elements = new ArrayList<>();
+        for (int i = 0; i < transactions; i++) {
+            elements.add(logQueue.submit(createTransaction(), logAppendEvent));
+        }
+        for (TransactionLogQueue.TxQueueElement element : elements) {
+            assertEquals(++committedTransactionId, element.getCommittedTxId());
+        }
+        // The batch is full long before the delay passes, so all transactions are forced with a single log force.
+        assertThat(groupCommits).containsExactly(transactions);
+    }
+
+    @Test
+    void adaptiveGroupCommitOnlyWaitsForConcurrentTransactions() {
+        var window = new TransactionLogQueue.GroupCommitWindow(
+                new GroupCommitPolicy(MILLISECONDS.toNanos(10), 100, Long.MAX_VALUE, true));
+        for (int i = 0; i < 100; i++) {
+            window.forced(1, MILLISECONDS.toNanos(2));
+        }
+        assertEquals(0, window.delayNanos());
+
+        for (int i = 0; i < 100; i++) {
+            window.forced(8, MILLISECONDS.toNanos(2));
+        }
+        assertThat(window.delayNanos()).isPositive().isLessThanOrEqualTo(MILLISECONDS.toNanos(1));
+    }
+
     private TransactionToApply createTransaction() {
         CompleteTransaction tx = new CompleteTransaction(
                 List.of(new TestCommand()),
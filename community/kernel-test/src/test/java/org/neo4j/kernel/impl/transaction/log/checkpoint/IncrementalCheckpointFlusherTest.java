@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.kernel.impl.transaction.log.checkpoint.LatestCheckpointInfo.UNKNOWN_CHECKPOINT_INFO;
+
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.storageengine.api.ClosedTransactionMetadata;
+import org.neo4j.storageengine.api.TransactionIdStore;
+import org.neo4j.test.OnDemandJobScheduler;
+import org.neo4j.time.Clocks;
+import org.neo4j.time.FakeClock;
+
+class IncrementalCheckpointFlusherTest {
+    private static final long INTERVAL_BYTES = 1_000;
+    private static final long LOG_FILE_SIZE = 10_000;
+    private static final long PERIOD_MILLIS = 100;
+
+    private final PageCache pageCache = mock(PageCache.class);
+    private final TransactionIdStore transactionIdStore = mock(TransactionIdStore.class);
+    private final CheckPointer checkPointer = mock(CheckPointer.class);
+    private final FakeClock clock = Clocks.fakeClock();
+    private IncrementalCheckpointFlusher flusher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(checkPointer.latestCheckPointInfo()).thenReturn(UNKNOWN_CHECKPOINT_INFO);
+        when(pageCache.listExistingMappings()).thenReturn(List.of());
+        flusher = new IncrementalCheckpointFlusher(
+                pageCache,
+                transactionIdStore,
+                checkPointer,
+                new OnDemandJobScheduler(),
+                clock,
+                PageCacheTracer.NULL,
+                NullLogProvider.getInstance(),
+                "test db",
+                MINUTES.toMillis(15),
+                INTERVAL_BYTES,
+                LOG_FILE_SIZE,
+                PERIOD_MILLIS);
+    }
+
+    @Test
+    void shouldOnlyFlushFilesWithDirtyPages() throws IOException {
+        // given
+        PagedFile dirty = mock(PagedFile.class);
+        PagedFile clean = mock(PagedFile.class);
+        when(dirty.dirtyPages()).thenReturn(10L);
+        when(pageCache.listExistingMappings()).thenReturn(List.of(dirty, clean));
+        closedTransactionAt(new LogPosition(0, 100));
+
+        // when
+        long dirtyPages = flusher.flushDirtyPages();
+
+        // then
+        assertThat(dirtyPages).isEqualTo(10);
+        verify(dirty).flush(any(), any());
+        verify(clean, never()).flush(any(), any());
+    }
+
+    @Test
+    void shouldExpectNextCheckpointAfterTimeIntervalWhenLogIsNotGrowing() throws IOException {
+        // given
+        closedTransactionAt(new LogPosition(0, 100));
+        flusher.flushDirtyPages();
+
+        // when
+        clock.forward(1, MINUTES);
+        flusher.flushDirtyPages();
+
+        // then
+        assertThat(flusher.nanosUntilNextCheckpoint(clock.nanos(), new LogPosition(0, 100)))
+                .isEqualTo(MINUTES.toNanos(14));
+    }
+
+    @Test
+    void shouldExpectNextCheckpointSoonerWhenLogGrowsFast() throws IOException {
+        // given
+        closedTransactionAt(new LogPosition(0, 100));
+        flusher.flushDirtyPages();
+
+        // when 100 bytes of log per second
+        clock.forward(1, SECONDS);
+        closedTransactionAt(new LogPosition(0, 200));
+        flusher.flushDirtyPages();
+
+        // then the remaining 900 bytes of the volume threshold are expected to be written in 9 seconds
+        assertThat(flusher.nanosUntilNextCheckpoint(clock.nanos(), new LogPosition(0, 200)))
+                .isEqualTo(SECONDS.toNanos(9));
+    }
+
+    @Test
+    void shouldExpectNextCheckpointWithinAPeriodWhenOverdue() throws IOException {
+        // given
+        closedTransactionAt(new LogPosition(0, 100));
+        flusher.flushDirtyPages();
+
+        // when the log grew past the volume threshold, into the next log file
+        clock.forward(1, SECONDS);
+        closedTransactionAt(new LogPosition(1, 100));
+        flusher.flushDirtyPages();
+
+        // then
+        assertThat(flusher.nanosUntilNextCheckpoint(clock.nanos(), new LogPosition(1, 100)))
+                .isEqualTo(MILLISECONDS.toNanos(PERIOD_MILLIS));
+    }
+
+    private void closedTransactionAt(LogPosition position) {
+        when(transactionIdStore.getLastClosedTransaction())
+                .thenReturn(new ClosedTransactionMetadata(1, position, 0, 0, 0));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.kernel.impl.util.collection.OffHeapLongProbeTable.NO_ROW;
+import static org.neo4j.kernel.impl.util.collection.OffHeapLongProbeTable.PAGE_SIZE;
+import static org.neo4j.kernel.impl.util.collection.OffHeapLongProbeTable.createOffHeapLongProbeTable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+
+@ExtendWith(RandomExtension.class)
+class OffHeapLongProbeTableTest {
+    @Inject
+    private RandomSupport rnd;
+
+    private final CachingOffHeapBlockAllocator blockAllocator = new CachingOffHeapBlockAllocator();
+    private final MemoryTracker memoryTracker = new LocalMemoryTracker();
+
+    @AfterEach
+    void tearDown() {
+        assertEquals(0, memoryTracker.usedNativeMemory(), "Leaking memory");
+        assertEquals(0, memoryTracker.estimatedHeapMemory(), "Leaking memory");
+        blockAllocator.release();
+    }
+
+    @Test
+    void emptyTable() {
+        try (var table = createOffHeapLongProbeTable(blockAllocator, 1, 2, memoryTracker)) {
+            assertTrue(table.isEmpty());
+            assertEquals(NO_ROW, table.first(new long[] {0}));
+        }
+    }
+
+    @Test
+    void singleKeyRows() {
+        try (var table = createOffHeapLongProbeTable(blockAllocator, 1, 2, memoryTracker)) {
+            table.put(new long[] {0}, new long[] {10, 11});
+            table.put(new long[] {1}, new long[] {20, 21});
+            table.put(new long[] {0}, new long[] {30, 31});
+
+            assertEquals(3, table.size());
+            assertThat(values(table, 0)).containsExactly(List.of(30L, 31L), List.of(10L, 11L));
+            assertThat(values(table, 1)).containsExactly(List.of(20L, 21L));
+            assertThat(values(table, 2)).isEmpty();
+        }
+    }
+
+    @Test
+    void multiKeyRowsWithCollidingHashes() {
+        try (var table = createOffHeapLongProbeTable(blockAllocator, 2, 1, memoryTracker)) {
+            // 31 * 0 + 31 == 31 * 1 + 0
+            table.put(new long[] {0, 31}, new long[] {1});
+            table.put(new long[] {1, 0}, new long[] {2});
+            table.put(new long[] {0, 31}, new long[] {3});
+
+            assertThat(values(table, 0, 31)).containsExactly(List.of(3L), List.of(1L));
+            assertThat(values(table, 1, 0)).containsExactly(List.of(2L));
+            assertThat(values(table, 1, 31)).isEmpty();
+        }
+    }
+
+    @Test
+    void rowsWithoutValues() {
+        try (var table = createOffHeapLongProbeTable(blockAllocator, 1, 0, memoryTracker)) {
+            table.put(new long[] {7}, new long[0]);
+            table.put(new long[] {7}, new long[0]);
+
+            assertThat(values(table, 7)).containsExactly(List.of(), List.of());
+        }
+    }
+
+    @Test
+    void rowsLargerThanPage() {
+        final int valueWidth = (int) (PAGE_SIZE / Long.BYTES) + 1;
+        try (var table = createOffHeapLongProbeTable(blockAllocator, 2, valueWidth, memoryTracker)) {
+            for (int i = 0; i < 3; i++) {
+                final long[] value = new long[valueWidth];
+                value[valueWidth - 1] = i;
+                table.put(new long[] {i, i}, value);
+            }
+
+            for (int i = 0; i < 3; i++) {
+                final long row = table.first(new long[] {i, i});
+                assertEquals(i, table.getValue(row, valueWidth - 1));
+            }
+        }
+    }
+
+    @Test
+    void randomizedRowsOverManyPages() {
+        final int keyWidth = rnd.nextInt(1, 4);
+        final Map<List<Long>, List<List<Long>>> expected = new HashMap<>();
+        try (var table = createOffHeapLongProbeTable(blockAllocator, keyWidth, 3, memoryTracker)) {
+            for (int i = 0; i < 100_000; i++) {
+                final long[] key = new long[keyWidth];
+                for (int k = 0; k < keyWidth; k++) {
+                    key[k] = rnd.nextLong(1000);
+                }
+                final long[] value = {rnd.nextLong(), rnd.nextLong(), i};
+                table.put(key, value);
+                expected.computeIfAbsent(toList(key), k -> new ArrayList<>()).add(0, toList(value));
+            }
+
+            assertEquals(100_000, table.size());
+            expected.forEach((key, rows) -> assertEquals(
+                    rows, values(table, key.stream().mapToLong(Long::longValue).toArray())));
+        }
+    }
+
+    @Test
+    void closeReleasesMemory() {
+        final var table = createOffHeapLongProbeTable(blockAllocator, 2, 4, memoryTracker);
+        for (int i = 0; i < 10_000; i++) {
+            table.put(new long[] {i, i}, new long[] {i, i, i, i});
+        }
+        assertThat(memoryTracker.usedNativeMemory()).isGreaterThan(0);
+
+        table.close();
+
+        assertTrue(table.isClosed());
+    }
+
+    private static List<List<Long>> values(OffHeapLongProbeTable table, long... key) {
+        final List<List<Long>> rows = new ArrayList<>();
+        for (long row = table.first(key); row != NO_ROW; row = table.next(row, key)) {
+            final List<Long> value = new ArrayList<>();
+            for (int i = 0; i < table.valueWidth(); i++) {
+                value.add(table.getValue(row, i));
+            }
+            rows.add(value);
+        }
+        return rows;
+    }
+
+    private static List<Long> toList(long[] longs) {
+        final List<Long> list = new ArrayList<>();
+        for (long l : longs) {
+            list.add(l);
+        }
+        return list;
+    }
+}
@@ -29,7 +29,9 @@ import org.neo4j.configuration.Config;
 import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.impl.api.tracer.DefaultTracer;
+import org.neo4j.kernel.impl.api.tracer.LockWaitHistogramTracer;
 import org.neo4j.kernel.impl.transaction.tracing.DatabaseTracer;
+import org.neo4j.lock.LockTracer;
 import org.neo4j.logging.AssertableLogProvider;
 import org.neo4j.logging.InternalLog;
 import org.neo4j.monitoring.Monitors;
@@ -55,6 +57,7 @@ class DefaultTracersTest {
         DefaultTracers tracers = createTracers("null");
         assertThat(tracers.getPageCacheTracer()).isEqualTo(PageCacheTracer.NULL);
         assertThat(tracers.getDatabaseTracer()).isEqualTo(DatabaseTracer.NULL.NULL);
+        assertThat(tracers.getLockTracer()).isEqualTo(LockTracer.NONE);
         assertNoWarning();
     }
 
@@ -86,6 +89,7 @@ class DefaultTracersTest {
     private static void assertDefaultImplementation(DefaultTracers tracers) {
         assertThat(tracers.getPageCacheTracer()).isInstanceOf(DefaultPageCacheTracer.class);
         assertThat(tracers.getDatabaseTracer()).isInstanceOf(DefaultTracer.class);
+        assertThat(tracers.getLockTracer()).isInstanceOf(LockWaitHistogramTracer.class);
     }
 
     private void assertNoWarning() {
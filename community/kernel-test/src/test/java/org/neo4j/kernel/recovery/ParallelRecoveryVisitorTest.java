@@ -192,6 +192,39 @@ class ParallelRecoveryVisitorTest {
         assertThat(applyOrder[applyOrder.length - 1]).isEqualTo(5);
     }
 
+    @Test
+    void shouldApplyBarrierInIsolation() throws Exception {
+        // given
+        RecoveryControllableStorageEngine storageEngine = new RecoveryControllableStorageEngine() {
+            @Override
+            public boolean isRecoveryBarrier(CommandStream commands) {
+                return idOf(commands) == 3;
+            }
+
+            @Override
+            public void apply(CommandBatchToApply batch, TransactionApplicationMode mode) throws Exception {
+                if (idOf(batch) == 2) {
+                    // Just make it very likely that, if the barrier wouldn't work as expected, then the test will fail,
+                    // but the test will not be flaky if the visitor works as expected.
+                    Thread.sleep(50);
+                }
+                super.apply(batch, mode);
+            }
+        };
+
+        // when
+        try (ParallelRecoveryVisitor visitor =
+                new ParallelRecoveryVisitor(storageEngine, RECOVERY, contextFactory, "test", 2)) {
+            visitor.visit(tx(2, commandsRelatedToNode(99)));
+            visitor.visit(tx(3, commandsRelatedToNode(999)));
+            visitor.visit(tx(4, commandsRelatedToNode(9999)));
+        }
+
+        // then
+        assertThat(storageEngine.lockOrder()).isEqualTo(new long[] {2, 4});
+        assertThat(storageEngine.applyOrder()).isEqualTo(new long[] {2, 3, 4});
+    }
+
     @Test
     void shouldPropagateApplyFailureOnVisit() {
         // given
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.kernel.impl.transaction.CommittedCommandBatch;
+import org.neo4j.kernel.impl.transaction.log.CommandBatchCursor;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+
+class ReadAheadCommandBatchCursorTest {
+    private final ThreadPoolJobScheduler scheduler = new ThreadPoolJobScheduler();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    void shouldReturnAllBatchesWithTheirPositionsInOrder() throws IOException {
+        // given
+        List<CommittedCommandBatch> batches = batches(100);
+        TestCursor source = new TestCursor(batches, -1);
+
+        // when
+        List<CommittedCommandBatch> read = new ArrayList<>();
+        try (ReadAheadCommandBatchCursor cursor = new ReadAheadCommandBatchCursor(source, 4, scheduler)) {
+            assertThat(cursor.position()).isEqualTo(positionAfter(-1));
+            while (cursor.next()) {
+                assertThat(cursor.position()).isEqualTo(positionAfter(read.size()));
+                read.add(cursor.get());
+            }
+            assertThat(cursor.next()).isFalse();
+            assertThat(cursor.position()).isEqualTo(positionAfter(batches.size() - 1));
+        }
+
+        // then
+        assertThat(read).isEqualTo(batches);
+        assertThat(source.closed).isTrue();
+    }
+
+    @Test
+    void shouldReportReadFailureAfterBatchesReadBeforeIt() throws IOException {
+        // given
+        List<CommittedCommandBatch> batches = batches(10);
+        TestCursor source = new TestCursor(batches, 6);
+
+        // when
+        try (ReadAheadCommandBatchCursor cursor = new ReadAheadCommandBatchCursor(source, 4, scheduler)) {
+            for (int i = 0; i < 6; i++) {
+                assertThat(cursor.next()).isTrue();
+                assertThat(cursor.get()).isSameAs(batches.get(i));
+            }
+
+            // then
+            assertThatThrownBy(cursor::next).isInstanceOf(IOException.class).hasMessage("Corrupted log");
+            assertThat(cursor.position()).isEqualTo(positionAfter(5));
+        }
+        assertThat(source.closed).isTrue();
+    }
+
+    @Test
+    void shouldCloseWithoutConsumingAllBatches() throws IOException {
+        // given
+        TestCursor source = new TestCursor(batches(100), -1);
+
+        // when
+        try (ReadAheadCommandBatchCursor cursor = new ReadAheadCommandBatchCursor(source, 2, scheduler)) {
+            assertThat(cursor.next()).isTrue();
+        }
+
+        // then
+        assertThat(source.closed).isTrue();
+    }
+
+    private static List<CommittedCommandBatch> batches(int count) {
+        List<CommittedCommandBatch> batches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batches.add(mock(CommittedCommandBatch.class));
+        }
+        return batches;
+    }
+
+    private static LogPosition positionAfter(int index) {
+        return new LogPosition(0, (index + 1) * 100L);
+    }
+
+    private static class TestCursor implements CommandBatchCursor {
+        private final List<CommittedCommandBatch> batches;
+        private final int failAt;
+        private int index = -1;
+        private volatile boolean closed;
+
+        TestCursor(List<CommittedCommandBatch> batches, int failAt) {
+            this.batches = batches;
+            this.failAt = failAt;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (index + 1 == failAt) {
+                throw new IOException("Corrupted log");
+            }
+            if (index + 1 >= batches.size()) {
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        @Override
+        public CommittedCommandBatch get() {
+            return batches.get(index);
+        }
+
+        @Override
+        public LogPosition position() {
+            return positionAfter(index);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -102,6 +102,7 @@ import org.neo4j.kernel.lifecycle.Lifecycle;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.logging.InternalLog;
 import org.neo4j.monitoring.Monitors;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.LogVersionRepository;
 import org.neo4j.storageengine.api.StorageEngine;
 import org.neo4j.storageengine.api.StoreId;
@@ -230,6 +231,9 @@ class TransactionLogsRecoveryTest {
                             mock(InternalLog.class),
                             Clocks.systemClock(),
                             false,
+                            0,
+                            0,
+                            mock(JobScheduler.class),
                             LatestVersions.BINARY_VERSIONS,
                             contextFactory) {
                         private int nr;
@@ -348,6 +352,9 @@ class TransactionLogsRecoveryTest {
                             mock(InternalLog.class),
                             Clocks.systemClock(),
                             false,
+                            0,
+                            0,
+                            mock(JobScheduler.class),
                             LatestVersions.BINARY_VERSIONS,
                             contextFactory),
                     logPruner,
@@ -647,6 +654,9 @@ class TransactionLogsRecoveryTest {
                             mock(InternalLog.class),
                             Clocks.systemClock(),
                             false,
+                            0,
+                            0,
+                            mock(JobScheduler.class),
                             LatestVersions.BINARY_VERSIONS,
                             contextFactory),
                     logPruner,
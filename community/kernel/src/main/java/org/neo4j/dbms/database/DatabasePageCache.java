@@ -33,6 +33,7 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.dbms.database.TicketMachine.Barrier;
 import org.neo4j.dbms.database.TicketMachine.Ticket;
@@ -258,6 +259,16 @@ public class DatabasePageCache implements PageCache {
             flushTicket.use();
         }
 
+        @Override
+        public void flush(FileFlushEvent flushEvent, IOController limiter) throws IOException {
+            delegate.flush(flushEvent, limiter);
+        }
+
+        @Override
+        public long dirtyPages() {
+            return delegate.dirtyPages();
+        }
+
         @Override
         public long getLastPageId() throws IOException {
             return delegate.getLastPageId();
@@ -311,6 +322,16 @@ public class DatabasePageCache implements PageCache {
             return delegate.touch(pageId, count, cursorContext);
         }
 
+        @Override
+        public void visitResidentPages(LongConsumer visitor) {
+            delegate.visitResidentPages(visitor);
+        }
+
+        @Override
+        public boolean prefetch(long pageId, CursorContext cursorContext) {
+            return delegate.prefetch(pageId, cursorContext);
+        }
+
         @Override
         public boolean preAllocateSupported() {
             return delegate.preAllocateSupported();
@@ -47,8 +47,14 @@ import org.neo4j.values.virtual.VirtualRelationshipValue;
 
 /**
  * @param channel the channel to write the {@link Value} objects out to.
+ * @param entityMode whether entities are written with their labels, type and properties, or as references only.
  */
-public record ValuesWriter(WriteEnrichmentChannel channel) implements AnyValueWriter<RuntimeException> {
+public record ValuesWriter(WriteEnrichmentChannel channel, EntityMode entityMode)
+        implements AnyValueWriter<RuntimeException> {
+
+    public ValuesWriter(WriteEnrichmentChannel channel) {
+        this(channel, EntityMode.FULL);
+    }
 
     public int write(AnyValue value) {
         final var position = channel.size();
@@ -68,11 +74,6 @@ public record ValuesWriter(WriteEnrichmentChannel channel) implements AnyValueWr
         return position;
     }
 
-    @Override
-    public EntityMode entityMode() {
-        return EntityMode.FULL;
-    }
-
     @Override
     public void writeNull() {
         // no-op
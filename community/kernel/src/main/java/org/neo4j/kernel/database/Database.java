@@ -127,6 +127,7 @@ import org.neo4j.kernel.impl.locking.LockManager;
 import org.neo4j.kernel.impl.locking.multiversion.MultiVersionLockManager;
 import org.neo4j.kernel.impl.pagecache.IOControllerService;
 import org.neo4j.kernel.impl.pagecache.PageCacheLifecycle;
+import org.neo4j.kernel.impl.pagecache.PageCacheWarmer;
 import org.neo4j.kernel.impl.pagecache.VersionStorageFactory;
 import org.neo4j.kernel.impl.query.QueryEngineProvider;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
@@ -144,6 +145,7 @@ import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointScheduler;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointThreshold;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointerImpl;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckpointerLifecycle;
+import org.neo4j.kernel.impl.transaction.log.checkpoint.IncrementalCheckpointFlusher;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.SimpleTriggerInfo;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.StoreCopyCheckPointMutex;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
@@ -173,6 +175,7 @@ import org.neo4j.kernel.recovery.RecoveryPredicate;
 import org.neo4j.kernel.recovery.RecoveryStartupChecker;
 import org.neo4j.lock.LockService;
 import org.neo4j.lock.ReentrantLockService;
+import org.neo4j.lock.StripedLockService;
 import org.neo4j.logging.InternalLogProvider;
 import org.neo4j.logging.internal.DatabaseLogProvider;
 import org.neo4j.logging.internal.DatabaseLogService;
@@ -588,6 +591,15 @@ public class Database extends AbstractDatabase {
         this.checkpointerLifecycle = new CheckpointerLifecycle(transactionLogModule.checkPointer(), databaseHealth);
 
         life.add(idController);
+        life.add(new PageCacheWarmer(
+                fs,
+                databasePageCache,
+                scheduler,
+                databaseLayout.databaseDirectory(),
+                namedDatabaseId.name(),
+                databaseConfig,
+                cursorContextFactory,
+                internalLogProvider));
         life.add(onStart(this::registerUpgradeListener));
         life.add(databaseHealth);
         life.add(databaseAvailabilityGuard);
@@ -918,6 +930,22 @@ public class Database extends AbstractDatabase {
 
         life.add(checkPointer);
         life.add(checkPointScheduler);
+        if (config.get(GraphDatabaseInternalSettings.checkpoint_incremental_flush)) {
+            life.add(new IncrementalCheckpointFlusher(
+                    databasePageCache,
+                    transactionIdStore,
+                    checkPointer,
+                    scheduler,
+                    clock,
+                    tracers.getPageCacheTracer(),
+                    logProvider,
+                    namedDatabaseId.name(),
+                    config.get(GraphDatabaseSettings.check_point_interval_time).toMillis(),
+                    config.get(GraphDatabaseSettings.check_point_interval_volume),
+                    config.get(GraphDatabaseSettings.logical_log_rotation_threshold),
+                    config.get(GraphDatabaseInternalSettings.checkpoint_incremental_flush_interval)
+                            .toMillis()));
+        }
 
         TransactionLogServiceImpl transactionLogService = new TransactionLogServiceImpl(
                 transactionIdStore,
@@ -1247,7 +1275,12 @@ public class Database extends AbstractDatabase {
     }
 
     private static LockService createLockService(DatabaseConfig databaseConfig) {
-        return isNotMultiVersioned(databaseConfig) ? new ReentrantLockService() : LockService.NO_LOCK_SERVICE;
+        if (!isNotMultiVersioned(databaseConfig)) {
+            return LockService.NO_LOCK_SERVICE;
+        }
+        return databaseConfig.get(GraphDatabaseInternalSettings.striped_lock_service)
+                ? new StripedLockService()
+                : new ReentrantLockService();
     }
 
     private static TransactionIdSnapshotFactory getTransactionIdSnapshotFactory(
@@ -19,6 +19,8 @@
  */
 package org.neo4j.kernel.impl.api.tracer;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
 import java.nio.file.Path;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
@@ -26,6 +28,7 @@ import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.kernel.impl.transaction.log.entry.LogFormat;
+import org.neo4j.kernel.impl.transaction.stats.PowerOfTwoHistogram;
 import org.neo4j.kernel.impl.transaction.tracing.AppendTransactionEvent;
 import org.neo4j.kernel.impl.transaction.tracing.DatabaseTracer;
 import org.neo4j.kernel.impl.transaction.tracing.LogAppendEvent;
@@ -51,6 +54,8 @@ public class DefaultTracer implements DatabaseTracer {
     private final LongAdder batchesRolledBack = new LongAdder();
     private final LongAdder batchTransactionsRolledBack = new LongAdder();
     private final AtomicLong appliedBatchSize = new AtomicLong();
+    private final PowerOfTwoHistogram groupCommitBatchSizes = new PowerOfTwoHistogram();
+    private final PowerOfTwoHistogram groupCommitWaitMicros = new PowerOfTwoHistogram();
 
     private final CountingLogRotateEvent countingLogRotateEvent = new CountingLogRotateEvent();
     private final LogFileCreateEvent logFileCreateEvent = () -> appendedBytes.add(LogFormat.BIGGEST_HEADER);
@@ -116,6 +121,16 @@ public class DefaultTracer implements DatabaseTracer {
         return batchTransactionsRolledBack.longValue();
     }
 
+    @Override
+    public PowerOfTwoHistogram groupCommitBatchSizes() {
+        return groupCommitBatchSizes;
+    }
+
+    @Override
+    public PowerOfTwoHistogram groupCommitWaitMicros() {
+        return groupCommitWaitMicros;
+    }
+
     @Override
     public long numberOfCheckPoints() {
         return logCheckPointEvent.numberOfCheckPoints();
@@ -299,6 +314,12 @@ public class DefaultTracer implements DatabaseTracer {
             return AppendTransactionEvent.NULL;
         }
 
+        @Override
+        public void groupCommit(int transactions, long waitNanos) {
+            groupCommitBatchSizes.record(transactions);
+            groupCommitWaitMicros.record(NANOSECONDS.toMicros(waitNanos));
+        }
+
         @Override
         public LogForceWaitEvent beginLogForceWait() {
             return LogForceWaitEvent.NULL;
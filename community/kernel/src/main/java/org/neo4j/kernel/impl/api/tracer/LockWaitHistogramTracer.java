@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.tracer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.neo4j.kernel.impl.transaction.stats.PowerOfTwoHistogram;
+import org.neo4j.lock.LockTracer;
+import org.neo4j.lock.LockType;
+import org.neo4j.lock.LockWaitEvent;
+import org.neo4j.lock.ResourceType;
+
+/**
+ * Records how long transactions wait for locks they could not get right away, in microseconds, into one histogram
+ * per {@link LockType}. Lock acquisitions that do not have to wait are not traced by the lock managers, and do not
+ * cost anything here.
+ */
+public class LockWaitHistogramTracer implements LockTracer {
+    private final PowerOfTwoHistogram sharedLockWaitMicros = new PowerOfTwoHistogram();
+    private final PowerOfTwoHistogram exclusiveLockWaitMicros = new PowerOfTwoHistogram();
+
+    @Override
+    public LockWaitEvent waitForLock(
+            LockType lockType, ResourceType resourceType, long transactionId, long... resourceIds) {
+        PowerOfTwoHistogram histogram = lockWaitMicros(lockType);
+        long startNanos = System.nanoTime();
+        return () -> histogram.record(NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * @return histogram of the time, in microseconds, spent waiting for locks of the given type.
+     */
+    public PowerOfTwoHistogram lockWaitMicros(LockType lockType) {
+        return lockType == LockType.EXCLUSIVE ? exclusiveLockWaitMicros : sharedLockWaitMicros;
+    }
+}
@@ -20,7 +20,6 @@
 package org.neo4j.kernel.impl.index.schema;
 
 import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
-import static org.neo4j.index.internal.gbptree.DataTree.W_SPLIT_KEEP_ALL_LEFT;
 import static org.neo4j.internal.helpers.collection.Iterables.first;
 import static org.neo4j.io.ByteUnit.kibiBytes;
 import static org.neo4j.io.IOUtils.closeAllUnchecked;
@@ -44,6 +43,7 @@ import java.util.stream.Collectors;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.index.internal.gbptree.BulkLoader;
 import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.index.internal.gbptree.Writer;
 import org.neo4j.internal.helpers.Exceptions;
@@ -399,7 +399,7 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
         }
 
         // Merge the (sorted) scan updates from all the different threads in pairs until only one stream remain,
-        // and direct that stream towards the tree writer (which itself is only single threaded)
+        // and direct that stream towards the tree bulk loader (which itself is only single threaded)
         try (var readBuffers = new CompositeBuffer();
                 var singleBlockScopedBuffer = allocator.allocate((int) kibiBytes(8), memoryTracker)) {
             // Get the initial list of parts
@@ -426,11 +426,19 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
                             cancellation,
                             PartMerger.DEFAULT_BATCH_SIZE);
                     var allEntries = merger.startMerge();
-                    var writer = tree.writer(W_BATCHED_SINGLE_THREADED | W_SPLIT_KEEP_ALL_LEFT, cursorContext)) {
+                    var bulkLoader = tree.bulkLoader(cursorContext)) {
+                KEY previousKey = null;
                 while (allEntries.next() && !cancellation.cancelled()) {
-                    writeToTree(writer, recordingConflictDetector, allEntries.key());
+                    KEY key = allEntries.key();
+                    if (bulkLoadToTree(bulkLoader, recordingConflictDetector, previousKey, key)) {
+                        previousKey = layout.copyKey(key, previousKey != null ? previousKey : layout.newKey());
+                    }
                     numberOfAppliedScanUpdates.incrementAndGet();
                 }
+                // A cancelled population leaves the tree empty
+                if (!cancellation.cancelled()) {
+                    bulkLoader.finish();
+                }
                 return descriptor.isUnique() ? null : allEntries.buildIndexSample();
             }
         }
@@ -609,6 +617,36 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
         handleMergeConflict(writer, recordingConflictDetector, key);
     }
 
+    /**
+     * Like {@link #writeToTree(Writer, RecordingConflictDetector, NativeIndexKey)}, but for keys that come in sorted
+     * order. Keys that are equal to each other, given the conflict detection strictness, come one after the other,
+     * so the previously loaded key is the only one to check against. Keys are loaded with relaxed uniqueness since the
+     * bulk loader compares them, value and entity id, to the key loaded before them.
+     *
+     * @return {@code true} if the key was added, {@code false} if it was equal to the previous key.
+     */
+    private boolean bulkLoadToTree(
+            BulkLoader<KEY, NullValue> bulkLoader,
+            RecordingConflictDetector<KEY> recordingConflictDetector,
+            KEY previousKey,
+            KEY key)
+            throws IndexEntryConflictException {
+        recordingConflictDetector.controlConflictDetection(key);
+        if (previousKey != null && layout.compare(previousKey, key) == 0) {
+            recordingConflictDetector.merge(previousKey, key, NullValue.INSTANCE, NullValue.INSTANCE);
+            if (!recordingConflictDetector.wasConflicting()) {
+                return false;
+            }
+            // Report conflict, this value will be verified for uniqueness later on, and load it as a separate entry
+            KEY copy = layout.newKey();
+            layout.copyKey(key, copy);
+            recordingConflictDetector.reportConflict(copy);
+        }
+        recordingConflictDetector.relaxUniqueness(key);
+        bulkLoader.add(key, NullValue.INSTANCE);
+        return true;
+    }
+
     /**
      * Will check if recording conflict detector saw a conflict. If it did, that conflict has been recorded and we will verify uniqueness for this
      * value later on. But for now we try and insert conflicting value again but with a relaxed uniqueness constraint. Insert is done with a throwing
@@ -37,6 +37,7 @@ import org.neo4j.internal.kernel.api.QueryContext;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexOrder;
+import org.neo4j.internal.schema.IndexQuery.IndexQueryType;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
 import org.neo4j.kernel.api.index.IndexProgressor;
@@ -47,7 +48,7 @@ import org.neo4j.values.storable.Value;
 
 abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements ValueIndexReader {
     protected final IndexDescriptor descriptor;
-    private final IndexUsageTracker usageTracker;
+    final IndexUsageTracker usageTracker;
     final IndexLayout<KEY> layout;
     final GBPTree<KEY, NullValue> tree;
 
@@ -135,6 +136,69 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
                 cursor, treeKeyFrom, treeKeyTo, context.cursorContext(), needFilter, constraints, predicates);
     }
 
+    /**
+     * Queries the index for many exact queries on the same properties in one go, e.g. for the values of an IN-list.
+     * Every client is initialized with the predicates of its own query and provides the hits of that query only.
+     * The clients share a single seeker of the tree, which moves right along the leaves to the range of the next
+     * query when it is close by instead of traversing down from the root, see {@link SharedRangeSeekers}. This is
+     * cheapest when the clients are exhausted one after the other, in index order of their queries.
+     * <p>
+     * If not all queries are exact they are queried one by one instead.
+     */
+    @Override
+    public void multiQuery(
+            List<? extends IndexProgressor.EntityValueClient> clients,
+            QueryContext context,
+            IndexQueryConstraints constraints,
+            List<PropertyIndexQuery[]> queries) {
+        Preconditions.checkArgument(
+                clients.size() == queries.size(),
+                "Expected one client per query, got %d clients and %d queries",
+                clients.size(),
+                queries.size());
+        if (!queries.stream().allMatch(NativeIndexReader::isExactQuery)) {
+            for (int i = 0; i < queries.size(); i++) {
+                query(clients.get(i), context, constraints, queries.get(i));
+            }
+            return;
+        }
+        for (PropertyIndexQuery[] predicates : queries) {
+            validateQuery(constraints, predicates);
+        }
+
+        boolean descending = constraints.order() == IndexOrder.DESCENDING;
+        SharedRangeSeekers<KEY> seekers = new SharedRangeSeekers<>(tree, layout, context.cursorContext());
+        for (int i = 0; i < queries.size(); i++) {
+            IndexProgressor.EntityValueClient client = clients.get(i);
+            PropertyIndexQuery[] predicates = queries.get(i);
+            context.monitor().queried(descriptor);
+            usageTracker.queried();
+
+            KEY treeKeyFrom = layout.newKey();
+            KEY treeKeyTo = layout.newKey();
+            initializeFromToKeys(treeKeyFrom, treeKeyTo);
+            boolean needFilter = initializeRangeForQuery(treeKeyFrom, treeKeyTo, predicates);
+            if (isEmptyRange(treeKeyFrom, treeKeyTo) || isEmptyResultQuery(predicates)) {
+                client.initialize(descriptor, IndexProgressor.EMPTY, false, false, constraints, predicates);
+                continue;
+            }
+            Seeker<KEY, NullValue> seeker = descending
+                    ? seekers.seeker(treeKeyTo, treeKeyFrom, true)
+                    : seekers.seeker(treeKeyFrom, treeKeyTo, false);
+            IndexProgressor hitProgressor = getIndexProgressor(seeker, client, needFilter, predicates);
+            client.initialize(descriptor, hitProgressor, false, false, constraints, predicates);
+        }
+    }
+
+    private static boolean isExactQuery(PropertyIndexQuery... predicates) {
+        for (PropertyIndexQuery predicate : predicates) {
+            if (predicate.type() != IndexQueryType.EXACT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     void initializeFromToKeys(KEY treeKeyFrom, KEY treeKeyTo) {
         treeKeyFrom.initialize(Long.MIN_VALUE);
         treeKeyTo.initialize(Long.MAX_VALUE);
@@ -178,7 +242,7 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
         return tree.seek(treeKeyFrom, treeKeyTo, cursorContext);
     }
 
-    private IndexProgressor getIndexProgressor(
+    IndexProgressor getIndexProgressor(
             Seeker<KEY, NullValue> seeker,
             IndexProgressor.EntityValueClient client,
             boolean needFilter,
@@ -241,7 +241,16 @@ public class PointIndexProvider extends NativeIndexProvider<PointKey, PointLayou
         public boolean supportPartitionedScan(IndexQuery... queries) {
             Preconditions.requireNonEmpty(queries);
             Preconditions.requireNoNullElements(queries);
-            return false;
+            if (queries.length != 1) {
+                return false;
+            }
+
+            final var query = queries[0];
+            return switch (query.type()) {
+                case ALL_ENTRIES, BOUNDING_BOX -> true;
+                case EXACT -> query.valueCategory() == ValueCategory.GEOMETRY;
+                default -> false;
+            };
         }
     }
 }
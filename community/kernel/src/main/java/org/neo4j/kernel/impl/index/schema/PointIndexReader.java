@@ -24,20 +24,29 @@ import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.HIGH;
 import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.LOW;
 import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.neo4j.gis.spatial.index.curves.SpaceFillingCurve;
 import org.neo4j.gis.spatial.index.curves.SpaceFillingCurveConfiguration;
 import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.internal.kernel.api.IndexQueryConstraints;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
 import org.neo4j.internal.kernel.api.QueryContext;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexOrder;
 import org.neo4j.internal.schema.IndexQuery.IndexQueryType;
+import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.api.index.BridgingIndexProgressor;
 import org.neo4j.kernel.api.index.IndexProgressor;
 import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettings;
+import org.neo4j.util.Preconditions;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.ValueGroup;
 
@@ -109,25 +118,14 @@ class PointIndexReader extends NativeIndexReader<PointKey> {
                 BridgingIndexProgressor multiProgressor =
                         new BridgingIndexProgressor(client, descriptor.schema().getPropertyIds());
                 client.initialize(descriptor, multiProgressor, false, false, constraints, boundingBoxPredicate);
-                double[] from = boundingBoxPredicate.from().coordinate();
-                double[] to = boundingBoxPredicate.to().coordinate();
-                CoordinateReferenceSystem crs = boundingBoxPredicate.crs();
-                SpaceFillingCurve curve = spaceFillingCurveSettings.forCrs(crs);
-                List<SpaceFillingCurve.LongRange> ranges = curve.getTilesIntersectingEnvelope(from, to, configuration);
-                for (SpaceFillingCurve.LongRange range : ranges) {
-                    // Here's a sub-query that we'll have to do for this bounding box.
-                    PointKey treeKeyFrom = layout.newKey();
-                    PointKey treeKeyTo = layout.newKey();
-                    initializeFromToKeys(treeKeyFrom, treeKeyTo);
-                    // We can not take query inclusion / exclusion into consideration here because then we risk missing
-                    // border values. Always use
-                    // Inclusion.LOW / HIGH respectively and filter out points later on.
-                    treeKeyFrom.writePointDerived(crs, range.min, LOW);
-                    treeKeyTo.writePointDerived(crs, range.max + 1, HIGH);
+                List<PointKey> fromInclusive = new ArrayList<>();
+                List<PointKey> toExclusive = new ArrayList<>();
+                addTileRanges(boundingBoxPredicate, fromInclusive, toExclusive);
+                for (int i = 0; i < fromInclusive.size(); i++) {
                     startSeekForInitializedRange(
                             multiProgressor,
-                            treeKeyFrom,
-                            treeKeyTo,
+                            fromInclusive.get(i),
+                            toExclusive.get(i),
                             context.cursorContext(),
                             true,
                             constraints,
@@ -142,6 +140,49 @@ class PointIndexReader extends NativeIndexReader<PointKey> {
         }
     }
 
+    /**
+     * Adds the key ranges of the tiles of the space filling curve that intersect the bounding box, in key order.
+     */
+    private void addTileRanges(
+            PropertyIndexQuery.BoundingBoxPredicate boundingBoxPredicate,
+            List<PointKey> fromInclusive,
+            List<PointKey> toExclusive) {
+        double[] from = boundingBoxPredicate.from().coordinate();
+        double[] to = boundingBoxPredicate.to().coordinate();
+        CoordinateReferenceSystem crs = boundingBoxPredicate.crs();
+        SpaceFillingCurve curve = spaceFillingCurveSettings.forCrs(crs);
+        List<SpaceFillingCurve.LongRange> ranges =
+                new ArrayList<>(curve.getTilesIntersectingEnvelope(from, to, configuration));
+        ranges.sort(Comparator.comparingLong(range -> range.min));
+        for (SpaceFillingCurve.LongRange range : ranges) {
+            // Here's a sub-query that we'll have to do for this bounding box.
+            PointKey treeKeyFrom = layout.newKey();
+            PointKey treeKeyTo = layout.newKey();
+            initializeFromToKeys(treeKeyFrom, treeKeyTo);
+            // We can not take query inclusion / exclusion into consideration here because then we risk missing
+            // border values. Always use
+            // Inclusion.LOW / HIGH respectively and filter out points later on.
+            treeKeyFrom.writePointDerived(crs, range.min, LOW);
+            treeKeyTo.writePointDerived(crs, range.max + 1, HIGH);
+            fromInclusive.add(treeKeyFrom);
+            toExclusive.add(treeKeyTo);
+        }
+    }
+
+    @Override
+    public PartitionedValueSeek valueSeek(
+            int desiredNumberOfPartitions, QueryContext queryContext, PropertyIndexQuery... query) {
+        if (query.length == 1 && query[0].type() == IndexQueryType.BOUNDING_BOX) {
+            try {
+                return new BoundingBoxPartitionedValueSeek(
+                        desiredNumberOfPartitions, queryContext, (PropertyIndexQuery.BoundingBoxPredicate) query[0]);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return super.valueSeek(desiredNumberOfPartitions, queryContext, query);
+    }
+
     @Override
     boolean initializeRangeForQuery(PointKey treeKeyFrom, PointKey treeKeyTo, PropertyIndexQuery[] predicates) {
         // if we are here, we made it past the validation, and we know there is only one predicate, and it is either
@@ -164,4 +205,86 @@ class PointIndexReader extends NativeIndexReader<PointKey> {
 
         return false;
     }
+
+    /**
+     * Partitioned seek for a bounding box query, which seeks many key ranges along the space filling curve instead
+     * of a single key range. The tree is partitioned between the lowest and highest key of those ranges, and each
+     * partition seeks the parts of the ranges that fall within it, all in one pass with
+     * {@link Seeker.Factory#multiSeek(List, List, CursorContext)}.
+     */
+    private class BoundingBoxPartitionedValueSeek implements PartitionedValueSeek {
+        private final PropertyIndexQuery.BoundingBoxPredicate predicate;
+        private final List<PointKey> rangesFrom = new ArrayList<>();
+        private final List<PointKey> rangesTo = new ArrayList<>();
+        private final List<PointKey> partitionEdges;
+        private final AtomicInteger nextFrom = new AtomicInteger();
+
+        BoundingBoxPartitionedValueSeek(
+                int desiredNumberOfPartitions,
+                QueryContext queryContext,
+                PropertyIndexQuery.BoundingBoxPredicate predicate)
+                throws IOException {
+            Preconditions.requirePositive(desiredNumberOfPartitions);
+            validateQuery(IndexQueryConstraints.unorderedValues(), predicate);
+            usageTracker.queried();
+            this.predicate = predicate;
+
+            try {
+                addTileRanges(predicate, rangesFrom, rangesTo);
+            } catch (IllegalArgumentException e) {
+                // Invalid query ranges will cause this state (eg. min>max)
+                rangesFrom.clear();
+                rangesTo.clear();
+            }
+
+            if (rangesFrom.isEmpty()) {
+                partitionEdges = Collections.emptyList();
+            } else {
+                PointKey highest = rangesTo.get(0);
+                for (PointKey to : rangesTo) {
+                    if (layout.compare(to, highest) > 0) {
+                        highest = to;
+                    }
+                }
+                partitionEdges = tree.partitionedSeek(
+                        rangesFrom.get(0), highest, desiredNumberOfPartitions, queryContext.cursorContext());
+            }
+        }
+
+        @Override
+        public int getNumberOfPartitions() {
+            return Math.max(0, partitionEdges.size() - 1);
+        }
+
+        @Override
+        public IndexProgressor reservePartition(IndexProgressor.EntityValueClient client, CursorContext cursorContext) {
+            final var from = nextFrom.getAndIncrement();
+            final var to = from + 1;
+            if (to >= partitionEdges.size()) {
+                return IndexProgressor.EMPTY;
+            }
+
+            // A partition may well fall between ranges, then it seeks nothing but is still a partition of its own
+            final var partitionFrom = partitionEdges.get(from);
+            final var partitionTo = partitionEdges.get(to);
+            final var fromInclusive = new ArrayList<PointKey>();
+            final var toExclusive = new ArrayList<PointKey>();
+            for (int i = 0; i < rangesFrom.size(); i++) {
+                final var rangeFrom = rangesFrom.get(i);
+                final var rangeTo = rangesTo.get(i);
+                final var clippedFrom = layout.compare(rangeFrom, partitionFrom) >= 0 ? rangeFrom : partitionFrom;
+                final var clippedTo = layout.compare(rangeTo, partitionTo) <= 0 ? rangeTo : partitionTo;
+                if (layout.compare(clippedFrom, clippedTo) < 0) {
+                    fromInclusive.add(clippedFrom);
+                    toExclusive.add(clippedTo);
+                }
+            }
+            try {
+                return getIndexProgressor(
+                        tree.multiSeek(fromInclusive, toExclusive, cursorContext), client, true, predicate);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
@@ -25,7 +25,9 @@ import java.nio.file.OpenOption;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.GBPTreeOpenOptions;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
 import org.neo4j.internal.schema.IndexCapability;
@@ -107,12 +109,15 @@ public class RangeIndexProvider extends NativeIndexProvider<RangeKey, RangeLayou
     public static final IndexProviderDescriptor DESCRIPTOR = new IndexProviderDescriptor("range", "1.0");
     public static final IndexCapability CAPABILITY = new RangeIndexCapability();
 
+    private final boolean prefixCompressedLeaves;
+
     public RangeIndexProvider(
             DatabaseIndexContext databaseIndexContext,
             IndexDirectoryStructure.Factory directoryStructureFactory,
             RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
             Config config) {
         super(databaseIndexContext, DESCRIPTOR, directoryStructureFactory, recoveryCleanupWorkCollector, config);
+        this.prefixCompressedLeaves = config.get(GraphDatabaseInternalSettings.range_index_prefix_compressed_leaves);
     }
 
     @Override
@@ -147,7 +152,7 @@ public class RangeIndexProvider extends NativeIndexProvider<RangeKey, RangeLayou
                 memoryTracker,
                 tokenNameLookup,
                 databaseIndexContext.monitors.newMonitor(BlockBasedIndexPopulator.Monitor.class),
-                openOptions);
+                treeOpenOptions(openOptions));
     }
 
     @Override
@@ -165,10 +170,18 @@ public class RangeIndexProvider extends NativeIndexProvider<RangeKey, RangeLayou
                 recoveryCleanupWorkCollector,
                 descriptor,
                 tokenNameLookup,
-                openOptions,
+                treeOpenOptions(openOptions),
                 readOnly);
     }
 
+    /**
+     * The leaf format only applies to trees that get created, existing trees are opened in the format they were
+     * created with.
+     */
+    private ImmutableSet<OpenOption> treeOpenOptions(ImmutableSet<OpenOption> openOptions) {
+        return prefixCompressedLeaves ? openOptions.newWith(GBPTreeOpenOptions.PREFIX_COMPRESSED_LEAVES) : openOptions;
+    }
+
     @Override
     public void validatePrototype(IndexPrototype prototype) {
         IndexType indexType = prototype.getIndexType();
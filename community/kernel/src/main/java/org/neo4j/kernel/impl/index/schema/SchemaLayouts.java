@@ -22,9 +22,13 @@ package org.neo4j.kernel.impl.index.schema;
 import static org.neo4j.index.internal.gbptree.RootLayerConfiguration.singleRoot;
 
 import java.io.IOException;
+import java.nio.file.OpenOption;
 import java.util.Arrays;
 import java.util.List;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.configuration.Config;
+import org.neo4j.index.internal.gbptree.GBPTreeOpenOptions;
 import org.neo4j.index.internal.gbptree.LayoutBootstrapper;
 import org.neo4j.index.internal.gbptree.Meta;
 import org.neo4j.index.internal.gbptree.MetadataMismatchException;
@@ -33,6 +37,12 @@ import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsLayout;
 import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettings;
 
 public class SchemaLayouts implements LayoutBootstrapper {
+    /**
+     * Trees of these layouts may have been created with any of these open options, which all select different formats.
+     */
+    private static final List<ImmutableSet<OpenOption>> FORMAT_OPEN_OPTIONS =
+            List.of(Sets.immutable.empty(), Sets.immutable.of(GBPTreeOpenOptions.PREFIX_COMPRESSED_LEAVES));
+
     private final List<LayoutBootstrapper> allSchemaLayout;
 
     public SchemaLayouts() {
@@ -68,12 +78,15 @@ public class SchemaLayouts implements LayoutBootstrapper {
     }
 
     private static boolean matchingLayout(Meta meta, Layouts layouts) {
-        try {
-            meta.verify(layouts.dataLayout(), layouts.rootLayerConfiguration());
-            return true;
-        } catch (MetadataMismatchException e) {
-            return false;
+        for (ImmutableSet<OpenOption> openOptions : FORMAT_OPEN_OPTIONS) {
+            try {
+                meta.verify(layouts.dataLayout(), layouts.rootLayerConfiguration(), openOptions);
+                return true;
+            } catch (MetadataMismatchException e) {
+                // Try the next format
+            }
         }
+        return false;
     }
 
     private static LayoutBootstrapper rangeLayout() {
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.io.pagecache.context.CursorContext;
+
+/**
+ * Seekers of several key ranges, see {@link #seeker(NativeIndexKey, NativeIndexKey, boolean)}, that share a single
+ * {@link Seeker} of the tree. A range seeker that is used after another one continues the seek of the shared seeker
+ * at its range, see {@link Seeker.Factory#continueSeek(Seeker, Object, Object)}, which avoids traversing down from
+ * the root of the tree if the ranges are exhausted one after the other in index order. A range seeker that is
+ * interrupted by another one resumes after the last hit it returned when it is used again.
+ * <p>
+ * The shared seeker is closed when all range seekers are closed. Not thread safe.
+ */
+class SharedRangeSeekers<KEY extends NativeIndexKey<KEY>> {
+    private final Seeker.Factory<KEY, NullValue> tree;
+    private final IndexLayout<KEY> layout;
+    private final CursorContext cursorContext;
+    private Seeker<KEY, NullValue> shared;
+    private RangeSeeker owner;
+    private int openSeekers;
+
+    SharedRangeSeekers(Seeker.Factory<KEY, NullValue> tree, IndexLayout<KEY> layout, CursorContext cursorContext) {
+        this.tree = tree;
+        this.layout = layout;
+        this.cursorContext = cursorContext;
+    }
+
+    /**
+     * @param fromInclusive lower bound of the range to seek (inclusive), or the higher bound if seeking backwards.
+     * @param toExclusive higher bound of the range to seek (exclusive), or the lower bound if seeking backwards.
+     * @param descending whether the range is sought backwards.
+     * @return a {@link Seeker} of the given range, which uses the shared seeker.
+     */
+    Seeker<KEY, NullValue> seeker(KEY fromInclusive, KEY toExclusive, boolean descending) {
+        openSeekers++;
+        return new RangeSeeker(fromInclusive, toExclusive, descending);
+    }
+
+    private class RangeSeeker implements Seeker<KEY, NullValue> {
+        private final KEY toExclusive;
+        private final boolean descending;
+        private KEY fromInclusive;
+        private boolean hasHit;
+        private boolean exhausted;
+        private boolean closed;
+
+        RangeSeeker(KEY fromInclusive, KEY toExclusive, boolean descending) {
+            this.fromInclusive = fromInclusive;
+            this.toExclusive = toExclusive;
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (exhausted || closed) {
+                return false;
+            }
+            if (owner != this) {
+                if (owner != null) {
+                    owner.suspend();
+                }
+                if (shared == null) {
+                    shared = tree.allocateSeeker(cursorContext);
+                }
+                tree.continueSeek(shared, fromInclusive, toExclusive);
+                owner = this;
+            }
+            hasHit = shared.next();
+            exhausted = !hasHit;
+            return hasHit;
+        }
+
+        /**
+         * Another range seeker is about to use the shared seeker, so continue after the last hit of this range when
+         * this one is used again. The key of the last hit is copied, since the shared seeker reuses its key instances.
+         */
+        private void suspend() {
+            if (hasHit) {
+                KEY resumeFrom = layout.newKey();
+                layout.copyKey(shared.key(), resumeFrom);
+                resumeFrom.setCompareId(true);
+                resumeFrom.setEntityId(resumeFrom.getEntityId() + (descending ? -1 : 1));
+                fromInclusive = resumeFrom;
+                hasHit = false;
+            }
+            owner = null;
+        }
+
+        @Override
+        public KEY key() {
+            return shared.key();
+        }
+
+        @Override
+        public NullValue value() {
+            return shared.value();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            hasHit = false;
+            if (owner == this) {
+                owner = null;
+            }
+            if (--openSeekers == 0 && shared != null) {
+                shared.close();
+                shared = null;
+            }
+        }
+    }
+}
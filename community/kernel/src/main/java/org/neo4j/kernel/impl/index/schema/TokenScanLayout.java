@@ -60,6 +60,19 @@ public class TokenScanLayout extends Layout.Adapter<TokenScanKey, TokenScanValue
         return tokenComparison != 0 ? tokenComparison : Long.compare(o1.idRange, o2.idRange);
     }
 
+    @Override
+    public boolean canCompareSerializedKey() {
+        return true;
+    }
+
+    @Override
+    public int compareSerializedKey(TokenScanKey key, PageCursor cursor, int offset) {
+        int tokenComparison = Integer.compare(key.tokenId, cursor.getInt(offset));
+        return tokenComparison != 0
+                ? tokenComparison
+                : Long.compare(key.idRange, get6ByteLong(cursor, offset + Integer.BYTES));
+    }
+
     @Override
     public TokenScanKey newKey() {
         return new TokenScanKey();
@@ -115,6 +128,12 @@ public class TokenScanLayout extends Layout.Adapter<TokenScanKey, TokenScanValue
         return low4b | (high2b << Integer.SIZE);
     }
 
+    private static long get6ByteLong(PageCursor cursor, int offset) {
+        long low4b = cursor.getInt(offset) & 0xFFFFFFFFL;
+        long high2b = cursor.getShort(offset + Integer.BYTES);
+        return low4b | (high2b << Integer.SIZE);
+    }
+
     @Override
     public void readValue(PageCursor cursor, TokenScanValue into, int valueSize) {
         into.bits = cursor.getLong();
@@ -123,6 +123,32 @@ abstract class Read
         indexSession.reader.query(client, queryContext, constraints, query);
     }
 
+    @Override
+    public final void nodeIndexMultiSeek(
+            QueryContext queryContext,
+            IndexReadSession index,
+            List<? extends NodeValueIndexCursor> cursors,
+            IndexQueryConstraints constraints,
+            List<PropertyIndexQuery[]> queries)
+            throws IndexNotApplicableKernelException {
+        performCheckBeforeOperation();
+        DefaultIndexReadSession indexSession = (DefaultIndexReadSession) index;
+        validateConstraints(constraints, indexSession);
+
+        if (indexSession.reference.schema().entityType() != EntityType.NODE) {
+            throw new IndexNotApplicableKernelException("Node index seek can not be performed on index: "
+                    + index.reference().userDescription(tokenRead));
+        }
+
+        List<EntityIndexSeekClient> clients = new ArrayList<>(cursors.size());
+        for (NodeValueIndexCursor cursor : cursors) {
+            EntityIndexSeekClient client = (EntityIndexSeekClient) cursor;
+            client.setRead(this);
+            clients.add(client);
+        }
+        indexSession.reader.multiQuery(clients, queryContext, constraints, queries);
+    }
+
     @Override
     public PartitionedScan<NodeValueIndexCursor> nodeIndexSeek(
             IndexReadSession index,
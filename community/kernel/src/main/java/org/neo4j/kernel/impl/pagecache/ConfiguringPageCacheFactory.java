@@ -29,14 +29,19 @@ import java.util.function.Function;
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.configuration.pagecache.ConfigurableIOBufferFactory;
+import org.neo4j.internal.nativeimpl.NativeAccessProvider;
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.ByteUnit;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.mem.MemoryPlacement;
+import org.neo4j.io.mem.MemoryPlacement.HugePages;
+import org.neo4j.io.mem.MemoryPlacement.NumaPolicy;
 import org.neo4j.io.os.OsBeanUtil;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PageSwapperFactory;
 import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.EvictionPolicy;
 import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.logging.InternalLog;
@@ -110,10 +115,17 @@ public class ConfiguringPageCacheFactory {
         long pageCacheMaxMemory = getPageCacheMaxMemory(config);
         var memoryPool = memoryPools.pool(PAGE_CACHE, pageCacheMaxMemory, false, null);
         var memoryTracker = memoryPool.getPoolMemoryTracker();
-        var swapperFactory = createAndConfigureSwapperFactory(fs, pageCacheTracer, memoryTracker, log);
+        var swapperFactory = createAndConfigureSwapperFactory(fs, config, pageCacheTracer, memoryTracker, log);
+        MemoryPlacement memoryPlacement = memoryPlacement(config);
+        if (!memoryPlacement.isDefault() && !NativeAccessProvider.getNativeAccess().isAvailable()) {
+            log.warn("Page cache memory placement " + memoryPlacement
+                    + " requires native access, which is not available. Page cache will use regular memory.");
+        }
         MemoryAllocator memoryAllocator = buildMemoryAllocator(
                 pageCacheMaxMemory,
                 config.get(GraphDatabaseInternalSettings.page_cache_allocation_grab_size),
+                memoryPlacement,
+                log,
                 memoryTracker);
         var bufferFactory = new ConfigurableIOBufferFactory(config, memoryTracker);
         MuninnPageCache.Configuration configuration = MuninnPageCache.config(memoryAllocator)
@@ -123,14 +135,29 @@ public class ConfiguringPageCacheFactory {
                 .preallocateStoreFiles(config.get(preallocate_store_files))
                 .clock(clock)
                 .pageCacheTracer(pageCacheTracer)
-                .closeAllocatorOnShutdown(config.get(GraphDatabaseInternalSettings.close_allocator_on_shutdown));
+                .closeAllocatorOnShutdown(config.get(GraphDatabaseInternalSettings.close_allocator_on_shutdown))
+                .evictionPolicy(EvictionPolicy.valueOf(
+                        config.get(GraphDatabaseInternalSettings.page_cache_eviction_policy)
+                                .name()));
         configuration = pageCacheConfigurator.apply(configuration);
         return new MuninnPageCache(swapperFactory, scheduler, configuration);
     }
 
     private static MemoryAllocator buildMemoryAllocator(
-            long pageCacheMaxMemory, Long grabSize, MemoryTracker memoryTracker) {
-        return createAllocator(pageCacheMaxMemory, grabSize, memoryTracker);
+            long pageCacheMaxMemory,
+            Long grabSize,
+            MemoryPlacement memoryPlacement,
+            InternalLog log,
+            MemoryTracker memoryTracker) {
+        return createAllocator(pageCacheMaxMemory, grabSize, memoryPlacement, log::warn, memoryTracker);
+    }
+
+    private static MemoryPlacement memoryPlacement(Config config) {
+        return new MemoryPlacement(
+                HugePages.valueOf(
+                        config.get(GraphDatabaseInternalSettings.page_cache_huge_pages).name()),
+                NumaPolicy.valueOf(
+                        config.get(GraphDatabaseInternalSettings.page_cache_numa_policy).name()));
     }
 
     private long getPageCacheMaxMemory(Config config) {
@@ -196,20 +223,30 @@ public class ConfiguringPageCacheFactory {
                 : "" + ByteUnit.bytesToString(totalPhysicalMemory);
         String maxVmMem = ByteUnit.bytesToStringWithoutScientificNotation(
                 Runtime.getRuntime().maxMemory());
+        String memoryPlacement = memoryPlacement(config).describe(NativeAccessProvider.getNativeAccess());
         String msg = "Physical mem: " + totalPhysicalMem + " Heap size: "
                 + maxVmMem + " Page cache: "
-                + pageCacheMemory + ".";
+                + pageCacheMemory + " Page cache memory placement: "
+                + memoryPlacement + ".";
 
         log.info(msg);
     }
 
     private static PageSwapperFactory createAndConfigureSwapperFactory(
-            FileSystemAbstraction fs, PageCacheTracer pageCacheTracer, MemoryTracker memoryTracker, InternalLog log) {
+            FileSystemAbstraction fs,
+            Config config,
+            PageCacheTracer pageCacheTracer,
+            MemoryTracker memoryTracker,
+            InternalLog log) {
         if (!UnsafeUtil.unsafeByteBufferAccessAvailable()) {
             log.warn("Reflection access to java.nio.DirectByteBuffer is not available, using fallback mode. "
                     + "This could have negative impact on performance and memory usage. "
                     + "Consider adding --add-opens=java.base/java.nio=ALL-UNNAMED to VM options.");
         }
-        return new SingleFilePageSwapperFactory(fs, pageCacheTracer, memoryTracker);
+        boolean useIoUring = config.get(GraphDatabaseInternalSettings.page_cache_io_uring);
+        if (useIoUring && !SingleFilePageSwapperFactory.isIoUringAvailable()) {
+            log.warn("io_uring is not available on this system, page cache will use regular file channel io.");
+        }
+        return new SingleFilePageSwapperFactory(fs, pageCacheTracer, memoryTracker, useIoUring);
     }
 }
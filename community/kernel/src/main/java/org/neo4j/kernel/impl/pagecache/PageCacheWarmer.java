@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.configuration.GraphDatabaseSettings;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.util.FeatureToggles;
+
+/**
+ * Keeps page cache contents of a database warm across restarts.
+ * <p>
+ * While the database is running, the warmer periodically records which pages of every mapped file are resident in
+ * the page cache into a compact per-file bitmap profile. When the database starts, the profiles are read back and
+ * the recorded pages are reloaded, one file per thread, in ascending page order and in runs of consecutive pages so
+ * that the page cache can use vectored reads. Depending on {@link GraphDatabaseInternalSettings#pagecache_warmup_blocking}
+ * the reload either completes before the database becomes available, or runs in the background.
+ * <p>
+ * When {@link GraphDatabaseSettings#pagecache_warmup_prefetch} is enabled, profiles are not used and all mapped files
+ * matching {@link GraphDatabaseSettings#pagecache_warmup_prefetch_allowlist} are loaded in full instead.
+ */
+public class PageCacheWarmer extends LifecycleAdapter {
+    public static final String PROFILES_DIRECTORY = "profiles";
+    static final String PROFILE_SUFFIX = ".cacheprof";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final String WARMUP_TAG = "pageCacheWarmup";
+    private static final int PROFILE_FORMAT_VERSION = 1;
+    /**
+     * Max number of consecutive pages loaded with one touch. Bounds the size of a single vectored read.
+     */
+    private static final int MAX_PAGES_PER_TOUCH =
+            FeatureToggles.getInteger(PageCacheWarmer.class, "maxPagesPerTouch", 128);
+
+    private final FileSystemAbstraction fs;
+    private final PageCache pageCache;
+    private final JobScheduler scheduler;
+    private final Path databaseDirectory;
+    private final Path profilesDirectory;
+    private final String databaseName;
+    private final CursorContextFactory contextFactory;
+    private final InternalLog log;
+    private final boolean enabled;
+    private final boolean blocking;
+    private final boolean preload;
+    private final Pattern preloadAllowlist;
+    private final long profileIntervalMillis;
+
+    private volatile boolean stopped;
+    private volatile JobHandle<?> warmupHandle;
+    private volatile JobHandle<?> profileHandle;
+
+    public PageCacheWarmer(
+            FileSystemAbstraction fs,
+            PageCache pageCache,
+            JobScheduler scheduler,
+            Path databaseDirectory,
+            String databaseName,
+            Config config,
+            CursorContextFactory contextFactory,
+            InternalLogProvider logProvider) {
+        this.fs = fs;
+        this.pageCache = pageCache;
+        this.scheduler = scheduler;
+        this.databaseDirectory = databaseDirectory;
+        this.profilesDirectory = databaseDirectory.resolve(PROFILES_DIRECTORY);
+        this.databaseName = databaseName;
+        this.contextFactory = contextFactory;
+        this.log = logProvider.getLog(PageCacheWarmer.class);
+        this.enabled = config.get(GraphDatabaseSettings.pagecache_warmup_enabled);
+        this.blocking = config.get(GraphDatabaseInternalSettings.pagecache_warmup_blocking);
+        this.preload = config.get(GraphDatabaseSettings.pagecache_warmup_prefetch);
+        this.preloadAllowlist = Pattern.compile(config.get(GraphDatabaseSettings.pagecache_warmup_prefetch_allowlist));
+        this.profileIntervalMillis = config.get(GraphDatabaseSettings.pagecache_warmup_profiling_interval)
+                .toMillis();
+    }
+
+    @Override
+    public void start() throws Exception {
+        if (!enabled) {
+            return;
+        }
+        stopped = false;
+        if (blocking) {
+            warmUp();
+            scheduleProfiling();
+        } else {
+            warmupHandle = scheduler.schedule(
+                    Group.FILE_IO_HELPER, systemJob(databaseName, "Page cache warmup"), this::backgroundWarmUp);
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (!enabled) {
+            return;
+        }
+        stopped = true;
+        cancel(warmupHandle);
+        cancel(profileHandle);
+        if (!preload) {
+            // Take a final profile so that a clean restart comes back with the same cache contents.
+            profile();
+        }
+    }
+
+    private void backgroundWarmUp() {
+        try {
+            warmUp();
+        } catch (Exception e) {
+            log.warn("Page cache warmup failed.", e);
+        }
+        scheduleProfiling();
+    }
+
+    private void scheduleProfiling() {
+        if (stopped || preload) {
+            return;
+        }
+        profileHandle = scheduler.scheduleRecurring(
+                Group.FILE_IO_HELPER,
+                systemJob(databaseName, "Page cache profiling"),
+                this::profileQuietly,
+                profileIntervalMillis,
+                profileIntervalMillis,
+                MILLISECONDS);
+    }
+
+    /**
+     * Reload pages into the page cache, either from stored profiles or, in preload mode, whole files.
+     *
+     * @return number of pages loaded.
+     */
+    long warmUp() throws IOException, ExecutionException, InterruptedException {
+        long startTime = System.nanoTime();
+        List<Future<Long>> loads = new ArrayList<>();
+        for (PagedFile file : pageCache.listExistingMappings()) {
+            if (preload) {
+                if (preloadAllowlist.matcher(file.path().getFileName().toString()).matches()) {
+                    loads.add(scheduler.executor(Group.FILE_IO_HELPER).submit(() -> loadWholeFile(file)));
+                }
+            } else {
+                Path profile = profileFile(file);
+                if (profile != null && fs.fileExists(profile)) {
+                    loads.add(scheduler.executor(Group.FILE_IO_HELPER).submit(() -> loadProfile(file, profile)));
+                }
+            }
+        }
+        long pagesLoaded = 0;
+        for (Future<Long> load : loads) {
+            pagesLoaded += load.get();
+        }
+        if (!loads.isEmpty()) {
+            log.info(
+                    "Page cache warmup completed. %d pages loaded from %d files in %d ms.",
+                    pagesLoaded, loads.size(), MILLISECONDS.convert(System.nanoTime() - startTime, NANOSECONDS));
+        }
+        return pagesLoaded;
+    }
+
+    private long loadWholeFile(PagedFile file) throws IOException {
+        BitSet pages = new BitSet();
+        long lastPageId = file.getLastPageId();
+        if (lastPageId >= 0) {
+            pages.set(0, (int) Math.min(lastPageId + 1, Integer.MAX_VALUE));
+        }
+        return load(file, pages);
+    }
+
+    private long loadProfile(PagedFile file, Path profile) throws IOException {
+        BitSet pages;
+        try {
+            pages = readProfile(profile);
+        } catch (IOException e) {
+            // A broken profile only means a colder start, so don't fail the database over it.
+            log.warn("Unable to read page cache profile " + profile + ", it will be ignored.", e);
+            return 0;
+        }
+        return load(file, pages);
+    }
+
+    private long load(PagedFile file, BitSet pages) throws IOException {
+        long loaded = 0;
+        try (var cursorContext = contextFactory.create(WARMUP_TAG)) {
+            int start = pages.nextSetBit(0);
+            while (start >= 0 && !stopped && pageCache.freePages() > 0) {
+                int end = pages.nextClearBit(start);
+                int count = Math.min(end - start, MAX_PAGES_PER_TOUCH);
+                int touched = file.touch(start, count, cursorContext);
+                loaded += touched;
+                if (touched < count) {
+                    // Reached the end of the file, the rest of the profile is stale.
+                    break;
+                }
+                start = pages.nextSetBit(start + count);
+            }
+        }
+        return loaded;
+    }
+
+    private void profileQuietly() {
+        try {
+            profile();
+        } catch (IOException e) {
+            log.warn("Unable to write page cache profiles.", e);
+        }
+    }
+
+    /**
+     * Write a profile of the resident pages for every mapped file of the database.
+     *
+     * @return number of profiles written.
+     */
+    synchronized int profile() throws IOException {
+        int profiles = 0;
+        for (PagedFile file : pageCache.listExistingMappings()) {
+            Path profile = profileFile(file);
+            if (profile == null) {
+                continue;
+            }
+            BitSet pages = new BitSet();
+            file.visitResidentPages(filePageId -> {
+                if (filePageId <= Integer.MAX_VALUE) {
+                    pages.set((int) filePageId);
+                }
+            });
+            writeProfile(profile, pages);
+            profiles++;
+        }
+        return profiles;
+    }
+
+    private void writeProfile(Path profile, BitSet pages) throws IOException {
+        fs.mkdirs(profile.getParent());
+        Path tmp = profile.resolveSibling(profile.getFileName() + TMP_SUFFIX);
+        long[] words = pages.toLongArray();
+        try (var out = new DataOutputStream(new GZIPOutputStream(fs.openAsOutputStream(tmp, false)))) {
+            out.writeInt(PROFILE_FORMAT_VERSION);
+            out.writeInt(words.length);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
+        fs.renameFile(tmp, profile, ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    private BitSet readProfile(Path profile) throws IOException {
+        try (var in = new DataInputStream(new GZIPInputStream(fs.openAsInputStream(profile)))) {
+            int version = in.readInt();
+            if (version != PROFILE_FORMAT_VERSION) {
+                throw new IOException("Unsupported page cache profile version " + version);
+            }
+            long[] words = new long[in.readInt()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.readLong();
+            }
+            return BitSet.valueOf(words);
+        }
+    }
+
+    /**
+     * @return location of the profile for the given file, or {@code null} if the file does not belong to the database
+     * directory and should not be profiled.
+     */
+    private Path profileFile(PagedFile file) {
+        Path path = file.path();
+        if (!path.startsWith(databaseDirectory) || path.startsWith(profilesDirectory)) {
+            return null;
+        }
+        Path relative = databaseDirectory.relativize(path);
+        return profilesDirectory.resolve(relative).resolveSibling(relative.getFileName() + PROFILE_SUFFIX);
+    }
+
+    private static void cancel(JobHandle<?> handle) {
+        if (handle != null) {
+            handle.cancel();
+        }
+    }
+}
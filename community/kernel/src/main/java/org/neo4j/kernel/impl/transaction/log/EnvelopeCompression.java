@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import static org.neo4j.io.ByteUnit.mebiBytes;
+import static org.neo4j.util.Preconditions.checkArgument;
+
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.ZstdException;
+import com.github.luben.zstd.util.Native;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.neo4j.kernel.impl.transaction.log.entry.InvalidLogEnvelopeReadException;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEnvelopeHeader;
+
+/**
+ * Compression of the entries written by an {@link EnvelopeWriteChannel}.
+ * <p>
+ * A compressed entry is written as regular envelopes, all of them flagged with
+ * {@link LogEnvelopeHeader#COMPRESSED_ENTRY_FLAG} in their type. The payload of the envelopes, concatenated, is the
+ * uncompressed length of the entry as an {@code int} followed by a zstd frame of the entry. Envelope checksums cover
+ * the compressed bytes, so checksum chains, positions of entries and the segmenting of the files work exactly like for
+ * uncompressed entries.
+ * <p>
+ * Entries are only compressed if they are at least {@link #minEntrySize()} bytes, at most {@link #maxEntrySize()}
+ * bytes, and actually get smaller. Other entries are written uncompressed, which a {@link EnvelopeReadChannel} reads
+ * interleaved with compressed entries.
+ *
+ * @param level zstd compression level, from {@code 1} to {@link #MAX_LEVEL}, or {@code 0} to disable compression.
+ * @param minEntrySize entries smaller than this are not worth compressing.
+ * @param maxEntrySize entries larger than this are not compressed, to bound the memory held for an entry.
+ */
+public record EnvelopeCompression(int level, int minEntrySize, int maxEntrySize) {
+    public static final int MAX_LEVEL = 22;
+    /**
+     * Upper bound of {@link #maxEntrySize()}. Readers reject compressed entries claiming to be larger, instead of
+     * allocating whatever a corrupted length read from disk asks for.
+     */
+    public static final int MAX_ENTRY_SIZE = (int) mebiBytes(16);
+
+    public static final EnvelopeCompression DISABLED = new EnvelopeCompression(0, 0, 0);
+    public static final EnvelopeCompression DEFAULT = new EnvelopeCompression(1, 256, MAX_ENTRY_SIZE);
+
+    static final int UNCOMPRESSED_LENGTH_SIZE = Integer.BYTES;
+
+    public EnvelopeCompression {
+        checkArgument(level >= 0 && level <= MAX_LEVEL, "Invalid compression level %d", level);
+        checkArgument(minEntrySize >= 0, "Invalid minimum entry size %d", minEntrySize);
+        checkArgument(
+                maxEntrySize >= 0 && maxEntrySize <= MAX_ENTRY_SIZE, "Invalid maximum entry size %d", maxEntrySize);
+    }
+
+    /**
+     * @param level zstd compression level, or {@code 0} to disable compression.
+     * @return compression of entries of the {@link #DEFAULT} sizes with the given level.
+     */
+    public static EnvelopeCompression withLevel(int level) {
+        return level == 0 ? DISABLED : new EnvelopeCompression(level, DEFAULT.minEntrySize, DEFAULT.maxEntrySize);
+    }
+
+    public boolean enabled() {
+        return level > 0 && maxEntrySize > 0 && maxEntrySize >= minEntrySize;
+    }
+
+    /**
+     * @return whether the native zstd library can be loaded, which compressing and decompressing entries requires.
+     */
+    public static boolean available() {
+        try {
+            Native.load();
+            return Native.isLoaded();
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    ZstdCompressCtx newCompressor() {
+        ZstdCompressCtx compressor = new ZstdCompressCtx();
+        compressor.setLevel(level);
+        return compressor;
+    }
+
+    /**
+     * Compress {@code length} bytes of {@code entry} into {@code target}.
+     *
+     * @return the number of bytes written to {@code target}, or {@code -1} if the compressed entry would not be
+     * smaller than the entry, or not fit in {@code target}.
+     */
+    static int compress(ZstdCompressCtx compressor, byte[] entry, int length, byte[] target) {
+        int limit = Math.min(target.length, length - 1);
+        if (limit <= UNCOMPRESSED_LENGTH_SIZE) {
+            return -1;
+        }
+        ByteBuffer.wrap(target).order(ByteOrder.LITTLE_ENDIAN).putInt(length);
+        try {
+            int compressedLength = compressor.compressByteArray(
+                    target,
+                    UNCOMPRESSED_LENGTH_SIZE,
+                    limit - UNCOMPRESSED_LENGTH_SIZE,
+                    entry,
+                    0,
+                    length);
+            return UNCOMPRESSED_LENGTH_SIZE + compressedLength;
+        } catch (ZstdException e) {
+            // Did not fit in the target, i.e. would not be smaller than the entry
+            return -1;
+        }
+    }
+
+    /**
+     * Decompress the {@code length} bytes of a compressed entry in {@code compressed}.
+     *
+     * @param target buffer to reuse if large enough, may be {@code null}.
+     * @return buffer with the decompressed entry between its position and limit.
+     */
+    static ByteBuffer decompress(
+            ZstdDecompressCtx decompressor, byte[] compressed, int length, ByteBuffer target, ByteOrder order)
+            throws InvalidLogEnvelopeReadException {
+        if (length < UNCOMPRESSED_LENGTH_SIZE) {
+            throw new InvalidLogEnvelopeReadException("Compressed entry of %d bytes is too short".formatted(length));
+        }
+        int entryLength = ByteBuffer.wrap(compressed).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        if (entryLength < 0 || entryLength > MAX_ENTRY_SIZE) {
+            throw new InvalidLogEnvelopeReadException("Invalid length of compressed entry %d".formatted(entryLength));
+        }
+        if (target == null || target.capacity() < entryLength) {
+            target = ByteBuffer.allocate(entryLength).order(order);
+        }
+        int decompressedLength;
+        try {
+            decompressedLength = decompressor.decompressByteArray(
+                    target.array(),
+                    0,
+                    entryLength,
+                    compressed,
+                    UNCOMPRESSED_LENGTH_SIZE,
+                    length - UNCOMPRESSED_LENGTH_SIZE);
+        } catch (ZstdException e) {
+            throw new InvalidLogEnvelopeReadException("Unable to decompress entry: " + e.getMessage());
+        }
+        if (decompressedLength != entryLength) {
+            throw new InvalidLogEnvelopeReadException(
+                    "Compressed entry does not match its length of %d bytes".formatted(entryLength));
+        }
+        return target.clear().limit(entryLength);
+    }
+}
@@ -23,6 +23,7 @@ import static java.lang.Math.min;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.util.Objects.requireNonNull;
 import static org.neo4j.io.fs.ChecksumWriter.CHECKSUM_FACTORY;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEnvelopeHeader.COMPRESSED_ENTRY_FLAG;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEnvelopeHeader.HEADER_SIZE;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEnvelopeHeader.IGNORE_KERNEL_VERSION;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEnvelopeHeader.MAX_ZERO_PADDING_SIZE;
@@ -30,6 +31,7 @@ import static org.neo4j.util.Preconditions.checkState;
 import static org.neo4j.util.Preconditions.requireNonNegative;
 import static org.neo4j.util.Preconditions.requirePowerOfTwo;
 
+import com.github.luben.zstd.ZstdDecompressCtx;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
@@ -77,6 +79,12 @@ import org.neo4j.memory.MemoryTracker;
  *               payloadStartOffset     payloadEndOffset
  * </pre>
  *
+ * Envelopes of compressed entries, see {@link EnvelopeCompression}, are read as a whole when reading from the start of
+ * such an entry, and the data is then read from the decompressed entry. Whilst reading inside a decompressed entry the
+ * position of the channel is the logical position in the entry, i.e. the position of the start of the entry plus the
+ * number of decompressed bytes read, as if the entry was not compressed. Only the start of an entry can be positioned
+ * to. When the whole entry has been read the position is that of the end of its last envelope.
+ *
  * @see LogEnvelopeHeader
  * @see EnvelopeType
  * @see EnvelopeWriteChannel
@@ -102,6 +110,13 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
     private byte payloadVersion;
     private int payloadStartOffset;
     private int payloadEndOffset;
+    private boolean payloadCompressed;
+    private ByteBuffer payload;
+    private ByteBuffer decompressedEntry;
+    private byte[] compressedEntry;
+    private ZstdDecompressCtx decompressor;
+    private long decompressedEntryLogVersion;
+    private long decompressedEntryPosition;
     private volatile boolean closed;
 
     EnvelopeReadChannel(
@@ -123,6 +138,7 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
         this.scopedBuffer = new NativeScopedBuffer(segmentBlockSize, LITTLE_ENDIAN, memoryTracker);
         try {
             this.buffer = scopedBuffer.getBuffer();
+            this.payload = buffer;
             this.checksumView = buffer.duplicate().order(buffer.order());
 
             long startPosition = channel.position();
@@ -158,6 +174,9 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
      */
     @Override
     public long position() {
+        if (readingDecompressedEntry()) {
+            return decompressedEntryPosition + payload.position();
+        }
         return (currentSegment * segmentBlockSize) + buffer.position();
     }
 
@@ -172,13 +191,13 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
 
     @Override
     public LogPositionMarker getCurrentLogPosition(LogPositionMarker positionMarker) throws IOException {
-        positionMarker.mark(channel.getLogVersion(), position());
+        positionMarker.mark(positionLogVersion(), position());
         return positionMarker;
     }
 
     @Override
     public LogPosition getCurrentLogPosition() throws IOException {
-        return new LogPosition(channel.getLogVersion(), position());
+        return new LogPosition(positionLogVersion(), position());
     }
 
     /**
@@ -192,6 +211,7 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
                     .formatted(positionMarker.getLogVersion(), channel.getLogVersion()));
         }
 
+        payload = buffer;
         long byteOffset = positionMarker.getByteOffset();
         long newSegment = byteOffset >> segmentShift;
         int newBufferOffset = (int) (byteOffset & segmentMask);
@@ -232,51 +252,54 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
     public byte markAndGetVersion(LogPositionMarker marker) throws IOException {
         // initialise the marker in case the channel is empty or already at the correct position
         getCurrentLogPosition(marker);
-        if (checkForEndOfEnvelope()) {
-            readEnvelopeHeader();
+        if (!readingDecompressedEntry()) {
+            payload = buffer;
+            if (checkForEndOfEnvelope()) {
+                readEnvelopeHeader();
+            }
         }
 
         checkState(payloadVersion != IGNORE_KERNEL_VERSION, "Could not find a valid envelope header.");
 
         // set the marker now an entry has been found in the envelope
-        marker.mark(channel.getLogVersion(), position());
+        marker.mark(positionLogVersion(), position());
         return payloadVersion;
     }
 
     @Override
     public byte get() throws IOException {
         ensureDataExists(Byte.BYTES);
-        return buffer.get();
+        return payload.get();
     }
 
     @Override
     public short getShort() throws IOException {
         ensureDataExists(Short.BYTES);
-        return buffer.getShort();
+        return payload.getShort();
     }
 
     @Override
     public int getInt() throws IOException {
         ensureDataExists(Integer.BYTES);
-        return buffer.getInt();
+        return payload.getInt();
     }
 
     @Override
     public long getLong() throws IOException {
         ensureDataExists(Long.BYTES);
-        return buffer.getLong();
+        return payload.getLong();
     }
 
     @Override
     public float getFloat() throws IOException {
         ensureDataExists(Float.BYTES);
-        return buffer.getFloat();
+        return payload.getFloat();
     }
 
     @Override
     public double getDouble() throws IOException {
         ensureDataExists(Double.BYTES);
-        return buffer.getDouble();
+        return payload.getDouble();
     }
 
     @Override
@@ -286,12 +309,9 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
         try {
             var bytesRead = 0;
             while (bytesRead < length) {
-                if (checkForEndOfEnvelope()) {
-                    readEnvelopeHeader();
-                }
-
-                final var chunkSize = min(payloadEndOffset - buffer.position(), length - bytesRead);
-                buffer.get(bytes, bytesRead, chunkSize);
+                final var source = nextPayload();
+                final var chunkSize = min(payloadRemaining(), length - bytesRead);
+                source.get(bytes, bytesRead, chunkSize);
                 bytesRead += chunkSize;
             }
         } catch (ClosedChannelException e) {
@@ -312,6 +332,7 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
      * @throws ReadPastEndException if the end is reached.
      */
     public long goToNextEntry() throws IOException {
+        payload = buffer;
         do {
             skipToNextEnvelope();
             readEnvelopeHeader();
@@ -329,6 +350,9 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
         if (!closed) {
             channel.close();
             scopedBuffer.close();
+            if (decompressor != null) {
+                decompressor.close();
+            }
             channel = null;
             closed = true;
         }
@@ -361,16 +385,98 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
 
     private void ensureDataExists(int requestedNumberOfBytes) throws IOException {
         try {
-            if (checkForEndOfEnvelope()) {
-                readEnvelopeHeader();
-            }
-
-            bufferCheck(requestedNumberOfBytes);
+            bufferCheck(nextPayload(), requestedNumberOfBytes);
         } catch (ClosedChannelException e) {
             handleClosedChannelException(e);
         }
     }
 
+    /**
+     * Move to the next envelope, or decompressed entry, if the current one has been read completely.
+     *
+     * @return the buffer to read the payload from.
+     */
+    private ByteBuffer nextPayload() throws IOException {
+        if (payload != buffer) {
+            if (payload.hasRemaining()) {
+                return payload;
+            }
+            // Decompressed entry has been read, continue after its last envelope
+            payload = buffer;
+        }
+        if (checkForEndOfEnvelope()) {
+            readEnvelopeHeader();
+        }
+        if (payloadCompressed) {
+            decompressEntry();
+        }
+        return payload;
+    }
+
+    private int payloadRemaining() {
+        return payload == buffer ? payloadEndOffset - buffer.position() : payload.remaining();
+    }
+
+    private boolean readingDecompressedEntry() {
+        return payload != buffer && payload.hasRemaining();
+    }
+
+    private long positionLogVersion() {
+        return readingDecompressedEntry() ? decompressedEntryLogVersion : channel.getLogVersion();
+    }
+
+    /**
+     * Read all envelopes of the compressed entry starting in the current envelope, and decompress it. Leaves the
+     * channel at the end of the last envelope of the entry.
+     */
+    private void decompressEntry() throws IOException {
+        if (buffer.position() != payloadStartOffset || !payloadType.isStarting()) {
+            throw new InvalidLogEnvelopeReadException(
+                    "Unable to read from the middle of a compressed entry at position %d".formatted(position()));
+        }
+        long entryLogVersion = channel.getLogVersion();
+        long entryPosition = position();
+        byte entryVersion = payloadVersion;
+        int length = 0;
+        while (true) {
+            int envelopeLength = payloadEndOffset - payloadStartOffset;
+            if (length + envelopeLength > EnvelopeCompression.MAX_ENTRY_SIZE) {
+                // Entries are only compressed if that makes them smaller, so this can't be a valid entry
+                throw new InvalidLogEnvelopeReadException(
+                        "Compressed entry at position %d is too large".formatted(entryPosition));
+            }
+            if (compressedEntry == null || compressedEntry.length < length + envelopeLength) {
+                compressedEntry = Arrays.copyOf(
+                        compressedEntry == null ? new byte[0] : compressedEntry,
+                        Math.max(length + envelopeLength, 2 * length));
+            }
+            buffer.get(payloadStartOffset, compressedEntry, length, envelopeLength);
+            length += envelopeLength;
+            skipToNextEnvelope();
+            if (payloadType.isTerminating()) {
+                break;
+            }
+            readEnvelopeHeader();
+            if (!payloadCompressed || payloadType.isStarting()) {
+                throw new InvalidLogEnvelopeReadException(
+                        "Compressed entry at position %d is incomplete".formatted(entryPosition));
+            }
+        }
+        if (decompressor == null) {
+            if (!EnvelopeCompression.available()) {
+                throw new IOException("Unable to read compressed entry at position %d, zstd is not available"
+                        .formatted(entryPosition));
+            }
+            decompressor = new ZstdDecompressCtx();
+        }
+        decompressedEntry = EnvelopeCompression.decompress(
+                decompressor, compressedEntry, length, decompressedEntry, buffer.order());
+        decompressedEntryLogVersion = entryLogVersion;
+        decompressedEntryPosition = entryPosition;
+        payloadVersion = entryVersion;
+        payload = decompressedEntry;
+    }
+
     private void handleClosedChannelException(ClosedChannelException e) throws ClosedChannelException {
         // We don't want to check the closed flag every time we read, instead we can avoid unnecessary the
         // read and catch ClosedChannelException where we see if the channel being closed was
@@ -384,11 +490,11 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
         throw e;
     }
 
-    private void bufferCheck(int requestedNumberOfBytes) throws IOException {
-        if (buffer.remaining() < requestedNumberOfBytes) {
+    private static void bufferCheck(ByteBuffer source, int requestedNumberOfBytes) throws IOException {
+        if (source.remaining() < requestedNumberOfBytes) {
             throw new InvalidLogEnvelopeReadException(
                     "Entry underflow. %d bytes was requested but only %d are available."
-                            .formatted(requestedNumberOfBytes, buffer.remaining()));
+                            .formatted(requestedNumberOfBytes, source.remaining()));
         }
     }
 
@@ -428,6 +534,7 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
         EnvelopeType previousPayloadType = payloadType;
         int nextEnvelopeChecksum;
         EnvelopeType nextEnvelopeType;
+        boolean nextEnvelopeCompressed;
 
         // Loop until we find the next header, or throws read past end exception
         while (true) {
@@ -440,11 +547,16 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
 
             // Optimistically read the beginning of the header
             nextEnvelopeChecksum = buffer.getInt();
-            nextEnvelopeType = EnvelopeType.of(buffer.get());
+            byte nextEnvelopeTypeValue = buffer.get();
+            nextEnvelopeCompressed = (nextEnvelopeTypeValue & COMPRESSED_ENTRY_FLAG) != 0;
+            nextEnvelopeType = EnvelopeType.of((byte) (nextEnvelopeTypeValue & ~COMPRESSED_ENTRY_FLAG));
 
             if (nextEnvelopeType != EnvelopeType.ZERO) {
                 break;
             }
+            if (nextEnvelopeCompressed) {
+                throw new InvalidLogEnvelopeReadException(EnvelopeType.ZERO);
+            }
 
             checkState(
                     nextEnvelopeChecksum == 0, "Unexpected trailing data, expected zero, was: " + nextEnvelopeChecksum);
@@ -465,6 +577,7 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
         int previousEnvelopeChecksumFromHeader = buffer.getInt();
 
         payloadType = nextEnvelopeType;
+        payloadCompressed = nextEnvelopeCompressed;
         payloadVersion = nextPayloadVersion;
         payloadStartOffset = buffer.position();
         payloadEndOffset = payloadStartOffset + nextPayloadLength;
@@ -586,14 +699,11 @@ public class EnvelopeReadChannel implements ReadableLogChannel {
         try {
             var bytesRead = 0;
             while (bytesRead < length) {
-                if (checkForEndOfEnvelope()) {
-                    readEnvelopeHeader();
-                }
-
-                final var chunkSize = min(payloadEndOffset - buffer.position(), length - bytesRead);
-                dst.put(dst.position(), buffer, buffer.position(), chunkSize);
+                final var source = nextPayload();
+                final var chunkSize = min(payloadRemaining(), length - bytesRead);
+                dst.put(dst.position(), source, source.position(), chunkSize);
                 dst.position(dst.position() + chunkSize);
-                buffer.position(buffer.position() + chunkSize);
+                source.position(source.position() + chunkSize);
                 bytesRead += chunkSize;
             }
         } catch (ClosedChannelException e) {
@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.transaction.log;
 
 import static java.lang.Math.min;
 import static java.util.Objects.requireNonNull;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEnvelopeHeader.COMPRESSED_ENTRY_FLAG;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEnvelopeHeader.IGNORE_KERNEL_VERSION;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogEnvelopeHeader.MAX_ZERO_PADDING_SIZE;
 import static org.neo4j.util.Preconditions.checkArgument;
@@ -29,6 +30,7 @@ import static org.neo4j.util.Preconditions.requireMultipleOf;
 import static org.neo4j.util.Preconditions.requireNonNegative;
 import static org.neo4j.util.Preconditions.requirePowerOfTwo;
 
+import com.github.luben.zstd.ZstdCompressCtx;
 import java.io.Flushable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -75,6 +77,10 @@ import org.neo4j.kernel.impl.transaction.tracing.DatabaseTracer;
  * <p/>
  * Since we write the envelope header as part of completing an envelope, calling {@link #prepareForFlush()} will
  * <strong>only</strong> flush up until the <em>last completed envelope</em>.
+ * <p/>
+ * With {@link EnvelopeCompression} enabled, each entry is first gathered in memory and compressed when it ends, before
+ * being written as envelopes flagged as compressed. Entries that grow beyond {@link EnvelopeCompression#maxEntrySize()}
+ * are written uncompressed from that point on.
  */
 public class EnvelopeWriteChannel implements PhysicalLogChannel {
     private static final byte[] PADDING_ZEROES = new byte[MAX_ZERO_PADDING_SIZE];
@@ -86,6 +92,8 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
     private final ByteBuffer buffer;
     private final ByteBuffer checksumView;
     private final int segmentBlockSize;
+    private final EnvelopeCompression compression;
+    private final ZstdCompressCtx compressor;
 
     private StoreChannel channel;
     private int currentEnvelopeStart;
@@ -96,6 +104,10 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
     private int previousChecksum;
     private long rotateAtSize;
     private long appendedBytes;
+    private ByteBuffer entryBuffer;
+    private byte[] compressedEntryBuffer;
+    private boolean gatheringEntry;
+    private boolean compressedEntry;
     private volatile boolean closed;
 
     public EnvelopeWriteChannel(
@@ -106,6 +118,25 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
             LogRotation logRotation,
             DatabaseTracer databaseTracer)
             throws IOException {
+        this(
+                channel,
+                scopedBuffer,
+                segmentBlockSize,
+                initialChecksum,
+                logRotation,
+                databaseTracer,
+                EnvelopeCompression.DISABLED);
+    }
+
+    public EnvelopeWriteChannel(
+            StoreChannel channel,
+            ScopedBuffer scopedBuffer,
+            int segmentBlockSize,
+            int initialChecksum,
+            LogRotation logRotation,
+            DatabaseTracer databaseTracer,
+            EnvelopeCompression compression)
+            throws IOException {
         this.channel = requireNonNull(channel);
         this.scopedBuffer = requireNonNull(scopedBuffer);
         this.previousChecksum = initialChecksum;
@@ -117,8 +148,11 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
         this.checksumView = buffer.duplicate().order(buffer.order());
 
         requireMultipleOf("Buffer", buffer.capacity(), "segment block size", segmentBlockSize);
+        this.compression = requireNonNull(compression);
+        this.compressor = compression.enabled() ? compression.newCompressor() : null;
 
         initialPositions(channel.position());
+        beginGatheringEntry();
     }
 
     public int currentChecksum() {
@@ -126,11 +160,16 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
     }
 
     public void endCurrentEntry() throws IOException {
+        if (gatheringEntry) {
+            appendGatheredEntry();
+        }
         completeEnvelope(true);
+        compressedEntry = false;
         if ((buffer.position() + LogEnvelopeHeader.HEADER_SIZE) >= nextSegmentOffset) {
             padSegmentAndGoToNext();
         }
         beginNewEnvelope();
+        beginGatheringEntry();
     }
 
     @Override
@@ -216,6 +255,10 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
 
     @Override
     public EnvelopeWriteChannel put(byte value) throws IOException {
+        if (gatheringEntry && gather(Byte.BYTES)) {
+            entryBuffer.put(value);
+            return updateBytesWritten(Byte.BYTES);
+        }
         nextSegmentOnOverflow(Byte.BYTES);
         buffer.put(value);
         return updateBytesWritten(Byte.BYTES);
@@ -223,6 +266,10 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
 
     @Override
     public EnvelopeWriteChannel putShort(short value) throws IOException {
+        if (gatheringEntry && gather(Short.BYTES)) {
+            entryBuffer.putShort(value);
+            return updateBytesWritten(Short.BYTES);
+        }
         nextSegmentOnOverflow(Short.BYTES);
         buffer.putShort(value);
         return updateBytesWritten(Short.BYTES);
@@ -230,6 +277,10 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
 
     @Override
     public EnvelopeWriteChannel putInt(int value) throws IOException {
+        if (gatheringEntry && gather(Integer.BYTES)) {
+            entryBuffer.putInt(value);
+            return updateBytesWritten(Integer.BYTES);
+        }
         nextSegmentOnOverflow(Integer.BYTES);
         buffer.putInt(value);
         return updateBytesWritten(Integer.BYTES);
@@ -237,6 +288,10 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
 
     @Override
     public EnvelopeWriteChannel putLong(long value) throws IOException {
+        if (gatheringEntry && gather(Long.BYTES)) {
+            entryBuffer.putLong(value);
+            return updateBytesWritten(Long.BYTES);
+        }
         nextSegmentOnOverflow(Long.BYTES);
         buffer.putLong(value);
         return updateBytesWritten(Long.BYTES);
@@ -244,6 +299,10 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
 
     @Override
     public EnvelopeWriteChannel putFloat(float value) throws IOException {
+        if (gatheringEntry && gather(Float.BYTES)) {
+            entryBuffer.putFloat(value);
+            return updateBytesWritten(Float.BYTES);
+        }
         nextSegmentOnOverflow(Float.BYTES);
         buffer.putFloat(value);
         return updateBytesWritten(Float.BYTES);
@@ -251,6 +310,10 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
 
     @Override
     public EnvelopeWriteChannel putDouble(double value) throws IOException {
+        if (gatheringEntry && gather(Double.BYTES)) {
+            entryBuffer.putDouble(value);
+            return updateBytesWritten(Double.BYTES);
+        }
         nextSegmentOnOverflow(Double.BYTES);
         buffer.putDouble(value);
         return updateBytesWritten(Double.BYTES);
@@ -263,19 +326,11 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
 
     @Override
     public EnvelopeWriteChannel put(byte[] src, int offset, int length) throws IOException {
-        int srcIndex = offset;
-        while (srcIndex < length) {
-            int remainingPayloadSpace = nextSegmentOffset - buffer.position();
-            int payloadChunk = min(length - srcIndex, remainingPayloadSpace);
-            buffer.put(src, srcIndex, payloadChunk);
-            srcIndex += payloadChunk;
-
-            if (srcIndex != length) {
-                // Still have data left to put
-                completeEnvelopeAndGoToNextSegment();
-            }
+        if (gatheringEntry && gather(length)) {
+            entryBuffer.put(src, offset, length);
+        } else {
+            appendPayload(src, offset, length);
         }
-
         appendedBytes += length;
         return this;
     }
@@ -283,6 +338,12 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
     @Override
     public EnvelopeWriteChannel putAll(ByteBuffer src) throws IOException {
         int length = src.remaining();
+        if (gatheringEntry && gather(length)) {
+            entryBuffer.put(entryBuffer.position(), src, src.position(), length);
+            entryBuffer.position(entryBuffer.position() + length);
+            appendedBytes += length;
+            return this;
+        }
         int srcIndex = src.position();
         while (srcIndex < length) {
             int remainingPayloadSpace = nextSegmentOffset - buffer.position();
@@ -333,6 +394,9 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
             this.closed = true;
             this.channel.close();
             this.scopedBuffer.close();
+            if (compressor != null) {
+                compressor.close();
+            }
         }
     }
 
@@ -352,6 +416,84 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
         buffer.clear().position(bufferWindowOffset + LogEnvelopeHeader.HEADER_SIZE);
     }
 
+    private void beginGatheringEntry() {
+        gatheringEntry = compressor != null;
+        if (gatheringEntry && entryBuffer != null) {
+            entryBuffer.clear();
+        }
+    }
+
+    /**
+     * Make room for the given number of bytes in the gathered entry.
+     *
+     * @return {@code true} if the bytes should be put in the gathered entry, or {@code false} if the entry has grown
+     * too large to be compressed and the bytes should be appended to the envelopes directly.
+     */
+    private boolean gather(int bytes) throws IOException {
+        int position = entryBuffer == null ? 0 : entryBuffer.position();
+        long required = (long) position + bytes;
+        if (required > compression.maxEntrySize()) {
+            spillGatheredEntry();
+            return false;
+        }
+        if (entryBuffer == null || required > entryBuffer.capacity()) {
+            int capacity = (int) min(compression.maxEntrySize(), Math.max(required, 2L * position + segmentBlockSize));
+            ByteBuffer grown = ByteBuffer.allocate(capacity).order(buffer.order());
+            if (entryBuffer != null) {
+                grown.put(entryBuffer.flip());
+            }
+            entryBuffer = grown;
+        }
+        return true;
+    }
+
+    private void spillGatheredEntry() throws IOException {
+        gatheringEntry = false;
+        if (entryBuffer != null) {
+            appendPayload(entryBuffer.array(), 0, entryBuffer.position());
+            entryBuffer.clear();
+        }
+    }
+
+    private void appendGatheredEntry() throws IOException {
+        gatheringEntry = false;
+        int length = entryBuffer == null ? 0 : entryBuffer.position();
+        if (length == 0) {
+            return;
+        }
+        if (length >= compression.minEntrySize()) {
+            if (compressedEntryBuffer == null || compressedEntryBuffer.length < length) {
+                compressedEntryBuffer = new byte[length];
+            }
+            int compressedLength =
+                    EnvelopeCompression.compress(compressor, entryBuffer.array(), length, compressedEntryBuffer);
+            if (compressedLength > 0) {
+                compressedEntry = true;
+                appendPayload(compressedEntryBuffer, 0, compressedLength);
+                entryBuffer.clear();
+                return;
+            }
+        }
+        appendPayload(entryBuffer.array(), 0, length);
+        entryBuffer.clear();
+    }
+
+    private void appendPayload(byte[] src, int offset, int length) throws IOException {
+        int srcIndex = offset;
+        int srcEnd = offset + length;
+        while (srcIndex < srcEnd) {
+            int remainingPayloadSpace = nextSegmentOffset - buffer.position();
+            int payloadChunk = min(srcEnd - srcIndex, remainingPayloadSpace);
+            buffer.put(src, srcIndex, payloadChunk);
+            srcIndex += payloadChunk;
+
+            if (srcIndex != srcEnd) {
+                // Still have data left to put
+                completeEnvelopeAndGoToNextSegment();
+            }
+        }
+    }
+
     private void completeEnvelopeAndGoToNextSegment() throws IOException {
         completeEnvelope(false);
         padSegmentAndGoToNext();
@@ -380,7 +522,8 @@ public class EnvelopeWriteChannel implements PhysicalLogChannel {
         int checksumStartOffset = currentEnvelopeStart + Integer.BYTES;
         buffer.position(checksumStartOffset);
         assert currentVersion != -1;
-        buffer.put(type.typeValue).putInt(payLoadLength).put(currentVersion).putInt(previousChecksum);
+        byte typeValue = compressedEntry ? (byte) (type.typeValue | COMPRESSED_ENTRY_FLAG) : type.typeValue;
+        buffer.put(typeValue).putInt(payLoadLength).put(currentVersion).putInt(previousChecksum);
 
         // Calculate the checksum and insert
         checksum.reset();
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.dedicated_transaction_appender_group_commit_adaptive;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.dedicated_transaction_appender_group_commit_bytes;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.dedicated_transaction_appender_group_commit_delay;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.dedicated_transaction_appender_group_commit_transactions;
+
+import org.neo4j.configuration.Config;
+
+/**
+ * Limits of a group commit in the {@link TransactionLogQueue}: once the first transactions of a batch are appended to
+ * the log, the writer keeps appending newly queued transactions to the same batch, and forces the log only when the
+ * delay has passed or the batch has reached the given number of transactions or bytes.
+ *
+ * @param maxDelayNanos upper bound of the time to wait for more transactions. Zero disables group commit.
+ * @param maxTransactions number of transactions that completes a batch.
+ * @param maxBytes number of appended bytes that completes a batch.
+ * @param adaptive whether to tune the actual delay from observed log force latency and batch sizes.
+ */
+public record GroupCommitPolicy(long maxDelayNanos, int maxTransactions, long maxBytes, boolean adaptive) {
+    public static final GroupCommitPolicy DISABLED = new GroupCommitPolicy(0, Integer.MAX_VALUE, Long.MAX_VALUE, false);
+
+    public static GroupCommitPolicy fromConfig(Config config) {
+        return new GroupCommitPolicy(
+                config.get(dedicated_transaction_appender_group_commit_delay).toNanos(),
+                config.get(dedicated_transaction_appender_group_commit_transactions),
+                config.get(dedicated_transaction_appender_group_commit_bytes),
+                config.get(dedicated_transaction_appender_group_commit_adaptive));
+    }
+
+    public boolean enabled() {
+        return maxDelayNanos > 0;
+    }
+}
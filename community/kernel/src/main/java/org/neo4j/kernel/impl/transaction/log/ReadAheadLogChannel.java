@@ -20,7 +20,9 @@
 package org.neo4j.kernel.impl.transaction.log;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.function.LongPredicate;
 import org.neo4j.io.fs.ReadAheadChannel;
 import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.io.memory.NativeScopedBuffer;
@@ -30,10 +32,16 @@ import org.neo4j.memory.MemoryTracker;
 
 /**
  * Basically a sequence of {@link StoreChannel channels} seamlessly seen as one.
+ * <p>
+ * Log files of versions that are sealed, i.e. that have been rotated away from and no longer change, can be read
+ * directly from a memory mapping of them rather than being copied through the read-ahead buffer.
  */
 public class ReadAheadLogChannel extends ReadAheadChannel<LogVersionedStoreChannel> implements ReadableLogChannel {
+    private static final LongPredicate NO_SEALED_VERSIONS = version -> false;
+
     private final LogVersionBridge bridge;
     private final boolean raw;
+    private final LongPredicate sealedVersions;
 
     public ReadAheadLogChannel(LogVersionedStoreChannel startingChannel, MemoryTracker memoryTracker) {
         this(
@@ -57,25 +65,43 @@ public class ReadAheadLogChannel extends ReadAheadChannel<LogVersionedStoreChann
             LogVersionBridge bridge,
             MemoryTracker memoryTracker,
             boolean raw) {
+        this(startingChannel, bridge, memoryTracker, raw, NO_SEALED_VERSIONS);
+    }
+
+    /**
+     * @param sealedVersions log versions that no longer change, which are read through a memory mapping.
+     */
+    public ReadAheadLogChannel(
+            LogVersionedStoreChannel startingChannel,
+            LogVersionBridge bridge,
+            MemoryTracker memoryTracker,
+            boolean raw,
+            LongPredicate sealedVersions) {
         this(
                 startingChannel,
                 bridge,
                 new NativeScopedBuffer(DEFAULT_READ_AHEAD_SIZE, ByteOrder.LITTLE_ENDIAN, memoryTracker),
-                raw);
+                raw,
+                sealedVersions);
     }
 
     protected ReadAheadLogChannel(LogVersionedStoreChannel startingChannel, ScopedBuffer scopedBuffer, boolean raw) {
-        this(startingChannel, LogVersionBridge.NO_MORE_CHANNELS, scopedBuffer, raw);
+        this(startingChannel, LogVersionBridge.NO_MORE_CHANNELS, scopedBuffer, raw, NO_SEALED_VERSIONS);
     }
 
     /**
      * This constructor is private to ensure that the given buffer always comes form one of our own constructors.
      */
     private ReadAheadLogChannel(
-            LogVersionedStoreChannel startingChannel, LogVersionBridge bridge, ScopedBuffer scopedBuffer, boolean raw) {
+            LogVersionedStoreChannel startingChannel,
+            LogVersionBridge bridge,
+            ScopedBuffer scopedBuffer,
+            boolean raw,
+            LongPredicate sealedVersions) {
         super(startingChannel, scopedBuffer);
         this.bridge = bridge;
         this.raw = raw;
+        this.sealedVersions = sealedVersions;
     }
 
     @Override
@@ -123,4 +149,21 @@ public class ReadAheadLogChannel extends ReadAheadChannel<LogVersionedStoreChann
     protected LogVersionedStoreChannel next(LogVersionedStoreChannel channel) throws IOException {
         return bridge.next(channel, raw);
     }
+
+    @Override
+    protected ByteBuffer map(LogVersionedStoreChannel channel) throws IOException {
+        if (!sealedVersions.test(channel.getLogVersion())) {
+            return null;
+        }
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            return null;
+        }
+        try {
+            return channel.mapReadOnly(0, size);
+        } catch (IOException e) {
+            // not all file systems support mapping, in which case the file is read through the read-ahead buffer
+            return null;
+        }
+    }
 }
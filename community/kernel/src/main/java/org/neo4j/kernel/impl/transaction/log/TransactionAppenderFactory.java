@@ -39,7 +39,13 @@ public class TransactionAppenderFactory {
             InternalLogProvider logProvider) {
         if (config.get(dedicated_transaction_appender)
                 || "multiversion".equals(config.get(GraphDatabaseSettings.db_format))) {
-            var queue = new TransactionLogQueue(logFiles, transactionIdStore, databasePanic, scheduler, logProvider);
+            var queue = new TransactionLogQueue(
+                    logFiles,
+                    transactionIdStore,
+                    databasePanic,
+                    scheduler,
+                    GroupCommitPolicy.fromConfig(config),
+                    logProvider);
             return new QueueTransactionAppender(queue);
         }
 
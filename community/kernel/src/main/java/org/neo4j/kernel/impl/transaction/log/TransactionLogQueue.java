@@ -55,6 +55,7 @@ public class TransactionLogQueue extends LifecycleAdapter {
     private final Panic databasePanic;
     private final MpscUnboundedXaddArrayQueue<TxQueueElement> txAppendQueue;
     private final JobScheduler jobScheduler;
+    private final GroupCommitPolicy groupCommitPolicy;
     private final InternalLog log;
     private TransactionWriter transactionWriter;
     private Thread logAppender;
@@ -66,12 +67,23 @@ public class TransactionLogQueue extends LifecycleAdapter {
             Panic databasePanic,
             JobScheduler jobScheduler,
             InternalLogProvider logProvider) {
+        this(logFiles, transactionIdStore, databasePanic, jobScheduler, GroupCommitPolicy.DISABLED, logProvider);
+    }
+
+    public TransactionLogQueue(
+            LogFiles logFiles,
+            TransactionIdStore transactionIdStore,
+            Panic databasePanic,
+            JobScheduler jobScheduler,
+            GroupCommitPolicy groupCommitPolicy,
+            InternalLogProvider logProvider) {
         this.logFiles = logFiles;
         this.logRotation = logFiles.getLogFile().getLogRotation();
         this.transactionIdStore = transactionIdStore;
         this.databasePanic = databasePanic;
         this.txAppendQueue = new MpscUnboundedXaddArrayQueue<>(INITIAL_CAPACITY);
         this.jobScheduler = jobScheduler;
+        this.groupCommitPolicy = groupCommitPolicy;
         this.stopped = true;
         this.log = logProvider.getLog(getClass());
     }
@@ -93,7 +105,13 @@ public class TransactionLogQueue extends LifecycleAdapter {
     @Override
     public synchronized void start() {
         transactionWriter = new TransactionWriter(
-                txAppendQueue, logFiles.getLogFile(), transactionIdStore, databasePanic, logRotation, log);
+                txAppendQueue,
+                logFiles.getLogFile(),
+                transactionIdStore,
+                databasePanic,
+                logRotation,
+                new GroupCommitWindow(groupCommitPolicy),
+                log);
         logAppender = jobScheduler.threadFactory(Group.LOG_WRITER).newThread(transactionWriter);
         logAppender.start();
         stopped = false;
@@ -164,6 +182,7 @@ public class TransactionLogQueue extends LifecycleAdapter {
         private final LogFile logFile;
         private final Panic databasePanic;
         private final LogRotation logRotation;
+        private final GroupCommitWindow groupCommitWindow;
         private final InternalLog log;
         private final int checksum;
         private volatile boolean stopped;
@@ -175,6 +194,7 @@ public class TransactionLogQueue extends LifecycleAdapter {
                 TransactionIdStore transactionIdStore,
                 Panic databasePanic,
                 LogRotation logRotation,
+                GroupCommitWindow groupCommitWindow,
                 InternalLog log) {
             this.txQueue = txQueue;
             this.transactionLogWriter = logFile.getTransactionLogWriter();
@@ -182,6 +202,7 @@ public class TransactionLogQueue extends LifecycleAdapter {
             this.checksum = transactionIdStore.getLastCommittedTransaction().checksum();
             this.databasePanic = databasePanic;
             this.logRotation = logRotation;
+            this.groupCommitWindow = groupCommitWindow;
             this.log = log;
             this.waitStrategy = new SpinParkCombineWaitingStrategy();
         }
@@ -197,12 +218,16 @@ public class TransactionLogQueue extends LifecycleAdapter {
                     if (drainedElements > 0) {
                         idleCounter = 0;
                         txConsumer.processBatch();
+                        long groupCommitWait = gatherGroupCommit(txConsumer);
 
-                        LogAppendEvent logAppendEvent = txConsumer.txElements[drainedElements - 1].logAppendEvent;
+                        LogAppendEvent logAppendEvent = txConsumer.lastElement().logAppendEvent;
+                        logAppendEvent.groupCommit(txConsumer.size(), groupCommitWait);
                         boolean logRotated = logRotation.locklessRotateLogIfNeeded(logAppendEvent);
                         logAppendEvent.setLogRotated(logRotated);
                         if (!logRotated) {
+                            long forceStart = System.nanoTime();
                             logFile.locklessForce(logAppendEvent);
+                            groupCommitWindow.forced(txConsumer.size(), System.nanoTime() - forceStart);
                         }
                         txConsumer.complete();
                     } else {
@@ -222,15 +247,47 @@ public class TransactionLogQueue extends LifecycleAdapter {
             }
         }
 
+        /**
+         * Keep appending newly queued transactions to the current batch, until the group commit window closes.
+         * Producers unpark the writer when they queue a transaction, so parking until the deadline does not delay
+         * the appending of transactions that arrive in the meantime.
+         *
+         * @return time spent waiting for the group commit, in nanoseconds.
+         */
+        private long gatherGroupCommit(TxConsumer txConsumer) throws IOException {
+            long delayNanos = groupCommitWindow.delayNanos();
+            if (delayNanos <= 0) {
+                return 0;
+            }
+            long start = System.nanoTime();
+            long deadline = start + delayNanos;
+            long now = start;
+            while (!stopped && !groupCommitWindow.isFull(txConsumer.size(), txConsumer.batchBytes())) {
+                int drainedElements = txQueue.drain(txConsumer, CONSUMER_MAX_BATCH - txConsumer.size());
+                if (drainedElements > 0) {
+                    txConsumer.processBatch();
+                }
+                now = System.nanoTime();
+                if (now >= deadline) {
+                    break;
+                }
+                if (drainedElements == 0) {
+                    parkNanos(deadline - now);
+                }
+            }
+            return now - start;
+        }
+
         private static class TxConsumer implements MessagePassingQueue.Consumer<TxQueueElement> {
             private final Panic databasePanic;
             private final TransactionLogWriter transactionLogWriter;
 
             private int checksum;
             private final TxQueueElement[] txElements = new TransactionLogQueue.TxQueueElement[CONSUMER_MAX_BATCH];
+            private final long[] txIds = new long[CONSUMER_MAX_BATCH];
             private int index;
-            private TxQueueElement[] elements;
-            private long[] txIds;
+            private int processed;
+            private long batchBytes;
 
             TxConsumer(Panic databasePanic, TransactionLogWriter transactionLogWriter, int checksum) {
                 this.databasePanic = databasePanic;
@@ -243,14 +300,14 @@ public class TransactionLogQueue extends LifecycleAdapter {
                 txElements[index++] = txQueueElement;
             }
 
+            /**
+             * Append all elements that were drained since the last call to the transaction log.
+             */
             private void processBatch() throws IOException {
                 databasePanic.assertNoPanic(IOException.class);
-                int drainedElements = index;
-                elements = new TxQueueElement[drainedElements];
-                txIds = new long[drainedElements];
-                for (int i = 0; i < drainedElements; i++) {
+                int drainedElements = index - processed;
+                for (int i = processed; i < index; i++) {
                     TxQueueElement txQueueElement = txElements[i];
-                    elements[i] = txQueueElement;
                     LogAppendEvent logAppendEvent = txQueueElement.logAppendEvent;
                     long lastTransactionId = TransactionIdStore.BASE_TX_ID;
                     try (var appendEvent = logAppendEvent.beginAppendTransaction(drainedElements)) {
@@ -267,6 +324,19 @@ public class TransactionLogQueue extends LifecycleAdapter {
                         throw new RuntimeException(e);
                     }
                 }
+                processed = index;
+            }
+
+            int size() {
+                return index;
+            }
+
+            long batchBytes() {
+                return batchBytes;
+            }
+
+            TxQueueElement lastElement() {
+                return txElements[index - 1];
             }
 
             private void appendToLog(
@@ -281,28 +351,33 @@ public class TransactionLogQueue extends LifecycleAdapter {
                         checksum,
                         commandBatchToApply.previousBatchLogPosition());
                 var logPositionAfterCommit = transactionLogWriter.getCurrentPosition();
+                long appendedBytes = logPositionAfterCommit.getByteOffset() - logPositionBeforeCommit.getByteOffset();
                 logAppendEvent.appendToLogFile(logPositionBeforeCommit, logPositionAfterCommit);
-                logAppendEvent.appendedBytes(
-                        logPositionAfterCommit.getByteOffset() - logPositionBeforeCommit.getByteOffset());
+                logAppendEvent.appendedBytes(appendedBytes);
+                batchBytes += appendedBytes;
                 commandBatchToApply.batchAppended(logPositionBeforeCommit, logPositionAfterCommit, checksum);
             }
 
             public void complete() {
                 TxQueueElement first = txElements[0];
-                first.elementsToNotify = elements;
-                first.txIds = txIds;
+                first.elementsToNotify = Arrays.copyOf(txElements, index);
+                first.txIds = Arrays.copyOf(txIds, index);
                 LockSupport.unpark(first.executor);
-
-                Arrays.fill(txElements, 0, index, null);
-                index = 0;
+                reset();
             }
 
             public void cancelBatch(Throwable t) {
                 for (int i = 0; i < index; i++) {
                     txElements[i].fail(t);
                 }
+                reset();
+            }
+
+            private void reset() {
                 Arrays.fill(txElements, 0, index, null);
                 index = 0;
+                processed = 0;
+                batchBytes = 0;
             }
         }
 
@@ -311,6 +386,49 @@ public class TransactionLogQueue extends LifecycleAdapter {
         }
     }
 
+    /**
+     * Decides how long the transaction writer waits for more transactions to join a batch, before it forces the log.
+     * <p>
+     * In adaptive mode the wait is kept below half of the average log force time, since waiting longer than a force
+     * takes can not pay off, and is skipped while batches stay at about one transaction, because then no other
+     * transaction is committing concurrently that could join the batch. Batches grow naturally as soon as transactions
+     * are committed concurrently, as they queue up while the log is forced.
+     */
+    static class GroupCommitWindow {
+        private static final double SMOOTHING = 0.125;
+        private static final double CONCURRENT_BATCH_SIZE = 1.5;
+
+        private final GroupCommitPolicy policy;
+        private double averageForceNanos;
+        private double averageBatchSize = 1;
+
+        GroupCommitWindow(GroupCommitPolicy policy) {
+            this.policy = policy;
+        }
+
+        long delayNanos() {
+            if (!policy.enabled()) {
+                return 0;
+            }
+            if (!policy.adaptive()) {
+                return policy.maxDelayNanos();
+            }
+            if (averageBatchSize < CONCURRENT_BATCH_SIZE) {
+                return 0;
+            }
+            return Math.min(policy.maxDelayNanos(), (long) (averageForceNanos / 2));
+        }
+
+        boolean isFull(int transactions, long bytes) {
+            return transactions >= Math.min(policy.maxTransactions(), CONSUMER_MAX_BATCH) || bytes >= policy.maxBytes();
+        }
+
+        void forced(int batchSize, long forceNanos) {
+            averageForceNanos += (forceNanos - averageForceNanos) * SMOOTHING;
+            averageBatchSize += (batchSize - averageBatchSize) * SMOOTHING;
+        }
+    }
+
     /**
      * Message wait strategy that will try to wait at first for number of times for new work by using Thread.onSpinWait, and fallback to parkNanos
      * if new work did not arrive.
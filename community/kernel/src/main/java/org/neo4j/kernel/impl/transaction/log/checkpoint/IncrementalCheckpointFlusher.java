@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import org.neo4j.function.Predicates;
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.TransactionId;
+import org.neo4j.storageengine.api.TransactionIdStore;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * Writes dirty pages out in the background between check points, so that a check point only has to flush and force
+ * the pages that were dirtied since the last background pass.
+ * <p>
+ * The pace is derived from how fast the transaction log grows: the currently dirty pages are spread over the estimated
+ * time left until the next check point, which is whichever comes first of the configured time interval and the
+ * configured volume of transaction logs between check points. Pages written by this flusher are not forced, that is
+ * still left to the check point.
+ */
+public class IncrementalCheckpointFlusher extends LifecycleAdapter {
+    // A stopped pass no longer paces its IOs, so it only has to finish writing out the file it is at.
+    private static final long STOP_TIMEOUT_MINUTES = 1;
+
+    private final PageCache pageCache;
+    private final TransactionIdStore transactionIdStore;
+    private final CheckPointer checkPointer;
+    private final JobScheduler scheduler;
+    private final SystemNanoClock clock;
+    private final PageCacheTracer pageCacheTracer;
+    private final InternalLog log;
+    private final String databaseName;
+    private final long checkpointIntervalNanos;
+    private final long checkpointIntervalBytes;
+    private final long logFileSize;
+    private final long recurringPeriodMillis;
+    private final PacingIOController pacer = new PacingIOController();
+
+    // Only accessed by the flushing job, which never runs concurrently with itself.
+    private TransactionId checkpointedTransaction;
+    private long checkpointNanos;
+    private LogPosition checkpointPosition;
+    private LogPosition lastPosition;
+    private long lastNanos;
+    private double logBytesPerSecond;
+
+    private volatile JobHandle<?> handle;
+    private volatile boolean stopped;
+    private volatile boolean flushing;
+    private final BooleanSupplier flushingCondition = () -> !flushing;
+
+    public IncrementalCheckpointFlusher(
+            PageCache pageCache,
+            TransactionIdStore transactionIdStore,
+            CheckPointer checkPointer,
+            JobScheduler scheduler,
+            SystemNanoClock clock,
+            PageCacheTracer pageCacheTracer,
+            InternalLogProvider logProvider,
+            String databaseName,
+            long checkpointIntervalMillis,
+            long checkpointIntervalBytes,
+            long logFileSize,
+            long recurringPeriodMillis) {
+        this.pageCache = pageCache;
+        this.transactionIdStore = transactionIdStore;
+        this.checkPointer = checkPointer;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.pageCacheTracer = pageCacheTracer;
+        this.log = logProvider.getLog(IncrementalCheckpointFlusher.class);
+        this.databaseName = databaseName;
+        this.checkpointIntervalNanos = MILLISECONDS.toNanos(checkpointIntervalMillis);
+        this.checkpointIntervalBytes = checkpointIntervalBytes;
+        this.logFileSize = logFileSize;
+        this.recurringPeriodMillis = recurringPeriodMillis;
+    }
+
+    @Override
+    public void start() {
+        schedule();
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        if (handle != null) {
+            handle.cancel();
+        }
+        try {
+            Predicates.await(flushingCondition, STOP_TIMEOUT_MINUTES, MINUTES, 10, MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Stopped waiting for the background flush of dirty pages to finish.", e);
+        }
+    }
+
+    private void schedule() {
+        handle = scheduler.schedule(
+                Group.CHECKPOINT,
+                systemJob(databaseName, "Incremental checkpoint flush"),
+                this::run,
+                recurringPeriodMillis,
+                MILLISECONDS);
+    }
+
+    private void run() {
+        try {
+            flushing = true;
+            if (stopped) {
+                return;
+            }
+            flushDirtyPages();
+        } catch (Throwable t) {
+            // The next check point flushes everything that we did not get to, so there is no need to make noise.
+            log.debug("Failed to flush dirty pages in the background, will try again later.", t);
+        } finally {
+            flushing = false;
+        }
+        if (!stopped) {
+            schedule();
+        }
+    }
+
+    /**
+     * Do one pass over all files with dirty pages, paced to be done with the currently dirty pages by the time
+     * the next check point is expected.
+     *
+     * @return the number of pages that were dirty when the pass started.
+     */
+    long flushDirtyPages() throws IOException {
+        long now = clock.nanos();
+        LogPosition position = transactionIdStore.getLastClosedTransaction().logPosition();
+        observeLogGrowth(now, position);
+
+        var files = pageCache.listExistingMappings();
+        long dirtyPages = 0;
+        for (PagedFile file : files) {
+            dirtyPages += file.dirtyPages();
+        }
+        if (dirtyPages == 0) {
+            return 0;
+        }
+
+        pacer.start(now, nanosUntilNextCheckpoint(now, position) / dirtyPages);
+        for (PagedFile file : files) {
+            if (stopped) {
+                break;
+            }
+            if (file.dirtyPages() > 0) {
+                try (FileFlushEvent flushEvent = pageCacheTracer.beginFileFlush()) {
+                    file.flush(flushEvent, pacer);
+                }
+            }
+        }
+        return dirtyPages;
+    }
+
+    private void observeLogGrowth(long now, LogPosition position) {
+        TransactionId checkpointed = checkPointer.latestCheckPointInfo().checkpointedTransactionId();
+        if (!Objects.equals(checkpointed, checkpointedTransaction)) {
+            // A check point happened since the last pass, so the next one is a full interval away from about now.
+            checkpointedTransaction = checkpointed;
+            checkpointNanos = now;
+            checkpointPosition = position;
+        }
+        if (lastPosition != null && now > lastNanos) {
+            double bytesPerSecond =
+                    bytesBetween(lastPosition, position) * (double) SECONDS.toNanos(1) / (now - lastNanos);
+            // Smooth out bursts, so that a single quiet or busy period does not swing the pace around too much.
+            logBytesPerSecond = logBytesPerSecond == 0 ? bytesPerSecond : (logBytesPerSecond + bytesPerSecond) / 2;
+        }
+        lastPosition = position;
+        lastNanos = now;
+    }
+
+    long nanosUntilNextCheckpoint(long now, LogPosition position) {
+        long remaining = checkpointIntervalNanos - (now - checkpointNanos);
+        if (logBytesPerSecond > 0) {
+            long remainingBytes = checkpointIntervalBytes - bytesBetween(checkpointPosition, position);
+            remaining = Math.min(remaining, (long) (remainingBytes / logBytesPerSecond * SECONDS.toNanos(1)));
+        }
+        // When a check point is imminent or overdue, flush what is dirty within one period.
+        return Math.max(remaining, MILLISECONDS.toNanos(recurringPeriodMillis));
+    }
+
+    private long bytesBetween(LogPosition from, LogPosition to) {
+        long files = Math.abs(to.getLogVersion() - from.getLogVersion());
+        long offset = to.getByteOffset() - from.getByteOffset();
+        return Math.abs(files * logFileSize + offset);
+    }
+
+    /**
+     * Spaces out the IOs of a background flush pass. IOs are treated as single pages, even though they may cover
+     * several merged pages, which errs on the side of flushing too fast rather than too slow.
+     */
+    private class PacingIOController implements IOController {
+        private long startNanos;
+        private long nanosPerIO;
+        private long completedIOs;
+
+        void start(long now, long nanosPerIO) {
+            this.startNanos = now;
+            this.nanosPerIO = nanosPerIO;
+            this.completedIOs = 0;
+        }
+
+        @Override
+        public void maybeLimitIO(int recentlyCompletedIOs, FileFlushEvent flushEvent) {
+            completedIOs += recentlyCompletedIOs;
+            long ahead = startNanos + completedIOs * nanosPerIO - clock.nanos();
+            if (ahead > 0 && !stopped) {
+                // Never sleep for longer than a period, to stay responsive to being stopped.
+                LockSupport.parkNanos(Math.min(ahead, MILLISECONDS.toNanos(recurringPeriodMillis)));
+            }
+        }
+
+        @Override
+        public void reportIO(int completedIOs) {}
+
+        @Override
+        public long configuredLimit() {
+            return -1;
+        }
+    }
+}
@@ -19,6 +19,7 @@
  */
 package org.neo4j.kernel.impl.transaction.log.files;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_log_mapped_reads;
 import static org.neo4j.configuration.GraphDatabaseSettings.transaction_log_buffer_size;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogFormat.writeLogHeader;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderReader.readLogHeader;
@@ -96,6 +97,7 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
     private final DatabaseHealth databaseHealth;
     private final LogFiles logFiles;
     private final String baseName;
+    private final boolean mappedReads;
     private final LogRotation logRotation;
 
     private volatile PhysicalLogVersionedStoreChannel channel;
@@ -126,6 +128,7 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
                 this, context.getClock(), databaseHealth, context.getMonitors().newMonitor(LogRotationMonitor.class));
         this.memoryTracker = context.getMemoryTracker();
         this.logger = context.getLogProvider().getLog(TransactionLogFile.class);
+        this.mappedReads = context.getConfig().get(transaction_log_mapped_reads);
     }
 
     @Override
@@ -312,9 +315,20 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
             throws IOException {
         PhysicalLogVersionedStoreChannel logChannel = openForVersion(position.getLogVersion(), raw);
         logChannel.position(position.getByteOffset());
+        if (mappedReads) {
+            return new ReadAheadLogChannel(logChannel, logVersionBridge, memoryTracker, raw, this::isSealed);
+        }
         return new ReadAheadLogChannel(logChannel, logVersionBridge, memoryTracker, raw);
     }
 
+    /**
+     * A log file is sealed once rotation away from it has completed, which includes truncating it to its end.
+     */
+    private boolean isSealed(long version) {
+        PhysicalLogVersionedStoreChannel current = channel;
+        return current != null && version < current.getLogVersion();
+    }
+
     @Override
     public void accept(LogFileVisitor visitor, LogPosition startingFromPosition) throws IOException {
         try (ReadableLogChannel reader = getReader(startingFromPosition)) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative values with buckets bounded by powers of two. Bucket {@code 0} counts the value zero and
+ * bucket {@code i > 0} counts the values in the range {@code [2^(i-1), 2^i)}. Cheap enough to be recorded into on every
+ * transaction log force.
+ */
+public final class PowerOfTwoHistogram {
+    public static final int BUCKETS = Long.SIZE;
+
+    /**
+     * Shared histogram that ignores recorded values and so stays empty, for tracers that do not record anything.
+     */
+    public static final PowerOfTwoHistogram EMPTY = new PowerOfTwoHistogram(false);
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+    private final boolean recording;
+
+    public PowerOfTwoHistogram() {
+        this(true);
+    }
+
+    private PowerOfTwoHistogram(boolean recording) {
+        this.recording = recording;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        if (!recording) {
+            return;
+        }
+        long sanitized = Math.max(value, 0);
+        buckets[bucket(sanitized)].increment();
+        sum.add(sanitized);
+    }
+
+    /**
+     * @return number of recorded values in the given bucket.
+     */
+    public long count(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    /**
+     * @return total number of recorded values.
+     */
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @return sum of all recorded values.
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return the smallest bucket upper bound that at least the given fraction of recorded values are below, or zero
+     * if nothing has been recorded.
+     */
+    public long percentile(double fraction) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i].sum();
+            if (seen >= threshold && seen > 0) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * @return the exclusive upper bound of the values counted by the given bucket.
+     */
+    public static long upperBound(int bucket) {
+        return bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    static int bucket(long value) {
+        return Long.SIZE - Long.numberOfLeadingZeros(value);
+    }
+}
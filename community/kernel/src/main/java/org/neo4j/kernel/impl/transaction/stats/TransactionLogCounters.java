@@ -70,4 +70,17 @@ public interface TransactionLogCounters {
      * Total number of rolled back batched transactions
      */
     long rolledbackBatchedTransactions();
+
+    /**
+     * Histogram of the number of transactions that were forced to the transaction log together, by one log force
+     * @return group commit batch size histogram
+     */
+    PowerOfTwoHistogram groupCommitBatchSizes();
+
+    /**
+     * Histogram of the time in microseconds the transaction log writer waited for more transactions to join a group
+     * commit, before it forced the transaction log
+     * @return group commit wait time histogram
+     */
+    PowerOfTwoHistogram groupCommitWaitMicros();
 }
@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.transaction.tracing;
 
 import java.nio.file.Path;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.transaction.stats.PowerOfTwoHistogram;
 
 public interface DatabaseTracer extends TransactionTracer, CheckPointTracer {
     DatabaseTracer NULL = new DatabaseTracer() {
@@ -144,6 +145,16 @@ public interface DatabaseTracer extends TransactionTracer, CheckPointTracer {
         public long rolledbackBatchedTransactions() {
             return 0;
         }
+
+        @Override
+        public PowerOfTwoHistogram groupCommitBatchSizes() {
+            return PowerOfTwoHistogram.EMPTY;
+        }
+
+        @Override
+        public PowerOfTwoHistogram groupCommitWaitMicros() {
+            return PowerOfTwoHistogram.EMPTY;
+        }
     };
 
     LogFileCreateEvent createLogFile();
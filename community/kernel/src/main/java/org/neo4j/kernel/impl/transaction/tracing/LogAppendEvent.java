@@ -59,6 +59,13 @@ public interface LogAppendEvent extends LogForceEvents, LogRotateEvents, AutoClo
      */
     AppendTransactionEvent beginAppendTransaction(int appendItems);
 
+    /**
+     * Notify that a batch of transactions is about to be forced to the transaction log together.
+     * @param transactions number of transactions in the batch
+     * @param waitNanos time spent waiting for more transactions to join the batch, after the first ones were appended
+     */
+    void groupCommit(int transactions, long waitNanos);
+
     class Empty implements LogAppendEvent {
         @Override
         public void appendToLogFile(LogPosition logPositionBeforeAppend, LogPosition logPositionAfterAppend) {}
@@ -82,6 +89,9 @@ public interface LogAppendEvent extends LogForceEvents, LogRotateEvents, AutoClo
             return AppendTransactionEvent.NULL;
         }
 
+        @Override
+        public void groupCommit(int transactions, long waitNanos) {}
+
         @Override
         public LogForceWaitEvent beginLogForceWait() {
             return LogForceWaitEvent.NULL;
@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.transaction.tracing;
 
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.transaction.stats.PowerOfTwoHistogram;
 import org.neo4j.kernel.impl.transaction.stats.TransactionLogCounters;
 
 /**
@@ -84,6 +85,16 @@ public interface TransactionTracer extends TransactionLogCounters {
         public long rolledbackBatchedTransactions() {
             return 0;
         }
+
+        @Override
+        public PowerOfTwoHistogram groupCommitBatchSizes() {
+            return PowerOfTwoHistogram.EMPTY;
+        }
+
+        @Override
+        public PowerOfTwoHistogram groupCommitWaitMicros() {
+            return PowerOfTwoHistogram.EMPTY;
+        }
     };
 
     /**
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import static org.neo4j.memory.HeapEstimator.SCOPED_MEMORY_TRACKER_SHALLOW_SIZE;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfObjectArray;
+import static org.neo4j.util.Preconditions.checkArgument;
+import static org.neo4j.util.Preconditions.requirePositive;
+
+import java.util.Arrays;
+import org.neo4j.internal.kernel.api.DefaultCloseListenable;
+import org.neo4j.io.ByteUnit;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.util.VisibleForTesting;
+
+/**
+ * Off heap multimap from keys of one or more longs to rows of a fixed number of longs, such as the node ids of a hash
+ * join.
+ * <p>
+ * Rows are appended to pages of contiguous memory. Every row links to the previous row with the same key hash, and
+ * a {@link LinearProbeLongLongHashMap} maps every key hash to its last row. A single long key is its own hash, so it is
+ * only stored in the map, while longer keys are stored with each row and compared on lookup.
+ * <ul>
+ * <li>It is <b>not thread-safe</b>
+ * <li>It has to be closed to prevent native memory leakage
+ * <li>Rows with the same key are returned in reverse insertion order
+ * </ul>
+ */
+public class OffHeapLongProbeTable extends DefaultCloseListenable {
+    /**
+     * Returned by lookups when there are no more rows for a key.
+     */
+    public static final long NO_ROW = -1;
+
+    @VisibleForTesting
+    static final long PAGE_SIZE = ByteUnit.kibiBytes(256);
+
+    private static final long SHALLOW_SIZE = shallowSizeOfInstance(OffHeapLongProbeTable.class);
+    private static final int INITIAL_PAGES = 8;
+
+    private final MemoryAllocator allocator;
+    private final MemoryTracker scopedMemoryTracker;
+    private final int keyWidth;
+    private final int valueWidth;
+    private final int storedKeyWidth;
+    private final long rowSize;
+    private final long pageSize;
+    private final long rowsPerPage;
+
+    private LinearProbeLongLongHashMap lastRows;
+    private Memory[] pages;
+    private long rows;
+
+    /**
+     * @param keyWidth number of longs of each key
+     * @param valueWidth number of longs of each row
+     */
+    public static OffHeapLongProbeTable createOffHeapLongProbeTable(
+            OffHeapBlockAllocator blockAllocator, int keyWidth, int valueWidth, MemoryTracker memoryTracker) {
+        MemoryTracker scopedMemoryTracker = memoryTracker.getScopedMemoryTracker();
+        scopedMemoryTracker.allocateHeap(SHALLOW_SIZE + SCOPED_MEMORY_TRACKER_SHALLOW_SIZE);
+        return new OffHeapLongProbeTable(
+                new OffHeapMemoryAllocator(blockAllocator), keyWidth, valueWidth, scopedMemoryTracker);
+    }
+
+    private OffHeapLongProbeTable(
+            MemoryAllocator allocator, int keyWidth, int valueWidth, MemoryTracker scopedMemoryTracker) {
+        requirePositive(keyWidth);
+        checkArgument(valueWidth >= 0, "Value width must not be negative, was %d", valueWidth);
+        this.allocator = allocator;
+        this.scopedMemoryTracker = scopedMemoryTracker;
+        this.keyWidth = keyWidth;
+        this.valueWidth = valueWidth;
+        this.storedKeyWidth = keyWidth == 1 ? 0 : keyWidth;
+        // previous row, key and value
+        this.rowSize = (1L + storedKeyWidth + valueWidth) * Long.BYTES;
+        this.pageSize = Math.max(PAGE_SIZE, rowSize);
+        this.rowsPerPage = pageSize / rowSize;
+        this.lastRows = new LinearProbeLongLongHashMap(allocator, scopedMemoryTracker);
+        this.pages = new Memory[INITIAL_PAGES];
+        scopedMemoryTracker.allocateHeap(shallowSizeOfObjectArray(INITIAL_PAGES));
+    }
+
+    public void put(long[] key, long[] value) {
+        final long hash = hash(key);
+        final long row = rows;
+        final Memory page = pageForNewRow(row);
+        final long offset = offsetOf(row);
+        page.writeLong(offset, lastRows.getIfAbsent(hash, NO_ROW));
+        for (int i = 0; i < storedKeyWidth; i++) {
+            page.writeLong(offset + (1L + i) * Long.BYTES, key[i]);
+        }
+        for (int i = 0; i < valueWidth; i++) {
+            page.writeLong(offset + (1L + storedKeyWidth + i) * Long.BYTES, value[i]);
+        }
+        lastRows.put(hash, row);
+        rows++;
+    }
+
+    /**
+     * @return the last row that was put with the key, or {@link #NO_ROW} if there is none
+     */
+    public long first(long[] key) {
+        return matching(lastRows.getIfAbsent(hash(key), NO_ROW), key);
+    }
+
+    /**
+     * @return the row with the key that was put before the given row, or {@link #NO_ROW} if there is none
+     */
+    public long next(long row, long[] key) {
+        return matching(previous(row), key);
+    }
+
+    public long getValue(long row, int index) {
+        return pageOf(row).readLong(offsetOf(row) + (1L + storedKeyWidth + index) * Long.BYTES);
+    }
+
+    public int valueWidth() {
+        return valueWidth;
+    }
+
+    public long size() {
+        return rows;
+    }
+
+    public boolean isEmpty() {
+        return rows == 0;
+    }
+
+    @Override
+    public void closeInternal() {
+        if (lastRows != null) {
+            lastRows.close();
+            lastRows = null;
+            for (Memory page : pages) {
+                if (page != null) {
+                    page.free(scopedMemoryTracker);
+                }
+            }
+            pages = null;
+            scopedMemoryTracker.close();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return lastRows == null;
+    }
+
+    private long hash(long[] key) {
+        if (keyWidth == 1) {
+            return key[0];
+        }
+        long hash = key[0];
+        for (int i = 1; i < keyWidth; i++) {
+            hash = 31 * hash + key[i];
+        }
+        return hash;
+    }
+
+    private long matching(long row, long[] key) {
+        if (storedKeyWidth == 0) {
+            return row;
+        }
+        while (row != NO_ROW && !keyEquals(row, key)) {
+            row = previous(row);
+        }
+        return row;
+    }
+
+    private boolean keyEquals(long row, long[] key) {
+        final Memory page = pageOf(row);
+        final long offset = offsetOf(row);
+        for (int i = 0; i < storedKeyWidth; i++) {
+            if (page.readLong(offset + (1L + i) * Long.BYTES) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long previous(long row) {
+        return pageOf(row).readLong(offsetOf(row));
+    }
+
+    private Memory pageForNewRow(long row) {
+        final int index = Math.toIntExact(row / rowsPerPage);
+        if (index == pages.length) {
+            final int length = pages.length * 2;
+            scopedMemoryTracker.allocateHeap(shallowSizeOfObjectArray(length));
+            scopedMemoryTracker.releaseHeap(shallowSizeOfObjectArray(pages.length));
+            pages = Arrays.copyOf(pages, length);
+        }
+        if (pages[index] == null) {
+            pages[index] = allocator.allocate(pageSize, false, scopedMemoryTracker);
+        }
+        return pages[index];
+    }
+
+    private Memory pageOf(long row) {
+        return pages[(int) (row / rowsPerPage)];
+    }
+
+    private long offsetOf(long row) {
+        return (row % rowsPerPage) * rowSize;
+    }
+}
@@ -28,7 +28,9 @@ import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.version.DefaultVersionStorageTracer;
 import org.neo4j.io.pagecache.tracing.version.VersionStorageTracer;
 import org.neo4j.kernel.impl.api.tracer.DefaultTracer;
+import org.neo4j.kernel.impl.api.tracer.LockWaitHistogramTracer;
 import org.neo4j.kernel.impl.transaction.tracing.DatabaseTracer;
+import org.neo4j.lock.LockTracer;
 import org.neo4j.logging.InternalLog;
 import org.neo4j.monitoring.Monitors;
 import org.neo4j.scheduler.JobScheduler;
@@ -55,6 +57,11 @@ public class DefaultTracerFactory implements TracerFactory {
         return new DefaultTracer(pageCacheTracer);
     }
 
+    @Override
+    public LockTracer createLockTracer(Clock clock) {
+        return new LockWaitHistogramTracer();
+    }
+
     @Override
     public VersionStorageTracer createVersionStorageTracer(PageCacheTracer pageCacheTracer, InternalLog log) {
         return new DefaultVersionStorageTracer(pageCacheTracer);
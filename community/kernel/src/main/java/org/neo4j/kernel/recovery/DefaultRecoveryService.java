@@ -50,6 +50,7 @@ import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.kernel.impl.transaction.log.files.checkpoint.CheckpointFile;
 import org.neo4j.logging.InternalLog;
 import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.LogVersionRepository;
 import org.neo4j.storageengine.api.StorageEngine;
 import org.neo4j.storageengine.api.TransactionApplicationMode;
@@ -66,6 +67,9 @@ public class DefaultRecoveryService implements RecoveryService {
     private final InternalLog log;
     private final Clock clock;
     private final boolean doParallelRecovery;
+    private final int recoveryAppliers;
+    private final int readAheadTransactions;
+    private final JobScheduler scheduler;
     private final BinarySupportedKernelVersions binarySupportedKernelVersions;
     private final CursorContextFactory contextFactory;
 
@@ -80,6 +84,9 @@ public class DefaultRecoveryService implements RecoveryService {
             InternalLog log,
             Clock clock,
             boolean doParallelRecovery,
+            int recoveryAppliers,
+            int readAheadTransactions,
+            JobScheduler scheduler,
             BinarySupportedKernelVersions binarySupportedKernelVersions,
             CursorContextFactory contextFactory) {
         this.storageEngine = storageEngine;
@@ -91,6 +98,9 @@ public class DefaultRecoveryService implements RecoveryService {
         this.log = log;
         this.clock = clock;
         this.doParallelRecovery = doParallelRecovery;
+        this.recoveryAppliers = recoveryAppliers;
+        this.readAheadTransactions = readAheadTransactions;
+        this.scheduler = scheduler;
         this.binarySupportedKernelVersions = binarySupportedKernelVersions;
         this.contextFactory = contextFactory;
         this.recoveryStartInformationProvider = new RecoveryStartInformationProvider(logFiles, monitor);
@@ -105,7 +115,9 @@ public class DefaultRecoveryService implements RecoveryService {
     public RecoveryApplier getRecoveryApplier(
             TransactionApplicationMode mode, CursorContextFactory contextFactory, String tracerTag) {
         if (doParallelRecovery) {
-            return new ParallelRecoveryVisitor(storageEngine, mode, contextFactory, tracerTag);
+            return recoveryAppliers > 0
+                    ? new ParallelRecoveryVisitor(storageEngine, mode, contextFactory, tracerTag, recoveryAppliers)
+                    : new ParallelRecoveryVisitor(storageEngine, mode, contextFactory, tracerTag);
         }
         return new RecoveryVisitor(storageEngine, mode, contextFactory, tracerTag);
     }
@@ -144,7 +156,12 @@ public class DefaultRecoveryService implements RecoveryService {
 
     @Override
     public CommandBatchCursor getCommandBatches(LogPosition position) throws IOException {
-        return logicalTransactionStore.getCommandBatches(position);
+        CommandBatchCursor commandBatches = logicalTransactionStore.getCommandBatches(position);
+        if (doParallelRecovery && readAheadTransactions > 0) {
+            // Decoding the log on its own thread keeps the parallel appliers busy
+            return new ReadAheadCommandBatchCursor(commandBatches, readAheadTransactions, scheduler);
+        }
+        return commandBatches;
     }
 
     @Override
@@ -48,6 +48,7 @@ final class ParallelRecoveryVisitor implements RecoveryApplier {
     private final String tracerTag;
     private final ExecutorService appliers;
     private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong pendingApplies = new AtomicLong();
     private final int stride;
 
     ParallelRecoveryVisitor(
@@ -91,30 +92,62 @@ final class ParallelRecoveryVisitor implements RecoveryApplier {
         // before acquiring the locks
         prevLockedTxId.compareAndSet(-1, commandBatch.txId() - stride);
 
+        if (storageEngine.isRecoveryBarrier(commandBatch.commandBatch())) {
+            applyInIsolation(commandBatch);
+            return false;
+        }
+
         // TODO Also consider the memory usage of all active commandBatch instances and apply back-pressure if
         // surpassing it
+        pendingApplies.incrementAndGet();
         appliers.submit(() -> {
-            long txId = commandBatch.txId();
-            while (prevLockedTxId.get() != txId - stride) {
-                Thread.onSpinWait();
-                checkFailure();
-            }
-            try (LockGroup locks = new LockGroup()) {
-                storageEngine.lockRecoveryCommands(commandBatch.commandBatch(), lockService, locks, mode);
-                boolean myTurn = prevLockedTxId.compareAndSet(txId - stride, txId);
-                checkState(
-                        myTurn,
-                        "Something wrong with the algorithm, I thought it was my turn, but apparently it wasn't %d",
-                        txId);
-                apply(commandBatch);
-            } catch (Throwable e) {
-                failure.compareAndSet(null, e);
+            try {
+                lockAndApply(commandBatch);
+            } finally {
+                pendingApplies.decrementAndGet();
             }
             return null;
         });
         return false;
     }
 
+    private void lockAndApply(CommittedCommandBatch commandBatch) throws Exception {
+        long txId = commandBatch.txId();
+        while (prevLockedTxId.get() != txId - stride) {
+            Thread.onSpinWait();
+            checkFailure();
+        }
+        try (LockGroup locks = new LockGroup()) {
+            storageEngine.lockRecoveryCommands(commandBatch.commandBatch(), lockService, locks, mode);
+            boolean myTurn = prevLockedTxId.compareAndSet(txId - stride, txId);
+            checkState(
+                    myTurn,
+                    "Something wrong with the algorithm, I thought it was my turn, but apparently it wasn't %d",
+                    txId);
+            apply(commandBatch);
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Applies the given command batch on the calling thread once all previously visited command batches have been
+     * applied. Since visiting is sequential, no later command batch is submitted before this one has been applied.
+     */
+    private void applyInIsolation(CommittedCommandBatch commandBatch) throws Exception {
+        while (pendingApplies.get() > 0) {
+            Thread.onSpinWait();
+            checkFailure();
+        }
+        long txId = commandBatch.txId();
+        boolean myTurn = prevLockedTxId.compareAndSet(txId - stride, txId);
+        checkState(
+                myTurn,
+                "Something wrong with the algorithm, all earlier transactions should have been applied before %d",
+                txId);
+        apply(commandBatch);
+    }
+
     private void checkFailure() throws Exception {
         Throwable failure = this.failure.get();
         if (failure != null) {
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.neo4j.internal.helpers.Exceptions;
+import org.neo4j.kernel.impl.transaction.CommittedCommandBatch;
+import org.neo4j.kernel.impl.transaction.log.CommandBatchCursor;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
+
+/**
+ * {@link CommandBatchCursor} that reads and decodes command batches of another cursor in a {@link Group#FILE_IO_HELPER} job, ahead of
+ * them being consumed. Reading the transaction log is otherwise done by the same thread that dispatches the command
+ * batches to the appliers of parallel recovery, which then easily becomes the bottleneck of recovery.
+ * <p>
+ * Failures to read are reported by {@link #next()} in the order they occurred, after all command batches that were
+ * read before the failure.
+ */
+final class ReadAheadCommandBatchCursor implements CommandBatchCursor {
+    private static final long OFFER_TIMEOUT_MILLIS = 10;
+
+    private final CommandBatchCursor source;
+    private final BlockingQueue<Entry> queue;
+    private final JobHandle<?> reader;
+    private volatile boolean closed;
+    private Entry current;
+    private boolean exhausted;
+
+    ReadAheadCommandBatchCursor(CommandBatchCursor source, int capacity, JobScheduler scheduler) {
+        this.source = source;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.current = new Entry(null, source.position(), null);
+        this.reader = scheduler.schedule(
+                Group.FILE_IO_HELPER,
+                JobMonitoringParams.systemJob("Read ahead of the transaction log for recovery"),
+                this::readAhead);
+    }
+
+    private void readAhead() {
+        try {
+            while (source.next()) {
+                if (!offer(new Entry(source.get(), source.position(), null))) {
+                    return;
+                }
+            }
+            offer(new Entry(null, source.position(), null));
+        } catch (Throwable t) {
+            offer(new Entry(null, null, t));
+        }
+    }
+
+    private boolean offer(Entry entry) {
+        try {
+            while (!closed) {
+                if (queue.offer(entry, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        if (exhausted) {
+            return false;
+        }
+        Entry entry;
+        try {
+            entry = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the transaction log to be read");
+        }
+        if (entry.failure != null) {
+            exhausted = true;
+            Exceptions.throwIfInstanceOfOrUnchecked(entry.failure, IOException.class, IOException::new);
+        }
+        current = entry;
+        if (entry.batch == null) {
+            exhausted = true;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public CommittedCommandBatch get() {
+        return current.batch;
+    }
+
+    @Override
+    public LogPosition position() {
+        return current.position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        queue.clear();
+        try {
+            reader.waitTermination();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            source.close();
+        }
+    }
+
+    private record Entry(CommittedCommandBatch batch, LogPosition position, Throwable failure) {}
+}
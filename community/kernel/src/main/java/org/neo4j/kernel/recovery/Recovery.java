@@ -681,6 +681,8 @@ public final class Recovery {
         schemaLife.add(indexingService);
 
         var doParallelRecovery = config.get(GraphDatabaseInternalSettings.do_parallel_recovery);
+        var recoveryAppliers = config.get(GraphDatabaseInternalSettings.recovery_parallelism);
+        var readAheadTransactions = config.get(GraphDatabaseInternalSettings.recovery_read_ahead_transactions);
         TransactionLogsRecovery transactionLogsRecovery = transactionLogRecovery(
                 fs,
                 metadataProvider,
@@ -699,6 +701,9 @@ public final class Recovery {
                 memoryTracker,
                 clock,
                 doParallelRecovery,
+                recoveryAppliers,
+                readAheadTransactions,
+                scheduler,
                 recoveryPredicate,
                 cursorContextFactory,
                 mode,
@@ -835,6 +840,9 @@ public final class Recovery {
             MemoryTracker memoryTracker,
             Clock clock,
             boolean doParallelRecovery,
+            int recoveryAppliers,
+            int readAheadTransactions,
+            JobScheduler scheduler,
             RecoveryPredicate recoveryPredicate,
             CursorContextFactory contextFactory,
             RecoveryMode mode,
@@ -850,6 +858,9 @@ public final class Recovery {
                 log,
                 clock,
                 doParallelRecovery,
+                recoveryAppliers,
+                readAheadTransactions,
+                scheduler,
                 binarySupportedKernelVersions,
                 contextFactory);
         CorruptedLogsTruncator logsTruncator = new CorruptedLogsTruncator(
@@ -77,10 +77,27 @@ public class ForsetiClient implements LockManager.Client {
     private static final long MULTIPLY_UNTIL_ITERATION = MAX_SPINS + 2;
     private static final int NO_CLIENT_ID = -1;
     private static final int NO_DEADLOCK_DEPTH = -1;
+    private static final int MAX_SPINS_BEFORE_QUEUEING = 100;
+    private static final long MAX_QUEUED_PARK_NANOS = MILLISECONDS.toNanos(10);
 
     /** resourceType -> lock map. These are the global lock maps, shared across all clients. */
     private final ConcurrentMap<Long, ForsetiLockManager.Lock>[] lockMaps;
 
+    /** Queues to wait in for contended locks, shared across all clients, or {@code null} if disabled. */
+    private final LockWaitQueues waitQueues;
+
+    /**
+     * The resource whose wait queue this client is in, if any. Only accessed by the thread acquiring locks, which
+     * leaves the queue as soon as it gets the lock or gives up on it.
+     */
+    private ResourceType queuedResourceType;
+
+    private long queuedResourceId;
+    private boolean queuedFirst;
+
+    /** Whether this client holds the update lock of a shared lock and waits for the other holders to release it. */
+    private boolean upgradingToExclusive;
+
     /**
      * The client uses this to track which locks it holds. It is solely an optimization to ensure we don't need to
      * coordinate if we grab the same lock multiple times.
@@ -148,10 +165,12 @@ public class ForsetiClient implements LockManager.Client {
 
     public ForsetiClient(
             ConcurrentMap<Long, ForsetiLockManager.Lock>[] lockMaps,
+            LockWaitQueues waitQueues,
             SystemNanoClock clock,
             boolean verboseDeadlocks,
             long clientId) {
         this.lockMaps = lockMaps;
+        this.waitQueues = waitQueues;
         this.sharedLockCounts = new HeapTrackingLongIntHashMap[lockMaps.length];
         this.exclusiveLockCounts = new HeapTrackingLongIntHashMap[lockMaps.length];
         this.clock = clock;
@@ -217,8 +236,12 @@ public class ForsetiClient implements LockManager.Client {
                     // Check if there is a lock for this entity in the map
                     ForsetiLockManager.Lock existingLock = lockMap.get(resourceId);
 
+                    if (queuedClientsGoFirst(resourceType, resourceId)) {
+                        // Clients that queued up for this lock before us get it first
+                    }
+
                     // No lock
-                    if (existingLock == null) {
+                    else if (existingLock == null) {
                         // Try to create a new shared lock
                         if (mySharedLock == null) {
                             mySharedLock = new SharedLock(this);
@@ -248,9 +271,15 @@ public class ForsetiClient implements LockManager.Client {
                     if (waitEvent == null) {
                         waitEvent = tracer.waitForLock(SHARED, resourceType, transactionId, resourceId);
                     }
-                    // And take note of who we are waiting for. This is used for deadlock detection.
-                    waitFor(existingLock, resourceType, resourceId, SHARED, tries++);
+                    if (existingLock == null) {
+                        backoffWait(resourceType, resourceId, tries++);
+                    } else {
+                        // And take note of who we are waiting for. This is used for deadlock detection.
+                        waitFor(existingLock, resourceType, resourceId, SHARED, tries++);
+                    }
                 }
+                // Other shared waiters queued up behind us may be able to get in on this lock too
+                leaveWaitQueue(true);
 
                 // Make a local note about the fact that we now hold this lock
                 activeLockCount.incrementAndGet();
@@ -274,6 +303,8 @@ public class ForsetiClient implements LockManager.Client {
     }
 
     private void clearWaitState() {
+        // We may have been woken up as the first waiter and then given up, so let the next waiter have a go
+        leaveWaitQueue(true);
         clearWaitList();
         waitingForLock = null;
         waitingForResourceId = -1;
@@ -323,10 +354,18 @@ public class ForsetiClient implements LockManager.Client {
                 int tries = 0;
                 long waitStartNano = clock.nanos();
                 boolean upgraded = false;
-                while ((existingLock = lockMap.putIfAbsent(resourceId, myExclusiveLock)) != null) {
+                // Upgrading our own shared lock can't wait for queued clients, since they wait for us to release it
+                boolean holdsSharedLock = getSharedLockCount(resourceType).containsKey(resourceId);
+                while (true) {
+                    boolean mayTakeLock = holdsSharedLock || !queuedClientsGoFirst(resourceType, resourceId);
+                    existingLock =
+                            mayTakeLock ? lockMap.putIfAbsent(resourceId, myExclusiveLock) : lockMap.get(resourceId);
+                    if (mayTakeLock && existingLock == null) {
+                        break;
+                    }
                     assertValid(waitStartNano, resourceType, resourceId);
 
-                    if (existingLock instanceof SharedLock sharedLock) {
+                    if (mayTakeLock && existingLock instanceof SharedLock sharedLock) {
                         // Then we should upgrade that lock
                         if (tryUpgradeSharedToExclusive(
                                 tracer, waitEvent, resourceType, lockMap, resourceId, sharedLock, waitStartNano)) {
@@ -338,8 +377,13 @@ public class ForsetiClient implements LockManager.Client {
                     if (waitEvent == null) {
                         waitEvent = tracer.waitForLock(EXCLUSIVE, resourceType, transactionId, resourceId);
                     }
-                    waitFor(existingLock, resourceType, resourceId, EXCLUSIVE, tries++);
+                    if (existingLock == null) {
+                        backoffWait(resourceType, resourceId, tries++);
+                    } else {
+                        waitFor(existingLock, resourceType, resourceId, EXCLUSIVE, tries++);
+                    }
                 }
+                leaveWaitQueue(false);
 
                 if (upgraded) {
                     // return this memory in case of upgrade as shared lock already tracks it
@@ -386,6 +430,7 @@ public class ForsetiClient implements LockManager.Client {
                             return true;
                         } else {
                             sharedLock.releaseUpdateLock();
+                            wakeWaiters(resourceType, resourceId);
                             memoryTracker.releaseHeap(CONCURRENT_NODE_SIZE);
                             return false;
                         }
@@ -479,7 +524,7 @@ public class ForsetiClient implements LockManager.Client {
                 }
                 // Only release if we were not holding an exclusive lock as well
                 if (!exclusiveLocks.containsKey(resourceId)) {
-                    releaseGlobalLock(resourceTypeLocks, resourceId);
+                    releaseGlobalLock(resourceType, resourceTypeLocks, resourceId);
                 }
             }
         } finally {
@@ -515,9 +560,10 @@ public class ForsetiClient implements LockManager.Client {
                         SharedLock sharedLock = new SharedLock(this);
                         resourceTypeLocks.put(resourceId, sharedLock);
                     }
+                    wakeWaiters(resourceType, resourceId);
                 } else {
                     // we do not hold shared lock so we just releasing it
-                    releaseGlobalLock(resourceTypeLocks, resourceId);
+                    releaseGlobalLock(resourceType, resourceTypeLocks, resourceId);
                 }
             }
         } finally {
@@ -535,14 +581,16 @@ public class ForsetiClient implements LockManager.Client {
             // and so releasing exclusive locks means we can "throw away" our shared lock (which would normally have
             // been re-instated after releasing the exclusive lock).
             if (exclusiveLocks != null) {
-                exclusiveLocks.forEachKey(releaseExclusiveAndClearSharedVisitor.initialize(sharedLocks, lockMaps[i]));
+                exclusiveLocks.forEachKey(releaseExclusiveAndClearSharedVisitor.initialize(
+                        ResourceType.fromId(i), sharedLocks, lockMaps[i]));
                 exclusiveLockCounts[i] = null;
                 exclusiveLocks.close();
             }
 
             // Then release all remaining shared locks
             if (sharedLocks != null) {
-                sharedLocks.forEachKey(releaseSharedDontCheckExclusiveVisitor.initialize(lockMaps[i]));
+                sharedLocks.forEachKey(
+                        releaseSharedDontCheckExclusiveVisitor.initialize(ResourceType.fromId(i), lockMaps[i]));
                 sharedLockCounts[i] = null;
                 sharedLocks.close();
             }
@@ -687,7 +735,8 @@ public class ForsetiClient implements LockManager.Client {
     }
 
     /** Release a lock from the global pool. */
-    private void releaseGlobalLock(ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap, long resourceId) {
+    private void releaseGlobalLock(
+            ResourceType resourceType, ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap, long resourceId) {
         ForsetiLockManager.Lock lock = lockMap.get(resourceId);
         if (lock instanceof ExclusiveLock) {
             lockMap.remove(resourceId);
@@ -698,6 +747,30 @@ public class ForsetiClient implements LockManager.Client {
             memoryTracker.releaseHeap(CONCURRENT_NODE_SIZE);
         }
         activeLockCount.decrementAndGet();
+        wakeWaiters(resourceType, resourceId);
+    }
+
+    /** Wake up the first client waiting in the queue of a lock that was just released, or downgraded. */
+    private void wakeWaiters(ResourceType resourceType, long resourceId) {
+        if (waitQueues != null) {
+            waitQueues.wakeFirst(resourceType, resourceId);
+        }
+    }
+
+    /**
+     * Whether clients that queued up for a lock before us should get it first. Without this, a client that wakes up
+     * first in the queue would compete for the lock with clients that are still spinning on it, and could lose it to
+     * any of them.
+     */
+    private boolean queuedClientsGoFirst(ResourceType resourceType, long resourceId) {
+        return waitQueues != null && !waitQueues.isNextInLine(resourceType, resourceId);
+    }
+
+    private void leaveWaitQueue(boolean wakeNext) {
+        if (queuedResourceType != null) {
+            waitQueues.dequeue(queuedResourceType, queuedResourceId, wakeNext);
+            queuedResourceType = null;
+        }
     }
 
     /** Release a lock locally, and return true if we still hold more references to that lock. */
@@ -742,11 +815,11 @@ public class ForsetiClient implements LockManager.Client {
                         tracer, waitEvent, resourceType, resourceId, sharedLock, tries, waitStartNano)) {
                     return true;
                 } else {
-                    releaseGlobalLock(lockMap, resourceId);
+                    releaseGlobalLock(resourceType, lockMap, resourceId);
                     return false;
                 }
             } catch (Throwable e) {
-                releaseGlobalLock(lockMap, resourceId);
+                releaseGlobalLock(resourceType, lockMap, resourceId);
                 throw e;
             }
         } else {
@@ -767,6 +840,7 @@ public class ForsetiClient implements LockManager.Client {
             long waitStartNano) {
         if (sharedLock.tryAcquireUpdateLock()) {
             LockWaitEvent waitEvent = null;
+            upgradingToExclusive = true;
             try {
                 // Now we just wait for all clients to release the shared lock
                 while (sharedLock.numberOfHolders() > 1) {
@@ -780,6 +854,7 @@ public class ForsetiClient implements LockManager.Client {
                 return true;
             } catch (Throwable e) {
                 sharedLock.releaseUpdateLock();
+                wakeWaiters(resourceType, resourceId);
                 if (e instanceof DeadlockDetectedException || e instanceof LockClientStoppedException) {
                     throw (RuntimeException) e;
                 }
@@ -787,6 +862,7 @@ public class ForsetiClient implements LockManager.Client {
                 throw new TransactionFailureException(
                         "Failed to upgrade shared lock to exclusive: " + sharedLock, e, status);
             } finally {
+                upgradingToExclusive = false;
                 if (waitEvent != null) {
                     waitEvent.close();
                     clearWaitState();
@@ -804,7 +880,7 @@ public class ForsetiClient implements LockManager.Client {
             ForsetiLockManager.Lock lock, ResourceType type, long resourceId, LockType lockType, int tries) {
         clearAndCopyWaitList(lock);
         noteWaitingForLock(lock, type, resourceId, lockType);
-        incrementalBackoffWait(tries);
+        backoffWait(type, resourceId, tries);
 
         ForsetiClient clientId = lock.detectDeadlock(this);
         if (clientId != null && shouldAbort(clientId)) {
@@ -846,6 +922,32 @@ public class ForsetiClient implements LockManager.Client {
         }
     }
 
+    private void backoffWait(ResourceType type, long resourceId, int tries) {
+        if (waitQueues == null || tries < MAX_SPINS_BEFORE_QUEUEING) {
+            incrementalBackoffWait(tries);
+            return;
+        }
+
+        if (queuedResourceType != type || queuedResourceId != resourceId || queuedFirst != upgradingToExclusive) {
+            // Check the lock once more after entering the queue instead of parking right away, since it may have
+            // been released before we were in the queue to be woken up.
+            leaveWaitQueue(false);
+            waitQueues.enqueue(type, resourceId, upgradingToExclusive);
+            queuedResourceType = type;
+            queuedResourceId = resourceId;
+            queuedFirst = upgradingToExclusive;
+            return;
+        }
+
+        // Woken up by whoever releases the lock when we are first in the queue. Clients behind us in the queue wait
+        // for their turn and don't take the lock from us. We still re-check the lock, and look for deadlocks and
+        // timeouts, at an interval.
+        parkNanos(this, MAX_QUEUED_PARK_NANOS);
+        if (Thread.interrupted()) {
+            throw new LockAcquisitionTimeoutException(Interrupted, "Interrupted while waiting.");
+        }
+    }
+
     @VisibleForTesting
     public static void incrementalBackoffWait(long iteration) {
         if (iteration < MAX_SPINS) {
@@ -1073,16 +1175,19 @@ public class ForsetiClient implements LockManager.Client {
      * is no need to check for those. It is used when releasing all locks.
      */
     private class ReleaseSharedDontCheckExclusiveVisitor implements LongProcedure {
+        private ResourceType resourceType;
         private ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap;
 
-        private LongProcedure initialize(ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap) {
+        private LongProcedure initialize(
+                ResourceType resourceType, ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap) {
+            this.resourceType = resourceType;
             this.lockMap = lockMap;
             return this;
         }
 
         @Override
         public void value(long resourceId) {
-            releaseGlobalLock(lockMap, resourceId);
+            releaseGlobalLock(resourceType, lockMap, resourceId);
         }
     }
 
@@ -1091,11 +1196,15 @@ public class ForsetiClient implements LockManager.Client {
      * This is an optimization used when releasing all locks.
      */
     private class ReleaseExclusiveLocksAndClearSharedVisitor implements LongProcedure {
+        private ResourceType resourceType;
         private HeapTrackingLongIntHashMap sharedLockCounts;
         private ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap;
 
         private LongProcedure initialize(
-                HeapTrackingLongIntHashMap sharedLockCounts, ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap) {
+                ResourceType resourceType,
+                HeapTrackingLongIntHashMap sharedLockCounts,
+                ConcurrentMap<Long, ForsetiLockManager.Lock> lockMap) {
+            this.resourceType = resourceType;
             this.sharedLockCounts = sharedLockCounts;
             this.lockMap = lockMap;
             return this;
@@ -1103,7 +1212,7 @@ public class ForsetiClient implements LockManager.Client {
 
         @Override
         public void value(long resourceId) {
-            releaseGlobalLock(lockMap, resourceId);
+            releaseGlobalLock(resourceType, lockMap, resourceId);
 
             // If we hold this as a shared lock, we can throw that shared lock away directly, since we haven't
             // followed the down-grade protocol.
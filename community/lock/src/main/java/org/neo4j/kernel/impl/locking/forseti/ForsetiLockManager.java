@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.locking.forseti;
 
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.lock_manager_verbose_deadlocks;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.lock_manager_wait_queues;
 
 import java.util.Map;
 import java.util.Set;
@@ -33,6 +34,7 @@ import org.neo4j.kernel.impl.locking.LockManager;
 import org.neo4j.lock.LockType;
 import org.neo4j.lock.ResourceType;
 import org.neo4j.time.SystemNanoClock;
+import org.neo4j.util.VisibleForTesting;
 
 /**
  * <h1>Forseti, the Nordic god of justice</h1>
@@ -102,6 +104,14 @@ import org.neo4j.time.SystemNanoClock;
  * traversing the graph like this until we either find ourselves amongst the owners - a deadlock - or we run out of
  * locks that are being waited upon - no deadlock.
  * <p/>
+ * <h2>Wait queues</h2>
+ * <p/>
+ * By default a client that can not get a lock spins on it for a while and then polls it with short sleeps. With
+ * {@link org.neo4j.configuration.GraphDatabaseInternalSettings#lock_manager_wait_queues} enabled, clients that have
+ * spun for a while instead park in a first in, first out {@link LockWaitQueues queue} for that lock, and the client
+ * releasing the lock wakes up the first one directly. Parked clients still wake up at an interval to run the
+ * deadlock detection described above.
+ * <p/>
  */
 public class ForsetiLockManager implements LockManager {
     /** This is Forsetis internal lock API, which it uses to do deadlock detection. */
@@ -161,6 +171,9 @@ public class ForsetiLockManager implements LockManager {
     /** Reverse lookup resource types by id, used for introspection */
     private final ResourceType[] resourceTypes;
 
+    /** Queues of clients waiting for contended locks, or {@code null} if wait queues are disabled. */
+    private final LockWaitQueues waitQueues;
+
     /** Counter to keep internal client ids unique, important to be thread safe! */
     private final AtomicLong clientIds = new AtomicLong();
 
@@ -179,6 +192,7 @@ public class ForsetiLockManager implements LockManager {
             this.lockMaps[type.typeId()] = new ConcurrentHashMap<>(16, 0.6f, 512);
             this.resourceTypes[type.typeId()] = type;
         }
+        this.waitQueues = config.get(lock_manager_wait_queues) ? new LockWaitQueues(maxResourceId) : null;
         this.clock = clock;
         this.verboseDeadlocks = config.get(lock_manager_verbose_deadlocks);
         this.verboseDeadlocksSettingListener = (oldValue, newValue) -> verboseDeadlocks = newValue;
@@ -194,7 +208,7 @@ public class ForsetiLockManager implements LockManager {
             throw new IllegalStateException(this + " already closed");
         }
 
-        return new ForsetiClient(lockMaps, clock, verboseDeadlocks, clientIds.incrementAndGet());
+        return new ForsetiClient(lockMaps, waitQueues, clock, verboseDeadlocks, clientIds.incrementAndGet());
     }
 
     @Override
@@ -214,6 +228,11 @@ public class ForsetiLockManager implements LockManager {
         }
     }
 
+    @VisibleForTesting
+    LockWaitQueues waitQueues() {
+        return waitQueues;
+    }
+
     private static int findMaxResourceId(ResourceType[] resourceTypes) {
         int max = 0;
         for (ResourceType resourceType : resourceTypes) {
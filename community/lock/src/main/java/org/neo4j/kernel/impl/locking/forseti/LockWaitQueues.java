@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking.forseti;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.LockSupport;
+import org.neo4j.lock.ResourceType;
+
+/**
+ * First in, first out queues of threads waiting for contended locks, one queue per resource that currently has
+ * waiters. Clients that have spun on a lock for a while enqueue themselves and park, and whoever releases that lock
+ * wakes up the first thread in the queue, so that waiters are woken up in the order they started waiting instead of
+ * polling the lock maps with sleeps.
+ * <p>
+ * Only the first thread in a queue, or a thread upgrading a shared lock it already holds, may take the lock while the
+ * queue has waiters, see {@link #isNextInLine(ResourceType, long)}. Clients that are still spinning on the lock wait
+ * for the queue to empty instead of taking the lock from the thread that was woken up for it, so queued waiters get
+ * their locks in first in, first out order. A waiter still re-checks its lock at a bounded interval for deadlocks,
+ * timeouts and wake ups that raced with it entering the queue.
+ */
+class LockWaitQueues {
+    private final ConcurrentMap<Long, ConcurrentLinkedDeque<Thread>>[] queues;
+
+    @SuppressWarnings("unchecked")
+    LockWaitQueues(int numberOfResourceTypes) {
+        this.queues = new ConcurrentMap[numberOfResourceTypes];
+        for (int i = 0; i < numberOfResourceTypes; i++) {
+            this.queues[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Adds the current thread to the queue for the given resource.
+     *
+     * @param first whether to add the thread first in the queue instead of last. Used by a client that is upgrading
+     * its shared lock to an exclusive one, since it blocks everyone else until it gets its lock.
+     */
+    void enqueue(ResourceType resourceType, long resourceId, boolean first) {
+        Thread thread = Thread.currentThread();
+        queues[resourceType.typeId()].compute(resourceId, (id, queue) -> {
+            if (queue == null) {
+                queue = new ConcurrentLinkedDeque<>();
+            }
+            if (first) {
+                queue.addFirst(thread);
+            } else {
+                queue.addLast(thread);
+            }
+            return queue;
+        });
+    }
+
+    /**
+     * Removes the current thread from the queue for the given resource, dropping the queue if it became empty.
+     *
+     * @param wakeNext whether to wake up the thread that is first in the queue after the current thread was removed.
+     */
+    void dequeue(ResourceType resourceType, long resourceId, boolean wakeNext) {
+        Thread thread = Thread.currentThread();
+        ConcurrentLinkedDeque<Thread> remaining =
+                queues[resourceType.typeId()].computeIfPresent(resourceId, (id, queue) -> {
+                    queue.remove(thread);
+                    return queue.isEmpty() ? null : queue;
+                });
+        if (wakeNext && remaining != null) {
+            LockSupport.unpark(remaining.peek());
+        }
+    }
+
+    /**
+     * Wakes up the thread that is first in the queue for the given resource, if any. Called when a lock is released.
+     */
+    void wakeFirst(ResourceType resourceType, long resourceId) {
+        ConcurrentLinkedDeque<Thread> queue = queues[resourceType.typeId()].get(resourceId);
+        if (queue != null) {
+            LockSupport.unpark(queue.peek());
+        }
+    }
+
+    /**
+     * @return whether the current thread may take the lock of the given resource without going ahead of waiting
+     * threads, which is when no thread is waiting for it or the current thread is first in its queue.
+     */
+    boolean isNextInLine(ResourceType resourceType, long resourceId) {
+        ConcurrentLinkedDeque<Thread> queue = queues[resourceType.typeId()].get(resourceId);
+        if (queue == null) {
+            return true;
+        }
+        Thread first = queue.peek();
+        return first == null || first == Thread.currentThread();
+    }
+
+    /**
+     * @return number of threads waiting in the queue for the given resource.
+     */
+    int numberOfWaiters(ResourceType resourceType, long resourceId) {
+        ConcurrentLinkedDeque<Thread> queue = queues[resourceType.typeId()].get(resourceId);
+        return queue == null ? 0 : queue.size();
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.lock;
+
+import static java.lang.Thread.currentThread;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import org.neo4j.util.Preconditions;
+import org.neo4j.util.VisibleForTesting;
+
+/**
+ * A {@link LockService} that keeps its locks in a fixed table of stripes, allocated up front, instead of in a map
+ * with one key and one queue element for every lock that is taken. Entities are hashed to a stripe and every stripe
+ * has a small number of lock entries that entities which hash to it can occupy while they are locked. Every entry
+ * comes with a preallocated {@link Lock} handle that is returned for each lock taken in it, so taking a lock
+ * doesn't allocate anything.
+ * <p>
+ * The locks are mutex locks, reentrant from the same thread, like those of {@link ReentrantLockService}. The entries
+ * of a stripe are guarded by a latch, a lock word that is taken with a compare and set and only held for the few
+ * array updates of an acquire or release, never while waiting for a lock. Threads that wait for an entry park, and
+ * the releasing thread hands the entry directly over to the thread that has waited the longest and unparks it, which
+ * makes the locks fair. Since an entry is only occupied by one entity at a time, entities never wait for other
+ * entities that happen to hash to the same stripe, which could otherwise deadlock threads that lock several entities
+ * each.
+ * <p>
+ * If all entries of a stripe are occupied, the lock overflows into a {@link ReentrantLockService}. While any lock of
+ * a stripe is in overflow, all entities of that stripe that aren't already in one of its entries are locked in
+ * overflow too, so that an entity is never locked in both places at the same time.
+ */
+public final class StripedLockService implements LockService {
+    static final int DEFAULT_NUMBER_OF_STRIPES = 1 << 12;
+    static final int DEFAULT_ENTRIES_PER_STRIPE = 4;
+
+    private static final int NODE_TYPE = -1;
+    private static final int RELATIONSHIP_TYPE = -2;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final ReentrantLockService overflow = new ReentrantLockService();
+
+    public StripedLockService() {
+        this(DEFAULT_NUMBER_OF_STRIPES, DEFAULT_ENTRIES_PER_STRIPE);
+    }
+
+    @VisibleForTesting
+    StripedLockService(int numberOfStripes, int entriesPerStripe) {
+        Preconditions.checkArgument(Integer.bitCount(numberOfStripes) == 1, "Number of stripes must be a power of two");
+        Preconditions.requirePositive(entriesPerStripe);
+        this.stripes = new Stripe[numberOfStripes];
+        for (int i = 0; i < numberOfStripes; i++) {
+            stripes[i] = new Stripe(entriesPerStripe);
+        }
+        this.stripeMask = numberOfStripes - 1;
+    }
+
+    @Override
+    public Lock acquireNodeLock(long nodeId, LockType type) {
+        return lock(NODE_TYPE, nodeId);
+    }
+
+    @Override
+    public Lock acquireRelationshipLock(long relationshipId, LockType type) {
+        return lock(RELATIONSHIP_TYPE, relationshipId);
+    }
+
+    @Override
+    public Lock acquireCustomLock(int resourceType, long id, LockType type) {
+        return lock(resourceType, id);
+    }
+
+    private Lock lock(int type, long id) {
+        Stripe stripe = stripes[stripeIndex(type, id)];
+        int entry = stripe.acquire(type, id);
+        if (entry != Stripe.OVERFLOW) {
+            return stripe.handles[entry];
+        }
+        try {
+            return new OverflowLock(stripe, overflowLock(type, id));
+        } catch (Throwable t) {
+            stripe.releaseOverflow();
+            throw t;
+        }
+    }
+
+    private Lock overflowLock(int type, long id) {
+        return switch (type) {
+            case NODE_TYPE -> overflow.acquireNodeLock(id, LockType.EXCLUSIVE);
+            case RELATIONSHIP_TYPE -> overflow.acquireRelationshipLock(id, LockType.EXCLUSIVE);
+            default -> overflow.acquireCustomLock(type, id, LockType.EXCLUSIVE);
+        };
+    }
+
+    private int stripeIndex(int type, long id) {
+        long hash = (id ^ ((long) type << 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & stripeMask;
+    }
+
+    /**
+     * @return number of entities that are currently locked, or waited for, in stripe entries or in overflow.
+     */
+    @VisibleForTesting
+    int lockCount() {
+        int count = overflow.lockCount();
+        for (Stripe stripe : stripes) {
+            count += stripe.occupiedEntries();
+        }
+        return count;
+    }
+
+    /**
+     * @return number of entities that are currently locked, or waited for, in overflow.
+     */
+    @VisibleForTesting
+    int overflowLockCount() {
+        return overflow.lockCount();
+    }
+
+    private static String entityName(int type) {
+        return switch (type) {
+            case NODE_TYPE -> "LockedNode";
+            case RELATIONSHIP_TYPE -> "LockedRelationship";
+            default -> "CustomLockedEntity";
+        };
+    }
+
+    /**
+     * A stripe of lock entries, guarded by the latch of the stripe. An entry is occupied by an entity from the
+     * first lock request for it until it has been released and there are no more threads waiting for it.
+     * The owner of an entry is also read without the latch, by the thread waiting for it to be handed over, and
+     * the hold count is only touched by the owner.
+     */
+    private static final class Stripe {
+        static final int OVERFLOW = -1;
+
+        private static final VarHandle LATCH;
+        private static final VarHandle OWNERS = MethodHandles.arrayElementVarHandle(Thread[].class);
+
+        static {
+            try {
+                LATCH = MethodHandles.lookup().findVarHandle(Stripe.class, "latch", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        @SuppressWarnings("unused") // accessed via VarHandle
+        private volatile int latch;
+
+        private final int[] types;
+        private final long[] ids;
+        private final Thread[] owners;
+        private final int[] holdCounts;
+        private final long[] nextTickets;
+        private final boolean[] occupied;
+        private final EntryLock[] handles;
+        // Threads waiting for an entry to be handed over to them, in no particular order.
+        private Thread[] waitingThreads = new Thread[0];
+        private int[] waitingEntries = new int[0];
+        private long[] waitingTickets = new long[0];
+        private int numberOfWaiters;
+        private int numberOfOverflowLocks;
+
+        Stripe(int entries) {
+            this.types = new int[entries];
+            this.ids = new long[entries];
+            this.owners = new Thread[entries];
+            this.holdCounts = new int[entries];
+            this.nextTickets = new long[entries];
+            this.occupied = new boolean[entries];
+            this.handles = new EntryLock[entries];
+            for (int entry = 0; entry < entries; entry++) {
+                handles[entry] = new EntryLock(this, entry);
+            }
+        }
+
+        int acquire(int type, long id) {
+            Thread thread = currentThread();
+            int entry;
+            lockLatch();
+            try {
+                entry = find(type, id);
+                if (entry == OVERFLOW) {
+                    if (numberOfOverflowLocks > 0 || (entry = occupyFree(type, id)) == OVERFLOW) {
+                        numberOfOverflowLocks++;
+                        return OVERFLOW;
+                    }
+                }
+                Thread owner = owners[entry];
+                if (owner == thread) {
+                    holdCounts[entry]++;
+                    return entry;
+                }
+                if (owner == null) {
+                    OWNERS.setRelease(owners, entry, thread);
+                    holdCounts[entry] = 1;
+                    return entry;
+                }
+                addWaiter(thread, entry);
+            } finally {
+                unlockLatch();
+            }
+
+            boolean interrupted = false;
+            while (OWNERS.getAcquire(owners, entry) != thread) {
+                LockSupport.park(this);
+                // Like the other lock service implementation this lock isn't interruptible,
+                // keep waiting and restore the interrupt status when we have the lock
+                interrupted |= Thread.interrupted();
+            }
+            holdCounts[entry] = 1;
+            if (interrupted) {
+                thread.interrupt();
+            }
+            return entry;
+        }
+
+        void release(int entry) {
+            if (OWNERS.getAcquire(owners, entry) != currentThread()) {
+                throw new IllegalStateException(describe(entry) + " is not held by " + currentThread());
+            }
+            if (--holdCounts[entry] > 0) {
+                return;
+            }
+            Thread next;
+            lockLatch();
+            try {
+                next = removeFirstWaiter(entry);
+                OWNERS.setRelease(owners, entry, next);
+                if (next == null) {
+                    occupied[entry] = false;
+                }
+            } finally {
+                unlockLatch();
+            }
+            LockSupport.unpark(next);
+        }
+
+        void releaseOverflow() {
+            lockLatch();
+            try {
+                numberOfOverflowLocks--;
+            } finally {
+                unlockLatch();
+            }
+        }
+
+        String describe(int entry) {
+            lockLatch();
+            try {
+                Thread owner = owners[entry];
+                String state = owner == null ? "RELEASED" : "HELD_BY=" + holdCounts[entry] + "*" + owner;
+                return entityName(types[entry]) + "[id=" + ids[entry] + "; " + state + "]";
+            } finally {
+                unlockLatch();
+            }
+        }
+
+        int occupiedEntries() {
+            lockLatch();
+            try {
+                int count = 0;
+                for (boolean entryOccupied : occupied) {
+                    if (entryOccupied) {
+                        count++;
+                    }
+                }
+                return count;
+            } finally {
+                unlockLatch();
+            }
+        }
+
+        private void lockLatch() {
+            while (!LATCH.weakCompareAndSetAcquire(this, 0, 1)) {
+                Thread.onSpinWait();
+            }
+        }
+
+        private void unlockLatch() {
+            LATCH.setRelease(this, 0);
+        }
+
+        private int find(int type, long id) {
+            for (int entry = 0; entry < occupied.length; entry++) {
+                if (occupied[entry] && ids[entry] == id && types[entry] == type) {
+                    return entry;
+                }
+            }
+            return OVERFLOW;
+        }
+
+        private int occupyFree(int type, long id) {
+            for (int entry = 0; entry < occupied.length; entry++) {
+                if (!occupied[entry]) {
+                    occupied[entry] = true;
+                    types[entry] = type;
+                    ids[entry] = id;
+                    nextTickets[entry] = 0;
+                    return entry;
+                }
+            }
+            return OVERFLOW;
+        }
+
+        private void addWaiter(Thread thread, int entry) {
+            if (numberOfWaiters == waitingThreads.length) {
+                // Only grows when more threads than ever before wait in this stripe at the same time
+                int capacity = Math.max(4, numberOfWaiters * 2);
+                waitingThreads = Arrays.copyOf(waitingThreads, capacity);
+                waitingEntries = Arrays.copyOf(waitingEntries, capacity);
+                waitingTickets = Arrays.copyOf(waitingTickets, capacity);
+            }
+            waitingThreads[numberOfWaiters] = thread;
+            waitingEntries[numberOfWaiters] = entry;
+            waitingTickets[numberOfWaiters] = nextTickets[entry]++;
+            numberOfWaiters++;
+        }
+
+        /**
+         * @return the thread that has waited the longest for the given entry, or {@code null} if none is waiting.
+         */
+        private Thread removeFirstWaiter(int entry) {
+            int first = -1;
+            for (int i = 0; i < numberOfWaiters; i++) {
+                if (waitingEntries[i] == entry && (first == -1 || waitingTickets[i] < waitingTickets[first])) {
+                    first = i;
+                }
+            }
+            if (first == -1) {
+                return null;
+            }
+            Thread thread = waitingThreads[first];
+            int last = --numberOfWaiters;
+            waitingThreads[first] = waitingThreads[last];
+            waitingEntries[first] = waitingEntries[last];
+            waitingTickets[first] = waitingTickets[last];
+            waitingThreads[last] = null;
+            return thread;
+        }
+    }
+
+    /**
+     * The handle of a stripe entry, shared by all locks taken in the entry. Every acquisition of the entry must be
+     * matched by exactly one release, from the thread that holds it.
+     */
+    private static final class EntryLock extends Lock {
+        private final Stripe stripe;
+        private final int entry;
+
+        EntryLock(Stripe stripe, int entry) {
+            this.stripe = stripe;
+            this.entry = entry;
+        }
+
+        @Override
+        public void release() {
+            stripe.release(entry);
+        }
+
+        @Override
+        public String toString() {
+            return stripe.describe(entry);
+        }
+    }
+
+    private static final class OverflowLock extends Lock {
+        private final Stripe stripe;
+        private final Lock lock;
+        private boolean released;
+
+        OverflowLock(Stripe stripe, Lock lock) {
+            this.stripe = stripe;
+            this.lock = lock;
+        }
+
+        @Override
+        public void release() {
+            if (!released) {
+                released = true;
+                try {
+                    lock.release();
+                } finally {
+                    stripe.releaseOverflow();
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return lock.toString();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking.forseti;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.lock.ResourceType.NODE;
+import static org.neo4j.test.Race.throwing;
+import static org.neo4j.test.assertion.Assert.assertEventually;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.kernel.impl.api.LeaseService.NoLeaseClient;
+import org.neo4j.kernel.impl.locking.LockManager;
+import org.neo4j.lock.LockTracer;
+import org.neo4j.lock.LockType;
+import org.neo4j.lock.ResourceType;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.test.OtherThreadExecutor;
+import org.neo4j.test.Race;
+import org.neo4j.time.Clocks;
+
+class ForsetiWaitQueueTest {
+    private Config config;
+    private ForsetiLockManager manager;
+
+    @BeforeEach
+    void setUp() {
+        config = Config.defaults(GraphDatabaseInternalSettings.lock_manager_wait_queues, true);
+        manager = new ForsetiLockManager(config, Clocks.nanoClock(), ResourceType.values());
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    void shouldNotHaveWaitQueuesByDefault() {
+        ForsetiLockManager defaultManager =
+                new ForsetiLockManager(Config.defaults(), Clocks.nanoClock(), ResourceType.values());
+        try {
+            assertThat(defaultManager.waitQueues()).isNull();
+        } finally {
+            defaultManager.close();
+        }
+    }
+
+    @Test
+    void shouldQueueWaitersAndLeaveQueueWhenGettingLock() throws Exception {
+        LockWaitQueues waitQueues = manager.waitQueues();
+        try (OtherThreadExecutor executor1 = new OtherThreadExecutor("waiter1");
+                OtherThreadExecutor executor2 = new OtherThreadExecutor("waiter2");
+                LockManager.Client holder = newClient(1);
+                LockManager.Client waiter1 = newClient(2);
+                LockManager.Client waiter2 = newClient(3)) {
+            holder.acquireExclusive(LockTracer.NONE, NODE, 0);
+
+            // when
+            Future<Object> exclusive = executor1.executeDontWait(() -> {
+                waiter1.acquireExclusive(LockTracer.NONE, NODE, 0);
+                return null;
+            });
+            assertEventually(() -> waitQueues.numberOfWaiters(NODE, 0), count -> count == 1, 1, MINUTES);
+            Future<Object> shared = executor2.executeDontWait(() -> {
+                waiter2.acquireShared(LockTracer.NONE, NODE, 0);
+                return null;
+            });
+            assertEventually(() -> waitQueues.numberOfWaiters(NODE, 0), count -> count == 2, 1, MINUTES);
+            holder.releaseExclusive(NODE, 0);
+
+            // then the first waiter gets the lock and leaves the queue, the other one gets it when that is released
+            exclusive.get(1, MINUTES);
+            assertThat(waiter1.holdsLock(0, NODE, LockType.EXCLUSIVE)).isTrue();
+            assertThat(waitQueues.numberOfWaiters(NODE, 0)).isEqualTo(1);
+            waiter1.releaseExclusive(NODE, 0);
+            shared.get(1, MINUTES);
+            assertThat(waitQueues.numberOfWaiters(NODE, 0)).isZero();
+        }
+    }
+
+    @Test
+    void shouldGiveLockToWaitersInTheOrderTheyQueuedUp() throws Exception {
+        int numberOfWaiters = 5;
+        LockWaitQueues waitQueues = manager.waitQueues();
+        List<Integer> acquisitionOrder = new CopyOnWriteArrayList<>();
+        List<OtherThreadExecutor> executors = new ArrayList<>();
+        List<Future<Object>> futures = new ArrayList<>();
+        try (LockManager.Client holder = newClient(1)) {
+            holder.acquireExclusive(LockTracer.NONE, NODE, 0);
+            for (int i = 0; i < numberOfWaiters; i++) {
+                int waiter = i;
+                OtherThreadExecutor executor = new OtherThreadExecutor("waiter" + waiter);
+                executors.add(executor);
+                futures.add(executor.executeDontWait(() -> {
+                    try (LockManager.Client client = newClient(waiter + 2)) {
+                        client.acquireExclusive(LockTracer.NONE, NODE, 0);
+                        acquisitionOrder.add(waiter);
+                    }
+                    return null;
+                }));
+                assertEventually(
+                        () -> waitQueues.numberOfWaiters(NODE, 0), count -> count == waiter + 1, 1, MINUTES);
+            }
+
+            // when
+            holder.releaseExclusive(NODE, 0);
+
+            // then
+            for (Future<Object> future : futures) {
+                future.get(1, MINUTES);
+            }
+            assertThat(acquisitionOrder).containsExactly(0, 1, 2, 3, 4);
+            assertThat(waitQueues.numberOfWaiters(NODE, 0)).isZero();
+        } finally {
+            executors.forEach(OtherThreadExecutor::close);
+        }
+    }
+
+    @Test
+    void shouldLeaveQueueWhenFailingToGetLock() throws Exception {
+        LockWaitQueues waitQueues = manager.waitQueues();
+        try (OtherThreadExecutor executor = new OtherThreadExecutor("waiter");
+                LockManager.Client holder = newClient(1);
+                LockManager.Client waiter = newClient(2)) {
+            holder.acquireExclusive(LockTracer.NONE, NODE, 0);
+            Future<Object> future = executor.executeDontWait(() -> {
+                waiter.acquireShared(LockTracer.NONE, NODE, 0);
+                return null;
+            });
+            assertEventually(() -> waitQueues.numberOfWaiters(NODE, 0), count -> count == 1, 1, MINUTES);
+
+            // when
+            waiter.stop();
+
+            // then
+            assertThat(future).failsWithin(1, MINUTES);
+            assertThat(waitQueues.numberOfWaiters(NODE, 0)).isZero();
+        }
+    }
+
+    @Test
+    void shouldKeepExclusiveLocksExclusiveUnderContention() throws Throwable {
+        int threads = 8;
+        int iterations = 500;
+        AtomicLong transactionIds = new AtomicLong();
+        AtomicInteger holders = new AtomicInteger();
+        List<Integer> overlaps = new ArrayList<>();
+        Race race = new Race();
+        race.addContestants(threads, throwing(() -> {
+            for (int i = 0; i < iterations; i++) {
+                try (LockManager.Client client = newClient(transactionIds.incrementAndGet())) {
+                    client.acquireExclusive(LockTracer.NONE, NODE, 0);
+                    int concurrentHolders = holders.incrementAndGet();
+                    if (concurrentHolders != 1) {
+                        synchronized (overlaps) {
+                            overlaps.add(concurrentHolders);
+                        }
+                    }
+                    holders.decrementAndGet();
+                }
+            }
+        }));
+
+        race.go(5, MINUTES);
+
+        assertThat(overlaps).isEmpty();
+        assertThat(manager.waitQueues().numberOfWaiters(NODE, 0)).isZero();
+    }
+
+    private LockManager.Client newClient(long transactionId) {
+        LockManager.Client client = manager.newClient();
+        client.initialize(NoLeaseClient.INSTANCE, transactionId, EmptyMemoryTracker.INSTANCE, config);
+        return client;
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.lock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.lock.LockType.EXCLUSIVE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class StripedLockServiceTest {
+    private final StripedLockService locks = new StripedLockService();
+
+    @Test
+    void shouldAllowReEntrance() {
+        try (var lock = locks.acquireNodeLock(11, EXCLUSIVE);
+                var lock2 = locks.acquireNodeLock(11, EXCLUSIVE);
+                var lock3 = locks.acquireNodeLock(11, EXCLUSIVE)) {
+            assertEquals(1, locks.lockCount());
+        }
+        assertEquals(0, locks.lockCount());
+    }
+
+    @Test
+    void shouldNotLeaveResidualLockStateAfterAllLocksHaveBeenReleased() {
+        // when
+        locks.acquireNodeLock(42, EXCLUSIVE).release();
+        locks.acquireRelationshipLock(42, EXCLUSIVE).release();
+        locks.acquireCustomLock(3, 42, EXCLUSIVE).release();
+
+        // then
+        assertEquals(0, locks.lockCount());
+    }
+
+    @Test
+    void shouldTellEntityTypesApart() {
+        try (var nodeLock = locks.acquireNodeLock(5, EXCLUSIVE);
+                var relationshipLock = locks.acquireRelationshipLock(5, EXCLUSIVE);
+                var customLock = locks.acquireCustomLock(1, 5, EXCLUSIVE)) {
+            assertEquals(3, locks.lockCount());
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void shouldBlockOnLockedLock() throws Exception {
+        // given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            var threadHolder = new AtomicReference<Thread>();
+            Future<?> future;
+            try (var lock = locks.acquireNodeLock(17, EXCLUSIVE)) {
+                future = executor.submit(() -> {
+                    threadHolder.set(Thread.currentThread());
+                    locks.acquireNodeLock(17, EXCLUSIVE).release();
+                });
+
+                while (threadHolder.get() == null || threadHolder.get().getState() != Thread.State.WAITING) {
+                    parkNanos(MILLISECONDS.toNanos(10));
+                }
+                assertThat(future.isDone()).isFalse();
+            }
+            future.get();
+            assertEquals(0, locks.lockCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldOverflowWhenAllEntriesOfStripeAreOccupied() {
+        // given a single stripe with two entries
+        var locks = new StripedLockService(1, 2);
+        List<Lock> held = new ArrayList<>();
+        held.add(locks.acquireNodeLock(1, EXCLUSIVE));
+        held.add(locks.acquireNodeLock(2, EXCLUSIVE));
+
+        // when
+        held.add(locks.acquireNodeLock(3, EXCLUSIVE));
+        assertEquals(1, locks.overflowLockCount());
+
+        // then entities that don't have an entry go to overflow as long as it is in use
+        held.remove(0).release();
+        held.add(locks.acquireNodeLock(4, EXCLUSIVE));
+        assertEquals(2, locks.overflowLockCount());
+        // while entities that have an entry keep using it
+        held.add(locks.acquireNodeLock(2, EXCLUSIVE));
+        assertEquals(2, locks.overflowLockCount());
+        assertEquals(3, locks.lockCount());
+
+        held.forEach(Lock::release);
+        assertEquals(0, locks.lockCount());
+    }
+
+    @Test
+    @Timeout(60)
+    void shouldKeepEntitiesMutuallyExclusiveUnderContention() throws Exception {
+        // given
+        var locks = new StripedLockService(2, 1);
+        int threads = 4;
+        int iterations = 10_000;
+        long[] counters = new long[8];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < iterations; i++) {
+                        int entity = i % counters.length;
+                        try (var lock = locks.acquireNodeLock(entity, EXCLUSIVE)) {
+                            counters[entity]++;
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        long total = 0;
+        for (long counter : counters) {
+            total += counter;
+        }
+        assertEquals((long) threads * iterations, total);
+        assertEquals(0, locks.lockCount());
+    }
+
+    @Test
+    void shouldNotAllocateLockHandlesForLocksInStripeEntries() {
+        // given
+        var locks = new StripedLockService(1, 2);
+        Lock first = locks.acquireNodeLock(1, EXCLUSIVE);
+        first.release();
+
+        // when
+        try (var lock = locks.acquireNodeLock(1, EXCLUSIVE);
+                var reentered = locks.acquireNodeLock(1, EXCLUSIVE);
+                var other = locks.acquireNodeLock(2, EXCLUSIVE)) {
+            // then
+            assertSame(first, lock);
+            assertSame(lock, reentered);
+            assertNotSame(lock, other);
+        }
+        // and the handle of a free entry is reused by other entities
+        try (var lock = locks.acquireRelationshipLock(3, EXCLUSIVE)) {
+            assertSame(first, lock);
+        }
+    }
+
+    @Test
+    void shouldNotReleaseLockHeldByAnotherThread() throws Exception {
+        // given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (var lock = locks.acquireNodeLock(7, EXCLUSIVE)) {
+            // when
+            Future<?> release = executor.submit(lock::release);
+
+            // then
+            var e = assertThrows(ExecutionException.class, release::get);
+            assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+            assertEquals(1, locks.lockCount());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(0, locks.lockCount());
+    }
+
+    @Test
+    @Timeout(60)
+    void shouldHandLockToWaitersInTheOrderTheyStartedWaiting() throws Exception {
+        // given
+        int waiters = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(waiters);
+        try {
+            List<Integer> order = new ArrayList<>();
+            List<Future<?>> futures = new ArrayList<>();
+            try (var lock = locks.acquireNodeLock(21, EXCLUSIVE)) {
+                for (int i = 0; i < waiters; i++) {
+                    int waiter = i;
+                    var threadHolder = new AtomicReference<Thread>();
+                    futures.add(executor.submit(() -> {
+                        threadHolder.set(Thread.currentThread());
+                        try (var waited = locks.acquireNodeLock(21, EXCLUSIVE)) {
+                            order.add(waiter);
+                        }
+                    }));
+                    // let every waiter start waiting before the next one does
+                    while (threadHolder.get() == null || threadHolder.get().getState() != Thread.State.WAITING) {
+                        parkNanos(MILLISECONDS.toNanos(10));
+                    }
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            // then
+            assertThat(order).containsExactly(0, 1, 2, 3);
+            assertEquals(0, locks.lockCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldPresentLockStateInStringRepresentationOfLock() {
+        // given
+        Lock first;
+        Lock second;
+
+        // when
+        var currentThread = Thread.currentThread();
+        try (Lock lock = first = locks.acquireNodeLock(666, EXCLUSIVE)) {
+            // then
+            assertEquals("LockedNode[id=666; HELD_BY=1*" + currentThread + "]", lock.toString());
+
+            // when
+            try (Lock inner = second = locks.acquireNodeLock(666, EXCLUSIVE)) {
+                assertEquals("LockedNode[id=666; HELD_BY=2*" + currentThread + "]", lock.toString());
+                assertEquals(lock.toString(), inner.toString());
+            }
+
+            // then the inner lock shares the handle of the entry with the outer one
+            assertEquals("LockedNode[id=666; HELD_BY=1*" + currentThread + "]", lock.toString());
+            assertEquals(lock.toString(), second.toString());
+        }
+
+        // then
+        assertEquals("LockedNode[id=666; RELEASED]", first.toString());
+        assertEquals("LockedNode[id=666; RELEASED]", second.toString());
+    }
+}
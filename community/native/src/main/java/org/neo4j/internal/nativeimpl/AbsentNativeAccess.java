@@ -45,6 +45,41 @@ public class AbsentNativeAccess implements NativeAccess {
         return NativeCallResult.SUCCESS;
     }
 
+    @Override
+    public long tryMapMemory(long bytes, long alignment) {
+        return 0;
+    }
+
+    @Override
+    public long tryMapHugeTlbMemory(long bytes, long hugePageSize) {
+        return 0;
+    }
+
+    @Override
+    public NativeCallResult tryUnmapMemory(long address, long bytes) {
+        return new NativeCallResult(ERROR, "Memory mapping is not available.");
+    }
+
+    @Override
+    public NativeCallResult tryAdviseHugePages(long address, long bytes) {
+        return NativeCallResult.SUCCESS;
+    }
+
+    @Override
+    public NativeCallResult tryInterleaveMemory(long address, long bytes, int[] numaNodes) {
+        return NativeCallResult.SUCCESS;
+    }
+
+    @Override
+    public NativeCallResult tryPreferMemoryNode(long address, long bytes, int numaNode) {
+        return NativeCallResult.SUCCESS;
+    }
+
+    @Override
+    public int[] onlineNumaNodes() {
+        return new int[] {0};
+    }
+
     @Override
     public ErrorTranslator errorTranslator() {
         return MissingErrorTranslator.INSTANCE;
@@ -0,0 +1,510 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.nativeimpl;
+
+import com.sun.jna.LastErrorException;
+import com.sun.jna.Native;
+import com.sun.jna.Platform;
+import com.sun.jna.Pointer;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Minimal binding to a Linux io_uring instance, used to submit batches of vectored file reads and writes with a single
+ * system call.
+ * <p>
+ * Submission queue entries are prepared with {@link #prepareReadv(int, long, long[], int[], int, int, long)} and
+ * {@link #prepareWritev(int, long, long[], int[], int, int, long)}, handed to the kernel with {@link #submit(int)},
+ * and their results are consumed with {@link #reapCompletions(CompletionHandler)}. Every submission queue slot has its
+ * own pre-allocated iovec area, so callers only pass buffer addresses and lengths. The buffers themselves have to stay
+ * valid until the completion of their entry has been reaped.
+ * <p>
+ * An instance is not thread safe, callers are expected to own a ring exclusively while preparing, submitting and
+ * reaping.
+ */
+public final class IoUring implements AutoCloseable {
+    private static final long SYS_IO_URING_SETUP = 425;
+    private static final long SYS_IO_URING_ENTER = 426;
+    private static final int IORING_ENTER_GETEVENTS = 1;
+    private static final int IORING_FEAT_SINGLE_MMAP = 1;
+
+    private static final long IORING_OFF_SQ_RING = 0;
+    private static final long IORING_OFF_CQ_RING = 0x8000000L;
+    private static final long IORING_OFF_SQES = 0x10000000L;
+
+    private static final byte IORING_OP_READV = 1;
+    private static final byte IORING_OP_WRITEV = 2;
+
+    private static final int PROT_READ_WRITE = 0x1 | 0x2;
+    private static final int MAP_SHARED_POPULATE = 0x01 | 0x8000;
+    private static final long MAP_FAILED = -1;
+    private static final int EINTR = 4;
+    private static final int EBADF = 9;
+
+    // struct io_uring_params
+    private static final int PARAMS_SIZE = 120;
+    private static final int PARAMS_SQ_ENTRIES = 0;
+    private static final int PARAMS_CQ_ENTRIES = 4;
+    private static final int PARAMS_FEATURES = 20;
+    private static final int PARAMS_SQ_OFF = 40;
+    private static final int PARAMS_CQ_OFF = 80;
+    // struct io_sqring_offsets, relative to PARAMS_SQ_OFF
+    private static final int SQ_OFF_HEAD = 0;
+    private static final int SQ_OFF_TAIL = 4;
+    private static final int SQ_OFF_RING_MASK = 8;
+    private static final int SQ_OFF_ARRAY = 24;
+    // struct io_cqring_offsets, relative to PARAMS_CQ_OFF
+    private static final int CQ_OFF_HEAD = 0;
+    private static final int CQ_OFF_TAIL = 4;
+    private static final int CQ_OFF_RING_MASK = 8;
+    private static final int CQ_OFF_CQES = 20;
+
+    // struct io_uring_sqe
+    private static final int SQE_SIZE = 64;
+    private static final int SQE_OPCODE = 0;
+    private static final int SQE_FD = 4;
+    private static final int SQE_OFF = 8;
+    private static final int SQE_ADDR = 16;
+    private static final int SQE_LEN = 24;
+    private static final int SQE_USER_DATA = 32;
+    // struct io_uring_cqe
+    private static final int CQE_SIZE = 16;
+    private static final int CQE_USER_DATA = 0;
+    private static final int CQE_RES = 8;
+    // struct iovec
+    private static final int IOVEC_SIZE = 16;
+
+    private static final boolean NATIVE_ACCESS_AVAILABLE;
+    private static final boolean IO_URING_AVAILABLE;
+
+    static {
+        boolean available = false;
+        try {
+            if (Platform.isLinux() && Platform.is64Bit()) {
+                Native.register(Platform.C_LIBRARY_NAME);
+                available = true;
+            }
+        } catch (Throwable t) {
+            // io_uring is an optional optimisation, the caller falls back to regular file channel IO.
+        }
+        NATIVE_ACCESS_AVAILABLE = available;
+        IO_URING_AVAILABLE = available && probe();
+    }
+
+    private final int ringFd;
+    private final int entries;
+    private final int maxIovecsPerEntry;
+    private final long sqRingAddress;
+    private final long sqRingSize;
+    private final long cqRingAddress;
+    private final long cqRingSize;
+    private final long sqesAddress;
+    private final long sqesSize;
+    private final long iovecsAddress;
+    private final Pointer sqHead;
+    private final Pointer sqTail;
+    private final int sqMask;
+    private final Pointer cqHead;
+    private final Pointer cqTail;
+    private final int cqMask;
+    private final Pointer cqes;
+    private final Pointer sqes;
+    private final Pointer iovecs;
+
+    private int localSqTail;
+    private int inFlight;
+    private boolean closed;
+
+    private static native long syscall(long number, long arg1, long arg2, long arg3, long arg4, long arg5, long arg6)
+            throws LastErrorException;
+
+    private static native long mmap(long address, long length, int prot, int flags, int fd, long offset)
+            throws LastErrorException;
+
+    private static native int munmap(long address, long length) throws LastErrorException;
+
+    private static native int close(int fd) throws LastErrorException;
+
+    private static native int dup(int fd) throws LastErrorException;
+
+    private IoUring(
+            int ringFd,
+            int entries,
+            int maxIovecsPerEntry,
+            long sqRingAddress,
+            long sqRingSize,
+            long cqRingAddress,
+            long cqRingSize,
+            long sqesAddress,
+            long sqesSize,
+            long iovecsAddress,
+            Pointer params) {
+        this.ringFd = ringFd;
+        this.entries = entries;
+        this.maxIovecsPerEntry = maxIovecsPerEntry;
+        this.sqRingAddress = sqRingAddress;
+        this.sqRingSize = sqRingSize;
+        this.cqRingAddress = cqRingAddress;
+        this.cqRingSize = cqRingSize;
+        this.sqesAddress = sqesAddress;
+        this.sqesSize = sqesSize;
+        this.iovecsAddress = iovecsAddress;
+
+        Pointer sqRing = new Pointer(sqRingAddress);
+        Pointer cqRing = new Pointer(cqRingAddress);
+        this.sqHead = sqRing.share(params.getInt(PARAMS_SQ_OFF + SQ_OFF_HEAD));
+        this.sqTail = sqRing.share(params.getInt(PARAMS_SQ_OFF + SQ_OFF_TAIL));
+        this.sqMask = sqRing.getInt(params.getInt(PARAMS_SQ_OFF + SQ_OFF_RING_MASK));
+        this.cqHead = cqRing.share(params.getInt(PARAMS_CQ_OFF + CQ_OFF_HEAD));
+        this.cqTail = cqRing.share(params.getInt(PARAMS_CQ_OFF + CQ_OFF_TAIL));
+        this.cqMask = cqRing.getInt(params.getInt(PARAMS_CQ_OFF + CQ_OFF_RING_MASK));
+        this.cqes = cqRing.share(params.getInt(PARAMS_CQ_OFF + CQ_OFF_CQES));
+        this.sqes = new Pointer(sqesAddress);
+        this.iovecs = new Pointer(iovecsAddress);
+        this.localSqTail = sqTail.getInt(0);
+
+        // Submission queue entries are always used in ring order, so the indirection array is an identity mapping.
+        Pointer array = sqRing.share(params.getInt(PARAMS_SQ_OFF + SQ_OFF_ARRAY));
+        for (int i = 0; i < entries; i++) {
+            array.setInt((long) i * Integer.BYTES, i);
+        }
+    }
+
+    /**
+     * @return {@code true} if the running kernel supports io_uring and this process is allowed to use it.
+     */
+    public static boolean isAvailable() {
+        return IO_URING_AVAILABLE;
+    }
+
+    /**
+     * Create a new ring.
+     *
+     * @param entries number of submission queue entries, must be a power of two.
+     * @param maxIovecsPerEntry the max number of buffers a single read or write entry can describe.
+     * @throws IOException if the ring could not be created.
+     */
+    public static IoUring create(int entries, int maxIovecsPerEntry) throws IOException {
+        if (!NATIVE_ACCESS_AVAILABLE) {
+            throw new IOException("io_uring is not available on this platform.");
+        }
+        if (Integer.bitCount(entries) != 1 || maxIovecsPerEntry <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid ring size " + entries + " with " + maxIovecsPerEntry + " buffers per entry.");
+        }
+        long paramsAddress = Native.malloc(PARAMS_SIZE);
+        if (paramsAddress == 0) {
+            throw new IOException("Unable to allocate io_uring parameters.");
+        }
+        int ringFd = -1;
+        long sqRing = MAP_FAILED;
+        long cqRing = MAP_FAILED;
+        long sqesRing = MAP_FAILED;
+        long iovecsAddress = 0;
+        long sqRingSize = 0;
+        long cqRingSize = 0;
+        long sqesSize = 0;
+        try {
+            Pointer params = new Pointer(paramsAddress);
+            params.setMemory(0, PARAMS_SIZE, (byte) 0);
+            ringFd = (int) syscall(SYS_IO_URING_SETUP, entries, paramsAddress, 0, 0, 0, 0);
+
+            int sqEntries = params.getInt(PARAMS_SQ_ENTRIES);
+            int cqEntries = params.getInt(PARAMS_CQ_ENTRIES);
+            sqRingSize = params.getInt(PARAMS_SQ_OFF + SQ_OFF_ARRAY) + (long) sqEntries * Integer.BYTES;
+            cqRingSize = params.getInt(PARAMS_CQ_OFF + CQ_OFF_CQES) + (long) cqEntries * CQE_SIZE;
+            boolean singleMmap = (params.getInt(PARAMS_FEATURES) & IORING_FEAT_SINGLE_MMAP) != 0;
+            if (singleMmap) {
+                sqRingSize = Math.max(sqRingSize, cqRingSize);
+                cqRingSize = 0;
+            }
+            sqRing = mmap(0, sqRingSize, PROT_READ_WRITE, MAP_SHARED_POPULATE, ringFd, IORING_OFF_SQ_RING);
+            cqRing = singleMmap
+                    ? sqRing
+                    : mmap(0, cqRingSize, PROT_READ_WRITE, MAP_SHARED_POPULATE, ringFd, IORING_OFF_CQ_RING);
+            sqesSize = (long) sqEntries * SQE_SIZE;
+            sqesRing = mmap(0, sqesSize, PROT_READ_WRITE, MAP_SHARED_POPULATE, ringFd, IORING_OFF_SQES);
+            iovecsAddress = Native.malloc((long) sqEntries * maxIovecsPerEntry * IOVEC_SIZE);
+            if (iovecsAddress == 0) {
+                throw new IOException("Unable to allocate io_uring buffer descriptors.");
+            }
+            return new IoUring(
+                    ringFd,
+                    sqEntries,
+                    maxIovecsPerEntry,
+                    sqRing,
+                    sqRingSize,
+                    cqRing,
+                    cqRingSize,
+                    sqesRing,
+                    sqesSize,
+                    iovecsAddress,
+                    params);
+        } catch (LastErrorException | IOException e) {
+            if (iovecsAddress != 0) {
+                Native.free(iovecsAddress);
+            }
+            unmapQuietly(sqesRing, sqesSize);
+            if (cqRing != sqRing) {
+                unmapQuietly(cqRing, cqRingSize);
+            }
+            unmapQuietly(sqRing, sqRingSize);
+            if (ringFd >= 0) {
+                close(ringFd);
+            }
+            if (e instanceof LastErrorException lastError) {
+                throw new IOException("Unable to create io_uring: " + errorMessage(lastError.getErrorCode()), e);
+            }
+            throw (IOException) e;
+        } finally {
+            Native.free(paramsAddress);
+        }
+    }
+
+    /**
+     * @return number of entries that can be prepared before the next {@link #submit(int)}.
+     */
+    public int freeEntries() {
+        return entries - inFlight - (localSqTail - sqTail.getInt(0));
+    }
+
+    /**
+     * @return the max number of buffers a single read or write entry can describe.
+     */
+    public int maxIovecsPerEntry() {
+        return maxIovecsPerEntry;
+    }
+
+    /**
+     * Prepare a vectored read of {@code count} buffers, starting at {@code from} in the given arrays, from the file
+     * {@code fd} at {@code fileOffset}.
+     */
+    public void prepareReadv(
+            int fd, long fileOffset, long[] addresses, int[] lengths, int from, int count, long userData) {
+        prepareVectored(IORING_OP_READV, fd, fileOffset, addresses, lengths, from, count, userData);
+    }
+
+    /**
+     * Prepare a vectored write of {@code count} buffers, starting at {@code from} in the given arrays, to the file
+     * {@code fd} at {@code fileOffset}.
+     */
+    public void prepareWritev(
+            int fd, long fileOffset, long[] addresses, int[] lengths, int from, int count, long userData) {
+        prepareVectored(IORING_OP_WRITEV, fd, fileOffset, addresses, lengths, from, count, userData);
+    }
+
+    private void prepareVectored(
+            byte opcode, int fd, long fileOffset, long[] addresses, int[] lengths, int from, int count, long userData) {
+        if (count <= 0 || count > maxIovecsPerEntry) {
+            throw new IllegalArgumentException("Invalid number of buffers: " + count);
+        }
+        if (freeEntries() == 0) {
+            throw new IllegalStateException("Submission queue is full.");
+        }
+        int index = localSqTail & sqMask;
+        long iovecsOffset = (long) index * maxIovecsPerEntry * IOVEC_SIZE;
+        for (int i = 0; i < count; i++) {
+            long iovec = iovecsOffset + (long) i * IOVEC_SIZE;
+            iovecs.setLong(iovec, addresses[from + i]);
+            iovecs.setLong(iovec + Long.BYTES, lengths[from + i]);
+        }
+        long sqe = (long) index * SQE_SIZE;
+        sqes.setMemory(sqe, SQE_SIZE, (byte) 0);
+        sqes.setByte(sqe + SQE_OPCODE, opcode);
+        sqes.setInt(sqe + SQE_FD, fd);
+        sqes.setLong(sqe + SQE_OFF, fileOffset);
+        sqes.setLong(sqe + SQE_ADDR, iovecsAddress + iovecsOffset);
+        sqes.setInt(sqe + SQE_LEN, count);
+        sqes.setLong(sqe + SQE_USER_DATA, userData);
+        localSqTail++;
+    }
+
+    /**
+     * Publish all prepared entries to the kernel and wait until at least {@code minCompletions} completions are
+     * available to be reaped. In the common case this is a single system call for the whole batch.
+     *
+     * @return number of entries submitted.
+     * @throws IOException if the kernel rejected the submission.
+     */
+    public int submit(int minCompletions) throws IOException {
+        // Entry contents must be visible to the kernel before it observes the new tail.
+        VarHandle.releaseFence();
+        sqTail.setInt(0, localSqTail);
+        int toSubmit = unconsumedEntries();
+        int remaining = toSubmit;
+        while (remaining > 0) {
+            try {
+                syscall(SYS_IO_URING_ENTER, ringFd, remaining, minCompletions, enterFlags(minCompletions), 0, 0);
+            } catch (LastErrorException e) {
+                if (e.getErrorCode() != EINTR) {
+                    inFlight += toSubmit - unconsumedEntries();
+                    throw new IOException("io_uring submission failed: " + errorMessage(e.getErrorCode()), e);
+                }
+            }
+            remaining = unconsumedEntries();
+        }
+        inFlight += toSubmit;
+        awaitCompletions(minCompletions);
+        return toSubmit;
+    }
+
+    /**
+     * Wait until at least {@code minCompletions} completions are available, without submitting anything new.
+     */
+    public void awaitCompletions(int minCompletions) throws IOException {
+        int ready;
+        while ((ready = cqReady()) < minCompletions) {
+            try {
+                syscall(SYS_IO_URING_ENTER, ringFd, 0, minCompletions - ready, IORING_ENTER_GETEVENTS, 0, 0);
+            } catch (LastErrorException e) {
+                if (e.getErrorCode() != EINTR) {
+                    throw new IOException("io_uring wait failed: " + errorMessage(e.getErrorCode()), e);
+                }
+            }
+        }
+    }
+
+    private static int enterFlags(int minCompletions) {
+        return minCompletions > 0 ? IORING_ENTER_GETEVENTS : 0;
+    }
+
+    private int unconsumedEntries() {
+        int head = sqHead.getInt(0);
+        VarHandle.acquireFence();
+        return localSqTail - head;
+    }
+
+    /**
+     * Hand every available completion to the given handler.
+     *
+     * @return number of completions reaped.
+     */
+    public int reapCompletions(CompletionHandler handler) {
+        int head = cqHead.getInt(0);
+        int tail = cqTail.getInt(0);
+        // Completion contents must not be read before the tail that published them.
+        VarHandle.acquireFence();
+        int reaped = 0;
+        while (head != tail) {
+            long cqe = (long) (head & cqMask) * CQE_SIZE;
+            handler.completed(cqes.getLong(cqe + CQE_USER_DATA), cqes.getInt(cqe + CQE_RES));
+            head++;
+            reaped++;
+        }
+        VarHandle.releaseFence();
+        cqHead.setInt(0, head);
+        inFlight -= reaped;
+        return reaped;
+    }
+
+    private int cqReady() {
+        int tail = cqTail.getInt(0);
+        VarHandle.acquireFence();
+        return tail - cqHead.getInt(0);
+    }
+
+    /**
+     * Duplicate a file descriptor. Io that is prepared against the duplicate keeps going to the same file, even if the
+     * original descriptor is closed and its number is reused for another file while the io is in flight.
+     *
+     * @return the new file descriptor, which has to be released with {@link #closeDescriptor(int)}.
+     * @throws IOException if the descriptor could not be duplicated.
+     */
+    public static int duplicate(int fd) throws IOException {
+        if (!NATIVE_ACCESS_AVAILABLE) {
+            throw new IOException("io_uring is not available on this platform.");
+        }
+        try {
+            return dup(fd);
+        } catch (LastErrorException e) {
+            throw new IOException("Unable to duplicate file descriptor: " + errorMessage(e.getErrorCode()), e);
+        }
+    }
+
+    /**
+     * Close a file descriptor created by {@link #duplicate(int)}.
+     */
+    public static void closeDescriptor(int fd) {
+        try {
+            close(fd);
+        } catch (LastErrorException e) {
+            // nothing we can do about it
+        }
+    }
+
+    /**
+     * @return {@code true} if the negated error number reported in a completion result means that the file descriptor
+     * of the entry was not open.
+     */
+    public static boolean isBadDescriptor(int errorNumber) {
+        return Math.abs(errorNumber) == EBADF;
+    }
+
+    /**
+     * @return a description of the negated error number reported in a completion result.
+     */
+    public static String errorMessage(int errorNumber) {
+        return LinuxNativeAccess.tryExtractError(Math.abs(errorNumber)) + " (errno " + Math.abs(errorNumber) + ")";
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // Closing the ring fd cancels and waits for anything still in flight before the memory is released.
+        close(ringFd);
+        unmapQuietly(sqesAddress, sqesSize);
+        if (cqRingAddress != sqRingAddress) {
+            unmapQuietly(cqRingAddress, cqRingSize);
+        }
+        unmapQuietly(sqRingAddress, sqRingSize);
+        Native.free(iovecsAddress);
+    }
+
+    private static void unmapQuietly(long address, long length) {
+        if (address != MAP_FAILED && length > 0) {
+            try {
+                munmap(address, length);
+            } catch (LastErrorException e) {
+                // nothing we can do about it
+            }
+        }
+    }
+
+    private static boolean probe() {
+        try (IoUring ignored = create(2, 1)) {
+            return true;
+        } catch (Throwable t) {
+            // Kernel too old, or io_uring disabled by seccomp or sysctl.
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    public interface CompletionHandler {
+        /**
+         * @param userData the user data the entry was prepared with.
+         * @param result number of bytes transferred, or a negated error number.
+         */
+        void completed(long userData, int result);
+    }
+}
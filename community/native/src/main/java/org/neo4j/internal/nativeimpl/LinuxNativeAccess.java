@@ -27,6 +27,10 @@ import com.sun.jna.LastErrorException;
 import com.sun.jna.Native;
 import com.sun.jna.Platform;
 import com.sun.jna.Pointer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
 
 public class LinuxNativeAccess implements NativeAccess {
 
@@ -48,6 +52,40 @@ public class LinuxNativeAccess implements NativeAccess {
      */
     private static final int POSIX_FADV_DONTNEED = 4;
 
+    /**
+     * Constants defined in mman.h to describe protection and type of anonymous memory mappings.
+     * For more info check man page for mmap.
+     */
+    private static final int PROT_READ = 0x1;
+    private static final int PROT_WRITE = 0x2;
+    private static final int MAP_PRIVATE = 0x02;
+    private static final int MAP_ANONYMOUS = 0x20;
+    private static final int MAP_NORESERVE = 0x4000;
+    private static final int MAP_HUGETLB = 0x40000;
+    private static final int MAP_HUGE_SHIFT = 26;
+    private static final long MAP_FAILED = -1;
+
+    /**
+     * Constant defined in mman.h and suggest that the specified memory region should be backed by transparent huge
+     * pages. For more info check man page for madvise.
+     */
+    private static final int MADV_HUGEPAGE = 14;
+
+    /**
+     * Memory policy modes defined in mempolicy.h. For more info check man page for mbind.
+     */
+    private static final int MPOL_PREFERRED = 1;
+    private static final int MPOL_INTERLEAVE = 3;
+
+    /**
+     * Number of the mbind system call, it is not exposed by the C library. Negative if unknown for the current
+     * architecture.
+     */
+    private static final long SYS_MBIND =
+            !Platform.is64Bit() ? -1 : Platform.isIntel() ? 237 : Platform.isARM() ? 235 : -1;
+
+    private static final Path NUMA_NODES_ONLINE = Path.of("/sys/devices/system/node/online");
+
     private static final boolean NATIVE_ACCESS_AVAILABLE;
     private static final Throwable INITIALIZATION_FAILURE;
 
@@ -99,6 +137,43 @@ public class LinuxNativeAccess implements NativeAccess {
      */
     public static native long strerror_r(int errnum, long buffPtr, int buffLength);
 
+    /**
+     * Creates a new mapping in the virtual address space of the calling process.
+     * @param addr hint for the address of the mapping, or 0 to let the kernel choose
+     * @param length length of the mapping in bytes
+     * @param prot memory protection of the mapping
+     * @param flags type of the mapping
+     * @param fd file descriptor of a mapped file, -1 for anonymous mappings
+     * @param offset offset in the mapped file
+     * @return address of the mapping on success, {@link #MAP_FAILED} on failure
+     */
+    private static native long mmap(long addr, long length, int prot, int flags, int fd, long offset)
+            throws LastErrorException;
+
+    /**
+     * Deletes the mappings for the specified address range.
+     * @param addr start of the range, aligned to page size
+     * @param length length of the range in bytes
+     * @return 0 on success, -1 on failure
+     */
+    private static native int munmap(long addr, long length) throws LastErrorException;
+
+    /**
+     * Give advice about use of memory in the specified address range.
+     * @param addr start of the range, aligned to page size
+     * @param length length of the range in bytes
+     * @param advice advise options
+     * @return 0 on success, -1 on failure
+     */
+    private static native int madvise(long addr, long length, int advice) throws LastErrorException;
+
+    /**
+     * Invoke the system call with the specified number and arguments. Used for system calls without C library wrapper.
+     * @return return value of the system call, -1 on failure
+     */
+    private static native long syscall(long number, long a1, long a2, long a3, long a4, long a5, long a6)
+            throws LastErrorException;
+
     @Override
     public boolean isAvailable() {
         return NATIVE_ACCESS_AVAILABLE;
@@ -140,6 +215,100 @@ public class LinuxNativeAccess implements NativeAccess {
         return wrapResult(() -> posix_fallocate(fd, 0, bytes));
     }
 
+    @Override
+    public long tryMapMemory(long bytes, long alignment) {
+        if (bytes <= 0 || alignment <= 0 || Long.bitCount(alignment) != 1) {
+            return 0;
+        }
+        try {
+            // Over-map by the alignment and trim the unaligned head and the tail of the mapping.
+            long mappedBytes = bytes + alignment;
+            int flags = MAP_PRIVATE | MAP_ANONYMOUS | MAP_NORESERVE;
+            long mapped = mmap(0, mappedBytes, PROT_READ | PROT_WRITE, flags, -1, 0);
+            if (mapped == MAP_FAILED) {
+                return 0;
+            }
+            long address = (mapped + alignment - 1) & -alignment;
+            long head = address - mapped;
+            long tail = mappedBytes - head - bytes;
+            if (head > 0) {
+                munmap(mapped, head);
+            }
+            if (tail > 0) {
+                munmap(address + bytes, tail);
+            }
+            return address;
+        } catch (LastErrorException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public long tryMapHugeTlbMemory(long bytes, long hugePageSize) {
+        if (bytes <= 0 || hugePageSize <= 0 || Long.bitCount(hugePageSize) != 1) {
+            return 0;
+        }
+        try {
+            int hugePageFlags = MAP_HUGETLB | (Long.numberOfTrailingZeros(hugePageSize) << MAP_HUGE_SHIFT);
+            long address = mmap(0, bytes, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS | hugePageFlags, -1, 0);
+            return address == MAP_FAILED ? 0 : address;
+        } catch (LastErrorException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public NativeCallResult tryUnmapMemory(long address, long bytes) {
+        if (address == 0 || bytes <= 0) {
+            return new NativeCallResult(ERROR, "Incorrect memory region.");
+        }
+        return wrapResult(() -> munmap(address, bytes));
+    }
+
+    @Override
+    public NativeCallResult tryAdviseHugePages(long address, long bytes) {
+        if (address == 0 || bytes <= 0) {
+            return new NativeCallResult(ERROR, "Incorrect memory region.");
+        }
+        return wrapResult(() -> madvise(address, bytes, MADV_HUGEPAGE));
+    }
+
+    @Override
+    public NativeCallResult tryInterleaveMemory(long address, long bytes, int[] numaNodes) {
+        if (numaNodes.length == 0) {
+            return new NativeCallResult(ERROR, "At least one NUMA node should be requested.");
+        }
+        return memoryPolicy(address, bytes, MPOL_INTERLEAVE, numaNodes);
+    }
+
+    @Override
+    public NativeCallResult tryPreferMemoryNode(long address, long bytes, int numaNode) {
+        if (numaNode < 0) {
+            return new NativeCallResult(ERROR, "NUMA node should not be negative. Requested: " + numaNode);
+        }
+        return memoryPolicy(address, bytes, MPOL_PREFERRED, new int[] {numaNode});
+    }
+
+    @Override
+    public int[] onlineNumaNodes() {
+        // The file lists ranges of online node ids, for example "0-3" or "0,2-3". Offline nodes leave gaps.
+        try {
+            IntStream.Builder nodes = IntStream.builder();
+            for (String range : Files.readString(NUMA_NODES_ONLINE).trim().split(",")) {
+                int dash = range.indexOf('-');
+                int first = Integer.parseInt(dash < 0 ? range : range.substring(0, dash));
+                int last = Integer.parseInt(dash < 0 ? range : range.substring(dash + 1));
+                for (int node = first; node <= last; node++) {
+                    nodes.add(node);
+                }
+            }
+            int[] online = nodes.build().sorted().distinct().toArray();
+            return online.length == 0 ? new int[] {0} : online;
+        } catch (IOException | RuntimeException e) {
+            return new int[] {0};
+        }
+    }
+
     @Override
     public ErrorTranslator errorTranslator() {
         return LinuxErrorTranslator.INSTANCE;
@@ -158,6 +327,40 @@ public class LinuxNativeAccess implements NativeAccess {
         return descriptionBuilder.toString();
     }
 
+    private static NativeCallResult memoryPolicy(long address, long bytes, int mode, int[] nodes) {
+        if (address == 0 || bytes <= 0) {
+            return new NativeCallResult(ERROR, "Incorrect memory region.");
+        }
+        if (SYS_MBIND < 0) {
+            return new NativeCallResult(ERROR, "Memory policies are not supported on " + Platform.ARCH + ".");
+        }
+        int highestNode = 0;
+        for (int node : nodes) {
+            if (node < 0) {
+                return new NativeCallResult(ERROR, "NUMA node should not be negative. Requested: " + node);
+            }
+            highestNode = Math.max(highestNode, node);
+        }
+        int words = highestNode / Long.SIZE + 1;
+        long nodeMask = Native.malloc((long) words * Long.BYTES);
+        if (nodeMask == 0) {
+            return new NativeCallResult(ERROR, "Unable to allocate NUMA node mask.");
+        }
+        try {
+            Pointer mask = new Pointer(nodeMask);
+            mask.clear((long) words * Long.BYTES);
+            for (int node : nodes) {
+                long word = (long) (node / Long.SIZE) * Long.BYTES;
+                mask.setLong(word, mask.getLong(word) | (1L << (node % Long.SIZE)));
+            }
+            // The kernel only looks at maxnode - 1 bits of the mask.
+            long maxNode = (long) words * Long.SIZE + 1;
+            return wrapResult(() -> (int) syscall(SYS_MBIND, address, bytes, mode, nodeMask, maxNode, 0));
+        } finally {
+            Native.free(nodeMask);
+        }
+    }
+
     private static NativeCallResult wrapResult(NativeCall call) {
         try {
             int result = call.call();
@@ -171,7 +374,7 @@ public class LinuxNativeAccess implements NativeAccess {
         }
     }
 
-    private static String tryExtractError(int errorCode) {
+    static String tryExtractError(int errorCode) {
         // The GNU C Library uses a buffer of 1024 characters for strerror().
         // This buffer size therefore should be sufficient to avoid an ERANGE error when calling strerror_r() and
         // strerror_l().
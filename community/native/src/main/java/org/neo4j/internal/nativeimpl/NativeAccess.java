@@ -68,6 +68,69 @@ public interface NativeAccess {
      */
     NativeCallResult tryPreallocateSpace(int fd, long bytes);
 
+    /**
+     * Try to map a private anonymous region of memory, backed by regular pages, that starts at an address aligned to
+     * the provided alignment. Useful for regions that should later be advised to use transparent huge pages.
+     * @param bytes size of the region in bytes, multiple of the system page size
+     * @param alignment alignment of the start of the region, power of two multiple of the system page size
+     * @return address of the mapped region, or zero if the region could not be mapped
+     */
+    long tryMapMemory(long bytes, long alignment);
+
+    /**
+     * Try to map a private anonymous region of memory backed by explicitly reserved (hugetlbfs) huge pages of the
+     * provided size. Mapping fails if the system does not have enough huge pages of the requested size reserved.
+     * @param bytes size of the region in bytes, multiple of the huge page size
+     * @param hugePageSize size of the huge pages, for example 2 MiB or 1 GiB
+     * @return address of the mapped region, or zero if the region could not be mapped
+     */
+    long tryMapHugeTlbMemory(long bytes, long hugePageSize);
+
+    /**
+     * Try to unmap a region of memory previously mapped by {@link #tryMapMemory(long, long)} or
+     * {@link #tryMapHugeTlbMemory(long, long)}.
+     * @param address address of the region
+     * @param bytes size of the region in bytes
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryUnmapMemory(long address, long bytes);
+
+    /**
+     * Try to advise that the provided region of memory should be backed by transparent huge pages.
+     * @param address address of the region, aligned to the system page size
+     * @param bytes size of the region in bytes
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryAdviseHugePages(long address, long bytes);
+
+    /**
+     * Try to set a memory policy for the provided region of memory that interleaves its pages over the provided NUMA
+     * nodes. Must be called before the memory is touched for the first time.
+     * @param address address of the region, aligned to the system page size
+     * @param bytes size of the region in bytes
+     * @param numaNodes ids of the NUMA nodes to interleave over, see {@link #onlineNumaNodes()}
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryInterleaveMemory(long address, long bytes, int[] numaNodes);
+
+    /**
+     * Try to set a memory policy for the provided region of memory that prefers to allocate its pages on the provided
+     * NUMA node. Pages are allocated on other nodes when the preferred node runs out of memory.
+     * Must be called before the memory is touched for the first time.
+     * @param address address of the region, aligned to the system page size
+     * @param bytes size of the region in bytes
+     * @param numaNode id of the NUMA node the pages should be allocated on, see {@link #onlineNumaNodes()}
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryPreferMemoryNode(long address, long bytes, int numaNode);
+
+    /**
+     * Ids of the NUMA nodes of the system that are online. Node ids are not necessarily contiguous.
+     * @return ids of the online NUMA nodes in ascending order, or only node 0 if the system is not a NUMA system or
+     * the nodes can not be determined
+     */
+    int[] onlineNumaNodes();
+
     /**
      * High level error translator to be able to map high level exceptions checks with low level error codes on particular system
      */
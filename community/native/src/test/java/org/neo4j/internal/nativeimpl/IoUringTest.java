@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.nativeimpl;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.commons.lang3.reflect.FieldUtils.getDeclaredField;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Pointer;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+@EnabledOnOs(OS.LINUX)
+class IoUringTest {
+    private static final int BUFFER_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void requireIoUring() {
+        assumeTrue(IoUring.isAvailable(), "io_uring is not available");
+    }
+
+    @Test
+    void writeAndReadBackVectoredBatch() throws IOException {
+        Path file = directory.resolve("file");
+        Memory out1 = filled(1);
+        Memory out2 = filled(2);
+        Memory out3 = filled(3);
+        Memory in1 = new Memory(BUFFER_SIZE);
+        Memory in2 = new Memory(BUFFER_SIZE);
+        Memory in3 = new Memory(BUFFER_SIZE);
+        List<Integer> results = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE);
+                IoUring ring = IoUring.create(4, 2)) {
+            int fd = fileDescriptor(channel);
+            // Two entries in one submission: the first covers two buffers, the second one buffer.
+            ring.prepareWritev(fd, 0, addresses(out1, out2), lengths(2), 0, 2, 0);
+            ring.prepareWritev(fd, 2L * BUFFER_SIZE, addresses(out3), lengths(1), 0, 1, 1);
+            assertThat(ring.submit(2)).isEqualTo(2);
+            assertThat(ring.reapCompletions((userData, result) -> results.add(result))).isEqualTo(2);
+            assertThat(results).containsExactly(2 * BUFFER_SIZE, BUFFER_SIZE);
+            assertThat(Files.size(file)).isEqualTo(3L * BUFFER_SIZE);
+
+            results.clear();
+            ring.prepareReadv(fd, 0, addresses(in1, in2, in3), lengths(3), 0, 2, 0);
+            ring.prepareReadv(fd, 2L * BUFFER_SIZE, addresses(in1, in2, in3), lengths(3), 2, 1, 1);
+            ring.submit(2);
+            ring.reapCompletions((userData, result) -> results.add(result));
+            assertThat(results).containsExactly(2 * BUFFER_SIZE, BUFFER_SIZE);
+        }
+
+        assertThat(in1.getByte(BUFFER_SIZE - 1)).isEqualTo((byte) 1);
+        assertThat(in2.getByte(0)).isEqualTo((byte) 2);
+        assertThat(in3.getByte(BUFFER_SIZE / 2)).isEqualTo((byte) 3);
+    }
+
+    @Test
+    void reportShortReadAtEndOfFile() throws IOException {
+        Path file = directory.resolve("file");
+        Files.write(file, new byte[BUFFER_SIZE / 2]);
+        Memory buffer = new Memory(BUFFER_SIZE);
+        int[] result = new int[1];
+
+        try (FileChannel channel = FileChannel.open(file, READ);
+                IoUring ring = IoUring.create(2, 1)) {
+            ring.prepareReadv(fileDescriptor(channel), 0, addresses(buffer), lengths(1), 0, 1, 42);
+            ring.submit(1);
+            ring.reapCompletions((userData, res) -> {
+                assertThat(userData).isEqualTo(42);
+                result[0] = res;
+            });
+        }
+
+        assertThat(result[0]).isEqualTo(BUFFER_SIZE / 2);
+    }
+
+    @Test
+    void reportErrorsInCompletionResult() throws IOException {
+        Memory buffer = new Memory(BUFFER_SIZE);
+        int[] result = new int[1];
+
+        try (IoUring ring = IoUring.create(2, 1)) {
+            ring.prepareReadv(-1, 0, addresses(buffer), lengths(1), 0, 1, 0);
+            ring.submit(1);
+            ring.reapCompletions((userData, res) -> result[0] = res);
+        }
+
+        assertThat(result[0]).isNegative();
+        assertThat(IoUring.errorMessage(result[0])).isNotEmpty();
+    }
+
+    private static Memory filled(int value) {
+        Memory memory = new Memory(BUFFER_SIZE);
+        memory.setMemory(0, BUFFER_SIZE, (byte) value);
+        return memory;
+    }
+
+    private static long[] addresses(Memory... buffers) {
+        long[] addresses = new long[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            addresses[i] = Pointer.nativeValue(buffers[i]);
+        }
+        return addresses;
+    }
+
+    private static int[] lengths(int count) {
+        int[] lengths = new int[count];
+        Arrays.fill(lengths, BUFFER_SIZE);
+        return lengths;
+    }
+
+    private static int fileDescriptor(FileChannel channel) throws IOException {
+        try {
+            Class<?> fileChannelImpl = Class.forName("sun.nio.ch.FileChannelImpl");
+            FileDescriptor fd =
+                    (FileDescriptor) getDeclaredField(fileChannelImpl, "fd", true).get(channel);
+            return getDeclaredField(FileDescriptor.class, "fd", true).getInt(fd);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException(e);
+        }
+    }
+}
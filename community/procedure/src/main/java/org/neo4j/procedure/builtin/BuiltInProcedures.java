@@ -32,6 +32,7 @@ import java.time.ZoneId;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.neo4j.common.DependencyResolver;
 import org.neo4j.configuration.Config;
@@ -49,13 +50,19 @@ import org.neo4j.internal.kernel.api.security.SecurityContext;
 import org.neo4j.internal.schema.IndexProviderDescriptor;
 import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.kernel.api.procedure.SystemProcedure;
+import org.neo4j.kernel.database.DatabaseTracers;
 import org.neo4j.kernel.impl.api.index.IndexingService;
+import org.neo4j.kernel.impl.api.tracer.LockWaitHistogramTracer;
 import org.neo4j.kernel.impl.coreapi.InternalTransaction;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
+import org.neo4j.kernel.impl.transaction.stats.PowerOfTwoHistogram;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.lock.LockTracer;
+import org.neo4j.lock.LockType;
 import org.neo4j.procedure.Admin;
 import org.neo4j.procedure.Context;
 import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Internal;
 import org.neo4j.procedure.Mode;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.NotThreadSafe;
@@ -291,6 +298,25 @@ public class BuiltInProcedures {
         return Stream.of(new BooleanResult(Boolean.TRUE));
     }
 
+    @Internal
+    @NotThreadSafe
+    @Description("List how long transactions waited for the shared and exclusive locks they could not get right away, "
+            + "as the number of waits below each power of two of microseconds.")
+    @Procedure(name = "db.lockWaits", mode = READ)
+    public Stream<LockWaitResult> lockWaits() {
+        LockTracer lockTracer = resolver.resolveDependency(DatabaseTracers.class).getLockTracer();
+        if (!(lockTracer instanceof LockWaitHistogramTracer histogramTracer)) {
+            return Stream.empty();
+        }
+        return Stream.of(LockType.SHARED, LockType.EXCLUSIVE).flatMap(lockType -> {
+            PowerOfTwoHistogram histogram = histogramTracer.lockWaitMicros(lockType);
+            return IntStream.range(0, PowerOfTwoHistogram.BUCKETS)
+                    .filter(bucket -> histogram.count(bucket) > 0)
+                    .mapToObj(bucket -> new LockWaitResult(
+                            lockType.name(), PowerOfTwoHistogram.upperBound(bucket), histogram.count(bucket)));
+        });
+    }
+
     private ZoneId getConfiguredTimeZone() {
         Config config = resolver.resolveDependency(Config.class);
         return config.get(GraphDatabaseSettings.db_timezone).getZoneId();
@@ -326,6 +352,8 @@ public class BuiltInProcedures {
 
     public record BooleanResult(Boolean success) {}
 
+    public record LockWaitResult(String lockType, long waitMicrosBelow, long count) {}
+
     public record NodeResult(Node node) {}
 
     public record WeightedNodeResult(Node node, double weight) {}
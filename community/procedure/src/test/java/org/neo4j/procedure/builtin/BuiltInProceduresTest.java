@@ -83,16 +83,22 @@ import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
 import org.neo4j.internal.kernel.api.procs.ProcedureSignature;
 import org.neo4j.internal.kernel.api.security.SecurityContext;
 import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.version.VersionStorageTracer;
 import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.kernel.api.Statement;
 import org.neo4j.kernel.api.procedure.Context;
 import org.neo4j.kernel.api.procedure.GlobalProcedures;
+import org.neo4j.kernel.database.DatabaseTracers;
 import org.neo4j.kernel.impl.api.index.IndexingService;
+import org.neo4j.kernel.impl.api.tracer.LockWaitHistogramTracer;
 import org.neo4j.kernel.impl.coreapi.InternalTransaction;
 import org.neo4j.kernel.impl.factory.DbmsInfo;
+import org.neo4j.kernel.impl.transaction.tracing.DatabaseTracer;
 import org.neo4j.kernel.impl.util.DefaultValueMapper;
 import org.neo4j.kernel.impl.util.ValueUtils;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.lock.LockType;
 import org.neo4j.logging.InternalLog;
 import org.neo4j.logging.Log;
 import org.neo4j.procedure.builtin.BuiltInDbmsProcedures.UpgradeAllowedChecker;
@@ -387,6 +393,33 @@ class BuiltInProceduresTest {
                                 "A string."));
     }
 
+    @Test
+    void shouldListLockWaitHistograms() throws Throwable {
+        // Given
+        LockWaitHistogramTracer lockTracer = new LockWaitHistogramTracer();
+        lockTracer.lockWaitMicros(LockType.SHARED).record(3);
+        lockTracer.lockWaitMicros(LockType.EXCLUSIVE).record(0);
+        lockTracer.lockWaitMicros(LockType.EXCLUSIVE).record(100);
+        lockTracer.lockWaitMicros(LockType.EXCLUSIVE).record(120);
+        when(resolver.resolveDependency(DatabaseTracers.class))
+                .thenReturn(new DatabaseTracers(
+                        DatabaseTracer.NULL, lockTracer, PageCacheTracer.NULL, VersionStorageTracer.NULL));
+
+        // When / Then
+        assertThat(call("db.lockWaits"))
+                .containsExactly(
+                        record("SHARED", 4L, 1L), record("EXCLUSIVE", 1L, 1L), record("EXCLUSIVE", 128L, 2L));
+    }
+
+    @Test
+    void shouldListNoLockWaitsWithoutHistogramTracer() throws Throwable {
+        // Given
+        when(resolver.resolveDependency(DatabaseTracers.class)).thenReturn(DatabaseTracers.EMPTY);
+
+        // When / Then
+        assertThat(call("db.lockWaits")).isEmpty();
+    }
+
     @Test
     void shouldNotListSystemGraphComponentsIfNotSystemDb() {
         Config config = Config.defaults();
@@ -56,6 +56,7 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
     private final StoreCursors storeCursors;
     private final RelationshipStore relationshipStore;
     private final RelationshipGroupStore groupStore;
+    private final RelationshipAdjacencyCache adjacencyCache;
     private PageCursor singleCursor;
     private PageCursor scanCursor;
     private PageCursor currentCursor;
@@ -76,9 +77,21 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
             RelationshipGroupDegreesStore groupDegreesStore,
             CursorContext cursorContext,
             StoreCursors storeCursors) {
+        this(read, relationshipStore, groupStore, groupDegreesStore, null, cursorContext, storeCursors);
+    }
+
+    RecordNodeCursor(
+            NodeStore read,
+            RelationshipStore relationshipStore,
+            RelationshipGroupStore groupStore,
+            RelationshipGroupDegreesStore groupDegreesStore,
+            RelationshipAdjacencyCache adjacencyCache,
+            CursorContext cursorContext,
+            StoreCursors storeCursors) {
         super(NO_ID);
         this.read = read;
         this.groupDegreesStore = groupDegreesStore;
+        this.adjacencyCache = adjacencyCache;
         this.cursorContext = cursorContext;
         this.storeCursors = storeCursors;
         this.relationshipStore = relationshipStore;
@@ -222,7 +235,7 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
     private void ensureRelationshipTraversalCursorInitialized() {
         if (relationshipCursor == null) {
             relationshipCursor = new RecordRelationshipTraversalCursor(
-                    relationshipStore, groupStore, groupDegreesStore, cursorContext, storeCursors);
+                    relationshipStore, groupStore, groupDegreesStore, adjacencyCache, cursorContext, storeCursors);
         }
     }
 
@@ -411,7 +424,7 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
     private void selectScanCursor() {
         // For node scans we used a local cursor to skip the overhead of positioning it on every node
         if (scanCursor == null) {
-            scanCursor = read.openPageCursorForReading(0, cursorContext);
+            scanCursor = read.openPageCursorForScanning(0, cursorContext);
         }
         currentCursor = scanCursor;
     }
@@ -19,23 +19,33 @@
  */
 package org.neo4j.internal.recordstorage;
 
+import static org.neo4j.kernel.impl.store.RecordPageLocationCalculator.pageIdForRecord;
 import static org.neo4j.storageengine.api.RelationshipDirection.INCOMING;
 import static org.neo4j.storageengine.api.RelationshipDirection.LOOP;
 import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
 import static org.neo4j.storageengine.api.RelationshipDirection.directionOfStrict;
+import static org.neo4j.storageengine.api.RelationshipSelection.ALL_RELATIONSHIPS;
 
 import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
+import org.neo4j.internal.recordstorage.RelationshipAdjacencyCache.NodeAdjacency;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.store.CommonAbstractStore;
 import org.neo4j.kernel.impl.store.RelationshipGroupStore;
 import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.kernel.impl.store.record.RecordLoadOverride;
 import org.neo4j.storageengine.api.ReadTracer;
+import org.neo4j.storageengine.api.RelationshipDirection;
 import org.neo4j.storageengine.api.RelationshipSelection;
 import org.neo4j.storageengine.api.StorageRelationshipTraversalCursor;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.storageengine.util.SingleDegree;
 
 class RecordRelationshipTraversalCursor extends RecordRelationshipCursor implements StorageRelationshipTraversalCursor {
     private final StoreCursors storeCursors;
+    private final RelationshipGroupStore groupStore;
+    private final boolean prefetch;
+    private final RelationshipAdjacencyCache adjacencyCache;
     private ReadTracer tracer;
 
     private enum GroupState {
@@ -52,6 +62,12 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
     private final RecordRelationshipGroupCursor group;
     private GroupState groupState = GroupState.NONE;
     private boolean open;
+    private long prefetchedRelationshipPage = NO_ID;
+    private long prefetchedGroupPage = NO_ID;
+    private NodeAdjacency adjacency;
+    private int adjacencyChain;
+    private int adjacencyIndex;
+    private int adjacencyEnd;
 
     RecordRelationshipTraversalCursor(
             RelationshipStore relationshipStore,
@@ -59,8 +75,21 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
             RelationshipGroupDegreesStore groupDegreesStore,
             CursorContext cursorContext,
             StoreCursors storeCursors) {
+        this(relationshipStore, groupStore, groupDegreesStore, null, cursorContext, storeCursors);
+    }
+
+    RecordRelationshipTraversalCursor(
+            RelationshipStore relationshipStore,
+            RelationshipGroupStore groupStore,
+            RelationshipGroupDegreesStore groupDegreesStore,
+            RelationshipAdjacencyCache adjacencyCache,
+            CursorContext cursorContext,
+            StoreCursors storeCursors) {
         super(relationshipStore, cursorContext);
         this.storeCursors = storeCursors;
+        this.groupStore = groupStore;
+        this.adjacencyCache = adjacencyCache;
+        this.prefetch = relationshipStore.isChainPrefetchEnabled();
         this.group = new RecordRelationshipGroupCursor(
                 relationshipStore, groupStore, groupDegreesStore, loadMode, cursorContext, storeCursors);
     }
@@ -91,7 +120,9 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
         this.selection = selection;
         if (isDense) {
             // The reference points to a relationship group record
-            groups(nodeReference, reference);
+            if (!cached(nodeReference, reference)) {
+                groups(nodeReference, reference);
+            }
         } else {
             // The reference points to a relationship record
             chain(nodeReference, reference);
@@ -121,6 +152,90 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
         this.group.direct(nodeReference, groupReference);
     }
 
+    /*
+     * Dense node with enough relationships to be in the adjacency cache. Traversal returns mixed types and directions,
+     * read from the cache rather than from the store.
+     */
+    private boolean cached(long nodeReference, long groupReference) {
+        if (adjacencyCache == null || loadMode != RecordLoadOverride.none()) {
+            return false;
+        }
+        NodeAdjacency found = adjacencyCache.get(nodeReference);
+        if (found == null) {
+            found = buildAdjacency(nodeReference, groupReference);
+            if (found == null) {
+                return false;
+            }
+        }
+        setId(NO_ID);
+        this.next = NO_ID;
+        this.groupState = GroupState.NONE;
+        this.originNodeReference = nodeReference;
+        this.adjacency = found;
+        this.adjacencyChain = -1;
+        this.adjacencyIndex = 0;
+        this.adjacencyEnd = 0;
+        return true;
+    }
+
+    /**
+     * Reads all relationships of the given dense node from the store and adds them to the adjacency cache, if the
+     * node has at least the degree threshold of the cache.
+     *
+     * @return the relationships of the node, or {@code null} if the node is not cached.
+     */
+    private NodeAdjacency buildAdjacency(long nodeReference, long groupReference) {
+        int degreeThreshold = adjacencyCache.degreeThreshold();
+        SingleDegree degree = new SingleDegree(degreeThreshold);
+        group.direct(nodeReference, groupReference);
+        while (group.next()) {
+            if (!group.degree(degree, ALL_RELATIONSHIPS)) {
+                break;
+            }
+        }
+        if (degree.getTotal() < degreeThreshold) {
+            return null;
+        }
+
+        // The stamp must be taken before the relationships are read, see RelationshipAdjacencyCache
+        long stamp = adjacencyCache.stamp(nodeReference);
+        NodeAdjacency.Builder builder = new NodeAdjacency.Builder();
+        ensureCursor();
+        group.direct(nodeReference, groupReference);
+        while (group.next()) {
+            if (!collectChain(builder, nodeReference, group.getType(), group.incomingRawId())
+                    || !collectChain(builder, nodeReference, group.getType(), group.outgoingRawId())
+                    || !collectChain(builder, nodeReference, group.getType(), group.loopsRawId())) {
+                // The chain was changed while we were reading it, let the store traversal deal with that
+                return null;
+            }
+        }
+        NodeAdjacency built = builder.build();
+        adjacencyCache.put(nodeReference, stamp, built);
+        return built;
+    }
+
+    private boolean collectChain(NodeAdjacency.Builder builder, long nodeReference, int type, long reference) {
+        builder.chain(type);
+        while (reference != NO_ID) {
+            relationshipFull(this, reference, pageCursor);
+            long neighbour;
+            if (getFirstNode() == nodeReference) {
+                neighbour = getSecondNode();
+                reference = getFirstNextRel();
+            } else if (getSecondNode() == nodeReference) {
+                neighbour = getFirstNode();
+                reference = getSecondNextRel();
+            } else {
+                return false;
+            }
+            if (inUse()) {
+                builder.add(getId(), neighbour, getNextProp());
+            }
+        }
+        return true;
+    }
+
     @Override
     public long neighbourNodeReference() {
         final long source = sourceNodeReference(), target = targetNodeReference();
@@ -140,6 +255,9 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
 
     @Override
     public boolean next() {
+        if (adjacency != null) {
+            return nextCached();
+        }
         boolean traversingDenseNode;
         do {
             traversingDenseNode = traversingDenseNode();
@@ -154,6 +272,9 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
 
             relationshipFull(this, next, pageCursor);
             computeNext();
+            if (prefetch) {
+                prefetchNext();
+            }
             if (tracer != null) {
                 tracer.onRelationship(entityReference());
             }
@@ -164,6 +285,36 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
         return true;
     }
 
+    private boolean nextCached() {
+        while (adjacencyIndex == adjacencyEnd) {
+            if (++adjacencyChain == adjacency.numberOfChains()
+                    || adjacency.chainType(adjacencyChain) > selection.highestType()) {
+                resetState();
+                return false;
+            }
+            if (selection.test(adjacency.chainType(adjacencyChain), adjacency.chainDirection(adjacencyChain))) {
+                adjacencyIndex = adjacency.chainStart(adjacencyChain);
+                adjacencyEnd = adjacency.chainEnd(adjacencyChain);
+            }
+        }
+
+        int index = adjacencyIndex++;
+        int type = adjacency.chainType(adjacencyChain);
+        long neighbour = adjacency.neighbour(index);
+        switch (adjacency.chainDirection(adjacencyChain)) {
+            case OUTGOING -> setLinks(originNodeReference, neighbour, type);
+            case INCOMING -> setLinks(neighbour, originNodeReference, type);
+            case LOOP -> setLinks(originNodeReference, originNodeReference, type);
+        }
+        setId(adjacency.relationship(index));
+        setNextProp(adjacency.properties(index));
+        setInUse(true);
+        if (tracer != null) {
+            tracer.onRelationship(entityReference());
+        }
+        return true;
+    }
+
     private void traverseDenseNode() {
         while (next == NO_ID) {
             /*
@@ -208,6 +359,9 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
                     if (tracer != null) {
                         tracer.dbHit();
                     }
+                    if (prefetch) {
+                        prefetchGroup();
+                    }
                     if (group.getType() > selection.highestType()) {
                         // The groups are ordered, no need to keep looking if we are past the end of selection
                         return;
@@ -246,6 +400,61 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
         }
     }
 
+    /**
+     * Prefetches the next relationship in the chain, so that its page loads while the caller processes this one.
+     */
+    private void prefetchNext() {
+        if (next != NO_ID
+                && pageIdForRecord(next, relationshipStore.getRecordsPerPage()) != pageCursor.getCurrentPageId()) {
+            prefetchedRelationshipPage = prefetch(relationshipStore, next, prefetchedRelationshipPage);
+        }
+    }
+
+    /**
+     * Prefetches the next group in the chain, and the first relationship of each chain of the current group that
+     * the selection will traverse, so that they load in parallel with the traversal of the current chain.
+     */
+    private void prefetchGroup() {
+        if (group.getType() > selection.highestType()) {
+            return;
+        }
+        if (group.getNext() != NO_ID) {
+            prefetchedGroupPage = prefetch(groupStore, group.getNext(), prefetchedGroupPage);
+        }
+        if (!selection.test(group.getType())) {
+            return;
+        }
+        prefetchChainHead(group.incomingRawId(), INCOMING);
+        prefetchChainHead(group.outgoingRawId(), OUTGOING);
+        prefetchChainHead(group.loopsRawId(), LOOP);
+    }
+
+    private void prefetchChainHead(long reference, RelationshipDirection direction) {
+        if (reference != NO_ID && selection.test(group.getType(), direction)) {
+            prefetchedRelationshipPage = prefetch(relationshipStore, reference, prefetchedRelationshipPage);
+        }
+    }
+
+    /**
+     * Prefetches the page of the given record, unless it is the page that was prefetched last from that store.
+     *
+     * @return the page that was prefetched last from the store.
+     */
+    private long prefetch(CommonAbstractStore<?, ?> store, long reference, long lastPrefetchedPage) {
+        long pageId = pageIdForRecord(reference, store.getRecordsPerPage());
+        if (pageId != lastPrefetchedPage) {
+            boolean resident = store.prefetchRecord(reference, cursorContext);
+            if (tracer != null) {
+                if (resident) {
+                    tracer.onPrefetchHit();
+                } else {
+                    tracer.onPrefetchMiss();
+                }
+            }
+        }
+        return pageId;
+    }
+
     private void ensureCursor() {
         if (pageCursor == null) {
             pageCursor = storeCursors.readCursor(RecordCursorTypes.RELATIONSHIP_CURSOR);
@@ -299,6 +508,9 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
         super.resetState();
         group.loadMode = loadMode;
         setId(next = NO_ID);
+        prefetchedRelationshipPage = NO_ID;
+        prefetchedGroupPage = NO_ID;
+        adjacency = null;
         groupState = GroupState.NONE;
         selection = null;
     }
@@ -314,7 +526,7 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
         if (!open) {
             return "RelationshipTraversalCursor[closed state]";
         } else {
-            String dense = "denseNode=" + traversingDenseNode();
+            String dense = "denseNode=" + (traversingDenseNode() || adjacency != null);
             return "RelationshipTraversalCursor[id=" + getId() + ", open state with: "
                     + dense + ", next="
                     + next + ", " + ", underlying record="
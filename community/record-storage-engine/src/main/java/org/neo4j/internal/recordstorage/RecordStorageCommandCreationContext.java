@@ -24,8 +24,10 @@ import static java.lang.Math.toIntExact;
 import java.util.function.Supplier;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.internal.recordstorage.RecordAccess.LoadMonitor;
 import org.neo4j.internal.recordstorage.id.BatchedTransactionIdSequenceProvider;
+import org.neo4j.internal.recordstorage.id.ChunkedTransactionIdSequenceProvider;
 import org.neo4j.internal.recordstorage.id.IdSequenceProvider;
 import org.neo4j.internal.recordstorage.id.TransactionIdSequenceProvider;
 import org.neo4j.io.pagecache.context.CursorContext;
@@ -78,7 +80,7 @@ class RecordStorageCommandCreationContext implements CommandCreationContext {
         this.neoStores = neoStores;
         this.config = config;
         this.multiVersioned = multiVersioned;
-        this.transactionSequenceProvider = createIdSequenceProvider(neoStores, multiVersioned);
+        this.transactionSequenceProvider = createIdSequenceProvider(neoStores, config, multiVersioned);
         this.dynamicAllocatorProvider = new TransactionDynamicAllocatorProvider(neoStores, transactionSequenceProvider);
     }
 
@@ -228,9 +230,14 @@ class RecordStorageCommandCreationContext implements CommandCreationContext {
         }
     }
 
-    private static IdSequenceProvider createIdSequenceProvider(NeoStores neoStores, boolean multiVersioned) {
-        return multiVersioned
-                ? new BatchedTransactionIdSequenceProvider(neoStores)
+    private static IdSequenceProvider createIdSequenceProvider(
+            NeoStores neoStores, Config config, boolean multiVersioned) {
+        if (multiVersioned) {
+            return new BatchedTransactionIdSequenceProvider(neoStores);
+        }
+        int maxChunkSize = config.get(GraphDatabaseInternalSettings.transaction_id_chunk_size);
+        return maxChunkSize > 1
+                ? new ChunkedTransactionIdSequenceProvider(neoStores, maxChunkSize)
                 : new TransactionIdSequenceProvider(neoStores);
     }
 }
@@ -168,6 +168,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
     private final RecordDatabaseEntityCounters storeEntityCounters;
     private final RecordStorageIndexingBehaviour indexingBehaviour;
     private final boolean multiVersion;
+    private final RelationshipAdjacencyCache relationshipAdjacencyCache;
 
     // installed later
     private IndexUpdateListener indexUpdateListener;
@@ -264,6 +265,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
             consistencyCheckApply = config.get(GraphDatabaseInternalSettings.consistency_check_on_apply);
             storeEntityCounters = new RecordDatabaseEntityCounters(idGeneratorFactory, countsStore);
             parallelIndexUpdatesApply = config.get(GraphDatabaseInternalSettings.parallel_index_updates_apply);
+            relationshipAdjacencyCache = createRelationshipAdjacencyCache(config, otherMemoryTracker);
         } catch (Throwable failure) {
             neoStores.close();
             throw failure;
@@ -291,6 +293,9 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
             appliers.add(
                     new LockGuardedNeoStoreTransactionApplierFactory(mode, neoStores, cacheAccess, lockService(mode)));
         }
+        if (relationshipAdjacencyCache != null) {
+            appliers.add(new RelationshipAdjacencyCacheInvalidator.Factory(relationshipAdjacencyCache));
+        }
         if (mode.rollbackIdProcessing()) {
             appliers.add((transaction, batchContext) ->
                     new IdRollbackTransactionApplier(idGeneratorFactory, transaction.cursorContext()));
@@ -314,6 +319,17 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
                 idUpdateListenerFunction, appliers.toArray(TransactionApplierFactory[]::new));
     }
 
+    private RelationshipAdjacencyCache createRelationshipAdjacencyCache(Config config, MemoryTracker memoryTracker) {
+        int degreeThreshold = config.get(GraphDatabaseInternalSettings.relationship_adjacency_cache_degree_threshold);
+        if (degreeThreshold == 0 || multiVersion) {
+            return null;
+        }
+        return new RelationshipAdjacencyCache(
+                degreeThreshold,
+                config.get(GraphDatabaseInternalSettings.relationship_adjacency_cache_max_size),
+                memoryTracker);
+    }
+
     private CountsStore openCountsStore(
             PageCache pageCache,
             FileSystemAbstraction fs,
@@ -386,7 +402,8 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
 
     @Override
     public RecordStorageReader newReader() {
-        return new RecordStorageReader(tokenHolders, neoStores, countsStore, groupDegreesStore, schemaCache);
+        return new RecordStorageReader(
+                tokenHolders, neoStores, countsStore, groupDegreesStore, schemaCache, relationshipAdjacencyCache);
     }
 
     @Override
@@ -506,6 +523,19 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
         }
     }
 
+    @Override
+    public boolean isRecoveryBarrier(CommandStream commands) {
+        for (StorageCommand command : commands) {
+            // Schema changes decide which index updates later transactions produce
+            if (command instanceof Command.SchemaRuleCommand
+                    || command instanceof StorageCommand.TokenCommand
+                    || command instanceof StorageCommand.VersionUpgradeCommand) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void apply(CommandBatchToApply batch, TransactionApplicationMode mode) throws Exception {
         TransactionApplierFactoryChain batchApplier = applierChain(mode);
@@ -620,6 +650,9 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
             } catch (Throwable e) {
                 throw new RuntimeException(e);
             } finally {
+                if (relationshipAdjacencyCache != null) {
+                    relationshipAdjacencyCache.clear();
+                }
                 closed = true;
             }
         }
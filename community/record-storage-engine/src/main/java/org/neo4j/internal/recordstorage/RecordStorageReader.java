@@ -67,6 +67,7 @@ public class RecordStorageReader implements StorageReader {
     private final CountsStore counts;
     private final RelationshipGroupDegreesStore groupDegreesStore;
     private final SchemaCache schemaCache;
+    private final RelationshipAdjacencyCache adjacencyCache;
 
     private boolean closed;
 
@@ -75,7 +76,8 @@ public class RecordStorageReader implements StorageReader {
             NeoStores neoStores,
             CountsStore counts,
             RelationshipGroupDegreesStore groupDegreesStore,
-            SchemaCache schemaCache) {
+            SchemaCache schemaCache,
+            RelationshipAdjacencyCache adjacencyCache) {
         this.tokenHolders = tokenHolders;
         this.nodeStore = neoStores.getNodeStore();
         this.relationshipStore = neoStores.getRelationshipStore();
@@ -84,6 +86,7 @@ public class RecordStorageReader implements StorageReader {
         this.counts = counts;
         this.groupDegreesStore = groupDegreesStore;
         this.schemaCache = schemaCache;
+        this.adjacencyCache = adjacencyCache;
     }
 
     /**
@@ -91,11 +94,11 @@ public class RecordStorageReader implements StorageReader {
      * separating index stuff out from store stuff.
      */
     public RecordStorageReader(NeoStores stores) {
-        this(null, stores, null, null, null);
+        this(null, stores, null, null, null, null);
     }
 
     public RecordStorageReader(NeoStores stores, SchemaCache schemaCache) {
-        this(null, stores, null, null, schemaCache);
+        this(null, stores, null, null, schemaCache, null);
     }
 
     @Override
@@ -332,14 +335,25 @@ public class RecordStorageReader implements StorageReader {
     @Override
     public RecordNodeCursor allocateNodeCursor(CursorContext cursorContext, StoreCursors storeCursors) {
         return new RecordNodeCursor(
-                nodeStore, relationshipStore, relationshipGroupStore, groupDegreesStore, cursorContext, storeCursors);
+                nodeStore,
+                relationshipStore,
+                relationshipGroupStore,
+                groupDegreesStore,
+                adjacencyCache,
+                cursorContext,
+                storeCursors);
     }
 
     @Override
     public RecordRelationshipTraversalCursor allocateRelationshipTraversalCursor(
             CursorContext cursorContext, StoreCursors storeCursors) {
         return new RecordRelationshipTraversalCursor(
-                relationshipStore, relationshipGroupStore, groupDegreesStore, cursorContext, storeCursors);
+                relationshipStore,
+                relationshipGroupStore,
+                groupDegreesStore,
+                adjacencyCache,
+                cursorContext,
+                storeCursors);
     }
 
     @Override
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
+import static org.neo4j.memory.HeapEstimator.sizeOfIntArray;
+import static org.neo4j.memory.HeapEstimator.sizeOfLongArray;
+import static org.neo4j.storageengine.api.RelationshipDirection.INCOMING;
+import static org.neo4j.storageengine.api.RelationshipDirection.LOOP;
+import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.neo4j.memory.MemoryLimitExceededException;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.RelationshipDirection;
+
+/**
+ * Cache of the relationships of dense nodes that have at least {@link #degreeThreshold()} relationships, so that
+ * traversing such a node reads its relationships from compact arrays instead of following the relationship group
+ * and relationship chains in the store.
+ * <p>
+ * Entries are built by readers from the store, see {@link RecordRelationshipTraversalCursor}, and dropped by
+ * {@link RelationshipAdjacencyCacheInvalidator} when a transaction that changes the relationships of the node is
+ * applied. To not let a reader insert an entry that was built from records that a concurrent transaction has
+ * changed, every invalidation first bumps the {@link #stamp(long) stamp} of the node and then removes the entry. A
+ * reader that takes the stamp before building, and checks it again after inserting, either sees the bump and removes
+ * its own entry, or has its entry removed by the invalidation.
+ * <p>
+ * Heap used by the entries is bounded by a maximum size and reported to a {@link MemoryTracker}.
+ */
+class RelationshipAdjacencyCache {
+    private static final int STAMP_STRIPES = 1024;
+
+    private final int degreeThreshold;
+    private final long maxSize;
+    private final MemoryTracker memoryTracker;
+    private final ConcurrentHashMap<Long, NodeAdjacency> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+    private final AtomicLong size = new AtomicLong();
+
+    RelationshipAdjacencyCache(int degreeThreshold, long maxSize, MemoryTracker memoryTracker) {
+        this.degreeThreshold = degreeThreshold;
+        this.maxSize = maxSize;
+        this.memoryTracker = memoryTracker;
+    }
+
+    int degreeThreshold() {
+        return degreeThreshold;
+    }
+
+    NodeAdjacency get(long nodeId) {
+        return entries.get(nodeId);
+    }
+
+    /**
+     * @return the current stamp of the given node, to be passed to {@link #put(long, long, NodeAdjacency)} for an
+     * entry that is built from the store after this call.
+     */
+    long stamp(long nodeId) {
+        return stamps.get(stripe(nodeId));
+    }
+
+    /**
+     * Inserts an entry for the given node, unless the node was invalidated since the given stamp was taken, or the
+     * cache is full.
+     */
+    void put(long nodeId, long stamp, NodeAdjacency adjacency) {
+        long entrySize = adjacency.estimatedHeapUsage();
+        if (size.addAndGet(entrySize) > maxSize) {
+            size.addAndGet(-entrySize);
+            return;
+        }
+        try {
+            memoryTracker.allocateHeap(entrySize);
+        } catch (MemoryLimitExceededException e) {
+            // The cache is only an optimization, the node is traversed through the store instead
+            size.addAndGet(-entrySize);
+            return;
+        }
+        if (entries.putIfAbsent(nodeId, adjacency) != null) {
+            release(adjacency);
+            return;
+        }
+        if (stamps.get(stripe(nodeId)) != stamp && entries.remove(nodeId, adjacency)) {
+            release(adjacency);
+        }
+    }
+
+    /**
+     * Drops the entry of the given node. Must be called after the changes to the relationships of the node have
+     * been written to the store.
+     */
+    void invalidate(long nodeId) {
+        stamps.incrementAndGet(stripe(nodeId));
+        NodeAdjacency removed = entries.remove(nodeId);
+        if (removed != null) {
+            release(removed);
+        }
+    }
+
+    void clear() {
+        entries.keySet().forEach(this::invalidate);
+    }
+
+    long size() {
+        return size.get();
+    }
+
+    private void release(NodeAdjacency adjacency) {
+        long entrySize = adjacency.estimatedHeapUsage();
+        size.addAndGet(-entrySize);
+        memoryTracker.releaseHeap(entrySize);
+    }
+
+    private static int stripe(long nodeId) {
+        return (int) (nodeId & (STAMP_STRIPES - 1));
+    }
+
+    /**
+     * The relationships of a node, in the order that they are traversed in the store: by type, and for each type
+     * incoming, outgoing and then loop relationships. Each type and direction is a chain, a range of the packed
+     * relationship, neighbour and property reference arrays.
+     */
+    static final class NodeAdjacency {
+        static final RelationshipDirection[] CHAIN_DIRECTIONS = {INCOMING, OUTGOING, LOOP};
+        private static final long SHALLOW_SIZE = shallowSizeOfInstance(NodeAdjacency.class);
+
+        private final int[] types;
+        private final int[] chainStarts;
+        private final long[] relationships;
+        private final long[] neighbours;
+        private final long[] properties;
+
+        private NodeAdjacency(
+                int[] types, int[] chainStarts, long[] relationships, long[] neighbours, long[] properties) {
+            this.types = types;
+            this.chainStarts = chainStarts;
+            this.relationships = relationships;
+            this.neighbours = neighbours;
+            this.properties = properties;
+        }
+
+        int numberOfChains() {
+            return types.length * CHAIN_DIRECTIONS.length;
+        }
+
+        int chainType(int chain) {
+            return types[chain / CHAIN_DIRECTIONS.length];
+        }
+
+        RelationshipDirection chainDirection(int chain) {
+            return CHAIN_DIRECTIONS[chain % CHAIN_DIRECTIONS.length];
+        }
+
+        int chainStart(int chain) {
+            return chainStarts[chain];
+        }
+
+        int chainEnd(int chain) {
+            return chainStarts[chain + 1];
+        }
+
+        long relationship(int index) {
+            return relationships[index];
+        }
+
+        long neighbour(int index) {
+            return neighbours[index];
+        }
+
+        long properties(int index) {
+            return properties[index];
+        }
+
+        long estimatedHeapUsage() {
+            return SHALLOW_SIZE
+                    + sizeOfIntArray(types.length)
+                    + sizeOfIntArray(chainStarts.length)
+                    + 3 * sizeOfLongArray(relationships.length);
+        }
+
+        /**
+         * Collects the relationships of a node. Call {@link #chain(int)} before adding the relationships of every
+         * chain, in the order of {@link #CHAIN_DIRECTIONS}.
+         */
+        static final class Builder {
+            private final MutableIntList types = new IntArrayList();
+            private final MutableIntList chainStarts = new IntArrayList();
+            private final MutableLongList relationships = new LongArrayList();
+            private final MutableLongList neighbours = new LongArrayList();
+            private final MutableLongList properties = new LongArrayList();
+
+            void chain(int type) {
+                if (chainStarts.size() % CHAIN_DIRECTIONS.length == 0) {
+                    types.add(type);
+                }
+                chainStarts.add(relationships.size());
+            }
+
+            void add(long relationship, long neighbour, long propertiesReference) {
+                relationships.add(relationship);
+                neighbours.add(neighbour);
+                properties.add(propertiesReference);
+            }
+
+            NodeAdjacency build() {
+                chainStarts.add(relationships.size());
+                return new NodeAdjacency(
+                        types.toArray(),
+                        chainStarts.toArray(),
+                        relationships.toArray(),
+                        neighbours.toArray(),
+                        properties.toArray());
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.neo4j.kernel.impl.store.record.Record.NULL_REFERENCE;
+
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.api.CommandBatchToApply;
+
+/**
+ * Drops the entries of the {@link RelationshipAdjacencyCache} for the nodes whose relationships are changed by a
+ * transaction. Nodes are collected while the commands are visited and invalidated when the applier is closed, which
+ * is after the changed records have been written to the store.
+ */
+class RelationshipAdjacencyCacheInvalidator extends TransactionApplier.Adapter {
+    private final RelationshipAdjacencyCache cache;
+    private final MutableLongSet nodes = new LongHashSet();
+
+    RelationshipAdjacencyCacheInvalidator(RelationshipAdjacencyCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean visitNodeCommand(Command.NodeCommand command) {
+        NodeRecord before = command.getBefore();
+        NodeRecord after = command.getAfter();
+        if (before.inUse() != after.inUse()
+                || before.isDense() != after.isDense()
+                || before.getNextRel() != after.getNextRel()) {
+            add(after.getId());
+        }
+        return false;
+    }
+
+    @Override
+    public boolean visitRelationshipCommand(Command.RelationshipCommand command) {
+        add(command.getBefore());
+        add(command.getAfter());
+        return false;
+    }
+
+    @Override
+    public boolean visitRelationshipGroupCommand(Command.RelationshipGroupCommand command) {
+        add(command.getBefore().getOwningNode());
+        add(command.getAfter().getOwningNode());
+        return false;
+    }
+
+    private void add(RelationshipRecord relationship) {
+        add(relationship.getFirstNode());
+        add(relationship.getSecondNode());
+    }
+
+    private void add(long nodeId) {
+        if (!NULL_REFERENCE.is(nodeId)) {
+            nodes.add(nodeId);
+        }
+    }
+
+    @Override
+    public void close() {
+        nodes.forEach(cache::invalidate);
+    }
+
+    static class Factory implements TransactionApplierFactory {
+        private final RelationshipAdjacencyCache cache;
+
+        Factory(RelationshipAdjacencyCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public TransactionApplier startTx(CommandBatchToApply transaction, BatchContext batchContext) {
+            return new RelationshipAdjacencyCacheInvalidator(cache);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage.id;
+
+import static org.neo4j.kernel.impl.store.StoreType.STORE_TYPES;
+
+import java.util.Arrays;
+import org.neo4j.internal.id.IdGenerator;
+import org.neo4j.internal.id.IdSequence;
+import org.neo4j.internal.id.range.PageIdRange;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.StoreType;
+
+/**
+ * Id sequence provider that reserves ids in chunks for a transaction,
+ * see {@link IdGenerator#nextIdChunk(CursorContext, int)}. Sequences provided by this provider hand out ids from
+ * their current chunk and only go back to the id generator when the chunk is used up. The first chunk of every
+ * sequence is a single id and every following chunk is twice as big as the previous one, up to a max chunk size,
+ * so that transactions that create few records don't reserve more ids than they need. On release any leftovers
+ * are marked as unallocated so that they can be reused.
+ */
+public class ChunkedTransactionIdSequenceProvider implements IdSequenceProvider {
+    private final NeoStores neoStores;
+    private final int maxChunkSize;
+    private final ChunkedIdSequence[] transactionSequences = new ChunkedIdSequence[STORE_TYPES.length];
+
+    public ChunkedTransactionIdSequenceProvider(NeoStores neoStores, int maxChunkSize) {
+        this.neoStores = neoStores;
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    @Override
+    public IdSequence getIdSequence(StoreType storeType) {
+        int typeIndex = storeType.ordinal();
+        var sequence = transactionSequences[typeIndex];
+        if (sequence != null) {
+            return sequence;
+        }
+
+        var newSequence = new ChunkedIdSequence(neoStores.getRecordStore(storeType).getIdGenerator());
+        transactionSequences[typeIndex] = newSequence;
+        return newSequence;
+    }
+
+    @Override
+    public void release(CursorContext cursorContext) {
+        for (ChunkedIdSequence chunkedIdSequence : transactionSequences) {
+            if (chunkedIdSequence != null) {
+                chunkedIdSequence.close(cursorContext);
+            }
+        }
+        Arrays.fill(transactionSequences, null);
+    }
+
+    @Override
+    public boolean reset() {
+        return false;
+    }
+
+    private class ChunkedIdSequence implements IdSequence {
+        private final IdGenerator idGenerator;
+        private PageIdRange chunk = PageIdRange.EMPTY;
+        private int nextChunkSize = 1;
+
+        ChunkedIdSequence(IdGenerator idGenerator) {
+            this.idGenerator = idGenerator;
+        }
+
+        @Override
+        public long nextId(CursorContext cursorContext) {
+            if (!chunk.hasNext()) {
+                chunk = idGenerator.nextIdChunk(cursorContext, nextChunkSize);
+                nextChunkSize = Math.min(nextChunkSize * 2, maxChunkSize);
+            }
+            return chunk.nextId();
+        }
+
+        void close(CursorContext cursorContext) {
+            if (chunk.hasNext()) {
+                try (var marker = idGenerator.transactionalMarker(cursorContext)) {
+                    chunk.unallocate(marker);
+                }
+            }
+            chunk = PageIdRange.EMPTY;
+        }
+
+        @Override
+        public String toString() {
+            return "ChunkedIdSequence{nextChunkSize=" + nextChunkSize + ", chunk=" + chunk + '}';
+        }
+    }
+}
@@ -28,6 +28,7 @@ import static org.neo4j.io.pagecache.PageCacheOpenOptions.ANY_PAGE_SIZE;
 import static org.neo4j.io.pagecache.PagedFile.PF_EAGER_FLUSH;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_CHAIN_FOLLOW;
 import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
+import static org.neo4j.io.pagecache.PagedFile.PF_SEQUENTIAL_SCAN;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
 import static org.neo4j.kernel.impl.store.record.RecordLoad.FORCE;
@@ -418,13 +419,33 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord, HEA
         }
     }
 
+    /**
+     * Asks the page cache to load the page of the record with the given id in the background, see
+     * {@link PagedFile#prefetch(long, CursorContext)}.
+     *
+     * @return {@code true} if the page of the record was already in memory.
+     */
+    public boolean prefetchRecord(long id, CursorContext cursorContext) {
+        return pagedFile.prefetch(pageIdForRecord(id), cursorContext);
+    }
+
     /**
      * Opens a new {@link PageCursor} to this store, mainly for use in {@link #getRecordByCursor(long, AbstractBaseRecord, RecordLoad, PageCursor)}.
      * The opened cursor will make use of the {@link PagedFile#PF_READ_AHEAD} flag for optimal scanning performance.
      */
     @Override
     public PageCursor openPageCursorForReadingWithPrefetching(long id, CursorContext cursorContext) {
-        return openPageCursorForReading(0, PF_READ_AHEAD, cursorContext);
+        return openPageCursorForReading(0, PF_READ_AHEAD | PF_SEQUENTIAL_SCAN, cursorContext);
+    }
+
+    /**
+     * Opens a new {@link PageCursor} to this store.
+     * The opened cursor will make use of the {@link PagedFile#PF_SEQUENTIAL_SCAN} flag, so that a scan does not
+     * promote the pages it reads.
+     */
+    @Override
+    public PageCursor openPageCursorForScanning(long id, CursorContext cursorContext) {
+        return openPageCursorForReading(id, PF_SEQUENTIAL_SCAN, cursorContext);
     }
 
     /**
@@ -524,7 +545,8 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord, HEA
 
     private FreeIds freeIds(CursorContext cursorContext) {
         return visitor -> {
-            try (PageCursor cursor = pagedFile.io(0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, cursorContext)) {
+            try (PageCursor cursor =
+                    pagedFile.io(0, PF_SHARED_READ_LOCK | PF_READ_AHEAD | PF_SEQUENTIAL_SCAN, cursorContext)) {
                 int numberOfReservedLowIds = getNumberOfReservedLowIds();
                 int startingId = numberOfReservedLowIds;
                 int recordsPerPage = getRecordsPerPage();
@@ -610,7 +632,8 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord, HEA
      * @return the id of the highest in use record + 1, i.e. highId.
      */
     protected long scanForHighId(CursorContext cursorContext) {
-        try (PageCursor cursor = pagedFile.io(0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, cursorContext)) {
+        try (PageCursor cursor =
+                pagedFile.io(0, PF_SHARED_READ_LOCK | PF_READ_AHEAD | PF_SEQUENTIAL_SCAN, cursorContext)) {
             int recordsPerPage = getRecordsPerPage();
             int recordSize = getRecordSize();
 
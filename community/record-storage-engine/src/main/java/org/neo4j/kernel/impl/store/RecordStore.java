@@ -120,6 +120,19 @@ public interface RecordStore<RECORD extends AbstractBaseRecord> {
      */
     PageCursor openPageCursorForReadingWithPrefetching(long id, CursorContext cursorContext);
 
+    /**
+     * Opens a {@link PageCursor} on this store, capable of reading records using
+     * {@link #getRecordByCursor(long, AbstractBaseRecord, RecordLoad, PageCursor)}.
+     * The caller is responsible for closing it when done with it.
+     * The opened cursor is meant for a one-off sequential scan, and pages it reads will not be considered
+     * recently used by scan resistant page cache eviction.
+     *
+     * @param id cursor will initially be placed at the page containing this record id.
+     * @param cursorContext underlying page cursor context.
+     * @return PageCursor for reading records.
+     */
+    PageCursor openPageCursorForScanning(long id, CursorContext cursorContext);
+
     /**
      * Opens a {@link PageCursor} on this store, capable of writing records using
      * {@link #updateRecord(AbstractBaseRecord, PageCursor, CursorContext, StoreCursors)}.
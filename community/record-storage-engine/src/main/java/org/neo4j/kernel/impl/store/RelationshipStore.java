@@ -25,6 +25,7 @@ import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.internal.id.IdGeneratorFactory;
 import org.neo4j.internal.recordstorage.RecordIdType;
 import org.neo4j.io.fs.FileSystemAbstraction;
@@ -40,6 +41,8 @@ import org.neo4j.logging.InternalLogProvider;
 public class RelationshipStore extends CommonAbstractStore<RelationshipRecord, NoStoreHeader> {
     public static final String TYPE_DESCRIPTOR = "RelationshipStore";
 
+    private final boolean chainPrefetch;
+
     public RelationshipStore(
             FileSystemAbstraction fileSystem,
             Path path,
@@ -69,5 +72,13 @@ public class RelationshipStore extends CommonAbstractStore<RelationshipRecord, N
                 readOnly,
                 databaseName,
                 openOptions);
+        this.chainPrefetch = configuration.get(GraphDatabaseInternalSettings.relationship_chain_prefetch);
+    }
+
+    /**
+     * @return whether relationship chain traversal should prefetch the pages of the records it is about to read.
+     */
+    public boolean isChainPrefetchEnabled() {
+        return chainPrefetch;
     }
 }
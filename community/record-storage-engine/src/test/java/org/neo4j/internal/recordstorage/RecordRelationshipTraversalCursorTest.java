@@ -100,7 +100,7 @@ public class RecordRelationshipTraversalCursorTest {
     protected RecordDatabaseLayout databaseLayout;
 
     protected NeoStores neoStores;
-    private CachedStoreCursors storeCursors;
+    protected CachedStoreCursors storeCursors;
 
     private static Stream<Arguments> parameters() {
         return Stream.of(
@@ -123,7 +123,7 @@ public class RecordRelationshipTraversalCursorTest {
                 new DefaultIdGeneratorFactory(fs, immediate(), pageCacheTracer, databaseLayout.getDatabaseName());
         StoreFactory storeFactory = new StoreFactory(
                 databaseLayout,
-                Config.defaults(),
+                getConfig(),
                 idGeneratorFactory,
                 pageCache,
                 pageCacheTracer,
@@ -138,6 +138,10 @@ public class RecordRelationshipTraversalCursorTest {
         storeCursors = new CachedStoreCursors(neoStores, NULL_CONTEXT);
     }
 
+    protected Config getConfig() {
+        return Config.defaults();
+    }
+
     protected RecordFormats getRecordFormats() {
         return defaultFormat();
     }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.internal.helpers.ArrayUtil.concatArrays;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.storageengine.api.RelationshipDirection.INCOMING;
+import static org.neo4j.storageengine.api.RelationshipDirection.LOOP;
+import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
+import static org.neo4j.storageengine.api.RelationshipSelection.ALL_RELATIONSHIPS;
+import static org.neo4j.storageengine.api.RelationshipSelection.selection;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.internal.recordstorage.Command.RelationshipCommand;
+import org.neo4j.internal.recordstorage.RelationshipAdjacencyCache.NodeAdjacency;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.test.LatestVersions;
+
+class RecordRelationshipTraversalCursorWithAdjacencyCacheTest extends RecordRelationshipTraversalCursorTest {
+    private final LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+    private RelationshipAdjacencyCache adjacencyCache =
+            new RelationshipAdjacencyCache(1, Long.MAX_VALUE, memoryTracker);
+
+    @Override
+    protected RecordRelationshipTraversalCursor getNodeRelationshipCursor() {
+        return new RecordRelationshipTraversalCursor(
+                neoStores.getRelationshipStore(),
+                neoStores.getRelationshipGroupStore(),
+                null,
+                adjacencyCache,
+                NULL_CONTEXT,
+                storeCursors);
+    }
+
+    @Test
+    void shouldReadRelationshipsOfCachedNodeFromCache() {
+        // given
+        neoStores.getRelationshipStore().setHighId(10);
+        long reference = createRelationshipStructure(
+                true,
+                concatArrays(
+                        homogenousRelationships(3, TYPE1, OUTGOING),
+                        homogenousRelationships(2, TYPE2, INCOMING),
+                        homogenousRelationships(1, TYPE2, LOOP)));
+        try (RecordRelationshipTraversalCursor cursor = getNodeRelationshipCursor()) {
+            assertThat(count(cursor, reference)).isEqualTo(6);
+        }
+        assertThat(adjacencyCache.get(FIRST_OWNING_NODE)).isNotNull();
+
+        // when the store is changed without the cache being invalidated
+        unUseRecord(0);
+
+        // then the relationships are still read from the cache
+        try (RecordRelationshipTraversalCursor cursor = getNodeRelationshipCursor()) {
+            assertThat(count(cursor, reference)).isEqualTo(6);
+            cursor.init(FIRST_OWNING_NODE, reference, selection(TYPE2, Direction.INCOMING));
+            int found = 0;
+            while (cursor.next()) {
+                assertThat(cursor.type()).isEqualTo(TYPE2);
+                assertThat(cursor.targetNodeReference()).isEqualTo(FIRST_OWNING_NODE);
+                assertThat(cursor.neighbourNodeReference()).isIn(SECOND_OWNING_NODE, FIRST_OWNING_NODE);
+                found++;
+            }
+            assertThat(found).isEqualTo(3);
+        }
+
+        // and when invalidated, the changed store is read again
+        adjacencyCache.invalidate(FIRST_OWNING_NODE);
+        try (RecordRelationshipTraversalCursor cursor = getNodeRelationshipCursor()) {
+            assertThat(count(cursor, reference)).isEqualTo(5);
+        }
+    }
+
+    @Test
+    void shouldNotCacheNodesBelowDegreeThreshold() {
+        // given
+        adjacencyCache = new RelationshipAdjacencyCache(10, Long.MAX_VALUE, memoryTracker);
+        long reference = createRelationshipStructure(true, homogenousRelationships(4, TYPE1, OUTGOING));
+
+        // when
+        try (RecordRelationshipTraversalCursor cursor = getNodeRelationshipCursor()) {
+            assertThat(count(cursor, reference)).isEqualTo(4);
+        }
+
+        // then
+        assertThat(adjacencyCache.get(FIRST_OWNING_NODE)).isNull();
+        assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+    }
+
+    @Test
+    void shouldTrackMemoryOfCachedNodes() {
+        // given
+        long reference = createRelationshipStructure(true, homogenousRelationships(4, TYPE1, OUTGOING));
+
+        // when
+        try (RecordRelationshipTraversalCursor cursor = getNodeRelationshipCursor()) {
+            count(cursor, reference);
+        }
+
+        // then
+        assertThat(memoryTracker.estimatedHeapMemory())
+                .isEqualTo(adjacencyCache.size())
+                .isEqualTo(adjacencyCache.get(FIRST_OWNING_NODE).estimatedHeapUsage());
+        adjacencyCache.invalidate(FIRST_OWNING_NODE);
+        assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+        assertThat(adjacencyCache.size()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheNodesWhenFull() {
+        // given
+        adjacencyCache = new RelationshipAdjacencyCache(1, 1, memoryTracker);
+        long reference = createRelationshipStructure(true, homogenousRelationships(4, TYPE1, OUTGOING));
+
+        // when
+        try (RecordRelationshipTraversalCursor cursor = getNodeRelationshipCursor()) {
+            assertThat(count(cursor, reference)).isEqualTo(4);
+        }
+
+        // then
+        assertThat(adjacencyCache.get(FIRST_OWNING_NODE)).isNull();
+        assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+    }
+
+    @Test
+    void shouldInvalidateNodesOfChangedRelationshipsOnApply() throws Exception {
+        // given
+        long reference = createRelationshipStructure(true, homogenousRelationships(4, TYPE1, OUTGOING));
+        try (RecordRelationshipTraversalCursor cursor = getNodeRelationshipCursor()) {
+            count(cursor, reference);
+        }
+        assertThat(adjacencyCache.get(FIRST_OWNING_NODE)).isNotNull();
+
+        // when
+        RelationshipRecord before = createRelationship(0, 1, new RelationshipSpec(TYPE1, OUTGOING));
+        RelationshipRecord after = new RelationshipRecord(before);
+        after.setInUse(false);
+        try (TransactionApplier applier =
+                new RelationshipAdjacencyCacheInvalidator.Factory(adjacencyCache).startTx(null, null)) {
+            applier.visitRelationshipCommand(new RelationshipCommand(
+                    RecordStorageCommandReaderFactory.INSTANCE.get(LatestVersions.LATEST_KERNEL_VERSION),
+                    before,
+                    after));
+            // not until the applier is closed
+            assertThat(adjacencyCache.get(FIRST_OWNING_NODE)).isNotNull();
+        }
+
+        // then
+        assertThat(adjacencyCache.get(FIRST_OWNING_NODE)).isNull();
+        assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheNodeInvalidatedWhileBeingBuilt() {
+        // given
+        long nodeId = FIRST_OWNING_NODE;
+        long stamp = adjacencyCache.stamp(nodeId);
+        NodeAdjacency.Builder builder = new NodeAdjacency.Builder();
+        builder.chain(TYPE1);
+        builder.add(0, SECOND_OWNING_NODE, NULL);
+
+        // when
+        adjacencyCache.invalidate(nodeId);
+        adjacencyCache.put(nodeId, stamp, builder.build());
+
+        // then
+        assertThat(adjacencyCache.get(nodeId)).isNull();
+        assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+    }
+
+    @Override
+    @Test
+    void shouldStopLookingForGroupsWhenPastEndOfSelection() {
+        // Groups are not visited when traversing a cached node, which this test counts
+    }
+
+    private static int count(RecordRelationshipTraversalCursor cursor, long reference) {
+        cursor.init(FIRST_OWNING_NODE, reference, ALL_RELATIONSHIPS);
+        int count = 0;
+        while (cursor.next()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.relationship_chain_prefetch;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.RELATIONSHIP_CURSOR;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
+import static org.neo4j.storageengine.api.RelationshipSelection.ALL_RELATIONSHIPS;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.Config;
+import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.storageengine.api.ReadTracer;
+
+class RecordRelationshipTraversalCursorWithPrefetchTest extends RecordRelationshipTraversalCursorTest {
+    @Override
+    protected Config getConfig() {
+        return Config.defaults(relationship_chain_prefetch, true);
+    }
+
+    @Test
+    void shouldPrefetchNextRelationshipOnOtherPage() {
+        // given a chain where every relationship is on a page of its own
+        RelationshipStore relationshipStore = neoStores.getRelationshipStore();
+        int recordsPerPage = relationshipStore.getRecordsPerPage();
+        long[] ids = {0, recordsPerPage, 2L * recordsPerPage, 3L * recordsPerPage};
+        createChain(ids);
+
+        // when
+        AtomicInteger hits = new AtomicInteger();
+        AtomicInteger misses = new AtomicInteger();
+        try (RecordRelationshipTraversalCursor cursor = getNodeRelationshipCursor()) {
+            cursor.setTracer(prefetchTracer(hits, misses));
+            cursor.init(FIRST_OWNING_NODE, ids[0], ALL_RELATIONSHIPS);
+            int index = 0;
+            while (cursor.next()) {
+                assertThat(cursor.entityReference()).isEqualTo(ids[index++]);
+            }
+            assertThat(index).isEqualTo(ids.length);
+        }
+
+        // then the pages of all but the first relationship were prefetched, and they were all in memory already
+        assertThat(hits.get()).isEqualTo(ids.length - 1);
+        assertThat(misses.get()).isZero();
+    }
+
+    @Test
+    void shouldNotPrefetchNextRelationshipOnSamePage() {
+        // given
+        long[] ids = {0, 1, 2, 3};
+        createChain(ids);
+
+        // when
+        AtomicInteger hits = new AtomicInteger();
+        AtomicInteger misses = new AtomicInteger();
+        try (RecordRelationshipTraversalCursor cursor = getNodeRelationshipCursor()) {
+            cursor.setTracer(prefetchTracer(hits, misses));
+            cursor.init(FIRST_OWNING_NODE, ids[0], ALL_RELATIONSHIPS);
+            int count = 0;
+            while (cursor.next()) {
+                count++;
+            }
+            assertThat(count).isEqualTo(ids.length);
+        }
+
+        // then
+        assertThat(hits.get()).isZero();
+        assertThat(misses.get()).isZero();
+    }
+
+    private void createChain(long[] ids) {
+        RelationshipStore relationshipStore = neoStores.getRelationshipStore();
+        relationshipStore.setHighId(ids[ids.length - 1] + 1);
+        try (var cursor = storeCursors.writeCursor(RELATIONSHIP_CURSOR)) {
+            for (int i = 0; i < ids.length; i++) {
+                long next = i == ids.length - 1 ? NULL : ids[i + 1];
+                relationshipStore.updateRecord(
+                        createRelationship(ids[i], next, new RelationshipSpec(TYPE1, OUTGOING)),
+                        cursor,
+                        NULL_CONTEXT,
+                        storeCursors);
+            }
+        }
+    }
+
+    private static ReadTracer prefetchTracer(AtomicInteger hits, AtomicInteger misses) {
+        return new ReadTracer() {
+            @Override
+            public void onNode(long nodeReference) {}
+
+            @Override
+            public void onAllNodesScan() {}
+
+            @Override
+            public void onRelationship(long relationshipReference) {}
+
+            @Override
+            public void onProperty(int propertyKey) {}
+
+            @Override
+            public void onHasLabel(int label) {}
+
+            @Override
+            public void onHasLabel() {}
+
+            @Override
+            public void dbHit() {}
+
+            @Override
+            public void onPrefetchHit() {
+                hits.incrementAndGet();
+            }
+
+            @Override
+            public void onPrefetchMiss() {
+                misses.incrementAndGet();
+            }
+        };
+    }
+}
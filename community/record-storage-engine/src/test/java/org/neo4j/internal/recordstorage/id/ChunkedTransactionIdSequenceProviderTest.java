@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.kernel.impl.store.StoreType.NODE;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.internal.id.IdGenerator;
+import org.neo4j.internal.id.range.ContinuousIdRange;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.RecordStore;
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+
+class ChunkedTransactionIdSequenceProviderTest {
+    private NeoStores neoStores;
+    private IdGenerator idGenerator;
+    private IdGenerator.TransactionalMarker marker;
+
+    @BeforeEach
+    void setUp() {
+        neoStores = mock(NeoStores.class);
+        RecordStore<AbstractBaseRecord> nodeStore = mock(RecordStore.class);
+        idGenerator = mock(IdGenerator.class);
+        marker = mock(IdGenerator.TransactionalMarker.class);
+
+        when(neoStores.getRecordStore(NODE)).thenReturn(nodeStore);
+        when(nodeStore.getIdGenerator()).thenReturn(idGenerator);
+        when(idGenerator.transactionalMarker(any())).thenReturn(marker);
+        // chunks of size N start at id N * 100
+        when(idGenerator.nextIdChunk(any(), anyInt())).thenAnswer(invocation -> {
+            int maxIds = invocation.getArgument(1);
+            return new ContinuousIdRange(maxIds * 100L, maxIds, maxIds);
+        });
+    }
+
+    @Test
+    void createAndReuseChunkedSequences() {
+        var sequenceProvider = new ChunkedTransactionIdSequenceProvider(neoStores, 8);
+        var idSequence1 = sequenceProvider.getIdSequence(NODE);
+        var idSequence2 = sequenceProvider.getIdSequence(NODE);
+
+        assertSame(idSequence1, idSequence2);
+
+        sequenceProvider.release(NULL_CONTEXT);
+
+        assertNotSame(idSequence1, sequenceProvider.getIdSequence(NODE));
+    }
+
+    @Test
+    void growChunksUpToMaxChunkSize() {
+        var sequenceProvider = new ChunkedTransactionIdSequenceProvider(neoStores, 4);
+        var idSequence = sequenceProvider.getIdSequence(NODE);
+
+        // chunk of size 1
+        assertEquals(100, idSequence.nextId(NULL_CONTEXT));
+        // chunk of size 2
+        assertEquals(200, idSequence.nextId(NULL_CONTEXT));
+        assertEquals(201, idSequence.nextId(NULL_CONTEXT));
+        // chunks of max size 4
+        for (int chunk = 0; chunk < 2; chunk++) {
+            for (int i = 0; i < 4; i++) {
+                assertEquals(400 + i, idSequence.nextId(NULL_CONTEXT));
+            }
+        }
+    }
+
+    @Test
+    void unallocateLeftoversOnRelease() {
+        var sequenceProvider = new ChunkedTransactionIdSequenceProvider(neoStores, 4);
+        var idSequence = sequenceProvider.getIdSequence(NODE);
+        idSequence.nextId(NULL_CONTEXT);
+        idSequence.nextId(NULL_CONTEXT);
+
+        sequenceProvider.release(NULL_CONTEXT);
+
+        verify(marker).markUnallocated(201, 1);
+        verify(marker).close();
+    }
+
+    @Test
+    void doNotTouchIdGeneratorOnReleaseWhenChunksAreUsedUp() {
+        var sequenceProvider = new ChunkedTransactionIdSequenceProvider(neoStores, 4);
+        var idSequence = sequenceProvider.getIdSequence(NODE);
+        idSequence.nextId(NULL_CONTEXT);
+
+        sequenceProvider.release(NULL_CONTEXT);
+
+        verifyNoInteractions(marker);
+    }
+
+    @Test
+    void notAbleToResetSequences() {
+        var sequenceProvider = new ChunkedTransactionIdSequenceProvider(neoStores, 4);
+        sequenceProvider.getIdSequence(NODE).nextId(NULL_CONTEXT);
+
+        assertFalse(sequenceProvider.reset());
+    }
+}
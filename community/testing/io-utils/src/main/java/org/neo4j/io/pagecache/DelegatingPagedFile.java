@@ -21,6 +21,7 @@ package org.neo4j.io.pagecache;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.function.LongConsumer;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.monitoring.PageFileCounters;
 import org.neo4j.io.pagecache.tracing.FileFlushEvent;
@@ -43,6 +44,16 @@ public class DelegatingPagedFile implements PagedFile {
         delegate.flushAndForce(flushEvent);
     }
 
+    @Override
+    public void flush(FileFlushEvent flushEvent, IOController limiter) throws IOException {
+        delegate.flush(flushEvent, limiter);
+    }
+
+    @Override
+    public long dirtyPages() {
+        return delegate.dirtyPages();
+    }
+
     @Override
     public long getLastPageId() throws IOException {
         return delegate.getLastPageId();
@@ -118,6 +129,16 @@ public class DelegatingPagedFile implements PagedFile {
         return delegate.touch(pageId, count, cursorContext);
     }
 
+    @Override
+    public void visitResidentPages(LongConsumer visitor) {
+        delegate.visitResidentPages(visitor);
+    }
+
+    @Override
+    public boolean prefetch(long pageId, CursorContext cursorContext) {
+        return delegate.prefetch(pageId, cursorContext);
+    }
+
     @Override
     public boolean preAllocateSupported() {
         return delegate.preAllocateSupported();
@@ -24,6 +24,7 @@ import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 import java.io.IOException;
 import java.nio.ByteOrder;
 import java.nio.file.Path;
+import java.util.function.LongConsumer;
 import org.neo4j.io.memory.ByteBuffers;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.monitoring.PageFileCounters;
@@ -84,6 +85,14 @@ public class StubPagedFile implements PagedFile {
     @Override
     public void flushAndForce(FileFlushEvent flushEvent) {}
 
+    @Override
+    public void flush(FileFlushEvent flushEvent, IOController limiter) {}
+
+    @Override
+    public long dirtyPages() {
+        return 0;
+    }
+
     @Override
     public long getLastPageId() {
         return lastPageId;
@@ -126,6 +135,14 @@ public class StubPagedFile implements PagedFile {
         return 0;
     }
 
+    @Override
+    public void visitResidentPages(LongConsumer visitor) {}
+
+    @Override
+    public boolean prefetch(long pageId, CursorContext cursorContext) {
+        return true;
+    }
+
     @Override
     public boolean preAllocateSupported() {
         return false;
@@ -283,6 +283,22 @@ public final class UnsafeUtil {
         memoryTracker.releaseNative(bytes);
     }
 
+    /**
+     * Register memory that was not allocated with {@link #allocateMemory}, for example memory that is mapped directly
+     * from the operating system, so that it is covered by the native access checks.
+     * Must be paired with a call to {@link #unregisterMemory(long)} before the memory is released.
+     */
+    public static void registerMemory(long pointer, long bytes) {
+        addAllocatedPointer(pointer, bytes);
+    }
+
+    /**
+     * Unregister memory that was registered with {@link #registerMemory(long, long)}.
+     */
+    public static void unregisterMemory(long pointer) {
+        checkFree(pointer);
+    }
+
     private static void addAllocatedPointer(long pointer, long sizeInBytes) {
         if (CHECK_NATIVE_ACCESS) {
             allocations.put(pointer, new Allocation(pointer, sizeInBytes));
@@ -60,6 +60,12 @@ public record LogEnvelopeHeader(
 
     public static final byte IGNORE_KERNEL_VERSION = -1;
 
+    /**
+     * Flag combined with the {@link EnvelopeType#typeValue} of all envelopes of an entry whose payload is compressed.
+     * The flag is part of the checksummed type byte, and never set on {@link EnvelopeType#ZERO}.
+     */
+    public static final byte COMPRESSED_ENTRY_FLAG = (byte) 0x80;
+
     /**
      * Describes the type of envelope data written within the log file
      */